@@ -21,7 +21,14 @@ package it.zerono.mods.extremereactors;
 import it.zerono.mods.extremereactors.api.internal.modpack.wrapper.ApiWrapper;
 import it.zerono.mods.extremereactors.config.Config;
 import it.zerono.mods.extremereactors.gamecontent.Content;
+import it.zerono.mods.extremereactors.gamecontent.ModCommands;
 import it.zerono.mods.extremereactors.gamecontent.WorldGen;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics.MetricsRegistry;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.ReplayRecordings;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryLog;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.ReactorSimulationSystem;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.SolidReactantProducts;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.TurbineSimulationSystem;
 import it.zerono.mods.extremereactors.proxy.ClientProxy;
 import it.zerono.mods.extremereactors.proxy.IProxy;
 import it.zerono.mods.extremereactors.proxy.ServerProxy;
@@ -68,6 +75,13 @@ public class ExtremeReactors implements IModInitializationHandler {
         modBus.addListener(this::onInterModProcess);
 
         WorldGen.initialize();
+        ModCommands.initialize();
+        MetricsRegistry.initialize();
+        TelemetryLog.initialize();
+        SolidReactantProducts.initialize();
+        ReactorSimulationSystem.initialize();
+        TurbineSimulationSystem.initialize();
+        ReplayRecordings.initialize();
     }
 
     /**
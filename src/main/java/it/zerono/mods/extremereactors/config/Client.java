@@ -18,6 +18,7 @@
 
 package it.zerono.mods.extremereactors.config;
 
+import it.zerono.mods.extremereactors.Log;
 import net.minecraftforge.common.ForgeConfigSpec;
 
 import java.util.Calendar;
@@ -29,6 +30,9 @@ public class Client {
     public final ForgeConfigSpec.BooleanValue disableTurbineParticles;
     public final ForgeConfigSpec.BooleanValue disableApiTooltips;
     public final ForgeConfigSpec.BooleanValue disablePatchouliTweaks;
+    public final ForgeConfigSpec.IntValue turbineRotorFullDetailDistance;
+    public final ForgeConfigSpec.IntValue turbineRotorAnimationDistance;
+    public final ForgeConfigSpec.IntValue turbineRotorMaxRenderDistance;
     public final boolean isValentinesDay;
 
     Client(final ForgeConfigSpec.Builder builder) {
@@ -61,10 +65,82 @@ public class Client {
                 .translation("config.bigreactors.client.disablepatchoulitweaks")
                 .define("disablePatchouliTweaks", false);
 
+        turbineRotorFullDetailDistance = builder
+                .comment("Turbine rotors closer than this distance, in blocks, are rendered at full detail.",
+                        "Farther rotors are rendered with each blade span merged into a single stretched blade.",
+                        "Capped to turbineRotorAnimationDistance.")
+                .translation("config.bigreactors.client.turbinerotorfulldetaildistance")
+                .defineInRange("turbineRotorFullDetailDistance", 32, 0, 1024);
+
+        turbineRotorAnimationDistance = builder
+                .comment("Turbine rotors farther than this distance, in blocks, are rendered without animating them.",
+                        "Capped to turbineRotorMaxRenderDistance.")
+                .translation("config.bigreactors.client.turbinerotoranimationdistance")
+                .defineInRange("turbineRotorAnimationDistance", 64, 0, 1024);
+
+        turbineRotorMaxRenderDistance = builder
+                .comment("Turbine rotors farther than this distance, in blocks, are not rendered at all.")
+                .translation("config.bigreactors.client.turbinerotormaxrenderdistance")
+                .defineInRange("turbineRotorMaxRenderDistance", 128, 0, 1024);
+
         builder.pop();
 
         final Calendar calendar = Calendar.getInstance();
 
         isValentinesDay = (calendar.get(Calendar.MONTH) == 1 && calendar.get(Calendar.DAY_OF_MONTH) == 14);
+
+        this._turbineRotorFullDetailDistance = 32;
+        this._turbineRotorAnimationDistance = 64;
+        this._turbineRotorMaxRenderDistance = 128;
+    }
+
+    /**
+     * @return the distance, in blocks, up to which the Turbine rotors are rendered at full detail. Never greater than
+     * {@link #getTurbineRotorAnimationDistance()}
+     */
+    public int getTurbineRotorFullDetailDistance() {
+        return this._turbineRotorFullDetailDistance;
+    }
+
+    /**
+     * @return the distance, in blocks, up to which the Turbine rotors are animated. Never greater than
+     * {@link #getTurbineRotorMaxRenderDistance()}
+     */
+    public int getTurbineRotorAnimationDistance() {
+        return this._turbineRotorAnimationDistance;
+    }
+
+    /**
+     * @return the distance, in blocks, up to which the Turbine rotors are rendered
+     */
+    public int getTurbineRotorMaxRenderDistance() {
+        return this._turbineRotorMaxRenderDistance;
     }
+
+    //region internals
+
+    /**
+     * Called when the config file is loaded or reloaded
+     */
+    void onConfigChanged() {
+
+        final int maxRender = this.turbineRotorMaxRenderDistance.get();
+        final int animation = Math.min(this.turbineRotorAnimationDistance.get(), maxRender);
+        final int fullDetail = Math.min(this.turbineRotorFullDetailDistance.get(), animation);
+
+        if (animation != this.turbineRotorAnimationDistance.get() || fullDetail != this.turbineRotorFullDetailDistance.get()) {
+            Log.LOGGER.warn(Log.CORE, "The Turbine rotors render distances are not in increasing order. Using {} / {} / {} blocks instead",
+                    fullDetail, animation, maxRender);
+        }
+
+        this._turbineRotorFullDetailDistance = fullDetail;
+        this._turbineRotorAnimationDistance = animation;
+        this._turbineRotorMaxRenderDistance = maxRender;
+    }
+
+    private int _turbineRotorFullDetailDistance;
+    private int _turbineRotorAnimationDistance;
+    private int _turbineRotorMaxRenderDistance;
+
+    //endregion
 }
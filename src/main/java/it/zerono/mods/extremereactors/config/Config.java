@@ -22,6 +22,7 @@ import it.zerono.mods.zerocore.lib.CodeHelper;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import org.apache.commons.lang3.tuple.Pair;
 
 public final class Config {
@@ -33,6 +34,9 @@ public final class Config {
 
         register(ModConfig.Type.CLIENT, Config.s_clientSpec);
         register(ModConfig.Type.COMMON, Config.s_commonSpec);
+
+        FMLJavaModLoadingContext.get().getModEventBus().addListener(Config::onConfigLoading);
+        FMLJavaModLoadingContext.get().getModEventBus().addListener(Config::onConfigReloading);
     }
 
     //region internals
@@ -60,5 +64,20 @@ public final class Config {
         ModLoadingContext.get().registerConfig(type, spec, String.format("extremereactors/%s.toml", type.extension()));
     }
 
+    private static void onConfigLoading(final ModConfig.Loading event) {
+        onConfigChanged(event.getConfig());
+    }
+
+    private static void onConfigReloading(final ModConfig.Reloading event) {
+        onConfigChanged(event.getConfig());
+    }
+
+    private static void onConfigChanged(final ModConfig config) {
+
+        if (s_clientSpec == config.getSpec()) {
+            CLIENT.onConfigChanged();
+        }
+    }
+
     //endregion
 }
@@ -25,6 +25,14 @@ public class General {
     public final ForgeConfigSpec.DoubleValue fuelUsageMultiplier;
     public final ForgeConfigSpec.DoubleValue powerProductionMultiplier;
     public final ForgeConfigSpec.IntValue ticksPerRedstoneUpdate;
+    public final ForgeConfigSpec.IntValue ticksPerClientUpdate;
+    public final ForgeConfigSpec.BooleanValue enableMachineMetrics;
+    public final ForgeConfigSpec.IntValue machineMetricsDumpInterval;
+    public final ForgeConfigSpec.IntValue telemetryLogInterval;
+    public final ForgeConfigSpec.IntValue telemetryLogSegmentSize;
+    public final ForgeConfigSpec.IntValue telemetryLogMaxSegments;
+    public final ForgeConfigSpec.IntValue parallelComputeThreads;
+    public final ForgeConfigSpec.BooleanValue useMathLookupTables;
 
     General(final ForgeConfigSpec.Builder builder) {
 
@@ -48,6 +56,56 @@ public class General {
                 .worldRestart()
                 .defineInRange("ticksPerRedstoneUpdate", 20, 10, 100);
 
+        this.ticksPerClientUpdate = builder
+                .comment("Number of ticks between updates sent to the clients by a Reactor or a Turbine.",
+                        "Clients estimate the status of the machine between two updates so higher values save bandwidth without visible stutter.")
+                .translation("config.bigreactors.general.ticksperclientupdate")
+                .defineInRange("ticksPerClientUpdate", 3, 1, 100);
+
+        this.enableMachineMetrics = builder
+                .comment("If true, the time spent ticking each Reactor and Turbine is recorded. See the /extremereactors perf command.")
+                .translation("config.bigreactors.general.enablemachinemetrics")
+                .define("enableMachineMetrics", true);
+
+        this.machineMetricsDumpInterval = builder
+                .comment("Number of seconds between dumps of the machines metrics to a file in the game directory, in the Prometheus text format.",
+                        "Set to 0 to disable the dumps.")
+                .translation("config.bigreactors.general.machinemetricsdumpinterval")
+                .defineInRange("machineMetricsDumpInterval", 0, 0, 86400);
+
+        this.telemetryLogInterval = builder
+                .comment("Number of seconds between two records of the status of each Reactor and Turbine in the telemetry log of the world.",
+                        "The log is stored in the extremereactors-telemetry folder of the world. Set to 0 to disable the log.")
+                .translation("config.bigreactors.general.telemetryloginterval")
+                .worldRestart()
+                .defineInRange("telemetryLogInterval", 0, 0, 3600);
+
+        this.telemetryLogSegmentSize = builder
+                .comment("The size, in MB, of each file of the telemetry log.")
+                .translation("config.bigreactors.general.telemetrylogsegmentsize")
+                .worldRestart()
+                .defineInRange("telemetryLogSegmentSize", 16, 1, 1024);
+
+        this.telemetryLogMaxSegments = builder
+                .comment("The maximum number of files of the telemetry log to keep. The oldest files are deleted when a new one is created.")
+                .translation("config.bigreactors.general.telemetrylogmaxsegments")
+                .worldRestart()
+                .defineInRange("telemetryLogMaxSegments", 32, 1, 10000);
+
+        this.parallelComputeThreads = builder
+                .comment("Number of threads used by the batch simulations of Reactors and Turbines (see reactor.batchSimulation and turbine.batchSimulation).",
+                        "The simulation of every machine is independent from the others so the results are the same for any number of threads.",
+                        "Set to 0 or 1 to run everything on the server thread.")
+                .translation("config.bigreactors.general.parallelcomputethreads")
+                .worldRestart()
+                .defineInRange("parallelComputeThreads", 0, 0, 64);
+
+        this.useMathLookupTables = builder
+                .comment("If true, the heat curves of the Reactors and the rotor efficiency curve of the Turbines are interpolated from precomputed tables",
+                        "instead of being computed every time. The interpolated values differ from the computed ones by less than 0.000001.")
+                .translation("config.bigreactors.general.usemathlookuptables")
+                .define("useMathLookupTables", false);
+
         builder.pop();
     }
 }
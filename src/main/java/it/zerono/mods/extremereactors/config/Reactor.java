@@ -26,6 +26,8 @@ public class Reactor {
     public final ForgeConfigSpec.IntValue maxReactorSize;
     public final ForgeConfigSpec.DoubleValue reactorPowerProductionMultiplier;
     public final ForgeConfigSpec.IntValue fuelRodLightValue;
+    public final ForgeConfigSpec.IntValue wasteEjectionBatchSize;
+    public final ForgeConfigSpec.BooleanValue batchSimulation;
 
     Reactor(final ForgeConfigSpec.Builder builder) {
 
@@ -57,6 +59,19 @@ public class Reactor {
                 .translation("config.bigreactors.client.fuelrodlightvalue")
                 .defineInRange("fuelRodLightValue", 15, 0, 15);
 
+        this.wasteEjectionBatchSize = builder
+                .comment("When waste is ejected automatically, wait until there is enough waste to produce this number of items before ejecting it.",
+                        "Higher values reduce the work done by the Reactor and its Access Ports.")
+                .translation("config.bigreactors.reactor.wasteejectionbatchsize")
+                .defineInRange("wasteEjectionBatchSize", 1, 1, 64);
+
+        this.batchSimulation = builder
+                .comment("If true, the irradiation and the heat transfers of all the Reactors of a world are computed together at the start of each tick.",
+                        "This is faster with many Reactors and can be spread over multiple threads (see parallelComputeThreads).")
+                .translation("config.bigreactors.reactor.batchsimulation")
+                .worldRestart()
+                .define("batchSimulation", false);
+
         builder.pop();
     }
 }
@@ -29,6 +29,7 @@ public class Turbine {
     public final ForgeConfigSpec.DoubleValue turbineFluidPerBladeMultiplier;
     public final ForgeConfigSpec.DoubleValue turbineMassDragMultiplier;
     public final ForgeConfigSpec.DoubleValue turbinePowerProductionMultiplier;
+    public final ForgeConfigSpec.BooleanValue batchSimulation;
 
     Turbine(ForgeConfigSpec.Builder builder) {
 
@@ -82,6 +83,13 @@ public class Turbine {
                 .worldRestart()
                 .defineInRange("turbinePowerProductionMultiplier", 1.0, 0.5, 10.0);
 
+        this.batchSimulation = builder
+                .comment("If true, the rotors of all the Turbines of a world are simulated together at the start of each tick.",
+                        "This can be spread over multiple threads (see parallelComputeThreads).")
+                .translation("config.bigreactors.turbine.batchsimulation")
+                .worldRestart()
+                .define("batchSimulation", false);
+
         builder.pop();
     }
 }
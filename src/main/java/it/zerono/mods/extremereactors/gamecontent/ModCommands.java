@@ -0,0 +1,214 @@
+/*
+ *
+ * ModCommands.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import it.zerono.mods.extremereactors.Log;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics.MachineMetrics;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics.MetricsRegistry;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.IReplayRecordable;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.ReplayRecordings;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.ReplayReport;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.AbstractReactorEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.part.AbstractTurbineEntity;
+import it.zerono.mods.zerocore.lib.world.WorldHelper;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.command.arguments.BlockPosArgument;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.util.text.TranslationTextComponent;
+import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.RegisterCommandsEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public final class ModCommands {
+
+    public static void initialize() {
+        MinecraftForge.EVENT_BUS.addListener(ModCommands::onRegisterCommands);
+    }
+
+    //region internals
+
+    private ModCommands() {
+    }
+
+    private static void onRegisterCommands(final RegisterCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+
+    private static void register(final CommandDispatcher<CommandSource> dispatcher) {
+
+        dispatcher.register(Commands.literal("extremereactors")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(Commands.literal("perf")
+                        .executes(context -> perf(context, DEFAULT_PERF_COUNT))
+                        .then(Commands.argument("count", IntegerArgumentType.integer(1, 100))
+                                .executes(context -> perf(context, IntegerArgumentType.getInteger(context, "count")))))
+                .then(Commands.literal("replay")
+                        .then(Commands.literal("record")
+                                .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                                        .executes(ModCommands::replayRecord)))
+                        .then(Commands.literal("stop")
+                                .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                                        .executes(ModCommands::replayStop)))
+                        .then(Commands.literal("run")
+                                .then(Commands.argument("name", StringArgumentType.string())
+                                        .executes(ModCommands::replayRun)))));
+    }
+
+    private static int perf(final CommandContext<CommandSource> context, final int count) {
+
+        final CommandSource source = context.getSource();
+        final List<MachineMetrics> machines = MetricsRegistry.getSlowestMachines(count);
+
+        if (machines.isEmpty()) {
+
+            source.sendFeedback(new TranslationTextComponent("commands.bigreactors.perf.none"), false);
+            return 0;
+        }
+
+        source.sendFeedback(new TranslationTextComponent("commands.bigreactors.perf.header", machines.size()), false);
+
+        for (int i = 0; i < machines.size(); ++i) {
+
+            final MachineMetrics metrics = machines.get(i);
+            final BlockPos position = metrics.getPosition();
+
+            source.sendFeedback(new StringTextComponent(String.format("#%d %s %s [%s] %.3f ms/t (p95 %.3f ms, max %.3f ms) %.0f FE/t, %d updates",
+                    i + 1, metrics.getMachineType(), metrics.getDimension(),
+                    null == position ? "?" : position.getCoordinatesAsString(),
+                    metrics.getRecentTickTime() / 1_000_000.0,
+                    metrics.getTickTime().getPercentile(0.95) / 1_000_000.0,
+                    metrics.getTickTime().getMax() / 1_000_000.0,
+                    metrics.getEnergyGenerated().getMean(),
+                    metrics.getPacketsSent())), false);
+        }
+
+        return machines.size();
+    }
+
+    private static int replayRecord(final CommandContext<CommandSource> context) throws CommandSyntaxException {
+
+        final CommandSource source = context.getSource();
+        final BlockPos position = BlockPosArgument.getLoadedBlockPos(context, "pos");
+        final Optional<IReplayRecordable> machine = getRecordableMachine(source.getWorld(), position);
+
+        if (!machine.isPresent()) {
+
+            source.sendErrorMessage(new TranslationTextComponent("commands.bigreactors.replay.nomachine", position.getCoordinatesAsString()));
+            return 0;
+        }
+
+        final Optional<Path> file = machine.get().startReplayRecording();
+
+        if (file.isPresent()) {
+
+            source.sendFeedback(new TranslationTextComponent("commands.bigreactors.replay.started", file.get().getFileName().toString()), true);
+            return 1;
+        }
+
+        source.sendErrorMessage(new TranslationTextComponent("commands.bigreactors.replay.notstarted"));
+        return 0;
+    }
+
+    private static int replayStop(final CommandContext<CommandSource> context) throws CommandSyntaxException {
+
+        final CommandSource source = context.getSource();
+        final BlockPos position = BlockPosArgument.getLoadedBlockPos(context, "pos");
+        final Optional<Path> file = getRecordableMachine(source.getWorld(), position)
+                .flatMap(IReplayRecordable::stopReplayRecording);
+
+        if (file.isPresent()) {
+
+            source.sendFeedback(new TranslationTextComponent("commands.bigreactors.replay.stopped", file.get().getFileName().toString()), true);
+            return 1;
+        }
+
+        source.sendErrorMessage(new TranslationTextComponent("commands.bigreactors.replay.notrecording", position.getCoordinatesAsString()));
+        return 0;
+    }
+
+    private static int replayRun(final CommandContext<CommandSource> context) {
+
+        final CommandSource source = context.getSource();
+        final MinecraftServer server = source.getServer();
+        final String name = StringArgumentType.getString(context, "name");
+        final Optional<Path> file = ReplayRecordings.find(server, name);
+
+        if (!file.isPresent()) {
+
+            source.sendErrorMessage(new TranslationTextComponent("commands.bigreactors.replay.notfound", name));
+            return 0;
+        }
+
+        source.sendFeedback(new TranslationTextComponent("commands.bigreactors.replay.running", name), false);
+
+        // the replay could take a while: run it away from the server thread and report back on it
+
+        CompletableFuture.runAsync(() -> {
+
+            try {
+
+                final ReplayReport report = ReplayRecordings.replay(file.get());
+
+                server.execute(() -> source.sendFeedback(new StringTextComponent(report.toString()), false));
+
+            } catch (IOException | RuntimeException ex) {
+
+                Log.LOGGER.warn(Log.CORE, "Unable to replay the recording {}", name, ex);
+                server.execute(() -> source.sendErrorMessage(new TranslationTextComponent("commands.bigreactors.replay.failed",
+                        name, String.valueOf(ex.getMessage()))));
+            }
+
+        }, Util.getServerExecutor());
+
+        return 1;
+    }
+
+    private static Optional<IReplayRecordable> getRecordableMachine(final World world, final BlockPos position) {
+        return WorldHelper.getTile(world, position)
+                .flatMap(te -> {
+
+                    if (te instanceof AbstractReactorEntity) {
+                        return ((AbstractReactorEntity)te).getMultiblockController().map(machine -> (IReplayRecordable)machine);
+                    } else if (te instanceof AbstractTurbineEntity) {
+                        return ((AbstractTurbineEntity)te).getMultiblockController().map(machine -> (IReplayRecordable)machine);
+                    } else {
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private static final int DEFAULT_PERF_COUNT = 10;
+
+    //endregion
+}
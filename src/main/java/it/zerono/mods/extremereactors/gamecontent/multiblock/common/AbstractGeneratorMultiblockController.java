@@ -26,14 +26,19 @@ import it.zerono.mods.zerocore.lib.data.IoDirection;
 import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
 import it.zerono.mods.zerocore.lib.energy.EnergySystem;
 import it.zerono.mods.zerocore.lib.energy.IWideEnergyProvider;
+import it.zerono.mods.zerocore.lib.multiblock.validation.IMultiblockValidator;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
 
 @SuppressWarnings({"WeakerAccess"})
@@ -42,9 +47,15 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
         extends AbstractMultiblockController<Controller, V>
         implements IWideEnergyProvider {
 
+    public static final String SYNC_KEY_ENERGY_BUFFER = "buffer";
+    public static final String SYNC_KEY_ENERGY_SYSTEM = "energySystem";
+    public static final String SYNC_KEY_ENERGY_RATE = "energyrate";
+
     public AbstractGeneratorMultiblockController(World world) {
 
         super(world);
+        this._clientSyncTracker = new ClientSyncTracker();
+        this._energyStored = new ExtrapolatedValue();
         this._energyBuffer = new EnergyBuffer(INTERNAL_ENERGY_SYSTEM, 0); //TODO is starting from 0 a problem when loading NBT data?
         this._outputEnergySystem = INTERNAL_ENERGY_SYSTEM;
 
@@ -69,6 +80,18 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
         return this.getEnergyStored(INTERNAL_ENERGY_SYSTEM, null) / this.getCapacity(INTERNAL_ENERGY_SYSTEM, null);
     }
 
+    /**
+     * Client side only: estimate the energy currently stored, in the reference {@link EnergySystem},
+     * from the last value and rate of change received from the server
+     *
+     * @param partialTicks the fraction of the current tick that already elapsed
+     * @return the estimated amount of energy stored
+     */
+    public double extrapolateEnergyStored(final float partialTicks) {
+        return MathHelper.clamp(this._energyStored.get(this.getWorld().getGameTime(), partialTicks),
+                0, this.getCapacity(EnergySystem.REFERENCE, null));
+    }
+
     /**
      * Distribute the given amount of energy equally between the specified Active Power Taps
      *
@@ -92,6 +115,19 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
                 .sum();
     }
 
+    //endregion
+    //region client sync
+
+    /**
+     * Get the tracker of the data entries that changed in the updates received from the server.
+     * Only meaningful on the client side
+     *
+     * @return the tracker
+     */
+    public ClientSyncTracker getClientSyncTracker() {
+        return this._clientSyncTracker;
+    }
+
     //endregion
     //region active-coolant system
 
@@ -187,6 +223,104 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
         return true;
     }
 
+    //endregion
+    //region validation
+
+    /**
+     * Check that all the chunks spanned by the machine are loaded.
+     *
+     * When the chunks of a big machine are loaded over a few ticks, the machine is validated again every time
+     * a new batch of parts is attached to it. Validating a machine that is still partially loaded is wasted work
+     * and the block lookups could force the missing chunks to load on the spot: check this before anything else.
+     * The bounding box of the attached parts does not cover the chunks that are not loaded yet, so the chunks
+     * spanned by the extent the machine had when it was saved are checked too.
+     * The parts in the missing chunks will be attached when their chunks are loaded, triggering a new validation
+     *
+     * @param validatorCallback the validator to report the error to
+     * @return true if all the chunks are loaded, false otherwise
+     */
+    protected boolean validateChunksLoaded(final IMultiblockValidator validatorCallback) {
+
+        final World world = this.getWorld();
+        final boolean loaded = this.mapBoundingBoxCoordinates((min, max) -> areChunksLoaded(world, min, max), true) &&
+                (null == this._expectedMinimum || areChunksLoaded(world, this._expectedMinimum, this._expectedMaximum));
+
+        if (!loaded) {
+            validatorCallback.setLastError("multiblock.validation.machine_not_loaded");
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Forget the extent the machine had when it was saved. Call this when the machine is assembled
+     */
+    protected void clearExpectedExtent() {
+        this._expectedMinimum = this._expectedMaximum = null;
+    }
+
+    /**
+     * Grow the extent the machine had when it was saved to include the one of an assimilated machine
+     *
+     * @param other the assimilated machine
+     */
+    protected void assimilateExpectedExtent(final AbstractGeneratorMultiblockController<?, ?> other) {
+
+        if (null == other._expectedMinimum) {
+            return;
+        }
+
+        if (null == this._expectedMinimum) {
+
+            this._expectedMinimum = other._expectedMinimum;
+            this._expectedMaximum = other._expectedMaximum;
+
+        } else {
+
+            this._expectedMinimum = new BlockPos(Math.min(this._expectedMinimum.getX(), other._expectedMinimum.getX()),
+                    Math.min(this._expectedMinimum.getY(), other._expectedMinimum.getY()),
+                    Math.min(this._expectedMinimum.getZ(), other._expectedMinimum.getZ()));
+            this._expectedMaximum = new BlockPos(Math.max(this._expectedMaximum.getX(), other._expectedMaximum.getX()),
+                    Math.max(this._expectedMaximum.getY(), other._expectedMaximum.getY()),
+                    Math.max(this._expectedMaximum.getZ(), other._expectedMaximum.getZ()));
+        }
+    }
+
+    /**
+     * Check the size of the machine against the maximum ones. The minimum sizes are checked by the base validation
+     *
+     * @return true if the machine is not bigger than the maximum size, false otherwise
+     */
+    protected boolean isWithinMaximumSize() {
+        return this.mapBoundingBoxCoordinates((min, max) ->
+                isWithinMaximumSize(max.getX() - min.getX() + 1, this.getMaximumXSize()) &&
+                isWithinMaximumSize(max.getY() - min.getY() + 1, this.getMaximumYSize()) &&
+                isWithinMaximumSize(max.getZ() - min.getZ() + 1, this.getMaximumZSize()), false);
+    }
+
+    /**
+     * Add the bounding box of the machine and the position and kind of every attached part to an assembly hash.
+     * The parts are added by block, not by block state, as their block states change when the machine is assembled
+     *
+     * @param hash the hash to add the structure of the machine to
+     * @return the hash
+     */
+    protected AssemblyCache.Hash hashAttachedParts(final AssemblyCache.Hash hash) {
+
+        this.mapBoundingBoxCoordinates((min, max) -> hash.add(min.toLong()).add(max.toLong()), hash);
+
+        this.getConnectedParts().forEach(part -> {
+
+            final long kind = part instanceof TileEntity ?
+                    Objects.hashCode(((TileEntity)part).getBlockState().getBlock().getRegistryName()) :
+                    part.getClass().getName().hashCode();
+
+            hash.addUnordered(part.getWorldPosition().toLong() * 31 + kind);
+        });
+
+        return hash;
+    }
+
     //endregion
     //region ISyncableEntity
 
@@ -199,10 +333,26 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
     @Override
     public void syncDataFrom(final CompoundNBT data, final SyncReason syncReason) {
 
-        this.syncChildDataEntityFrom(this.getEnergyBuffer(), "buffer", data, syncReason);
+        this.syncChildDataEntityFrom(this.getEnergyBuffer(), SYNC_KEY_ENERGY_BUFFER, data, syncReason);
 
         if (syncReason.isNetworkUpdate()) {
-            this.setOutputEnergySystem(EnergySystem.read(data, "energySystem", EnergySystem.REFERENCE));
+
+            this._clientSyncTracker.update(data);
+            this.setOutputEnergySystem(EnergySystem.read(data, SYNC_KEY_ENERGY_SYSTEM, EnergySystem.REFERENCE));
+            this._energyStored.sync(this.getEnergyStored(EnergySystem.REFERENCE, null), data.getDouble(SYNC_KEY_ENERGY_RATE),
+                    this.getWorld().getGameTime());
+
+        } else if (data.contains(SYNC_KEY_EXTENT_MIN) && data.contains(SYNC_KEY_EXTENT_MAX)) {
+
+            final BlockPos min = BlockPos.fromLong(data.getLong(SYNC_KEY_EXTENT_MIN));
+            final BlockPos max = BlockPos.fromLong(data.getLong(SYNC_KEY_EXTENT_MAX));
+
+            // the same data is read again from every part that saved it: keep the first extent found
+            if (null == this._expectedMinimum) {
+
+                this._expectedMinimum = min;
+                this._expectedMaximum = max;
+            }
         }
 
         super.syncDataFrom(data, syncReason);
@@ -217,10 +367,28 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
     @Override
     public CompoundNBT syncDataTo(final CompoundNBT data, final SyncReason syncReason) {
 
-        this.syncChildDataEntityTo(this.getEnergyBuffer(), "buffer", data, syncReason);
+        this.syncChildDataEntityTo(this.getEnergyBuffer(), SYNC_KEY_ENERGY_BUFFER, data, syncReason);
 
         if (syncReason.isNetworkUpdate()) {
-            EnergySystem.write(data, "energySystem", this.getOutputEnergySystem());
+
+            EnergySystem.write(data, SYNC_KEY_ENERGY_SYSTEM, this.getOutputEnergySystem());
+
+            this._energyStored.sample(this.getEnergyStored(EnergySystem.REFERENCE, null), this.getWorld().getGameTime());
+            data.putDouble(SYNC_KEY_ENERGY_RATE, this._energyStored.getRate());
+
+        } else if (this.isAssembled()) {
+
+            this.forBoundingBoxCoordinates((min, max) -> {
+
+                data.putLong(SYNC_KEY_EXTENT_MIN, min.toLong());
+                data.putLong(SYNC_KEY_EXTENT_MAX, max.toLong());
+            });
+
+        } else if (null != this._expectedMinimum) {
+
+            // still waiting for the rest of the machine to be loaded
+            data.putLong(SYNC_KEY_EXTENT_MIN, this._expectedMinimum.toLong());
+            data.putLong(SYNC_KEY_EXTENT_MAX, this._expectedMaximum.toLong());
         }
 
         return data;
@@ -231,8 +399,34 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
 
     protected static final EnergySystem INTERNAL_ENERGY_SYSTEM = EnergySystem.ForgeEnergy;
 
+    private static final String SYNC_KEY_EXTENT_MIN = "extentmin";
+    private static final String SYNC_KEY_EXTENT_MAX = "extentmax";
+
+    private static boolean areChunksLoaded(final World world, final BlockPos min, final BlockPos max) {
+
+        for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; ++chunkX) {
+            for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; ++chunkZ) {
+                if (!world.chunkExists(chunkX, chunkZ)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isWithinMaximumSize(final int size, final int maximum) {
+        return maximum < 0 || size <= maximum;
+    }
+
     private final EnergyBuffer _energyBuffer;
+    private final ClientSyncTracker _clientSyncTracker;
+    private final ExtrapolatedValue _energyStored;
     private EnergySystem _outputEnergySystem;
 
+    // the extent of the machine when it was saved, if it was assembled, until the machine is assembled again
+    private BlockPos _expectedMinimum;
+    private BlockPos _expectedMaximum;
+
     //endregion
 }
@@ -18,6 +18,7 @@
 
 package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
 
+import it.zerono.mods.extremereactors.config.Config;
 import it.zerono.mods.zerocore.lib.multiblock.cuboid.AbstractCuboidMultiblockController;
 import it.zerono.mods.zerocore.lib.multiblock.variant.IMultiblockDimensionVariant;
 import net.minecraft.world.World;
@@ -44,7 +45,7 @@ public abstract class AbstractMultiblockController<Controller extends AbstractCu
 
         ++this._ticksSinceLastUpdate;
 
-        if (this._ticksSinceLastUpdate >= TICKS_BETWEEN_UPDATES) {
+        if (this._ticksSinceLastUpdate >= Config.COMMON.general.ticksPerClientUpdate.get()) {
 
             this._ticksSinceLastUpdate = 0;
             this.sendClientUpdates();
@@ -155,9 +156,6 @@ public abstract class AbstractMultiblockController<Controller extends AbstractCu
     //endregion
     //region internals
 
-    //TODO config?
-    private static final int TICKS_BETWEEN_UPDATES = 3;
-
     private int _ticksSinceLastUpdate;
     private boolean _interiorInvisible;
 
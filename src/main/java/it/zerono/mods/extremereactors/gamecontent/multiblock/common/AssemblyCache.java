@@ -0,0 +1,220 @@
+/*
+ *
+ * AssemblyCache.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraftforge.common.util.Constants;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/**
+ * Remember, with the saved data of a machine, the values derived from its structure while validating and assembling it.
+ *
+ * The values are stored together with a hash of the structure of the machine, computed by the machine itself from its
+ * attached parts and from the few interior blocks its validation and assembly read (the blocks around the Fuel Rods,
+ * the Turbine coils, ...). When the machine is loaded again, the first validation compare the hash of the structure found
+ * in the world with the stored one and, if they match, skip the validation walks and reuse the stored values.
+ *
+ * The hash is computed by the machine when it's assembled and when the values are restored: it must be cheap, much
+ * cheaper than a walk over the whole bounding box of the machine
+ */
+public final class AssemblyCache {
+
+    /**
+     * A FNV-1a hash builder. Values added with {@link #addUnordered(long)} are combined in a way that does not depend
+     * on the order they are added in, for collections with no stable iteration order like the attached parts
+     */
+    public static final class Hash {
+
+        public Hash() {
+
+            this._ordered = FNV_OFFSET;
+            this._unordered = 0;
+        }
+
+        public Hash add(final long value) {
+
+            this._ordered = mix(this._ordered, value);
+            return this;
+        }
+
+        public Hash add(final float value) {
+            return this.add(Float.floatToIntBits(value));
+        }
+
+        public Hash addUnordered(final long value) {
+
+            this._unordered += scramble(value);
+            return this;
+        }
+
+        public long get() {
+
+            final long hash = mix(this._ordered, this._unordered);
+
+            return NO_HASH == hash ? hash + 1 : hash;
+        }
+
+        //region internals
+
+        private long _ordered;
+        private long _unordered;
+
+        //endregion
+    }
+
+    /**
+     * @param hasher compute the hash of the current structure of the machine. It's given the values derived from the
+     *               structure, to be restored or just computed, so it could check the blocks they refer to
+     */
+    public AssemblyCache(final ToLongFunction<CompoundNBT> hasher) {
+
+        this._hasher = hasher;
+        this._hash = NO_HASH;
+        this._assembledData = null;
+        this._savedData = null;
+    }
+
+    /**
+     * Try to restore the values saved with the machine. Only the first call after the machine is loaded could succeed,
+     * the saved values are discarded afterward.
+     * The whole machine must be loaded and it must be assembled right after a successful call
+     *
+     * @return the saved values if the structure of the machine did not change since they were saved
+     */
+    public Optional<CompoundNBT> restore() {
+
+        final CompoundNBT saved = this._savedData;
+
+        if (null == saved) {
+            return Optional.empty();
+        }
+
+        this._savedData = null;
+
+        final CompoundNBT data = saved.getCompound("data");
+        final long hash = this._hasher.applyAsLong(data);
+
+        if (hash != saved.getLong("hash")) {
+            return Optional.empty();
+        }
+
+        // the hash is already known for when the machine is assembled
+        this._hash = hash;
+        this._assembledData = data;
+        return Optional.of(data);
+    }
+
+    /**
+     * Call this when the machine is assembled, on the logical server.
+     * The whole machine must be loaded
+     *
+     * @param data the values derived from the structure of the machine
+     */
+    public void onAssembled(final CompoundNBT data) {
+
+        // the hash is already known if the values were just restored
+
+        if (NO_HASH == this._hash || null == this._assembledData || !this._assembledData.equals(data)) {
+            this._hash = this._hasher.applyAsLong(data);
+        }
+
+        this._assembledData = data;
+    }
+
+    /**
+     * Call this when the machine is disassembled
+     */
+    public void onDisassembled() {
+
+        this._hash = NO_HASH;
+        this._assembledData = null;
+    }
+
+    /**
+     * Write the cached values, if any, to the saved data of the machine
+     *
+     * @param data the saved data of the machine
+     * @param key the key to write the values to
+     */
+    public void syncDataTo(final CompoundNBT data, final String key) {
+
+        if (null == this._assembledData || NO_HASH == this._hash) {
+            return;
+        }
+
+        final CompoundNBT cache = new CompoundNBT();
+
+        cache.putInt("version", VERSION);
+        cache.putLong("hash", this._hash);
+        cache.put("data", this._assembledData);
+        data.put(key, cache);
+    }
+
+    /**
+     * Read the cached values, if any, from the saved data of the machine
+     *
+     * @param data the saved data of the machine
+     * @param key the key to read the values from
+     */
+    public void syncDataFrom(final CompoundNBT data, final String key) {
+
+        if (data.contains(key, Constants.NBT.TAG_COMPOUND)) {
+
+            final CompoundNBT cache = data.getCompound(key);
+
+            this._savedData = VERSION == cache.getInt("version") ? cache : null;
+        }
+    }
+
+    //region internals
+
+    private static long mix(final long hash, final long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    /**
+     * The finalizer of MurmurHash3: spread the bits of a value before summing it with the others
+     */
+    private static long scramble(long value) {
+
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final int VERSION = 3;
+    private static final long NO_HASH = 0;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ToLongFunction<CompoundNBT> _hasher;
+    private long _hash;
+    @Nullable
+    private CompoundNBT _assembledData;
+    @Nullable
+    private CompoundNBT _savedData;
+
+    //endregion
+}
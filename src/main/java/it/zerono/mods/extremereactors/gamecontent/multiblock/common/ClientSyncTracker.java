@@ -0,0 +1,89 @@
+/*
+ *
+ * ClientSyncTracker.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keep track of which top level entries of the data sent to the client actually changed between two updates
+ * so that the client could only refresh what depends on them
+ */
+public class ClientSyncTracker {
+
+    public ClientSyncTracker() {
+
+        this._lastValues = Maps.newHashMap();
+        this._changedKeys = Sets.newHashSet();
+    }
+
+    /**
+     * Compare the given data with the one received by the previous update and mark as changed every entry that differ
+     *
+     * @param data the data received from the server
+     */
+    public void update(final CompoundNBT data) {
+
+        for (final String key : data.keySet()) {
+
+            final INBT value = data.get(key);
+
+            if (null != value && !value.equals(this._lastValues.get(key))) {
+
+                this._lastValues.put(key, value);
+                this._changedKeys.add(key);
+            }
+        }
+    }
+
+    /**
+     * Check if an entry changed since the last call to {@link #clearChanges()}
+     *
+     * @param key the name of the entry
+     * @return true if the entry changed, false otherwise
+     */
+    public boolean isChanged(final String key) {
+        return this._changedKeys.contains(key);
+    }
+
+    public void clearChanges() {
+        this._changedKeys.clear();
+    }
+
+    /**
+     * Forget all the received data so that every entry will be reported as changed on the next update
+     */
+    public void reset() {
+
+        this._lastValues.clear();
+        this._changedKeys.clear();
+    }
+
+    //region internals
+
+    private final Map<String, INBT> _lastValues;
+    private final Set<String> _changedKeys;
+
+    //endregion
+}
@@ -0,0 +1,173 @@
+/*
+ *
+ * CurveTable.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+import it.zerono.mods.extremereactors.Log;
+import it.zerono.mods.extremereactors.config.Config;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A precomputed, linearly interpolated, table of the values of a smooth function over a range.
+ *
+ * When the general.useMathLookupTables config option is enabled, values inside the range are interpolated from
+ * the table, otherwise (and always for values outside the range) the function itself is evaluated.
+ *
+ * The interpolation error of a table is measured when the table is built, checking a number of points between each
+ * pair of samples. If it's greater than the maximum error allowed, the table is not used
+ */
+public final class CurveTable {
+
+    /**
+     * Create a table for a function over the range [min, max]
+     *
+     * @param name the name of the table, used in log messages
+     * @param min the start of the range
+     * @param max the end of the range
+     * @param samples the number of intervals in the range
+     * @param maxError the maximum absolute error allowed for the interpolated values
+     * @param function the function
+     * @return the new table
+     */
+    public static CurveTable of(final String name, final double min, final double max, final int samples,
+                                final double maxError, final DoubleUnaryOperator function) {
+        return new CurveTable(name, min, max, samples, maxError, false, function);
+    }
+
+    /**
+     * Create a table for a periodic function with the given period. The table cover a single period, starting at 0
+     *
+     * @param name the name of the table, used in log messages
+     * @param period the period of the function
+     * @param samples the number of intervals in a period
+     * @param maxError the maximum absolute error allowed for the interpolated values
+     * @param function the function
+     * @return the new table
+     */
+    public static CurveTable periodic(final String name, final double period, final int samples,
+                                      final double maxError, final DoubleUnaryOperator function) {
+        return new CurveTable(name, 0, period, samples, maxError, true, function);
+    }
+
+    /**
+     * @return true if the tables should be used instead of evaluating the functions
+     */
+    public static boolean isEnabled() {
+        return Config.COMMON.general.useMathLookupTables.get();
+    }
+
+    /**
+     * Compute the value of the function for x, interpolating it from the table if the tables are enabled
+     *
+     * @param x the function argument
+     * @return the value of the function
+     */
+    public double evaluate(double x) {
+
+        if (!this._valid || !isEnabled()) {
+            return this._function.applyAsDouble(x);
+        }
+
+        if (this._periodic) {
+            x -= this._max * Math.floor(x / this._max);
+        }
+
+        if (!(x >= this._min && x <= this._max)) {
+
+            // out of range, infinite or NaN
+            return this._function.applyAsDouble(x);
+        }
+
+        return this.interpolate(x);
+    }
+
+    /**
+     * @return the maximum absolute error of the interpolated values measured when the table was built
+     */
+    public double getMeasuredError() {
+        return this._measuredError;
+    }
+
+    //region internals
+
+    private CurveTable(final String name, final double min, final double max, final int samples, final double maxError,
+                       final boolean periodic, final DoubleUnaryOperator function) {
+
+        this._function = function;
+        this._min = min;
+        this._max = max;
+        this._samples = samples;
+        this._periodic = periodic;
+        this._inverseStep = samples / (max - min);
+        this._values = new double[samples + 1];
+
+        final double step = (max - min) / samples;
+
+        for (int idx = 0; idx <= samples; ++idx) {
+            this._values[idx] = function.applyAsDouble(min + idx * step);
+        }
+
+        this._measuredError = this.measureError(step);
+        this._valid = this._measuredError <= maxError;
+
+        if (!this._valid) {
+            Log.LOGGER.warn(Log.CORE, "The interpolation error of the {} lookup table ({}) exceed the maximum allowed ({}): the table will not be used",
+                    name, this._measuredError, maxError);
+        }
+    }
+
+    private double interpolate(final double x) {
+
+        final double position = (x - this._min) * this._inverseStep;
+        final int index = Math.min((int)position, this._samples - 1);
+        final double a = this._values[index];
+
+        return a + (this._values[index + 1] - a) * (position - index);
+    }
+
+    private double measureError(final double step) {
+
+        double error = 0;
+
+        for (int idx = 0; idx < this._samples; ++idx) {
+            for (int point = 1; point < ERROR_CHECK_POINTS; ++point) {
+
+                final double x = this._min + (idx + (double)point / ERROR_CHECK_POINTS) * step;
+
+                error = Math.max(error, Math.abs(this.interpolate(x) - this._function.applyAsDouble(x)));
+            }
+        }
+
+        return error;
+    }
+
+    private static final int ERROR_CHECK_POINTS = 8;
+
+    private final DoubleUnaryOperator _function;
+    private final double[] _values;
+    private final double _min;
+    private final double _max;
+    private final double _inverseStep;
+    private final int _samples;
+    private final boolean _periodic;
+    private final double _measuredError;
+    private final boolean _valid;
+
+    //endregion
+}
@@ -0,0 +1,115 @@
+/*
+ *
+ * ExtrapolatedValue.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+/**
+ * A value that is sent to the client together with its rate of change so that the client
+ * could estimate how it evolves between two updates from the server.
+ *
+ * On the server, {@link #sample} is called every time an update is sent to track the rate of change.
+ * On the client, {@link #sync} is called every time an update is received and {@link #get} return the estimated value
+ */
+public class ExtrapolatedValue {
+
+    public ExtrapolatedValue() {
+
+        this._value = this._rate = 0;
+        this._time = -1;
+        this._window = 0;
+    }
+
+    //region server side
+
+    /**
+     * Record the current value and compute its rate of change since the previous sample
+     *
+     * @param value the current value
+     * @param gameTime the current game time
+     */
+    public void sample(final double value, final long gameTime) {
+
+        if (gameTime == this._time) {
+            return;
+        }
+
+        if (this._time >= 0) {
+            this._rate = (value - this._value) / (gameTime - this._time);
+        }
+
+        this._value = value;
+        this._time = gameTime;
+    }
+
+    /**
+     * @return the rate of change of the value, in units per tick
+     */
+    public double getRate() {
+        return this._rate;
+    }
+
+    //endregion
+    //region client side
+
+    /**
+     * Update the value and its rate of change with the data received from the server
+     *
+     * @param value the value received from the server
+     * @param rate the rate of change received from the server, in units per tick
+     * @param gameTime the current game time
+     */
+    public void sync(final double value, final double rate, final long gameTime) {
+
+        if (this._time >= 0 && gameTime > this._time) {
+            // never extrapolate further away than the interval between two updates
+            this._window = gameTime - this._time;
+        }
+
+        this._value = value;
+        this._rate = rate;
+        this._time = gameTime;
+    }
+
+    /**
+     * Estimate the current value from the last one received from the server
+     *
+     * @param gameTime the current game time
+     * @param partialTicks the fraction of the current tick that already elapsed
+     * @return the estimated value
+     */
+    public double get(final long gameTime, final float partialTicks) {
+
+        if (this._time < 0) {
+            return this._value;
+        }
+
+        final double elapsed = Math.max(0, Math.min(gameTime - this._time + partialTicks, this._window));
+
+        return this._value + this._rate * elapsed;
+    }
+
+    //endregion
+    //region internals
+
+    private double _value;
+    private double _rate;
+    private long _time;
+    private long _window;
+
+    //endregion
+}
@@ -27,6 +27,7 @@ import it.zerono.mods.extremereactors.api.coolant.Vapor;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.variant.IMultiblockGeneratorVariant;
 import it.zerono.mods.zerocore.lib.TestResult;
 import it.zerono.mods.zerocore.lib.data.IoDirection;
+import it.zerono.mods.zerocore.lib.data.nbt.IMergeableEntity;
 import it.zerono.mods.zerocore.lib.data.stack.IndexedStackContainer;
 import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
 import it.zerono.mods.zerocore.lib.data.stack.StackAdapters;
@@ -43,13 +44,14 @@ import java.util.function.*;
 
 public class FluidContainer
         extends IndexedStackContainer<FluidType, Fluid, FluidStack>
-        implements IFluidContainer {
+        implements IFluidContainer, IVersionedEntity {
 
     public FluidContainer(final IFluidContainerAccess accessGovernor) {
 
         super(0, StackAdapters.FLUIDSTACK, FluidType.Gas, FluidType.Liquid);
         this._accessGovernor = accessGovernor;
         this._liquidVaporizedLastTick = 0;
+        this._version = 0;
     }
 
     /**
@@ -143,14 +145,45 @@ public class FluidContainer
         return amount <= 0 ? 0 : this.insert(FluidType.Liquid, liquid, amount, mode);
     }
 
+    /**
+     * Add some gas to the container, if possible
+     *
+     * @param gas the gas to add
+     * @param amount the quantity of gas to add
+     * @param mode if Simulate, this will only simulate a fill and will not alter the gas amount
+     * @return the amount of gas actually added
+     */
+    public int insertGas(Fluid gas, int amount, OperationMode mode) {
+        return amount <= 0 ? 0 : this.insert(FluidType.Gas, gas, amount, mode);
+    }
+
     public int voidGas() {
+
+        ++this._version;
         return this.clear(FluidType.Gas).getAmount();
     }
 
+    public int voidGas(int amount) {
+        return amount <= 0 ? 0 : this.extract(FluidType.Gas, amount, OperationMode.Execute).getAmount();
+    }
+
     public int voidLiquid() {
+
+        ++this._version;
         return this.clear(FluidType.Liquid).getAmount();
     }
 
+    public int voidLiquid(int amount) {
+        return amount <= 0 ? 0 : this.extract(FluidType.Liquid, amount, OperationMode.Execute).getAmount();
+    }
+
+    @Override
+    public void setCapacity(final int capacity) {
+
+        super.setCapacity(capacity);
+        ++this._version;
+    }
+
     @Override
     public IFluidHandler getWrapper(final IoDirection portDirection) {
 
@@ -286,6 +319,36 @@ public class FluidContainer
             this.rebuildCoolantCache();
             this.rebuildVaporCache();
         }
+
+        ++this._version;
+    }
+
+    //endregion
+    //region IMergeableEntity
+
+    /**
+     * Sync the entity data from another IMergeableEntity
+     *
+     * @param other the IMergeableEntity to sync from
+     */
+    @Override
+    public void syncDataFrom(final IMergeableEntity other) {
+
+        super.syncDataFrom(other);
+        ++this._version;
+    }
+
+    //endregion
+    //region IVersionedEntity
+
+    /**
+     * A counter that is incremented every time the content of the container is changed
+     *
+     * @return the current version
+     */
+    @Override
+    public long getVersion() {
+        return this._version;
     }
 
     //endregion
@@ -484,6 +547,7 @@ public class FluidContainer
     protected void onInsert(final FluidType fluidType, final boolean wasEmpty) {
 
         super.onInsert(fluidType, wasEmpty);
+        ++this._version;
 
         if (wasEmpty) {
 
@@ -510,6 +574,7 @@ public class FluidContainer
     protected void onExtract(final FluidType fluidType, final boolean isEmptyNow) {
 
         super.onExtract(fluidType, isEmptyNow);
+        ++this._version;
 
         if (isEmptyNow) {
 
@@ -531,6 +596,7 @@ public class FluidContainer
     private final IFluidContainerAccess _accessGovernor;
     private Map<FluidType, IndexedFluidHandlerForwarder<FluidType>> _wrappers;
     private int _liquidVaporizedLastTick;
+    private long _version;
 
     private Coolant _cachedCoolant;
     private Vapor _cachedVapor;
@@ -0,0 +1,156 @@
+/*
+ *
+ * ParallelCompute.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+import it.zerono.mods.extremereactors.config.Config;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Run the compute phase of the machines simulation on a dedicated {@link ForkJoinPool}.
+ *
+ * A compute phase is a loop over a range of machines where each iteration only read and write the state of its own machine:
+ * no world access, no shared accumulators and no events. Under this rule the results are the same whatever the number
+ * of threads and the order in which the machines are processed.
+ *
+ * The server thread wait for the whole phase to complete, so the machines state could be freely used again afterward.
+ *
+ * It does not change how or when the machines are simulated, only how many threads run a compute phase: with
+ * general.parallelComputeThreads set to 0 or 1 the ranges are processed on the server thread, in the same order
+ */
+public final class ParallelCompute {
+
+    @FunctionalInterface
+    public interface IRangeTask {
+
+        /**
+         * Process the machines in the given range
+         *
+         * @param from the first index to process
+         * @param to the index after the last one to process
+         */
+        void compute(int from, int to);
+    }
+
+    /**
+     * Run a task over the range [0, size), splitting it in chunks processed in parallel.
+     * The range is processed on the calling thread if it's too small or if only one thread is configured
+     *
+     * @param size the size of the range
+     * @param minChunkSize the minimum number of indices processed by a single thread
+     * @param task the task to run
+     */
+    public static void forRange(final int size, final int minChunkSize, final IRangeTask task) {
+
+        if (size <= 0) {
+            return;
+        }
+
+        final ForkJoinPool pool = getPool();
+
+        if (null == pool || size <= minChunkSize) {
+            task.compute(0, size);
+        } else {
+            pool.invoke(new RangeAction(task, 0, size, Math.max(1, minChunkSize)));
+        }
+    }
+
+    //region internals
+
+    private ParallelCompute() {
+    }
+
+    private static ForkJoinPool getPool() {
+
+        final int threads = Config.COMMON.general.parallelComputeThreads.get();
+
+        if (threads <= 1) {
+            return null;
+        }
+
+        ForkJoinPool pool = s_pool;
+
+        if (null == pool || pool.getParallelism() != threads) {
+
+            synchronized (ParallelCompute.class) {
+
+                pool = s_pool;
+
+                if (null == pool || pool.getParallelism() != threads) {
+
+                    if (null != pool) {
+                        pool.shutdown();
+                    }
+
+                    s_pool = pool = new ForkJoinPool(threads, ParallelCompute::newThread, null, false);
+                }
+            }
+        }
+
+        return pool;
+    }
+
+    private static ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+
+        thread.setName("Extreme Reactors compute " + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class RangeAction
+            extends RecursiveAction {
+
+        RangeAction(final IRangeTask task, final int from, final int to, final int minChunkSize) {
+
+            this._task = task;
+            this._from = from;
+            this._to = to;
+            this._minChunkSize = minChunkSize;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (this._to - this._from <= this._minChunkSize) {
+
+                this._task.compute(this._from, this._to);
+
+            } else {
+
+                final int middle = (this._from + this._to) >>> 1;
+
+                invokeAll(new RangeAction(this._task, this._from, middle, this._minChunkSize),
+                        new RangeAction(this._task, middle, this._to, this._minChunkSize));
+            }
+        }
+
+        private final IRangeTask _task;
+        private final int _from;
+        private final int _to;
+        private final int _minChunkSize;
+    }
+
+    private static volatile ForkJoinPool s_pool;
+
+    //endregion
+}
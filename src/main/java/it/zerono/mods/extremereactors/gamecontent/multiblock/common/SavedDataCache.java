@@ -0,0 +1,88 @@
+/*
+ *
+ * SavedDataCache.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+import com.google.common.collect.Maps;
+import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
+import net.minecraft.nbt.CompoundNBT;
+
+import java.util.Map;
+
+/**
+ * Keep the data saved by the child entities of a multiblock controller so that the data of the entities that
+ * didn't change since the last save could be reused as-is instead of being written again.
+ *
+ * The cached {@link CompoundNBT}s are never modified: when an entity change, a new one is created for it
+ */
+public class SavedDataCache {
+
+    public SavedDataCache() {
+        this._entries = Maps.newHashMap();
+    }
+
+    /**
+     * Sync the data of a child entity to the given {@link CompoundNBT} under the provided key.
+     * On a full sync, the data of the entity is written only if the entity was changed since the last time
+     *
+     * @param entity the child entity
+     * @param key the key to store the entity data under
+     * @param data the {@link CompoundNBT} to write to
+     * @param syncReason the reason why the synchronization is necessary
+     * @param <Entity> the type of the child entity
+     */
+    public <Entity extends ISyncableEntity & IVersionedEntity> void syncChildDataEntityTo(final Entity entity, final String key,
+                                                                                          final CompoundNBT data,
+                                                                                          final ISyncableEntity.SyncReason syncReason) {
+
+        if (!syncReason.isFullSync()) {
+
+            data.put(key, entity.syncDataTo(new CompoundNBT(), syncReason));
+            return;
+        }
+
+        final long version = entity.getVersion();
+        Entry entry = this._entries.get(key);
+
+        if (null == entry || version != entry.Version) {
+
+            entry = new Entry(version, entity.syncDataTo(new CompoundNBT(), syncReason));
+            this._entries.put(key, entry);
+        }
+
+        data.put(key, entry.Data);
+    }
+
+    //region internals
+
+    private static final class Entry {
+
+        Entry(final long version, final CompoundNBT data) {
+
+            this.Version = version;
+            this.Data = data;
+        }
+
+        final long Version;
+        final CompoundNBT Data;
+    }
+
+    private final Map<String, Entry> _entries;
+
+    //endregion
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ * CachedMesh.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.render;
+
+import com.mojang.blaze3d.vertex.IVertexBuilder;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.vertex.VertexBuffer;
+import net.minecraft.util.math.vector.Matrix4f;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.common.util.NonNullConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Geometry baked once in a {@link VertexBuffer} and then drawn as many times as needed
+ * with just a different transformation matrix
+ */
+@OnlyIn(Dist.CLIENT)
+public class CachedMesh {
+
+    public CachedMesh(final RenderType renderType) {
+
+        this._renderType = renderType;
+        this._buffer = null;
+    }
+
+    public boolean isBuilt() {
+        return null != this._buffer;
+    }
+
+    /**
+     * Bake new geometry in the mesh, replacing the old one
+     *
+     * @param geometry emit the geometry of the mesh in the provided {@link IVertexBuilder}
+     */
+    public void build(final NonNullConsumer<IVertexBuilder> geometry) {
+
+        final BufferBuilder builder = new BufferBuilder(this._renderType.getBufferSize());
+
+        builder.begin(this._renderType.getDrawMode(), this._renderType.getVertexFormat());
+        geometry.accept(builder);
+        builder.finishDrawing();
+
+        if (null == this._buffer) {
+            this._buffer = new VertexBuffer(this._renderType.getVertexFormat());
+        }
+
+        this._buffer.upload(builder);
+    }
+
+    /**
+     * Draw the mesh, if it was built
+     *
+     * @param matrix the transformation to apply to the mesh
+     */
+    public void draw(final Matrix4f matrix) {
+
+        if (null == this._buffer) {
+            return;
+        }
+
+        this._renderType.setupRenderState();
+        this._buffer.bindBuffer();
+        this._renderType.getVertexFormat().setupBufferState(0L);
+        this._buffer.draw(matrix, this._renderType.getDrawMode());
+        VertexBuffer.unbindBuffer();
+        this._renderType.getVertexFormat().clearBufferState();
+        this._renderType.clearRenderState();
+    }
+
+    /**
+     * Release the GPU resources used by the mesh. The mesh could be built again later
+     */
+    public void close() {
+
+        if (null != this._buffer) {
+
+            this._buffer.close();
+            this._buffer = null;
+        }
+    }
+
+    //region internals
+
+    private final RenderType _renderType;
+    @Nullable
+    private VertexBuffer _buffer;
+
+    //endregion
+}
@@ -0,0 +1,115 @@
+/*
+ *
+ * MeshCache.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.render;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keep track of the meshes used to render some objects, releasing the ones that were not used for a while
+ *
+ * @param <Key> the type of the objects the meshes are associated with. Keys are compared by identity
+ * @param <Value> the type of the cached meshes
+ */
+@OnlyIn(Dist.CLIENT)
+public class MeshCache<Key, Value extends MeshCache.Entry> {
+
+    public abstract static class Entry {
+
+        /**
+         * Release all the resources used by this entry
+         */
+        protected abstract void close();
+
+        private long _lastUsed;
+    }
+
+    /**
+     * @param expirationTime release an entry if it was not used for this long (in milliseconds)
+     */
+    public MeshCache(final long expirationTime) {
+
+        this._cache = new IdentityHashMap<>(16);
+        this._expirationTime = expirationTime;
+        this._lastSweep = 0;
+    }
+
+    /**
+     * Get the entry associated with the given key, creating it if needed, and mark it as used
+     *
+     * @param key the key
+     * @param factory create a new entry for the key
+     * @return the entry
+     */
+    public Value get(final Key key, final Function<Key, Value> factory) {
+
+        final long now = System.currentTimeMillis();
+        final Value entry = this._cache.computeIfAbsent(key, factory);
+
+        entry._lastUsed = now;
+
+        if (now - this._lastSweep > SWEEP_INTERVAL) {
+
+            this._lastSweep = now;
+            this.sweep(now);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Release all the cached entries
+     */
+    public void clear() {
+
+        this._cache.values().forEach(Entry::close);
+        this._cache.clear();
+    }
+
+    //region internals
+
+    private void sweep(final long now) {
+
+        final Iterator<Value> iterator = this._cache.values().iterator();
+
+        while (iterator.hasNext()) {
+
+            final Value entry = iterator.next();
+
+            if (now - entry._lastUsed > this._expirationTime) {
+
+                entry.close();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final long SWEEP_INTERVAL = 1_000;
+
+    private final Map<Key, Value> _cache;
+    private final long _expirationTime;
+    private long _lastSweep;
+
+    //endregion
+}
@@ -0,0 +1,82 @@
+/*
+ *
+ * SyncedBindingGroup.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen;
+
+import com.google.common.collect.Maps;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.ClientSyncTracker;
+import it.zerono.mods.zerocore.lib.client.gui.databind.BindingGroup;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import java.util.Map;
+
+/**
+ * A set of {@link BindingGroup}s, each one tied to an entry of the data synchronized from the server.
+ * A group is updated only if its entry actually changed since the last update
+ */
+@OnlyIn(Dist.CLIENT)
+public class SyncedBindingGroup {
+
+    public SyncedBindingGroup(final ClientSyncTracker tracker) {
+
+        this._tracker = tracker;
+        this._groups = Maps.newLinkedHashMap();
+        this._firstUpdate = true;
+    }
+
+    /**
+     * Get the {@link BindingGroup} for the bindings depending on the given synchronized entry
+     *
+     * @param syncKey the name of the synchronized entry
+     * @return the group
+     */
+    public BindingGroup of(final String syncKey) {
+        return this._groups.computeIfAbsent(syncKey, key -> new BindingGroup());
+    }
+
+    /**
+     * Update the groups whose entry changed. All the groups are updated the first time this method is called
+     */
+    public void update() {
+
+        if (this._firstUpdate) {
+
+            this._firstUpdate = false;
+            this._groups.values().forEach(BindingGroup::update);
+
+        } else {
+
+            for (final Map.Entry<String, BindingGroup> entry : this._groups.entrySet()) {
+                if (this._tracker.isChanged(entry.getKey())) {
+                    entry.getValue().update();
+                }
+            }
+        }
+
+        this._tracker.clearChanges();
+    }
+
+    //region internals
+
+    private final ClientSyncTracker _tracker;
+    private final Map<String, BindingGroup> _groups;
+    private boolean _firstUpdate;
+
+    //endregion
+}
@@ -0,0 +1,241 @@
+/*
+ *
+ * TelemetryGraph.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen;
+
+import com.google.common.collect.ImmutableList;
+import com.mojang.blaze3d.matrix.MatrixStack;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.FloatRingBuffer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryHistory;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryResolution;
+import it.zerono.mods.zerocore.lib.CodeHelper;
+import it.zerono.mods.zerocore.lib.client.gui.ModContainerScreen;
+import it.zerono.mods.zerocore.lib.client.gui.control.Button;
+import it.zerono.mods.zerocore.lib.client.gui.control.Panel;
+import it.zerono.mods.zerocore.lib.client.gui.layout.FixedLayoutEngine;
+import it.zerono.mods.zerocore.lib.data.geometry.Point;
+import it.zerono.mods.zerocore.lib.item.inventory.container.ModContainer;
+import net.minecraft.client.gui.AbstractGui;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.util.text.TranslationTextComponent;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.common.util.NonNullSupplier;
+
+import java.util.List;
+
+/**
+ * A small graph of one of the channels of a {@link TelemetryHistory}, at the second or minute resolution.
+ * The button on the right select the next channel, or switch the resolution if shift is held down
+ *
+ * @param <Channel> the enum listing the channels of the history
+ */
+@OnlyIn(Dist.CLIENT)
+public class TelemetryGraph<Channel extends Enum<Channel>>
+        extends Panel {
+
+    public TelemetryGraph(final ModContainerScreen<? extends ModContainer> gui, final String name,
+                          final TelemetryHistory<Channel> history, final int width, final int height) {
+
+        super(gui, name);
+
+        this._history = history;
+        this._channels = history.getChannels();
+        this._channel = this._channels[0];
+        this._resolution = TelemetryResolution.Second;
+        this._samples = new float[TelemetryHistory.SYNC_WINDOW];
+        this._graphWidth = width - BUTTON_SIZE - 2;
+        this._graphHeight = height;
+
+        this.setDesiredDimension(width, height);
+        this.setLayoutEngine(new FixedLayoutEngine().setZeroMargins());
+        this.setCustomBackgroundPainter(this::paintGraph);
+
+        final Button next = new Button(gui, name + "_next", ">");
+
+        next.setLayoutEngineHint(FixedLayoutEngine.hint(width - BUTTON_SIZE, 0, BUTTON_SIZE, BUTTON_SIZE));
+        next.setTooltips(new TranslationTextComponent("gui.bigreactors.telemetry.graph.next.line1"),
+                new TranslationTextComponent("gui.bigreactors.telemetry.graph.next.line2"));
+        next.Clicked.subscribe(this::onNext);
+        this.addControl(next);
+
+        this._tooltipsObjects = ImmutableList.of(
+                // @0
+                (NonNullSupplier<ITextComponent>)() -> this.valueText(this.getLatest()),
+                // @1
+                (NonNullSupplier<ITextComponent>)() -> this.valueText(this.getMin()),
+                // @2
+                (NonNullSupplier<ITextComponent>)() -> this.valueText(this.getMax())
+        );
+
+        this.updateTooltips();
+    }
+
+    //region IControl
+
+    @Override
+    public List<ITextComponent> getTooltips() {
+        return this._tooltipsLines;
+    }
+
+    @Override
+    public List<Object> getTooltipsObjects() {
+        return this._tooltipsObjects;
+    }
+
+    //endregion
+    //region internals
+
+    private void onNext(final Button button, final Integer mouseButton) {
+
+        if (Screen.hasShiftDown()) {
+
+            this._resolution = TelemetryResolution.Second == this._resolution ?
+                    TelemetryResolution.Minute : TelemetryResolution.Second;
+
+        } else {
+
+            this._channel = this._channels[(this._channel.ordinal() + 1) % this._channels.length];
+        }
+
+        this.updateTooltips();
+    }
+
+    private void updateTooltips() {
+
+        this._tooltipsLines = ImmutableList.of(
+                new TranslationTextComponent("gui.bigreactors.telemetry.channel." + this._channel.name().toLowerCase())
+                        .setStyle(AbstractMultiblockScreen.STYLE_TOOLTIP_TITLE),
+                new TranslationTextComponent("gui.bigreactors.telemetry.graph.resolution." + this._resolution.name().toLowerCase())
+                        .setStyle(AbstractMultiblockScreen.STYLE_TOOLTIP_INFO),
+                CodeHelper.TEXT_EMPTY_LINE,
+                new TranslationTextComponent("gui.bigreactors.telemetry.graph.latest"),
+                new TranslationTextComponent("gui.bigreactors.telemetry.graph.min"),
+                new TranslationTextComponent("gui.bigreactors.telemetry.graph.max")
+        );
+    }
+
+    private ITextComponent valueText(final float value) {
+        return new StringTextComponent(String.format("%.2f", value)).setStyle(AbstractMultiblockScreen.STYLE_TOOLTIP_VALUE);
+    }
+
+    private int loadSamples() {
+        return this._history.get(this._channel, this._resolution)
+                .map(buffer -> buffer.copyLatest(this._samples, this._samples.length))
+                .orElse(0);
+    }
+
+    private float getLatest() {
+        return this._history.get(this._channel, this._resolution)
+                .map(FloatRingBuffer::getLatest)
+                .orElse(0f);
+    }
+
+    private float getMin() {
+
+        final int count = this.loadSamples();
+        float min = count > 0 ? Float.MAX_VALUE : 0f;
+
+        for (int idx = 0; idx < count; ++idx) {
+            min = Math.min(min, this._samples[idx]);
+        }
+
+        return min;
+    }
+
+    private float getMax() {
+
+        final int count = this.loadSamples();
+        float max = count > 0 ? -Float.MAX_VALUE : 0f;
+
+        for (int idx = 0; idx < count; ++idx) {
+            max = Math.max(max, this._samples[idx]);
+        }
+
+        return max;
+    }
+
+    private void paintGraph(final Panel panel, final MatrixStack matrix) {
+
+        final Point xy = panel.controlToScreen(0, 0);
+        final int count = this.loadSamples();
+
+        AbstractGui.fill(matrix, xy.X, xy.Y, xy.X + this._graphWidth, xy.Y + this._graphHeight, COLOUR_BACKGROUND);
+
+        if (0 == count) {
+            return;
+        }
+
+        // the graph always start from zero, unless there are negative values
+
+        float low = 0f, high = 0f;
+
+        for (int idx = 0; idx < count; ++idx) {
+
+            low = Math.min(low, this._samples[idx]);
+            high = Math.max(high, this._samples[idx]);
+        }
+
+        if (high - low <= 0f) {
+            return;
+        }
+
+        // one column for each pixel, showing the highest of the samples that fall in it
+        // if there are less samples than pixels, the graph is aligned to the right
+
+        final int columns = Math.min(count, this._graphWidth);
+        final int plotHeight = this._graphHeight - 2;
+        final int left = xy.X + this._graphWidth - columns;
+        final int bottom = xy.Y + this._graphHeight - 1;
+
+        for (int column = 0; column < columns; ++column) {
+
+            final int first = column * count / columns;
+            final int last = Math.max(first + 1, (column + 1) * count / columns);
+            float value = this._samples[first];
+
+            for (int idx = first + 1; idx < last; ++idx) {
+                value = Math.max(value, this._samples[idx]);
+            }
+
+            final int barHeight = Math.round((value - low) / (high - low) * plotHeight);
+
+            if (barHeight > 0) {
+                AbstractGui.fill(matrix, left + column, bottom - barHeight, left + column + 1, bottom, COLOUR_GRAPH);
+            }
+        }
+    }
+
+    private static final int BUTTON_SIZE = 12;
+    private static final int COLOUR_BACKGROUND = 0xFF1E1E1E;
+    private static final int COLOUR_GRAPH = 0xFF3FBF5F;
+
+    private final TelemetryHistory<Channel> _history;
+    private final Channel[] _channels;
+    private final float[] _samples;
+    private final int _graphWidth;
+    private final int _graphHeight;
+    private final List<Object> _tooltipsObjects;
+    private List<ITextComponent> _tooltipsLines;
+    private Channel _channel;
+    private TelemetryResolution _resolution;
+
+    //endregion
+}
@@ -0,0 +1,132 @@
+/*
+ *
+ * Histogram.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * A fixed buckets histogram of long values
+ */
+public final class Histogram {
+
+    /**
+     * @param bounds the upper bounds (inclusive) of the buckets, in ascending order. Values above the last bound are
+     *               counted in an extra overflow bucket
+     */
+    public Histogram(final long... bounds) {
+
+        Preconditions.checkArgument(bounds.length > 0, "At least one bucket is required");
+
+        this._bounds = bounds.clone();
+        this._counts = new long[bounds.length + 1];
+        this._count = this._sum = this._max = 0;
+    }
+
+    public void record(final long value) {
+
+        int bucket = Arrays.binarySearch(this._bounds, value);
+
+        if (bucket < 0) {
+            bucket = -bucket - 1;
+        }
+
+        ++this._counts[bucket];
+        ++this._count;
+        this._sum += value;
+
+        if (value > this._max) {
+            this._max = value;
+        }
+    }
+
+    public long getCount() {
+        return this._count;
+    }
+
+    public long getSum() {
+        return this._sum;
+    }
+
+    public long getMax() {
+        return this._max;
+    }
+
+    public double getMean() {
+        return 0 == this._count ? 0 : (double)this._sum / (double)this._count;
+    }
+
+    /**
+     * Estimate a percentile of the recorded values as the upper bound of the bucket containing it
+     *
+     * @param percentile the percentile, in the range [0, 1]
+     * @return the estimated value
+     */
+    public long getPercentile(final double percentile) {
+
+        final long target = (long)Math.ceil(this._count * percentile);
+        long seen = 0;
+
+        for (int i = 0; i < this._bounds.length; ++i) {
+
+            seen += this._counts[i];
+
+            if (seen >= target) {
+                return Math.min(this._bounds[i], this._max);
+            }
+        }
+
+        return this._max;
+    }
+
+    /**
+     * Write the histogram in the Prometheus text exposition format
+     *
+     * @param output the destination
+     * @param name the name of the metric
+     * @param labels the labels of the metric, already formatted (name="value" pairs separated by commas)
+     * @param scale the histogram values are multiplied by this factor before being written
+     */
+    public void writePrometheus(final StringBuilder output, final String name, final String labels, final double scale) {
+
+        long cumulative = 0;
+
+        for (int i = 0; i < this._bounds.length; ++i) {
+
+            cumulative += this._counts[i];
+            output.append(name).append("_bucket{").append(labels).append(",le=\"").append(this._bounds[i] * scale)
+                    .append("\"} ").append(cumulative).append('\n');
+        }
+
+        output.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(this._count).append('\n');
+        output.append(name).append("_sum{").append(labels).append("} ").append(this._sum * scale).append('\n');
+        output.append(name).append("_count{").append(labels).append("} ").append(this._count).append('\n');
+    }
+
+    //region internals
+
+    private final long[] _bounds;
+    private final long[] _counts;
+    private long _count;
+    private long _sum;
+    private long _max;
+
+    //endregion
+}
@@ -0,0 +1,228 @@
+/*
+ *
+ * MachineMetrics.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics;
+
+import it.zerono.mods.extremereactors.config.Config;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractMultiblockController;
+import net.minecraft.util.math.BlockPos;
+
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Performance metrics of a single machine, collected on the server side.
+ *
+ * A tick is enclosed between {@link #beginTick()} and {@link #endTick(double)} and it's split in sections
+ * (matching the profiler sections used by the machine) with {@link #begin(Section)} and {@link #end()}
+ */
+public final class MachineMetrics {
+
+    public enum Section {
+
+        Irradiate,
+        Decay,
+        Refueling,
+        Heat,
+        Generate,
+        Distribute,
+        Tickables,
+        Updates
+    }
+
+    public MachineMetrics(final String machineType, final AbstractMultiblockController<?, ?> controller) {
+
+        this._machineType = machineType;
+        this._controller = controller;
+        this._tickTime = newTimeHistogram();
+        this._sectionsTime = new EnumMap<>(Section.class);
+        this._sectionNanos = new long[Section.values().length];
+        this._energyGenerated = new Histogram(0, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000);
+        this._packetsSent = 0;
+        this._recentTickTime = 0;
+        this._lastTick = 0;
+        this._registered = false;
+        this._currentSection = null;
+    }
+
+    public String getMachineType() {
+        return this._machineType;
+    }
+
+    public String getDimension() {
+        return this._controller.getWorld().getDimensionKey().getLocation().toString();
+    }
+
+    @Nullable
+    public BlockPos getPosition() {
+        return this._controller.getMinimumCoord().orElse(null);
+    }
+
+    public Histogram getTickTime() {
+        return this._tickTime;
+    }
+
+    /**
+     * @return the histograms of the time spent in the sections that were executed at least once
+     */
+    public Map<Section, Histogram> getSectionsTime() {
+        return this._sectionsTime;
+    }
+
+    public Histogram getEnergyGenerated() {
+        return this._energyGenerated;
+    }
+
+    public long getPacketsSent() {
+        return this._packetsSent;
+    }
+
+    /**
+     * @return a moving average of the tick time, in nanoseconds, weighted towards the most recent ticks
+     */
+    public double getRecentTickTime() {
+        return this._recentTickTime;
+    }
+
+    /**
+     * @return the value of {@link System#nanoTime()} at the end of the last recorded tick
+     */
+    public long getLastTick() {
+        return this._lastTick;
+    }
+
+    //region collection
+
+    public void beginTick() {
+
+        this._collecting = Config.COMMON.general.enableMachineMetrics.get();
+
+        if (this._collecting) {
+            this._tickStart = this._sectionStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Close the current section, if any, and open a new one
+     *
+     * @param section the section to open
+     */
+    public void begin(final Section section) {
+
+        if (this._collecting) {
+
+            final long now = System.nanoTime();
+
+            this.closeSection(now);
+            this._currentSection = section;
+            this._sectionStart = now;
+        }
+    }
+
+    /**
+     * Close the current section, if any
+     */
+    public void end() {
+
+        if (this._collecting) {
+            this.closeSection(System.nanoTime());
+        }
+    }
+
+    /**
+     * Close the tick and record its data
+     *
+     * @param energyGenerated the energy generated in this tick, in FE
+     */
+    public void endTick(final double energyGenerated) {
+
+        if (!this._collecting) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+        final long tickTime = now - this._tickStart;
+        final Section[] sections = Section.values();
+
+        this.closeSection(now);
+
+        for (int i = 0; i < sections.length; ++i) {
+
+            if (this._sectionNanos[i] > 0) {
+
+                this._sectionsTime.computeIfAbsent(sections[i], s -> newTimeHistogram()).record(this._sectionNanos[i]);
+                this._sectionNanos[i] = 0;
+            }
+        }
+
+        this._tickTime.record(tickTime);
+        this._energyGenerated.record((long)energyGenerated);
+        this._recentTickTime = 0 == this._lastTick ? tickTime : this._recentTickTime + (tickTime - this._recentTickTime) * RECENT_WEIGHT;
+        this._lastTick = now;
+
+        if (!this._registered) {
+
+            this._registered = true;
+            MetricsRegistry.register(this);
+        }
+    }
+
+    public void onPacketSent() {
+        ++this._packetsSent;
+    }
+
+    //endregion
+    //region internals
+
+    private void closeSection(final long now) {
+
+        if (null != this._currentSection) {
+
+            this._sectionNanos[this._currentSection.ordinal()] += now - this._sectionStart;
+            this._currentSection = null;
+        }
+    }
+
+    private static Histogram newTimeHistogram() {
+        // from 1 microsecond to 50 milliseconds
+        return new Histogram(1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+                1_000_000, 2_500_000, 5_000_000, 10_000_000, 25_000_000, 50_000_000);
+    }
+
+    private static final double RECENT_WEIGHT = 0.05;
+
+    private final String _machineType;
+    private final AbstractMultiblockController<?, ?> _controller;
+    private final Histogram _tickTime;
+    private final Map<Section, Histogram> _sectionsTime;
+    private final long[] _sectionNanos;
+    private final Histogram _energyGenerated;
+    private long _packetsSent;
+    private double _recentTickTime;
+    private long _lastTick;
+    private boolean _registered;
+
+    private boolean _collecting;
+    private long _tickStart;
+    private long _sectionStart;
+    @Nullable
+    private Section _currentSection;
+
+    //endregion
+}
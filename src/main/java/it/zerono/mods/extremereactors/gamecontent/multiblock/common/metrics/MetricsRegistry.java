@@ -0,0 +1,163 @@
+/*
+ *
+ * MetricsRegistry.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics;
+
+import it.zerono.mods.extremereactors.Log;
+import it.zerono.mods.extremereactors.config.Config;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keep track of the {@link MachineMetrics} of all the machines ticking on the server
+ * and periodically dump them to a file in the Prometheus text exposition format
+ */
+public final class MetricsRegistry {
+
+    public static final String DUMP_FILE_NAME = "extremereactors-metrics.prom";
+
+    public static void initialize() {
+        MinecraftForge.EVENT_BUS.addListener(MetricsRegistry::onServerTick);
+    }
+
+    /**
+     * Get the machines that ticked recently, slowest first
+     *
+     * @param count the maximum number of machines to return
+     * @return the machines
+     */
+    public static List<MachineMetrics> getSlowestMachines(final int count) {
+        return getActiveMachines().stream()
+                .sorted(Comparator.comparingDouble(MachineMetrics::getRecentTickTime).reversed())
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Format the metrics of all the machines that ticked recently in the Prometheus text exposition format
+     *
+     * @return the formatted metrics
+     */
+    public static String toPrometheusText() {
+
+        final List<MachineMetrics> machines = getActiveMachines();
+        final StringBuilder output = new StringBuilder(4096);
+
+        output.append("# HELP extremereactors_tick_seconds Time spent ticking a machine.\n");
+        output.append("# TYPE extremereactors_tick_seconds histogram\n");
+        machines.forEach(m -> m.getTickTime().writePrometheus(output, "extremereactors_tick_seconds", labels(m), NANOS_TO_SECONDS));
+
+        output.append("# HELP extremereactors_section_seconds Time spent ticking a machine, by update section.\n");
+        output.append("# TYPE extremereactors_section_seconds histogram\n");
+        machines.forEach(m -> m.getSectionsTime().forEach((section, histogram) ->
+                histogram.writePrometheus(output, "extremereactors_section_seconds", labels(m) + ",section=\"" + section + "\"", NANOS_TO_SECONDS)));
+
+        output.append("# HELP extremereactors_energy_generated_fe Energy generated by a machine in a tick.\n");
+        output.append("# TYPE extremereactors_energy_generated_fe histogram\n");
+        machines.forEach(m -> m.getEnergyGenerated().writePrometheus(output, "extremereactors_energy_generated_fe", labels(m), 1.0));
+
+        output.append("# HELP extremereactors_packets_sent_total Updates sent by a machine to the clients.\n");
+        output.append("# TYPE extremereactors_packets_sent_total counter\n");
+        machines.forEach(m -> output.append("extremereactors_packets_sent_total{").append(labels(m)).append("} ")
+                .append(m.getPacketsSent()).append('\n'));
+
+        return output.toString();
+    }
+
+    //region internals
+
+    private MetricsRegistry() {
+    }
+
+    static void register(final MachineMetrics metrics) {
+        s_machines.put(metrics, Boolean.TRUE);
+    }
+
+    private static List<MachineMetrics> getActiveMachines() {
+
+        final long staleTime = System.nanoTime() - STALE_AFTER;
+
+        return s_machines.keySet().stream()
+                .filter(m -> m.getLastTick() > staleTime)
+                .collect(Collectors.toList());
+    }
+
+    private static String labels(final MachineMetrics metrics) {
+
+        final BlockPos position = metrics.getPosition();
+
+        return String.format("machine=\"%s\",dimension=\"%s\",position=\"%s\"", metrics.getMachineType(), metrics.getDimension(),
+                null == position ? "" : position.getX() + "," + position.getY() + "," + position.getZ());
+    }
+
+    private static void onServerTick(final TickEvent.ServerTickEvent event) {
+
+        if (TickEvent.Phase.END != event.phase) {
+            return;
+        }
+
+        final int interval = Config.COMMON.general.machineMetricsDumpInterval.get() * 20;
+
+        if (interval <= 0 || ++s_ticksSinceLastDump < interval) {
+            return;
+        }
+
+        s_ticksSinceLastDump = 0;
+
+        // collect the metrics on the server thread but write them out on a worker thread
+
+        final String text = toPrometheusText();
+
+        Util.getServerExecutor().execute(() -> dump(text));
+    }
+
+    private static void dump(final String text) {
+
+        final Path file = FMLPaths.GAMEDIR.get().resolve(DUMP_FILE_NAME);
+        final Path temp = file.resolveSibling(DUMP_FILE_NAME + ".tmp");
+
+        try {
+
+            Files.write(temp, text.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException ex) {
+            Log.LOGGER.error(Log.CORE, "Unable to write the machines metrics to {}", file, ex);
+        }
+    }
+
+    private static final double NANOS_TO_SECONDS = 1.0e-9;
+    // machines that did not tick for this long (in nanoseconds) are not reported
+    private static final long STALE_AFTER = 10_000_000_000L;
+
+    private static final Map<MachineMetrics, Boolean> s_machines = new WeakHashMap<>(64);
+    private static int s_ticksSinceLastDump = 0;
+
+    //endregion
+}
@@ -52,18 +52,38 @@ public class PowerTapHandlerFE<Controller extends AbstractGeneratorMultiblockCon
     /**
      * Send energy to the connected consumer (if there is one and we are in active mode)
      *
+     * Amounts that do not fit in an int are split across multiple calls to the consumer, up to
+     * {@link #MAX_TRANSFERS_PER_TICK} calls, and the transfer stop as soon as the consumer accept less than it was offered
+     *
      * @param amount amount of energy to send
      * @return the amount of energy accepted by the consumer
      */
     public double outputEnergy(double amount) {
 
-        if (null == this._consumer || this.isPassive()) {
+        if (null == this._consumer || this.isPassive() || amount <= 0) {
             return 0;
         }
 
-        final int maxUnits = (int) Math.min(amount, Integer.MAX_VALUE);
+        if (amount <= Integer.MAX_VALUE) {
+            return this._consumer.receiveEnergy((int) amount, false);
+        }
+
+        double sent = 0;
+
+        for (int transfer = 0; transfer < MAX_TRANSFERS_PER_TICK && amount >= 1; ++transfer) {
+
+            final int offered = (int) Math.min(amount, Integer.MAX_VALUE);
+            final int accepted = this._consumer.receiveEnergy(offered, false);
+
+            sent += accepted;
+            amount -= accepted;
+
+            if (accepted < offered) {
+                break;
+            }
+        }
 
-        return this._consumer.receiveEnergy(maxUnits, false);
+        return sent;
     }
 
     /**
@@ -143,7 +163,7 @@ public class PowerTapHandlerFE<Controller extends AbstractGeneratorMultiblockCon
      */
     @Override
     public int getEnergyStored() {
-        return (int) this.getEnergyProvider().getEnergyStored(this.getEnergySystem(), null);
+        return clampToInt(this.getEnergyProvider().getEnergyStored(this.getEnergySystem(), null));
     }
 
     /**
@@ -151,7 +171,7 @@ public class PowerTapHandlerFE<Controller extends AbstractGeneratorMultiblockCon
      */
     @Override
     public int getMaxEnergyStored() {
-        return (int) this.getEnergyProvider().getCapacity(this.getEnergySystem(), null);
+        return clampToInt(this.getEnergyProvider().getCapacity(this.getEnergySystem(), null));
     }
 
     /**
@@ -176,6 +196,19 @@ public class PowerTapHandlerFE<Controller extends AbstractGeneratorMultiblockCon
     //endregion
     //region internals
 
+    /**
+     * Report a wide amount of energy to an int based API: anything above {@link Integer#MAX_VALUE} is reported
+     * as {@link Integer#MAX_VALUE} instead of relying on the narrowing conversion of the cast
+     */
+    private static int clampToInt(final double amount) {
+        return amount >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) Math.max(0, amount);
+    }
+
+    /**
+     * The maximum number of int sized transfers done by {@link #outputEnergy(double)} in a single tick
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 16;
+
     @SuppressWarnings("FieldMayBeFinal")
     @CapabilityInject(IEnergyStorage.class)
     private static Capability<IEnergyStorage> CAPAP_FORGE_ENERGYSTORAGE = null;
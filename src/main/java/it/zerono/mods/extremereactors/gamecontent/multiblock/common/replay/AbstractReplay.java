@@ -0,0 +1,150 @@
+/*
+ *
+ * AbstractReplay.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay;
+
+import java.io.IOException;
+
+/**
+ * Run the logic of a machine again, without a world, feeding it the inputs captured by an {@link AbstractReplayRecorder}
+ * and comparing its outputs with the recorded ones, tick by tick
+ */
+public abstract class AbstractReplay {
+
+    /**
+     * The maximum difference, relative to the recorded value, allowed between a recorded output and a replayed one.
+     * Energy deltas are stored as differences of doubles so the replayed values could be off by a few ulps
+     */
+    public static final double TOLERANCE = 1e-9;
+
+    /**
+     * Replay all the frames of a recording
+     *
+     * @param reader the recording, positioned after the header
+     * @return the outcome of the replay
+     * @throws IOException if the recording cannot be read
+     */
+    public ReplayReport run(final ReplayReader reader) throws IOException {
+
+        final String[] outputNames = this.getOutputNames();
+        final ReplayReport report = new ReplayReport(outputNames, TOLERANCE);
+
+        this._reader = reader;
+
+        while (reader.next()) {
+
+            final int count = reader.getInputsCount();
+
+            // settings, events and the changes made between two ticks are applied right away,
+            // the other phases when the logic run the matching exchange cycle
+
+            for (int idx = 0; idx < count; ++idx) {
+
+                final int key = reader.getInputKey(idx);
+                final int kind = AbstractReplayRecorder.getKind(key);
+
+                if (AbstractReplayRecorder.KIND_SETTING == kind) {
+                    this.onSetting(AbstractReplayRecorder.getIndex(key), reader.getInputValue(idx));
+                } else if (AbstractReplayRecorder.KIND_EVENT == kind) {
+                    this.onEvent(AbstractReplayRecorder.getIndex(key), reader.getInputValue(idx));
+                } else if (AbstractReplayRecorder.PHASE_TICK == AbstractReplayRecorder.getPhase(kind)) {
+                    this.apply(idx, key, kind);
+                }
+            }
+
+            this.tick();
+
+            for (int idx = 0; idx < outputNames.length; ++idx) {
+                report.compare(idx, reader.getOutput(idx), this.getOutput(idx));
+            }
+
+            report.onTickReplayed();
+        }
+
+        return report;
+    }
+
+    //region internals
+
+    protected abstract String[] getOutputNames();
+
+    /**
+     * Run one tick of the machine logic
+     */
+    protected abstract void tick();
+
+    /**
+     * @param index the output index
+     * @return the current value of the output
+     */
+    protected abstract double getOutput(int index);
+
+    protected abstract void onSetting(int index, double value);
+
+    protected abstract void onEvent(int index, double value);
+
+    /**
+     * Empty a content of the machine and set the name of what will be inserted next in its place
+     *
+     * @param index the name index
+     * @param name the new name or an empty string if the content is now missing
+     */
+    protected abstract void onNameChanged(int index, String name);
+
+    /**
+     * Change a quantity
+     *
+     * @param index the quantity index
+     * @param delta the amount to add (or to remove, if negative)
+     */
+    protected abstract void onQuantityChanged(int index, double delta);
+
+    /**
+     * Apply the changes recorded for the given phase of the current tick. Call this from the exchange cycles
+     *
+     * @param phase the phase to apply
+     */
+    protected final void applyPhase(final int phase) {
+
+        final ReplayReader reader = this._reader;
+        final int count = reader.getInputsCount();
+
+        for (int idx = 0; idx < count; ++idx) {
+
+            final int key = reader.getInputKey(idx);
+            final int kind = AbstractReplayRecorder.getKind(key);
+
+            if (kind < AbstractReplayRecorder.KIND_SETTING && phase == AbstractReplayRecorder.getPhase(kind)) {
+                this.apply(idx, key, kind);
+            }
+        }
+    }
+
+    private void apply(final int inputIndex, final int key, final int kind) {
+
+        if (AbstractReplayRecorder.isNameChange(kind)) {
+            this.onNameChanged(AbstractReplayRecorder.getIndex(key), this._reader.getInputString(inputIndex));
+        } else {
+            this.onQuantityChanged(AbstractReplayRecorder.getIndex(key), this._reader.getInputValue(inputIndex));
+        }
+    }
+
+    private ReplayReader _reader;
+
+    //endregion
+}
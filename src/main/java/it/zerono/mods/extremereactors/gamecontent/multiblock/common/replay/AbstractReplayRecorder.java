@@ -0,0 +1,354 @@
+/*
+ *
+ * AbstractReplayRecorder.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay;
+
+import it.zerono.mods.extremereactors.Log;
+import net.minecraft.nbt.CompoundNBT;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Record the external inputs and the outputs of a machine, one frame per tick.
+ *
+ * The inputs are the changes to the machine made by something else than its own logic: the quantities (fuel, fluids,
+ * energy, ...) that changed between two ticks or while the machine was exchanging them with the world, the names of
+ * the contents of the machine and the settings changed by the players. Everything else is computed again by the replay.
+ *
+ * The input keys are made of an index (the index of the quantity, name, setting or event) and a kind:
+ * <pre>
+ * key  = index << 3 | kind
+ * kind = phase * 2 for a quantity delta, phase * 2 + 1 for a name change, {@link #KIND_SETTING} or {@link #KIND_EVENT}
+ * </pre>
+ */
+public abstract class AbstractReplayRecorder {
+
+    /**
+     * The changes made between the end of the previous tick and the beginning of the current one
+     */
+    public static final int PHASE_TICK = 0;
+
+    /**
+     * The changes made by the refueling cycle of the machine
+     */
+    public static final int PHASE_REFUELING = 1;
+
+    /**
+     * The changes made by the output cycle of the machine
+     */
+    public static final int PHASE_OUTPUT = 2;
+
+    public static final int KIND_SETTING = 6;
+    public static final int KIND_EVENT = 7;
+
+    public static int getKind(final int key) {
+        return key & 7;
+    }
+
+    public static int getIndex(final int key) {
+        return key >>> 3;
+    }
+
+    /**
+     * @param kind the kind of an input key
+     * @return the phase of a quantity delta or of a name change
+     */
+    public static int getPhase(final int kind) {
+        return kind >> 1;
+    }
+
+    /**
+     * @param kind the kind of an input key
+     * @return true if the kind is a name change, false if it's a quantity delta
+     */
+    public static boolean isNameChange(final int kind) {
+        return 0 != (kind & 1);
+    }
+
+    public Path getFile() {
+        return this._writer.getFile();
+    }
+
+    public long getFramesCount() {
+        return this._writer.getFramesCount();
+    }
+
+    public boolean isRecording() {
+        return this._recording;
+    }
+
+    /**
+     * Start a new frame, recording the inputs that changed since the end of the previous one
+     *
+     * @param gameTime the current game time
+     * @return true if the recording is still going on, false if it was stopped
+     */
+    public boolean beginTick(final long gameTime) {
+
+        if (!this._recording) {
+            return false;
+        }
+
+        if (-1 != this._lastGameTime && gameTime != this._lastGameTime + 1) {
+
+            // the machine missed some ticks (chunk unloaded?) and the changes made in the meantime cannot be replayed
+            Log.LOGGER.info(Log.CORE, "Stopping the replay recording {} after a gap of {} ticks", this.getFile(), gameTime - this._lastGameTime);
+            this.close();
+            return false;
+        }
+
+        this._lastGameTime = gameTime;
+
+        try {
+
+            this.readSettings(this._settingsBuffer);
+
+            for (int idx = 0; idx < this._settings.length; ++idx) {
+
+                final double value = this._settingsBuffer[idx];
+
+                if (Double.doubleToLongBits(value) != Double.doubleToLongBits(this._settings[idx])) {
+
+                    this._settings[idx] = value;
+                    this._writer.input(key(idx, KIND_SETTING), value);
+                }
+            }
+
+            this.writeChanges(PHASE_TICK);
+
+        } catch (IOException ex) {
+            this.fail(ex);
+        }
+
+        return this._recording;
+    }
+
+    /**
+     * Call this before the machine run one of its exchange cycles
+     */
+    public void beginPhase() {
+
+        if (this._recording) {
+            this.snapshot();
+        }
+    }
+
+    /**
+     * Call this after the machine run one of its exchange cycles
+     *
+     * @param phase the phase that just ended
+     */
+    public void endPhase(final int phase) {
+
+        if (this._recording) {
+
+            try {
+                this.writeChanges(phase);
+            } catch (IOException ex) {
+                this.fail(ex);
+            }
+        }
+    }
+
+    /**
+     * Record a choice made from the state of the world, like the next Fuel Rod to irradiate from
+     *
+     * @param index the event index
+     * @param value the event value
+     */
+    public void event(final int index, final double value) {
+
+        if (this._recording) {
+
+            try {
+                this._writer.input(key(index, KIND_EVENT), value);
+            } catch (IOException ex) {
+                this.fail(ex);
+            }
+        }
+    }
+
+    /**
+     * Record the outputs of the machine and complete the current frame
+     */
+    public void endTick() {
+
+        if (this._recording) {
+
+            try {
+
+                this.writeOutputs(this._writer);
+                this.snapshot();
+                this._writer.endFrame();
+
+            } catch (IOException ex) {
+                this.fail(ex);
+            }
+        }
+    }
+
+    /**
+     * Stop the recording and close the file
+     */
+    public void close() {
+
+        if (this._recording) {
+
+            this._recording = false;
+            ReplayRecordings.unregister(this);
+
+            try {
+                this._writer.close();
+            } catch (IOException ex) {
+                Log.LOGGER.warn(Log.CORE, "Unable to close the replay recording {}", this.getFile(), ex);
+            }
+        }
+    }
+
+    //region internals
+
+    /**
+     * Create a new recording. The subclass must call {@link #start()} once it's ready to read the machine quantities
+     *
+     * @param file the file to write to
+     * @param machineType the type of the recorded machine
+     * @param header the data needed to rebuild the machine and its initial state
+     * @param quantitiesCount the number of quantities tracked
+     * @param namesCount the number of names tracked
+     * @param settingsCount the number of settings tracked
+     * @throws IOException if the file cannot be created
+     */
+    protected AbstractReplayRecorder(final Path file, final byte machineType, final CompoundNBT header,
+                                     final int quantitiesCount, final int namesCount, final int settingsCount) throws IOException {
+
+        if (namesCount > quantitiesCount) {
+            throw new IllegalArgumentException("Every name must have a matching quantity");
+        }
+
+        this._writer = new ReplayWriter(file, machineType, header);
+        this._quantities = new double[quantitiesCount];
+        this._quantitiesBuffer = new double[quantitiesCount];
+        this._names = new String[namesCount];
+        this._namesBuffer = new String[namesCount];
+        this._settingsBuffer = new double[settingsCount];
+        this._settings = new double[settingsCount];
+        this._lastGameTime = -1;
+
+        // all the settings will be written in the first frame
+        Arrays.fill(this._settings, Double.NaN);
+    }
+
+    /**
+     * Take the initial snapshot of the machine and start recording
+     */
+    protected final void start() {
+
+        this.snapshot();
+        this._recording = true;
+        ReplayRecordings.register(this);
+    }
+
+    /**
+     * Read the current value of the quantities tracked by the recording
+     *
+     * @param quantities the array to fill
+     */
+    protected abstract void readQuantities(double[] quantities);
+
+    /**
+     * Read the current names tracked by the recording. Use an empty string for a missing content.
+     * The name at a given index is the name of the content measured by the quantity with the same index
+     *
+     * @param names the array to fill
+     */
+    protected abstract void readNames(String[] names);
+
+    /**
+     * Read the current value of the settings tracked by the recording
+     *
+     * @param settings the array to fill
+     */
+    protected abstract void readSettings(double[] settings);
+
+    /**
+     * Write the outputs of the machine for the current tick
+     *
+     * @param writer the recording writer
+     * @throws IOException if the outputs cannot be written
+     */
+    protected abstract void writeOutputs(ReplayWriter writer) throws IOException;
+
+    protected static int key(final int index, final int kind) {
+        return (index << 3) | kind;
+    }
+
+    private void snapshot() {
+
+        this.readQuantities(this._quantities);
+        this.readNames(this._names);
+    }
+
+    private void writeChanges(final int phase) throws IOException {
+
+        this.readQuantities(this._quantitiesBuffer);
+        this.readNames(this._namesBuffer);
+
+        // names first: the replay empty a content when its name change and then apply the delta
+        for (int idx = 0; idx < this._names.length; ++idx) {
+
+            if (!Objects.equals(this._names[idx], this._namesBuffer[idx])) {
+
+                this._writer.input(key(idx, phase * 2 + 1), this._namesBuffer[idx]);
+                this._names[idx] = this._namesBuffer[idx];
+                this._quantities[idx] = 0;
+            }
+        }
+
+        for (int idx = 0; idx < this._quantities.length; ++idx) {
+
+            final double delta = this._quantitiesBuffer[idx] - this._quantities[idx];
+
+            if (0 != delta) {
+                this._writer.input(key(idx, phase * 2), delta);
+            }
+
+            this._quantities[idx] = this._quantitiesBuffer[idx];
+        }
+    }
+
+    private void fail(final IOException ex) {
+
+        Log.LOGGER.warn(Log.CORE, "Unable to write to the replay recording {}, the recording was stopped", this.getFile(), ex);
+        this.close();
+    }
+
+    private final ReplayWriter _writer;
+    private final double[] _quantities;
+    private final double[] _quantitiesBuffer;
+    private final String[] _names;
+    private final String[] _namesBuffer;
+    private final double[] _settings;
+    private final double[] _settingsBuffer;
+    private long _lastGameTime;
+    private boolean _recording;
+
+    //endregion
+}
@@ -0,0 +1,42 @@
+/*
+ *
+ * IReplayRecordable.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * A machine whose ticks could be recorded to be replayed later on
+ */
+public interface IReplayRecordable {
+
+    /**
+     * Start recording the ticks of the machine. Nothing is done if the machine is not assembled or if it's already recording
+     *
+     * @return the file of the new recording, if one was started
+     */
+    Optional<Path> startReplayRecording();
+
+    /**
+     * Stop recording the ticks of the machine
+     *
+     * @return the file of the recording, if one was stopped
+     */
+    Optional<Path> stopReplayRecording();
+}
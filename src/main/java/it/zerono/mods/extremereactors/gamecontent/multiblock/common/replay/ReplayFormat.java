@@ -0,0 +1,107 @@
+/*
+ *
+ * ReplayFormat.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The binary layout of a replay recording.
+ *
+ * A recording is a GZIP compressed stream made of a header followed by one frame per recorded tick:
+ * <pre>
+ * header: magic (int), version (varint), machine type (byte), machine data (NBT compound)
+ * frame:  inputs count (varint), inputs entries, outputs count (varint), outputs entries
+ * entry:  (key << 2 | value type) (varint), value
+ * </pre>
+ * Integral values are stored as zig-zag encoded varints, the other numbers as raw doubles.
+ * Only the outputs that changed since the previous frame are stored
+ */
+final class ReplayFormat {
+
+    static final int MAGIC = 0x45525250; // ERRP
+    static final int VERSION = 1;
+
+    static final int VALUE_INTEGRAL = 0;
+    static final int VALUE_DOUBLE = 1;
+    static final int VALUE_STRING = 2;
+
+    static void writeVarLong(final DataOutput output, long value) throws IOException {
+
+        while ((value & ~0x7FL) != 0) {
+
+            output.writeByte((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        output.writeByte((int)value);
+    }
+
+    static long readVarLong(final DataInput input) throws IOException {
+
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+
+            final byte b = input.readByte();
+
+            value |= (long)(b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint");
+    }
+
+    static void writeEntry(final DataOutput output, final int key, final double value) throws IOException {
+
+        if (value == Math.rint(value) && Math.abs(value) <= MAX_EXACT_INTEGRAL &&
+                (0 != value || 0 == Double.doubleToRawLongBits(value))) {
+
+            // integral values (amounts of fluids or reactants, settings, indices) are the most common ones
+            final long integral = (long)value;
+
+            writeVarLong(output, ((long)key << 2) | VALUE_INTEGRAL);
+            writeVarLong(output, (integral << 1) ^ (integral >> 63));
+
+        } else {
+
+            writeVarLong(output, ((long)key << 2) | VALUE_DOUBLE);
+            output.writeDouble(value);
+        }
+    }
+
+    static void writeEntry(final DataOutput output, final int key, final String value) throws IOException {
+
+        writeVarLong(output, ((long)key << 2) | VALUE_STRING);
+        output.writeUTF(value);
+    }
+
+    //region internals
+
+    private ReplayFormat() {
+    }
+
+    private static final double MAX_EXACT_INTEGRAL = 1L << 53;
+
+    //endregion
+}
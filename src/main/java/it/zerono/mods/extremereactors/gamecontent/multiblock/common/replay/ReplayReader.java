@@ -0,0 +1,245 @@
+/*
+ *
+ * ReplayReader.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTSizeTracker;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Read a replay recording written by a {@link ReplayWriter}, one frame at a time
+ */
+public final class ReplayReader
+        implements Closeable {
+
+    /**
+     * Open a recording and read its header
+     *
+     * @param file the recording file
+     * @return the reader
+     * @throws IOException if the file cannot be read or it's not a valid recording
+     */
+    public static ReplayReader open(final Path file) throws IOException {
+
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE), BUFFER_SIZE));
+
+        try {
+
+            if (ReplayFormat.MAGIC != input.readInt()) {
+                throw new IOException("Not a replay recording: " + file);
+            }
+
+            final long version = ReplayFormat.readVarLong(input);
+
+            if (ReplayFormat.VERSION != version) {
+                throw new IOException("Unsupported replay recording version " + version + ": " + file);
+            }
+
+            final byte machineType = input.readByte();
+            final CompoundNBT header = CompressedStreamTools.read(input, NBTSizeTracker.INFINITE);
+
+            return new ReplayReader(input, machineType, header);
+
+        } catch (IOException ex) {
+
+            input.close();
+            throw ex;
+        }
+    }
+
+    public byte getMachineType() {
+        return this._machineType;
+    }
+
+    public CompoundNBT getHeader() {
+        return this._header;
+    }
+
+    /**
+     * Read the next frame
+     *
+     * @return true if a frame was read, false if the end of the recording was reached
+     * @throws IOException if the frame cannot be read
+     */
+    public boolean next() throws IOException {
+
+        final long inputsCount;
+
+        try {
+            inputsCount = ReplayFormat.readVarLong(this._input);
+        } catch (EOFException ex) {
+            // a recording could be truncated if the game crashed: ignore the incomplete frame
+            return false;
+        }
+
+        try {
+
+            this._inputsCount = 0;
+
+            for (long idx = 0; idx < inputsCount; ++idx) {
+                this.readInput();
+            }
+
+            final long outputsCount = ReplayFormat.readVarLong(this._input);
+
+            for (long idx = 0; idx < outputsCount; ++idx) {
+                this.readOutput();
+            }
+
+        } catch (EOFException ex) {
+            return false;
+        }
+
+        return true;
+    }
+
+    public int getInputsCount() {
+        return this._inputsCount;
+    }
+
+    public int getInputKey(final int index) {
+        return this._inputKeys[index];
+    }
+
+    /**
+     * @param index the index of the input in the current frame
+     * @return the value of a numeric input or NaN if the input is a string
+     */
+    public double getInputValue(final int index) {
+        return this._inputValues[index];
+    }
+
+    /**
+     * @param index the index of the input in the current frame
+     * @return the value of a string input or null if the input is a number
+     */
+    public String getInputString(final int index) {
+        return this._inputStrings[index];
+    }
+
+    /**
+     * @param index the output index
+     * @return the value of the output in the current frame
+     */
+    public double getOutput(final int index) {
+        return index < this._outputs.length ? this._outputs[index] : 0d;
+    }
+
+    //region Closeable
+
+    @Override
+    public void close() throws IOException {
+        this._input.close();
+    }
+
+    //endregion
+    //region internals
+
+    private ReplayReader(final DataInputStream input, final byte machineType, final CompoundNBT header) {
+
+        this._input = input;
+        this._machineType = machineType;
+        this._header = header;
+        this._inputKeys = new int[16];
+        this._inputValues = new double[16];
+        this._inputStrings = new String[16];
+        this._outputs = new double[0];
+    }
+
+    private void readInput() throws IOException {
+
+        final int index = this._inputsCount++;
+
+        if (index == this._inputKeys.length) {
+
+            this._inputKeys = Arrays.copyOf(this._inputKeys, index * 2);
+            this._inputValues = Arrays.copyOf(this._inputValues, index * 2);
+            this._inputStrings = Arrays.copyOf(this._inputStrings, index * 2);
+        }
+
+        final long tag = ReplayFormat.readVarLong(this._input);
+
+        this._inputKeys[index] = (int)(tag >>> 2);
+
+        if (ReplayFormat.VALUE_STRING == (int)(tag & 3)) {
+
+            this._inputValues[index] = Double.NaN;
+            this._inputStrings[index] = this._input.readUTF();
+
+        } else {
+
+            this._inputValues[index] = this.readNumber(tag);
+            this._inputStrings[index] = null;
+        }
+    }
+
+    private void readOutput() throws IOException {
+
+        final long tag = ReplayFormat.readVarLong(this._input);
+        final int index = (int)(tag >>> 2);
+
+        if (index >= this._outputs.length) {
+            this._outputs = Arrays.copyOf(this._outputs, index + 1);
+        }
+
+        this._outputs[index] = this.readNumber(tag);
+    }
+
+    private double readNumber(final long tag) throws IOException {
+
+        switch ((int)(tag & 3)) {
+
+            case ReplayFormat.VALUE_INTEGRAL: {
+
+                final long zigzag = ReplayFormat.readVarLong(this._input);
+
+                return (double)((zigzag >>> 1) ^ -(zigzag & 1));
+            }
+
+            case ReplayFormat.VALUE_DOUBLE:
+                return this._input.readDouble();
+
+            default:
+                throw new IOException("Unexpected value type in replay recording: " + (tag & 3));
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataInputStream _input;
+    private final byte _machineType;
+    private final CompoundNBT _header;
+    private int[] _inputKeys;
+    private double[] _inputValues;
+    private String[] _inputStrings;
+    private int _inputsCount;
+    private double[] _outputs;
+
+    //endregion
+}
@@ -0,0 +1,140 @@
+/*
+ *
+ * ReplayRecordings.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay;
+
+import com.google.common.collect.Lists;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryRecord;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.ReactorReplay;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.TurbineReplay;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.storage.FolderName;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.event.server.FMLServerStoppingEvent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keep track of the replay recordings of a world.
+ *
+ * The recordings are stored in the world save directory, one file per recording, and they are all closed when the
+ * server stops. A recording is replayed without a world so it could be run while the server keep running
+ */
+public final class ReplayRecordings {
+
+    public static final FolderName FOLDER = new FolderName("extremereactors-replay");
+
+    public static void initialize() {
+        MinecraftForge.EVENT_BUS.addListener(ReplayRecordings::onServerStopping);
+    }
+
+    /**
+     * Get the file for a new recording
+     *
+     * @param server the server
+     * @param machineType the name of the type of the recorded machine
+     * @param position the reference coordinates of the machine
+     * @param gameTime the game time at the start of the recording
+     * @return the file for the new recording
+     * @throws IOException if the recordings directory cannot be created
+     */
+    public static Path newRecordingFile(final MinecraftServer server, final String machineType, final BlockPos position,
+                                        final long gameTime) throws IOException {
+
+        // func_240776_a_ = getWorldPath
+        final Path directory = Files.createDirectories(server.func_240776_a_(FOLDER));
+
+        return directory.resolve(String.format("%s_%d_%d_%d_%d.bin", machineType, position.getX(), position.getY(),
+                position.getZ(), gameTime));
+    }
+
+    /**
+     * Look up an existing recording by name
+     *
+     * @param server the server
+     * @param name the name of the recording file
+     * @return the recording file, if found
+     */
+    public static Optional<Path> find(final MinecraftServer server, final String name) {
+
+        if (name.isEmpty() || name.contains("/") || name.contains("\\") || name.contains("..")) {
+            return Optional.empty();
+        }
+
+        final Path file = server.func_240776_a_(FOLDER).resolve(name);
+
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Replay a recording. This could be called from any thread
+     *
+     * @param file the recording file
+     * @return the outcome of the replay
+     * @throws IOException if the recording cannot be read or it's not valid
+     */
+    public static ReplayReport replay(final Path file) throws IOException {
+
+        try (final ReplayReader reader = ReplayReader.open(file)) {
+
+            final AbstractReplay replay;
+
+            switch (reader.getMachineType()) {
+
+                case TelemetryRecord.MACHINE_REACTOR:
+                    replay = new ReactorReplay(reader.getHeader());
+                    break;
+
+                case TelemetryRecord.MACHINE_TURBINE:
+                    replay = new TurbineReplay(reader.getHeader());
+                    break;
+
+                default:
+                    throw new IOException("Unknown machine type in replay recording: " + reader.getMachineType());
+            }
+
+            return replay.run(reader);
+        }
+    }
+
+    //region internals
+
+    private ReplayRecordings() {
+    }
+
+    static void register(final AbstractReplayRecorder recorder) {
+        s_recordings.add(recorder);
+    }
+
+    static void unregister(final AbstractReplayRecorder recorder) {
+        s_recordings.remove(recorder);
+    }
+
+    private static void onServerStopping(final FMLServerStoppingEvent event) {
+        Lists.newArrayList(s_recordings).forEach(AbstractReplayRecorder::close);
+    }
+
+    private static final List<AbstractReplayRecorder> s_recordings = Lists.newArrayList();
+
+    //endregion
+}
@@ -0,0 +1,127 @@
+/*
+ *
+ * ReplayReport.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay;
+
+/**
+ * The outcome of an {@link AbstractReplay}: how many ticks were replayed, the first output that diverged from the
+ * recording and the largest error seen for each output
+ */
+public final class ReplayReport {
+
+    public long getTicksCount() {
+        return this._ticksCount;
+    }
+
+    public boolean hasDiverged() {
+        return this._divergenceTick >= 0;
+    }
+
+    /**
+     * @return the index, in the recording, of the first tick with an output that diverged or -1 if the replay matched the recording
+     */
+    public long getDivergenceTick() {
+        return this._divergenceTick;
+    }
+
+    public String getDivergenceOutput() {
+        return this._divergenceOutput;
+    }
+
+    public double getDivergenceExpected() {
+        return this._divergenceExpected;
+    }
+
+    public double getDivergenceActual() {
+        return this._divergenceActual;
+    }
+
+    public int getOutputsCount() {
+        return this._outputNames.length;
+    }
+
+    public String getOutputName(final int index) {
+        return this._outputNames[index];
+    }
+
+    /**
+     * @param index the output index
+     * @return the largest absolute difference between the recorded and the replayed values of the output
+     */
+    public double getMaxError(final int index) {
+        return this._maxErrors[index];
+    }
+
+    @Override
+    public String toString() {
+
+        if (this.hasDiverged()) {
+            return String.format("%d ticks replayed, diverged at tick %d: %s was %s instead of %s", this._ticksCount,
+                    this._divergenceTick, this._divergenceOutput, this._divergenceActual, this._divergenceExpected);
+        } else {
+            return String.format("%d ticks replayed, no divergence", this._ticksCount);
+        }
+    }
+
+    //region internals
+
+    ReplayReport(final String[] outputNames, final double tolerance) {
+
+        this._outputNames = outputNames;
+        this._tolerance = tolerance;
+        this._maxErrors = new double[outputNames.length];
+        this._divergenceTick = -1;
+        this._divergenceOutput = "";
+    }
+
+    void compare(final int index, final double expected, final double actual) {
+
+        if (Double.doubleToLongBits(expected) == Double.doubleToLongBits(actual)) {
+            return;
+        }
+
+        final double error = Math.abs(expected - actual);
+
+        if (Double.isNaN(error) || error > this._maxErrors[index]) {
+            this._maxErrors[index] = Double.isNaN(error) ? Double.POSITIVE_INFINITY : error;
+        }
+
+        if (!this.hasDiverged() && !(error <= this._tolerance * Math.max(1.0, Math.abs(expected)))) {
+
+            this._divergenceTick = this._ticksCount;
+            this._divergenceOutput = this._outputNames[index];
+            this._divergenceExpected = expected;
+            this._divergenceActual = actual;
+        }
+    }
+
+    void onTickReplayed() {
+        ++this._ticksCount;
+    }
+
+    private final String[] _outputNames;
+    private final double _tolerance;
+    private final double[] _maxErrors;
+    private long _ticksCount;
+    private long _divergenceTick;
+    private String _divergenceOutput;
+    private double _divergenceExpected;
+    private double _divergenceActual;
+
+    //endregion
+}
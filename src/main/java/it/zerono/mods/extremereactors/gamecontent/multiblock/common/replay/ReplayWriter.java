@@ -0,0 +1,163 @@
+/*
+ *
+ * ReplayWriter.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.CompressedStreamTools;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Write a replay recording, one frame per tick. See {@link ReplayFormat} for the layout of the file
+ */
+public final class ReplayWriter
+        implements Closeable {
+
+    /**
+     * Create a new recording
+     *
+     * @param file the file to write to. Any existing file will be overwritten
+     * @param machineType the type of the recorded machine
+     * @param header the data needed to rebuild the machine and its initial state
+     * @throws IOException if the file cannot be created
+     */
+    public ReplayWriter(final Path file, final byte machineType, final CompoundNBT header) throws IOException {
+
+        this._file = file;
+        this._output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file), BUFFER_SIZE), BUFFER_SIZE));
+        this._inputs = new ByteArrayOutputStream(64);
+        this._inputsData = new DataOutputStream(this._inputs);
+        this._outputs = new ByteArrayOutputStream(64);
+        this._outputsData = new DataOutputStream(this._outputs);
+        this._lastOutputs = new double[0];
+        this._framesCount = 0;
+
+        this._output.writeInt(ReplayFormat.MAGIC);
+        ReplayFormat.writeVarLong(this._output, ReplayFormat.VERSION);
+        this._output.writeByte(machineType);
+        CompressedStreamTools.write(header, this._output);
+    }
+
+    public Path getFile() {
+        return this._file;
+    }
+
+    public long getFramesCount() {
+        return this._framesCount;
+    }
+
+    /**
+     * Add a numeric input to the current frame
+     *
+     * @param key the input key
+     * @param value the input value
+     * @throws IOException if the input cannot be encoded
+     */
+    public void input(final int key, final double value) throws IOException {
+
+        ReplayFormat.writeEntry(this._inputsData, key, value);
+        ++this._inputsCount;
+    }
+
+    /**
+     * Add a string input to the current frame
+     *
+     * @param key the input key
+     * @param value the input value
+     * @throws IOException if the input cannot be encoded
+     */
+    public void input(final int key, final String value) throws IOException {
+
+        ReplayFormat.writeEntry(this._inputsData, key, value);
+        ++this._inputsCount;
+    }
+
+    /**
+     * Set the value of an output for the current frame. The value is written only if it changed since the last frame
+     *
+     * @param index the output index
+     * @param value the output value
+     * @throws IOException if the output cannot be encoded
+     */
+    public void output(final int index, final double value) throws IOException {
+
+        if (index >= this._lastOutputs.length) {
+            this._lastOutputs = Arrays.copyOf(this._lastOutputs, index + 1);
+        }
+
+        if (Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(this._lastOutputs[index])) {
+
+            this._lastOutputs[index] = value;
+            ReplayFormat.writeEntry(this._outputsData, index, value);
+            ++this._outputsCount;
+        }
+    }
+
+    /**
+     * Write the current frame and start a new one
+     *
+     * @throws IOException if the frame cannot be written
+     */
+    public void endFrame() throws IOException {
+
+        ReplayFormat.writeVarLong(this._output, this._inputsCount);
+        this._inputs.writeTo(this._output);
+        ReplayFormat.writeVarLong(this._output, this._outputsCount);
+        this._outputs.writeTo(this._output);
+
+        this._inputs.reset();
+        this._inputsCount = 0;
+        this._outputs.reset();
+        this._outputsCount = 0;
+        ++this._framesCount;
+    }
+
+    //region Closeable
+
+    @Override
+    public void close() throws IOException {
+        this._output.close();
+    }
+
+    //endregion
+    //region internals
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path _file;
+    private final DataOutputStream _output;
+    private final ByteArrayOutputStream _inputs;
+    private final DataOutputStream _inputsData;
+    private final ByteArrayOutputStream _outputs;
+    private final DataOutputStream _outputsData;
+    private double[] _lastOutputs;
+    private int _inputsCount;
+    private int _outputsCount;
+    private long _framesCount;
+
+    //endregion
+}
@@ -0,0 +1,112 @@
+/*
+ *
+ * FloatRingBuffer.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry;
+
+/**
+ * A fixed size FIFO of float values. When the buffer is full, adding a new value overwrite the oldest one
+ */
+public final class FloatRingBuffer {
+
+    public FloatRingBuffer(final int capacity) {
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of a FloatRingBuffer must be greater than zero");
+        }
+
+        this._values = new float[capacity];
+        this._next = 0;
+        this._size = 0;
+    }
+
+    public void add(final float value) {
+
+        this._values[this._next] = value;
+        this._next = (this._next + 1) % this._values.length;
+
+        if (this._size < this._values.length) {
+            ++this._size;
+        }
+    }
+
+    public int size() {
+        return this._size;
+    }
+
+    public int capacity() {
+        return this._values.length;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this._size;
+    }
+
+    /**
+     * Get a value from the buffer
+     *
+     * @param index the index of the value: 0 is the oldest value in the buffer, {@code size() - 1} the latest one
+     * @return the requested value
+     */
+    public float get(final int index) {
+
+        if (index < 0 || index >= this._size) {
+            throw new IndexOutOfBoundsException("Invalid FloatRingBuffer index: " + index);
+        }
+
+        return this._values[(this._next - this._size + index + this._values.length) % this._values.length];
+    }
+
+    /**
+     * @return the latest value added to the buffer or zero if the buffer is empty
+     */
+    public float getLatest() {
+        return this._size > 0 ? this._values[(this._next - 1 + this._values.length) % this._values.length] : 0f;
+    }
+
+    /**
+     * Copy the latest values in the buffer to the given array, from the oldest to the latest
+     *
+     * @param destination the array to copy the values to
+     * @param count the maximum number of values to copy
+     * @return the number of values copied
+     */
+    public int copyLatest(final float[] destination, final int count) {
+
+        final int copied = Math.min(Math.min(count, destination.length), this._size);
+        final int start = (this._next - copied + this._values.length) % this._values.length;
+        final int firstRun = Math.min(copied, this._values.length - start);
+
+        System.arraycopy(this._values, start, destination, 0, firstRun);
+        System.arraycopy(this._values, 0, destination, firstRun, copied - firstRun);
+        return copied;
+    }
+
+    public void clear() {
+
+        this._next = 0;
+        this._size = 0;
+    }
+
+    //region internals
+
+    private final float[] _values;
+    private int _next;
+    private int _size;
+
+    //endregion
+}
@@ -0,0 +1,353 @@
+/*
+ *
+ * TelemetryHistory.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry;
+
+import com.google.common.collect.Maps;
+import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraftforge.common.util.Constants;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The recent history of some values of a machine, kept at multiple resolutions in fixed size buffers.
+ *
+ * On the server side, the machine record the value of each channel every tick and then call {@link #commit()}:
+ * the tick samples are averaged into second samples and those are averaged again into minute samples.
+ * The memory used is bounded by the capacity of each {@link TelemetryResolution}.
+ *
+ * On the client side, only the latest {@link #SYNC_WINDOW} samples of the second and minute resolutions are
+ * available, as received from the server
+ *
+ * @param <Channel> the enum listing the channels recorded for the machine
+ */
+public class TelemetryHistory<Channel extends Enum<Channel>>
+        implements ISyncableEntity {
+
+    /**
+     * The number of samples, for each synced resolution, sent to the client
+     */
+    public static final int SYNC_WINDOW = 120;
+
+    public TelemetryHistory(final Class<Channel> channelsType) {
+
+        this._channels = channelsType.getEnumConstants();
+        this._buffers = new FloatRingBuffer[this._channels.length][RESOLUTIONS.length];
+        this._current = new float[this._channels.length];
+        this._averages = new float[this._channels.length];
+        this._sums = new double[RESOLUTIONS.length][this._channels.length];
+        this._counts = new int[RESOLUTIONS.length];
+        this._version = 0;
+    }
+
+    public Channel[] getChannels() {
+        return this._channels.clone();
+    }
+
+    /**
+     * Set the value of a channel for the current tick. Channels that are not recorded keep their previous value
+     *
+     * @param channel the channel
+     * @param value the new value
+     */
+    public void record(final Channel channel, final double value) {
+        this._current[channel.ordinal()] = (float)value;
+    }
+
+    /**
+     * Add the values recorded for the current tick to the history, updating the lower resolutions if needed
+     */
+    public void commit() {
+
+        float[] samples = this._current;
+
+        for (int r = 0; r < RESOLUTIONS.length; ++r) {
+
+            for (int c = 0; c < this._channels.length; ++c) {
+                this.getOrCreateBuffer(c, r, RESOLUTIONS[r].Capacity).add(samples[c]);
+            }
+
+            if (TelemetryResolution.Second.ordinal() == r) {
+                ++this._version;
+            }
+
+            final int next = r + 1;
+
+            if (next == RESOLUTIONS.length) {
+                break;
+            }
+
+            // accumulate the samples for the next resolution
+
+            final int ratio = RESOLUTIONS[next].TicksPerSample / RESOLUTIONS[r].TicksPerSample;
+            final double[] sums = this._sums[next];
+
+            for (int c = 0; c < this._channels.length; ++c) {
+                sums[c] += samples[c];
+            }
+
+            if (++this._counts[next] < ratio) {
+                break;
+            }
+
+            for (int c = 0; c < this._channels.length; ++c) {
+
+                this._averages[c] = (float)(sums[c] / ratio);
+                sums[c] = 0;
+            }
+
+            this._counts[next] = 0;
+            samples = this._averages;
+        }
+    }
+
+    /**
+     * Get the samples of a channel at the given resolution
+     *
+     * @param channel the channel
+     * @param resolution the resolution
+     * @return the samples, if any was recorded or received from the server
+     */
+    public Optional<FloatRingBuffer> get(final Channel channel, final TelemetryResolution resolution) {
+        return Optional.ofNullable(this._buffers[channel.ordinal()][resolution.ordinal()]);
+    }
+
+    /**
+     * Compute the average of the latest samples of a channel at the given resolution
+     *
+     * @param channel the channel
+     * @param resolution the resolution
+     * @param count the maximum number of samples to consider
+     * @return the average of the samples or 0 if there are none
+     */
+    public double getAverage(final Channel channel, final TelemetryResolution resolution, final int count) {
+
+        final FloatRingBuffer buffer = this._buffers[channel.ordinal()][resolution.ordinal()];
+
+        if (null == buffer || buffer.isEmpty() || count <= 0) {
+            return 0;
+        }
+
+        final int size = buffer.size();
+        final int first = Math.max(0, size - count);
+        double sum = 0;
+
+        for (int idx = first; idx < size; ++idx) {
+            sum += buffer.get(idx);
+        }
+
+        return sum / (size - first);
+    }
+
+    /**
+     * A counter that is incremented every time a new second sample is added to the history
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return this._version;
+    }
+
+    public void clear() {
+
+        for (final FloatRingBuffer[] channelBuffers : this._buffers) {
+            for (final FloatRingBuffer buffer : channelBuffers) {
+                if (null != buffer) {
+                    buffer.clear();
+                }
+            }
+        }
+
+        for (final double[] sums : this._sums) {
+            Arrays.fill(sums, 0);
+        }
+
+        Arrays.fill(this._counts, 0);
+        Arrays.fill(this._current, 0);
+    }
+
+    //region computer port support
+
+    /**
+     * Get the names of the available channels as a table for the computer port
+     *
+     * @return the names of the channels, indexed from 1
+     */
+    public Map<Integer, String> getChannelNames() {
+
+        final Map<Integer, String> names = Maps.newHashMapWithExpectedSize(this._channels.length);
+
+        for (int idx = 0; idx < this._channels.length; ++idx) {
+            names.put(idx + 1, this._channels[idx].name());
+        }
+
+        return names;
+    }
+
+    /**
+     * Get the latest samples of a channel as a table for the computer port
+     *
+     * @param channelName the name of the channel
+     * @param resolutionName the name of the resolution
+     * @param count the maximum number of samples to return
+     * @return the samples, from the oldest to the latest, indexed from 1
+     */
+    public Map<Integer, Double> getSamples(final String channelName, final String resolutionName, final int count) {
+
+        final Channel channel = this.getChannel(channelName)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown telemetry channel: " + channelName));
+        final TelemetryResolution resolution = TelemetryResolution.from(resolutionName)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown telemetry resolution: " + resolutionName));
+
+        return this.get(channel, resolution)
+                .map(buffer -> {
+
+                    final float[] samples = new float[Math.min(Math.max(count, 0), buffer.size())];
+                    final int copied = buffer.copyLatest(samples, samples.length);
+                    final Map<Integer, Double> table = Maps.newHashMapWithExpectedSize(copied);
+
+                    for (int idx = 0; idx < copied; ++idx) {
+                        table.put(idx + 1, (double)samples[idx]);
+                    }
+
+                    return table;
+                })
+                .orElseGet(Maps::newHashMap);
+    }
+
+    //endregion
+    //region ISyncableEntity
+
+    /**
+     * Sync the entity data from the given {@link CompoundNBT}
+     *
+     * @param data       the {@link CompoundNBT} to read from
+     * @param syncReason the reason why the synchronization is necessary
+     */
+    @Override
+    public void syncDataFrom(final CompoundNBT data, final SyncReason syncReason) {
+
+        if (!syncReason.isNetworkUpdate()) {
+            return;
+        }
+
+        for (final TelemetryResolution resolution : SYNCED_RESOLUTIONS) {
+
+            if (!data.contains(resolution.name(), Constants.NBT.TAG_COMPOUND)) {
+                continue;
+            }
+
+            final CompoundNBT resolutionData = data.getCompound(resolution.name());
+
+            for (int c = 0; c < this._channels.length; ++c) {
+
+                final int[] bits = resolutionData.getIntArray(this._channels[c].name());
+                final FloatRingBuffer buffer = this.getOrCreateBuffer(c, resolution.ordinal(), SYNC_WINDOW);
+
+                buffer.clear();
+
+                for (final int sample : bits) {
+                    buffer.add(Float.intBitsToFloat(sample));
+                }
+            }
+        }
+
+        this._version = data.getLong("version");
+    }
+
+    /**
+     * Sync the entity data to the given {@link CompoundNBT}
+     *
+     * @param data       the {@link CompoundNBT} to write to
+     * @param syncReason the reason why the synchronization is necessary
+     * @return the {@link CompoundNBT} the data was written to (usually {@code data})
+     */
+    @Override
+    public CompoundNBT syncDataTo(final CompoundNBT data, final SyncReason syncReason) {
+
+        if (!syncReason.isNetworkUpdate()) {
+            return data;
+        }
+
+        final float[] samples = new float[SYNC_WINDOW];
+
+        for (final TelemetryResolution resolution : SYNCED_RESOLUTIONS) {
+
+            final CompoundNBT resolutionData = new CompoundNBT();
+
+            for (int c = 0; c < this._channels.length; ++c) {
+
+                final FloatRingBuffer buffer = this._buffers[c][resolution.ordinal()];
+                final int copied = null != buffer ? buffer.copyLatest(samples, SYNC_WINDOW) : 0;
+                final int[] bits = new int[copied];
+
+                for (int idx = 0; idx < copied; ++idx) {
+                    bits[idx] = Float.floatToRawIntBits(samples[idx]);
+                }
+
+                resolutionData.putIntArray(this._channels[c].name(), bits);
+            }
+
+            data.put(resolution.name(), resolutionData);
+        }
+
+        data.putLong("version", this._version);
+        return data;
+    }
+
+    //endregion
+    //region internals
+
+    private Optional<Channel> getChannel(final String name) {
+
+        for (final Channel channel : this._channels) {
+            if (channel.name().equalsIgnoreCase(name)) {
+                return Optional.of(channel);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private FloatRingBuffer getOrCreateBuffer(final int channel, final int resolution, final int capacity) {
+
+        FloatRingBuffer buffer = this._buffers[channel][resolution];
+
+        if (null == buffer) {
+            this._buffers[channel][resolution] = buffer = new FloatRingBuffer(capacity);
+        }
+
+        return buffer;
+    }
+
+    private static final TelemetryResolution[] RESOLUTIONS = TelemetryResolution.values();
+    private static final TelemetryResolution[] SYNCED_RESOLUTIONS = {TelemetryResolution.Second, TelemetryResolution.Minute};
+
+    private final Channel[] _channels;
+    private final FloatRingBuffer[][] _buffers;
+    private final float[] _current;
+    private final float[] _averages;
+    private final double[][] _sums;
+    private final int[] _counts;
+    private long _version;
+
+    //endregion
+}
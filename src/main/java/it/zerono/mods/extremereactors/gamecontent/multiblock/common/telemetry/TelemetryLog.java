@@ -0,0 +1,291 @@
+/*
+ *
+ * TelemetryLog.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry;
+
+import com.google.common.collect.Sets;
+import it.zerono.mods.extremereactors.Log;
+import it.zerono.mods.extremereactors.config.Config;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.FolderName;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.event.server.FMLServerStartedEvent;
+import net.minecraftforge.fml.event.server.FMLServerStoppingEvent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An append-only log of the status of all the Reactors and Turbines of a world, kept for post-incident analysis.
+ *
+ * Each machine add a {@link TelemetryRecord} to the log at a configurable interval. The records are written on a
+ * dedicated thread to a sequence of memory-mapped segments in the world save directory: when a segment is full a new
+ * one is started and the oldest segments are deleted to keep the size of the log bounded.
+ *
+ * See {@link TelemetryLogReader} to inspect the log without starting the game
+ */
+public final class TelemetryLog {
+
+    public static final FolderName FOLDER = new FolderName("extremereactors-telemetry");
+
+    public static void initialize() {
+
+        MinecraftForge.EVENT_BUS.addListener(TelemetryLog::onServerStarted);
+        MinecraftForge.EVENT_BUS.addListener(TelemetryLog::onServerStopping);
+    }
+
+    /**
+     * @return the number of ticks between two records of the same machine or 0 if the log is disabled
+     */
+    public static int getInterval() {
+        return null != s_writer ? Config.COMMON.general.telemetryLogInterval.get() * 20 : 0;
+    }
+
+    /**
+     * Queue a record to be written to the log. Must be called on the server thread.
+     * The time, dimension and coordinates of the record are filled in from the given world and position.
+     * The record is dropped if the log is disabled or if the writer thread is lagging too much behind
+     *
+     * @param world the world of the machine
+     * @param position the reference coordinates of the machine
+     * @param record the record to write. It must not be modified after this call
+     */
+    public static void append(final World world, final BlockPos position, final TelemetryRecord record) {
+
+        final Writer writer = s_writer;
+
+        if (null != writer) {
+
+            final String dimensionName = world.getDimensionKey().getLocation().toString();
+
+            record.Time = System.currentTimeMillis();
+            record.GameTime = world.getGameTime();
+            record.Dimension = dimensionName.hashCode();
+            record.X = position.getX();
+            record.Y = position.getY();
+            record.Z = position.getZ();
+
+            writer.submit(record, dimensionName);
+        }
+    }
+
+    //region internals
+
+    private TelemetryLog() {
+    }
+
+    private static void onServerStarted(final FMLServerStartedEvent event) {
+
+        if (Config.COMMON.general.telemetryLogInterval.get() <= 0) {
+            return;
+        }
+
+        // func_240776_a_ = getWorldPath
+        final Path directory = event.getServer().func_240776_a_(FOLDER);
+
+        s_writer = new Writer(directory, Config.COMMON.general.telemetryLogSegmentSize.get() * 1024 * 1024 / TelemetryRecord.SIZE,
+                Config.COMMON.general.telemetryLogMaxSegments.get());
+    }
+
+    private static void onServerStopping(final FMLServerStoppingEvent event) {
+
+        final Writer writer = s_writer;
+
+        s_writer = null;
+
+        if (null != writer) {
+            writer.shutdown();
+        }
+    }
+
+    private static final class Writer {
+
+        Writer(final Path directory, final int segmentCapacity, final int maxSegments) {
+
+            this._directory = directory;
+            this._segmentCapacity = Math.max(1, segmentCapacity);
+            this._maxSegments = Math.max(1, maxSegments);
+            this._knownDimensions = Sets.newHashSet();
+            this._segment = null;
+            this._segmentIndex = -1;
+            this._dropped = 0;
+
+            this._executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE),
+                    runnable -> {
+
+                        final Thread thread = new Thread(runnable, "Extreme Reactors telemetry log");
+
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, executor) -> {
+
+                        // never stall the server thread: drop the record and report it later
+                        ++this._dropped;
+                    });
+
+            this._executor.execute(this::open);
+        }
+
+        void submit(final TelemetryRecord record, final String dimensionName) {
+
+            if (this._dropped > 0 && this._executor.getQueue().isEmpty()) {
+
+                Log.LOGGER.warn(Log.CORE, "The telemetry log is falling behind: {} records were dropped", this._dropped);
+                this._dropped = 0;
+            }
+
+            this._executor.execute(() -> this.write(record, dimensionName));
+        }
+
+        void shutdown() {
+
+            this._executor.shutdown();
+
+            try {
+
+                if (this._executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                    // the writer thread is gone, it's now safe to close the segment from here
+                    this.close();
+                } else {
+                    Log.LOGGER.warn(Log.CORE, "Timed out while waiting for the telemetry log to be written");
+                }
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        //region writer thread
+
+        private void open() {
+
+            try {
+
+                Files.createDirectories(this._directory);
+                this._knownDimensions.addAll(TelemetrySegment.readDimensions(this._directory).keySet());
+
+                final TreeMap<Integer, Path> segments = TelemetrySegment.list(this._directory);
+
+                if (!segments.isEmpty()) {
+
+                    // resume the latest segment if it is still usable
+
+                    final Map.Entry<Integer, Path> latest = segments.lastEntry();
+                    final TelemetrySegment segment = TelemetrySegment.open(latest.getValue(), this._segmentCapacity, false);
+
+                    this._segmentIndex = latest.getKey();
+
+                    if (segment.isValid() && !segment.isFull()) {
+                        this._segment = segment;
+                    } else {
+                        segment.close();
+                    }
+                }
+
+            } catch (IOException ex) {
+                Log.LOGGER.error(Log.CORE, "Unable to open the telemetry log in {}", this._directory, ex);
+            }
+        }
+
+        private void write(final TelemetryRecord record, final String dimensionName) {
+
+            try {
+
+                if (this._knownDimensions.add(record.Dimension)) {
+                    Files.write(this._directory.resolve(TelemetrySegment.DIMENSIONS_FILE_NAME),
+                            (record.Dimension + "\t" + dimensionName + "\n").getBytes(StandardCharsets.UTF_8),
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+
+                if (null == this._segment || this._segment.isFull()) {
+                    this.rotate();
+                }
+
+                this._segment.append(record);
+
+            } catch (IOException ex) {
+
+                Log.LOGGER.error(Log.CORE, "Unable to write to the telemetry log in {}", this._directory, ex);
+                this.close();
+            }
+        }
+
+        private void rotate() throws IOException {
+
+            this.close();
+
+            ++this._segmentIndex;
+            this._segment = TelemetrySegment.open(TelemetrySegment.file(this._directory, this._segmentIndex), this._segmentCapacity, false);
+
+            // delete the oldest segments
+
+            final TreeMap<Integer, Path> segments = TelemetrySegment.list(this._directory);
+
+            while (segments.size() > this._maxSegments) {
+                Files.deleteIfExists(segments.pollFirstEntry().getValue());
+            }
+        }
+
+        private void close() {
+
+            if (null != this._segment) {
+
+                try {
+                    this._segment.close();
+                } catch (IOException ex) {
+                    Log.LOGGER.error(Log.CORE, "Unable to close the telemetry log segment {}", this._segmentIndex, ex);
+                }
+
+                this._segment = null;
+            }
+        }
+
+        //endregion
+
+        private static final int QUEUE_SIZE = 4096;
+        private static final int SHUTDOWN_TIMEOUT = 10;
+
+        private final Path _directory;
+        private final int _segmentCapacity;
+        private final int _maxSegments;
+        private final ThreadPoolExecutor _executor;
+
+        // only accessed by the writer thread
+        private final Set<Integer> _knownDimensions;
+        private TelemetrySegment _segment;
+        private int _segmentIndex;
+
+        // only accessed by the server thread
+        private int _dropped;
+    }
+
+    private static volatile Writer s_writer;
+
+    //endregion
+}
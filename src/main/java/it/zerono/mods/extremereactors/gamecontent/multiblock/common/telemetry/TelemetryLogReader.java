@@ -0,0 +1,306 @@
+/*
+ *
+ * TelemetryLogReader.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A command line tool to inspect a {@link TelemetryLog} without starting the game.
+ *
+ * Usage: {@code java -cp <mod jar> it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryLogReader
+ * <log directory> [--dimension <name>] [--machine <x,y,z>] [--csv]}
+ *
+ * By default, a summary of each machine found in the log is printed. With {@code --csv} all the matching records
+ * are printed instead, one per line.
+ *
+ * This class must not depend on any game class
+ */
+public final class TelemetryLogReader {
+
+    public static void main(final String[] args) {
+
+        if (args.length < 1) {
+
+            printUsage();
+            System.exit(1);
+        }
+
+        final Path directory = Paths.get(args[0]);
+        String dimensionFilter = null;
+        int[] machineFilter = null;
+        boolean csv = false;
+
+        try {
+
+            for (int idx = 1; idx < args.length; ++idx) {
+
+                switch (args[idx]) {
+
+                    case "--dimension":
+                        dimensionFilter = args[++idx];
+                        break;
+
+                    case "--machine":
+                        machineFilter = parseCoordinates(args[++idx]);
+                        break;
+
+                    case "--csv":
+                        csv = true;
+                        break;
+
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[idx]);
+                }
+            }
+
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+
+            System.err.println(ex instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : ex.getMessage());
+            printUsage();
+            System.exit(1);
+        }
+
+        try {
+
+            final Map<Integer, String> dimensions = TelemetrySegment.readDimensions(directory);
+            final Integer dimension = null != dimensionFilter ? dimensionFilter.hashCode() : null;
+            final int[] machine = machineFilter;
+            final PrintStream out = System.out;
+
+            if (csv) {
+
+                out.println("time,gameTime,dimension,x,y,z,machine,active,heat,energy,fuel,waste,rotorSpeed,output,consumption");
+
+                scan(directory, record -> {
+                    if (matches(record, dimension, machine)) {
+                        out.printf("%d,%d,%s,%d,%d,%d,%s,%b,%f,%f,%f,%f,%f,%f,%f%n", record.Time, record.GameTime,
+                                dimensionName(dimensions, record.Dimension), record.X, record.Y, record.Z,
+                                record.getMachineTypeName(), record.isActive(), record.Heat, record.Energy,
+                                record.Fuel, record.Waste, record.RotorSpeed, record.Output, record.Consumption);
+                    }
+                });
+
+            } else {
+
+                final Map<MachineKey, Summary> summaries = new LinkedHashMap<>();
+
+                scan(directory, record -> {
+                    if (matches(record, dimension, machine)) {
+                        summaries.computeIfAbsent(new MachineKey(record), key -> new Summary()).add(record);
+                    }
+                });
+
+                if (summaries.isEmpty()) {
+                    out.println("No records found");
+                }
+
+                summaries.forEach((key, summary) -> summary.print(out, key, dimensionName(dimensions, key.Dimension)));
+            }
+
+        } catch (IOException ex) {
+
+            System.err.println("Unable to read the telemetry log: " + ex.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Read all the records in the log, from the oldest to the latest.
+     * Invalid or unreadable segments are skipped
+     *
+     * @param directory the log directory
+     * @param consumer called for each record. The same {@link TelemetryRecord} instance is reused for all the records
+     * @throws IOException if the directory cannot be listed
+     */
+    public static void scan(final Path directory, final Consumer<TelemetryRecord> consumer) throws IOException {
+
+        final TelemetryRecord record = new TelemetryRecord();
+
+        for (final Path file : TelemetrySegment.list(directory).values()) {
+
+            try (final TelemetrySegment segment = TelemetrySegment.open(file, 0, true)) {
+
+                if (!segment.isValid()) {
+
+                    System.err.println("Skipping invalid segment " + file);
+                    continue;
+                }
+
+                final int count = segment.getCount();
+
+                for (int idx = 0; idx < count; ++idx) {
+
+                    segment.read(idx, record);
+                    consumer.accept(record);
+                }
+
+            } catch (IOException ex) {
+                System.err.println("Skipping unreadable segment " + file + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    //region internals
+
+    private TelemetryLogReader() {
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: TelemetryLogReader <log directory> [--dimension <name>] [--machine <x,y,z>] [--csv]");
+    }
+
+    private static int[] parseCoordinates(final String text) {
+
+        final String[] parts = text.split(",");
+
+        if (3 != parts.length) {
+            throw new IllegalArgumentException("Invalid machine coordinates: " + text);
+        }
+
+        try {
+            return new int[] {Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim())};
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid machine coordinates: " + text);
+        }
+    }
+
+    private static boolean matches(final TelemetryRecord record, final Integer dimension, final int[] machine) {
+        return (null == dimension || dimension == record.Dimension) &&
+                (null == machine || (machine[0] == record.X && machine[1] == record.Y && machine[2] == record.Z));
+    }
+
+    private static String dimensionName(final Map<Integer, String> dimensions, final int hash) {
+        return dimensions.getOrDefault(hash, Integer.toHexString(hash));
+    }
+
+    private static String formatTime(final long time) {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(time));
+    }
+
+    private static final class MachineKey {
+
+        MachineKey(final TelemetryRecord record) {
+
+            this.Dimension = record.Dimension;
+            this.X = record.X;
+            this.Y = record.Y;
+            this.Z = record.Z;
+            this.MachineType = record.MachineType;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+
+            if (!(other instanceof MachineKey)) {
+                return false;
+            }
+
+            final MachineKey key = (MachineKey)other;
+
+            return this.Dimension == key.Dimension && this.X == key.X && this.Y == key.Y && this.Z == key.Z &&
+                    this.MachineType == key.MachineType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.Dimension, this.X, this.Y, this.Z, this.MachineType);
+        }
+
+        final int Dimension;
+        final int X, Y, Z;
+        final byte MachineType;
+    }
+
+    private static final class Summary {
+
+        void add(final TelemetryRecord record) {
+
+            if (0 == this._count) {
+
+                this._first = record.Time;
+                this._maxHeat = record.Heat;
+                this._maxRotorSpeed = record.RotorSpeed;
+            }
+
+            ++this._count;
+            this._last = record.Time;
+
+            if (record.isActive()) {
+                ++this._activeCount;
+            }
+
+            this._heatSum += record.Heat;
+            this._maxHeat = Math.max(this._maxHeat, record.Heat);
+            this._rotorSpeedSum += record.RotorSpeed;
+            this._maxRotorSpeed = Math.max(this._maxRotorSpeed, record.RotorSpeed);
+            this._outputSum += record.Output;
+            this._consumptionSum += record.Consumption;
+            this._lastEnergy = record.Energy;
+            this._lastFuel = record.Fuel;
+            this._lastWaste = record.Waste;
+        }
+
+        void print(final PrintStream out, final MachineKey key, final String dimensionName) {
+
+            out.printf("%s at %d, %d, %d in %s%n", TelemetryRecord.MACHINE_TURBINE == key.MachineType ? "Turbine" : "Reactor",
+                    key.X, key.Y, key.Z, dimensionName);
+            out.printf("  records: %d, from %s to %s, active %.1f%%%n", this._count, formatTime(this._first),
+                    formatTime(this._last), 100.0 * this._activeCount / this._count);
+
+            if (TelemetryRecord.MACHINE_TURBINE == key.MachineType) {
+                out.printf("  rotor speed: avg %.2f, max %.2f RPM%n", this._rotorSpeedSum / this._count, this._maxRotorSpeed);
+            } else {
+                out.printf("  fuel heat: avg %.2f, max %.2f C%n", this._heatSum / this._count, this._maxHeat);
+            }
+
+            out.printf("  output: avg %.2f/t, consumption: avg %.4f/t%n", this._outputSum / this._count, this._consumptionSum / this._count);
+
+            if (TelemetryRecord.MACHINE_TURBINE == key.MachineType) {
+                out.printf("  last energy stored: %.0f FE%n", this._lastEnergy);
+            } else {
+                out.printf("  last energy stored: %.0f FE, fuel: %.0f mB, waste: %.0f mB%n", this._lastEnergy, this._lastFuel, this._lastWaste);
+            }
+        }
+
+        private int _count;
+        private int _activeCount;
+        private long _first;
+        private long _last;
+        private double _heatSum;
+        private float _maxHeat;
+        private double _rotorSpeedSum;
+        private float _maxRotorSpeed;
+        private double _outputSum;
+        private double _consumptionSum;
+        private float _lastEnergy;
+        private float _lastFuel;
+        private float _lastWaste;
+    }
+
+    //endregion
+}
@@ -0,0 +1,123 @@
+/*
+ *
+ * TelemetryRecord.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The status of a machine at a given time, as stored in the {@link TelemetryLog}.
+ * Every record is written with the same fixed size layout so that the log could be scanned without any index.
+ *
+ * This class must not depend on any game class: it's also used by {@link TelemetryLogReader} outside of the game
+ */
+public final class TelemetryRecord {
+
+    public static final byte MACHINE_REACTOR = 0;
+    public static final byte MACHINE_TURBINE = 1;
+
+    public static final int FLAG_ACTIVE = 1;
+
+    /**
+     * The size of a record in the log, in bytes
+     */
+    public static final int SIZE = 64;
+
+    // the time the record was taken, in milliseconds since the epoch
+    public long Time;
+    // the game time the record was taken, in ticks
+    public long GameTime;
+    // the hash code of the name of the dimension of the machine, see TelemetryLog.DIMENSIONS_FILE_NAME
+    public int Dimension;
+    // the coordinates of the reference block of the machine
+    public int X, Y, Z;
+    // one of the MACHINE_xxx constants
+    public byte MachineType;
+    // a combination of the FLAG_xxx constants
+    public byte Flags;
+    // fuel temperature (reactors only), in C
+    public float Heat;
+    // energy stored, in FE
+    public float Energy;
+    // fuel and waste amounts (reactors only), in mB
+    public float Fuel, Waste;
+    // rotor speed (turbines only), in RPM
+    public float RotorSpeed;
+    // average energy or hot fluid generated per tick since the previous record
+    public float Output;
+    // average fuel (reactors) or fluid (turbines) consumed per tick since the previous record
+    public float Consumption;
+
+    public boolean isActive() {
+        return 0 != (this.Flags & FLAG_ACTIVE);
+    }
+
+    public String getMachineTypeName() {
+        return MACHINE_TURBINE == this.MachineType ? "turbine" : "reactor";
+    }
+
+    /**
+     * Write this record at the current position of the buffer, advancing it by {@link #SIZE} bytes
+     *
+     * @param buffer the destination buffer
+     */
+    public void write(final ByteBuffer buffer) {
+
+        buffer.putLong(this.Time);
+        buffer.putLong(this.GameTime);
+        buffer.putInt(this.Dimension);
+        buffer.putInt(this.X);
+        buffer.putInt(this.Y);
+        buffer.putInt(this.Z);
+        buffer.put(this.MachineType);
+        buffer.put(this.Flags);
+        buffer.putShort((short)0);
+        buffer.putFloat(this.Heat);
+        buffer.putFloat(this.Energy);
+        buffer.putFloat(this.Fuel);
+        buffer.putFloat(this.Waste);
+        buffer.putFloat(this.RotorSpeed);
+        buffer.putFloat(this.Output);
+        buffer.putFloat(this.Consumption);
+    }
+
+    /**
+     * Read this record from the current position of the buffer, advancing it by {@link #SIZE} bytes
+     *
+     * @param buffer the source buffer
+     */
+    public void read(final ByteBuffer buffer) {
+
+        this.Time = buffer.getLong();
+        this.GameTime = buffer.getLong();
+        this.Dimension = buffer.getInt();
+        this.X = buffer.getInt();
+        this.Y = buffer.getInt();
+        this.Z = buffer.getInt();
+        this.MachineType = buffer.get();
+        this.Flags = buffer.get();
+        buffer.getShort();
+        this.Heat = buffer.getFloat();
+        this.Energy = buffer.getFloat();
+        this.Fuel = buffer.getFloat();
+        this.Waste = buffer.getFloat();
+        this.RotorSpeed = buffer.getFloat();
+        this.Output = buffer.getFloat();
+        this.Consumption = buffer.getFloat();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *
+ * TelemetryResolution.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry;
+
+import java.util.Optional;
+
+/**
+ * The resolutions at which a {@link TelemetryHistory} keep its samples
+ */
+public enum TelemetryResolution {
+
+    /**
+     * One sample per tick, for the last 30 seconds
+     */
+    Tick(1, 600),
+
+    /**
+     * The average of each second, for the last hour
+     */
+    Second(20, 3600),
+
+    /**
+     * The average of each minute, for the last 24 hours
+     */
+    Minute(20 * 60, 1440);
+
+    TelemetryResolution(final int ticksPerSample, final int capacity) {
+
+        this.TicksPerSample = ticksPerSample;
+        this.Capacity = capacity;
+    }
+
+    public static Optional<TelemetryResolution> from(final String name) {
+
+        for (final TelemetryResolution resolution : values()) {
+            if (resolution.name().equalsIgnoreCase(name)) {
+                return Optional.of(resolution);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    public final int TicksPerSample;
+    public final int Capacity;
+}
@@ -0,0 +1,230 @@
+/*
+ *
+ * TelemetrySegment.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * A file of the {@link TelemetryLog}, memory-mapped in full.
+ *
+ * A segment start with a fixed size header followed by up to {@code capacity} records of {@link TelemetryRecord#SIZE} bytes.
+ * The number of valid records is stored in the header and it's updated after each record is written
+ * so a segment is always readable, even if the game crashed while writing it.
+ *
+ * This class must not depend on any game class: it's also used by {@link TelemetryLogReader} outside of the game
+ */
+final class TelemetrySegment
+        implements AutoCloseable {
+
+    static final String DIMENSIONS_FILE_NAME = "dimensions.txt";
+
+    /**
+     * Open an existing segment or create a new one
+     *
+     * @param file the segment file
+     * @param capacity the number of records a new segment could hold
+     * @param readOnly if true, the segment is opened for reading only and it must exist
+     * @return the segment
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    static TelemetrySegment open(final Path file, final int capacity, final boolean readOnly) throws IOException {
+
+        final FileChannel channel = readOnly ?
+                FileChannel.open(file, StandardOpenOption.READ) :
+                FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+
+            // an empty file is a segment that was created but never written to
+
+            final boolean initialized = channel.size() >= HEADER_SIZE;
+
+            if (readOnly && !initialized) {
+                throw new IOException("Invalid telemetry segment: " + file);
+            }
+
+            final long size = initialized ? channel.size() : HEADER_SIZE + (long)capacity * TelemetryRecord.SIZE;
+            final MappedByteBuffer map = channel.map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, size);
+            final int actualCapacity = (int)((size - HEADER_SIZE) / TelemetryRecord.SIZE);
+
+            if (!initialized) {
+
+                map.putInt(OFFSET_MAGIC, MAGIC);
+                map.putInt(OFFSET_VERSION, VERSION);
+                map.putInt(OFFSET_RECORD_SIZE, TelemetryRecord.SIZE);
+                map.putInt(OFFSET_COUNT, 0);
+                map.putLong(OFFSET_CREATED, System.currentTimeMillis());
+            }
+
+            return new TelemetrySegment(channel, map, actualCapacity, readOnly);
+
+        } catch (IOException | RuntimeException ex) {
+
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Find the segments in the given directory
+     *
+     * @param directory the log directory
+     * @return the segments files, sorted by their index
+     * @throws IOException if the directory cannot be listed
+     */
+    static TreeMap<Integer, Path> list(final Path directory) throws IOException {
+
+        final TreeMap<Integer, Path> segments = new TreeMap<>();
+
+        if (Files.isDirectory(directory)) {
+            try (final Stream<Path> files = Files.list(directory)) {
+                files.forEach(file -> {
+
+                    final String name = file.getFileName().toString();
+
+                    if (name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX)) {
+                        try {
+                            segments.put(Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())), file);
+                        } catch (NumberFormatException ignored) {
+                        }
+                    }
+                });
+            }
+        }
+
+        return segments;
+    }
+
+    static Path file(final Path directory, final int index) {
+        return directory.resolve(String.format("%s%06d%s", FILE_PREFIX, index, FILE_SUFFIX));
+    }
+
+    /**
+     * Read the names of the dimensions used in the log
+     *
+     * @param directory the log directory
+     * @return the dimensions names, by their hash code
+     * @throws IOException if the file cannot be read
+     */
+    static Map<Integer, String> readDimensions(final Path directory) throws IOException {
+
+        final Path file = directory.resolve(DIMENSIONS_FILE_NAME);
+        final Map<Integer, String> dimensions = new TreeMap<>();
+
+        if (Files.exists(file)) {
+            for (final String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+
+                final int separator = line.indexOf('\t');
+
+                if (separator > 0) {
+                    try {
+                        dimensions.put(Integer.parseInt(line.substring(0, separator)), line.substring(separator + 1));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+        }
+
+        return dimensions;
+    }
+
+    /**
+     * @return true if the header of the segment is valid and its records use the current layout
+     */
+    boolean isValid() {
+        return MAGIC == this._map.getInt(OFFSET_MAGIC) && VERSION == this._map.getInt(OFFSET_VERSION) &&
+                TelemetryRecord.SIZE == this._map.getInt(OFFSET_RECORD_SIZE);
+    }
+
+    int getCount() {
+        return Math.max(0, Math.min(this._capacity, this._map.getInt(OFFSET_COUNT)));
+    }
+
+    boolean isFull() {
+        return this.getCount() >= this._capacity;
+    }
+
+    void append(final TelemetryRecord record) {
+
+        final int count = this.getCount();
+
+        this._map.position(HEADER_SIZE + count * TelemetryRecord.SIZE);
+        record.write(this._map);
+        // publish the record only after it was fully written
+        this._map.putInt(OFFSET_COUNT, count + 1);
+    }
+
+    void read(final int index, final TelemetryRecord record) {
+
+        this._map.position(HEADER_SIZE + index * TelemetryRecord.SIZE);
+        record.read(this._map);
+    }
+
+    //region AutoCloseable
+
+    @Override
+    public void close() throws IOException {
+
+        if (!this._readOnly) {
+            this._map.force();
+        }
+
+        this._channel.close();
+    }
+
+    //endregion
+    //region internals
+
+    private TelemetrySegment(final FileChannel channel, final MappedByteBuffer map, final int capacity, final boolean readOnly) {
+
+        this._channel = channel;
+        this._map = map;
+        this._capacity = capacity;
+        this._readOnly = readOnly;
+    }
+
+    private static final String FILE_PREFIX = "telemetry-";
+    private static final String FILE_SUFFIX = ".dat";
+
+    private static final int MAGIC = 0x4552544C; // ERTL
+    private static final int VERSION = 1;
+
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_VERSION = 4;
+    private static final int OFFSET_RECORD_SIZE = 8;
+    private static final int OFFSET_COUNT = 12;
+    private static final int OFFSET_CREATED = 16;
+    private static final int HEADER_SIZE = 32;
+
+    private final FileChannel _channel;
+    private final MappedByteBuffer _map;
+    private final int _capacity;
+    private final boolean _readOnly;
+
+    //endregion
+}
@@ -23,6 +23,7 @@ import it.zerono.mods.extremereactors.api.reactor.Reactant;
 import it.zerono.mods.extremereactors.api.reactor.ReactantType;
 import it.zerono.mods.extremereactors.api.reactor.Reaction;
 import it.zerono.mods.extremereactors.api.reactor.ReactionsRegistry;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IVersionedEntity;
 import it.zerono.mods.zerocore.lib.IDebugMessages;
 import it.zerono.mods.zerocore.lib.data.nbt.IMergeableEntity;
 import it.zerono.mods.zerocore.lib.data.stack.IndexedStackContainer;
@@ -34,12 +35,13 @@ import java.util.Optional;
 
 public class FuelContainer
         extends IndexedStackContainer<ReactantType, Reactant, ReactantStack>
-        implements IFuelContainer {
+        implements IFuelContainer, IVersionedEntity {
 
     public FuelContainer() {
 
         super(0, true, 60, ReactantStack.ADAPTER, ReactantType.Fuel, ReactantType.Waste);
         this._radiationFuelUsage = 0f;
+        this._version = 0;
     }
 
     /**
@@ -118,6 +120,8 @@ public class FuelContainer
     }*/
 
     public int voidFuel() {
+
+        ++this._version;
         return this.clear(ReactantType.Fuel).getAmount();
     }
 
@@ -126,6 +130,8 @@ public class FuelContainer
     }
 
     public int voidWaste() {
+
+        ++this._version;
         return this.clear(ReactantType.Waste).getAmount();
     }
 
@@ -143,6 +149,8 @@ public class FuelContainer
             return;
         }
 
+        // the fraction of fuel used is not tracked by the version: it changes every tick while the reactor is
+        // running and it is always below one mB, so a save could carry a slightly old fraction at most
         this._radiationFuelUsage += fuelUsed;
 
         if (this._radiationFuelUsage < 1f) {
@@ -201,6 +209,27 @@ public class FuelContainer
         return reactivity.orElse(Reaction.STANDARD_REACTIVITY);
     }
 
+    @Override
+    public void setCapacity(final int capacity) {
+
+        super.setCapacity(capacity);
+        ++this._version;
+    }
+
+    //region IVersionedEntity
+
+    /**
+     * A counter that is incremented every time the amounts or the capacity of the container are changed
+     *
+     * @return the current version
+     */
+    @Override
+    public long getVersion() {
+        return this._version;
+    }
+
+    //endregion
+
     //region ISyncableEntity
 
     /**
@@ -217,6 +246,8 @@ public class FuelContainer
         if (data.contains("radiationFuelUsage")) {
             this._radiationFuelUsage = data.getFloat("radiationFuelUsage");
         }
+
+        ++this._version;
     }
 
     /**
@@ -250,6 +281,7 @@ public class FuelContainer
         }
 
         super.syncDataFrom(other);
+        ++this._version;
     }
 
     //endregion
@@ -273,7 +305,34 @@ public class FuelContainer
     //endregion
     //region internals
 
+    /**
+     * Override this to get notified when an insert operation is completed on the given index
+     *
+     * @param reactantType the index target of the insert operation
+     * @param wasEmpty     true if the index was empty before the insert operation
+     */
+    @Override
+    protected void onInsert(final ReactantType reactantType, final boolean wasEmpty) {
+
+        super.onInsert(reactantType, wasEmpty);
+        ++this._version;
+    }
+
+    /**
+     * Override this to get notified when an extract operation is completed on the given index
+     *
+     * @param reactantType the index target of the extract operation
+     * @param isEmptyNow   true if the index has become empty after the extract operation
+     */
+    @Override
+    protected void onExtract(final ReactantType reactantType, final boolean isEmptyNow) {
+
+        super.onExtract(reactantType, isEmptyNow);
+        ++this._version;
+    }
+
     private float _radiationFuelUsage;
+    private long _version;
 
     //endregion
 }
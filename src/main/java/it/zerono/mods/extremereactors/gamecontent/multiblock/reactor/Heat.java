@@ -18,32 +18,66 @@
 
 package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IVersionedEntity;
 import it.zerono.mods.zerocore.lib.data.nbt.IMergeableEntity;
 import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
 import net.minecraft.nbt.CompoundNBT;
 
-class Heat implements IHeat, ISyncableEntity, IMergeableEntity {
+class Heat implements IHeat, ISyncableEntity, IMergeableEntity, IVersionedEntity {
 
     public Heat() {
+
         this._heat = 0;
+        this._version = 0;
+        this._slot = null;
+        this._channel = 0;
+    }
+
+    /**
+     * Store the heat value in a slot of a {@link ReactorSimulationSystem} instead of in this object
+     *
+     * @param slot the slot
+     * @param channel the heat value of the slot to use
+     */
+    void bind(final ReactorSimulationSystem.Slot slot, final int channel) {
+
+        slot.setHeat(channel, this._heat);
+        this._slot = slot;
+        this._channel = channel;
+    }
+
+    /**
+     * Go back to store the heat value in this object, keeping the last value stored in the slot
+     */
+    void unbind() {
+
+        if (null != this._slot) {
+
+            this._heat = this._slot.getHeat(this._channel);
+            // never go back to a version that was already used
+            this._version += this._slot.getVersion() + 1;
+            this._slot = null;
+        }
     }
 
     //region IHeat
 
     public void set(double value) {
-        this._heat = Double.isNaN(value) ? 0 : value;
+        this.update(Double.isNaN(value) ? 0 : value);
     }
 
     public void add(double amount) {
 
         if (!Double.isNaN(amount)) {
 
-            this._heat += amount;
+            double heat = this.get() + amount;
 
             // Clamp to zero to prevent floating point issues
-            if (-0.00001 < this._heat && this._heat < 0.00001) {
-                this._heat = 0;
+            if (-0.00001 < heat && heat < 0.00001) {
+                heat = 0;
             }
+
+            this.update(heat);
         }
     }
 
@@ -59,7 +93,7 @@ class Heat implements IHeat, ISyncableEntity, IMergeableEntity {
 
     @Override
     public Double get() {
-        return this._heat;
+        return null != this._slot ? this._slot.getHeat(this._channel) : this._heat;
     }
 
     //endregion
@@ -114,18 +148,46 @@ class Heat implements IHeat, ISyncableEntity, IMergeableEntity {
         }
     }
 
+    //endregion
+    //region IVersionedEntity
+
+    @Override
+    public long getVersion() {
+        return null != this._slot ? this._version + this._slot.getVersion() : this._version;
+    }
+
     //endregion
     //region Object
 
     @Override
     public String toString() {
-        return Double.toString(this._heat);
+        return Double.toString(this.get());
     }
 
     //endregion
     //region internals
 
+    private void update(final double heat) {
+
+        if (null != this._slot) {
+
+            if (heat != this._slot.getHeat(this._channel)) {
+
+                this._slot.setHeat(this._channel, heat);
+                ++this._version;
+            }
+
+        } else if (heat != this._heat) {
+
+            this._heat = heat;
+            ++this._version;
+        }
+    }
+
     private double _heat;
+    private long _version;
+    private ReactorSimulationSystem.Slot _slot;
+    private int _channel;
 
     //endregion
 }
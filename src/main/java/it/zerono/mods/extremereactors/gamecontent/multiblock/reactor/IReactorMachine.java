@@ -21,10 +21,9 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.variant.IMultiblockReactorVariant;
 import it.zerono.mods.zerocore.lib.IActivableMachine;
-import it.zerono.mods.zerocore.lib.multiblock.IMultiblockMachine;
 
 public interface IReactorMachine
-        extends IMultiblockMachine, IActivableMachine {
+        extends IActivableMachine {
 
     IMultiblockReactorVariant getVariant();
 
@@ -64,6 +64,11 @@ public interface IReactorReader
 
     WasteEjectionSetting getWasteEjectionMode();
 
+    /**
+     * @return the built-in controller of the Control Rods
+     */
+    ReactorOutputController getOutputController();
+
     Optional<FuelRodsLayout> getFuelRodsLayout();
 
     /**
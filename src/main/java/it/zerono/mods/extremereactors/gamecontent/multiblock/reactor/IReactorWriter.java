@@ -30,6 +30,33 @@ public interface IReactorWriter
 
     void changeControlRodsInsertionRatio(int delta);
 
+    /**
+     * Set the insertion ratio of all the control rods at once, marking them dirty and updating the clients only once
+     *
+     * @param newRatios the new insertion ratios, one for each control rod, in the same order of the control rods indices
+     * @return true if the new ratios were applied, false if the number of ratios is wrong or any of them is out of range
+     */
+    boolean setControlRodsInsertionRatios(int[] newRatios);
+
+    /**
+     * Let the built-in controller move the Control Rods to keep the given target at the given setpoint
+     *
+     * @param target the value to control or {@link OutputControlTarget#Disabled} to turn off the controller
+     * @param setpoint the value to keep the target at
+     * @return true if the new settings were applied, false if the target is not valid for the Reactor operational mode
+     */
+    boolean setOutputControl(OutputControlTarget target, double setpoint);
+
+    /**
+     * Set the gains of the built-in controller
+     *
+     * @param proportional the proportional gain
+     * @param integral the integral gain
+     * @param derivative the derivative gain
+     * @return true if the new gains were applied, false if any of them is negative
+     */
+    boolean setOutputControlGains(double proportional, double integral, double derivative);
+
     /**
      * Attempt to eject fuel contained in the Reactor
      */
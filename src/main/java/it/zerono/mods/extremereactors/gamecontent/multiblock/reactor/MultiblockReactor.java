@@ -20,6 +20,10 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import it.zerono.mods.extremereactors.ExtremeReactors;
 import it.zerono.mods.extremereactors.Log;
 import it.zerono.mods.extremereactors.api.radiation.RadiationPacket;
@@ -27,7 +31,16 @@ import it.zerono.mods.extremereactors.api.reactor.*;
 import it.zerono.mods.extremereactors.api.reactor.radiation.EnergyConversion;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
+import it.zerono.mods.extremereactors.config.Config;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.*;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics.MachineMetrics;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.AbstractReplayRecorder;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.IReplayRecordable;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.ReplayRecordings;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryHistory;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryLog;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryRecord;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryResolution;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTap;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTapHandler;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.client.ClientFuelRodsLayout;
@@ -44,15 +57,18 @@ import it.zerono.mods.zerocore.lib.data.stack.AllowedHandlerAction;
 import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
 import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
 import it.zerono.mods.zerocore.lib.multiblock.IMultiblockController;
+import it.zerono.mods.zerocore.lib.multiblock.IMultiblockMachine;
 import it.zerono.mods.zerocore.lib.multiblock.IMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.ITickableMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.cuboid.AbstractCuboidMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.validation.IMultiblockValidator;
 import it.zerono.mods.zerocore.lib.world.WorldHelper;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.profiler.IProfiler;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
@@ -61,6 +77,12 @@ import net.minecraft.world.World;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.fml.LogicalSide;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -70,7 +92,19 @@ import java.util.stream.Stream;
 
 public class MultiblockReactor
         extends AbstractGeneratorMultiblockController<MultiblockReactor, IMultiblockReactorVariant>
-        implements IReactorMachine, IReactorEnvironment, IReactorWriter, IDebuggable {
+        implements IMultiblockMachine, IReactorMachine, IReactorEnvironment, IReactorWriter, IReplayRecordable, IDebuggable {
+
+    public static final String SYNC_KEY_ACTIVE = "active";
+    public static final String SYNC_KEY_WASTE_EJECTION = "wasteeject";
+    public static final String SYNC_KEY_FUEL_CONTAINER = "fuelcontainer";
+    public static final String SYNC_KEY_FLUID_CONTAINER = "fluidcontainer";
+    public static final String SYNC_KEY_FUEL_HEAT = "fuelheat";
+    public static final String SYNC_KEY_REACTOR_HEAT = "reactorheat";
+    public static final String SYNC_KEY_STATS = "stats";
+    public static final String SYNC_KEY_RATES = "rates";
+    public static final String SYNC_KEY_TELEMETRY = "telemetry";
+    public static final String SYNC_KEY_ASSEMBLY_CACHE = "assemblycache";
+    public static final String SYNC_KEY_OUTPUT_CONTROL = "outputcontrol";
 
     public MultiblockReactor(final World world, final IMultiblockReactorVariant variant) {
 
@@ -83,6 +117,14 @@ public class MultiblockReactor
         this._reactorHeat = new Heat();
         this._fuelRodsLayout = FuelRodsLayout.DEFAULT;
         this._uiStats = new Stats(this._fuelContainer);
+        this._extrapolatedFuelHeat = new ExtrapolatedValue();
+        this._extrapolatedReactorHeat = new ExtrapolatedValue();
+        this._extrapolatedFuelAmount = new ExtrapolatedValue();
+        this._extrapolatedWasteAmount = new ExtrapolatedValue();
+        this._telemetry = new TelemetryHistory<>(ReactorTelemetryChannel.class);
+        this._savedDataCache = new SavedDataCache();
+        this._lastSyncedTelemetryVersion = -1;
+        this._ticksSinceLastTelemetryLog = 0;
 
         this._active = false;
         this._mode = OperationalMode.Passive;
@@ -91,17 +133,27 @@ public class MultiblockReactor
         this._fuelToReactorHeatTransferCoefficient = 0f;
         this._reactorToCoolantSystemHeatTransferCoefficient = 0f;
         this._reactorHeatLossCoefficient = 0f;
+        this._assemblyCache = new AssemblyCache(this::computeAssemblyHash);
+        this._outputController = new ReactorOutputController();
+        this._restoredFuelToReactorHeatTransferCoefficient = Float.NaN;
+        this._simulationSlot = null;
+        this._replayRecorder = null;
+        this._pendingSparkles = Lists.newArrayList();
+        this._lastForecast = null;
+        this._lastForecastInsertions = null;
 
         this._attachedTickables = Sets.newHashSet();
         this._attachedControlRods = Lists.newArrayList();
         this._attachedFuelRods = Sets.newHashSet();
         this._attachedSolidAccessPorts = Sets.newHashSet();
+        this._refuelingQueue = Sets.newLinkedHashSet();
         this._attachedPowerTaps = Sets.newHashSet();
         this._attachedFluidPorts = Sets.newHashSet();
         this._attachedOutgoingFluidPorts = Sets.newHashSet();
 
         this._irradiationSourceTracker = new IteratorTracker<>(this._attachedFuelRods::iterator);
-        this._logic = new ReactorLogic(this, this.getEnergyBuffer());
+        this._metrics = new MachineMetrics("reactor", this);
+        this._logic = new ReactorLogic(this, this.getEnergyBuffer(), this._metrics);
     }
 
     /**
@@ -130,6 +182,10 @@ public class MultiblockReactor
         this.updateReactorToCoolantSystemHeatTransferCoefficient();
         this.updateReactorHeatLossCoefficient();
         this.resizeFluidContainer();
+
+        if (null != this._simulationSlot) {
+            ReactorSimulationSystem.add(this);
+        }
     }
 
     public Optional<ReactorControlRodEntity> getControlRodByIndex(int index) {
@@ -230,13 +286,24 @@ public class MultiblockReactor
     @Override
     public void performRefuelingCycle() {
 
-        if (this.getWasteEjectionMode().isAutomatic()) {
+        if (null != this._replayRecorder) {
+            this._replayRecorder.beginPhase();
+        }
+
+        if (this.getWasteEjectionMode().isAutomatic() && this.isWasteEjectionBatchReady()) {
             this.ejectWaste(false);
         }
 
+        // retry moving out the waste left in the ports by a previous ejection
+        this._attachedSolidAccessPorts.forEach(ReactorSolidAccessPortEntity::distributeItems);
+
         //TODO liquid fuel (do it first, so solid fuel could be used as a backup)
 
         this.refuelSolid();
+
+        if (null != this._replayRecorder) {
+            this._replayRecorder.endPhase(AbstractReplayRecorder.PHASE_REFUELING);
+        }
     }
 
     /**
@@ -247,6 +314,10 @@ public class MultiblockReactor
 
         final IProfiler profiler = this.getWorld().getProfiler();
 
+        if (null != this._replayRecorder) {
+            this._replayRecorder.beginPhase();
+        }
+
         if (this.getOperationalMode().isPassive()) {
 
             // Distribute available power equally to all the Power Taps
@@ -261,6 +332,10 @@ public class MultiblockReactor
         }
 
         profiler.endSection();
+
+        if (null != this._replayRecorder) {
+            this._replayRecorder.endPhase(AbstractReplayRecorder.PHASE_OUTPUT);
+        }
     }
 
     //endregion
@@ -298,8 +373,14 @@ public class MultiblockReactor
 
     @Override
     public Optional<IIrradiationSource> getNextIrradiationSource() {
-        return this._irradiationSourceTracker.next()
-                .map(s -> s);
+
+        final Optional<ReactorFuelRodEntity> source = this._irradiationSourceTracker.next();
+
+        if (null != this._replayRecorder) {
+            this._replayRecorder.onIrradiationSource(source.orElse(null));
+        }
+
+        return source.map(s -> s);
     }
 
     @SuppressWarnings("unchecked")
@@ -359,28 +440,31 @@ public class MultiblockReactor
 
         } else {
 
-            final IRadiationModerator moderator;
-
-            if (blockState.isAir()) {
-
-                moderator = (data, packet) -> applyModerator(data, packet, Moderator.AIR);
+            final Moderator moderator = getBlockModerator(blockState);
 
-            } else {
-
-                moderator = (data, packet) -> applyModerator(data, packet, ModeratorsRegistry.getFrom(blockState).orElse(Moderator.AIR));
-            }
-
-            return Optional.of(moderator);
+            return Optional.of((data, packet) -> applyModerator(data, packet, moderator.getAbsorption(),
+                    moderator.getHeatEfficiency(), moderator.getModeration()));
         }
     }
 
-    private static void applyModerator(final IrradiationData data, final RadiationPacket radiation, final Moderator moderator) {
+    /**
+     * Get the Moderator for a block without a tile entity
+     *
+     * @param blockState the block
+     * @return the Moderator of the block, {@link Moderator#AIR} if the block is not a known Moderator
+     */
+    static Moderator getBlockModerator(final BlockState blockState) {
+        return blockState.isAir() ? Moderator.AIR : ModeratorsRegistry.getFrom(blockState).orElse(Moderator.AIR);
+    }
+
+    static void applyModerator(final IrradiationData data, final RadiationPacket radiation, final float absorption,
+                               final float heatEfficiency, final float moderation) {
 
-        final float radiationAbsorbed = radiation.intensity * moderator.getAbsorption() * (1f - radiation.hardness);
+        final float radiationAbsorbed = radiation.intensity * absorption * (1f - radiation.hardness);
 
         radiation.intensity = Math.max(0f, radiation.intensity - radiationAbsorbed);
-        radiation.hardness /= moderator.getModeration();
-        data.environmentEnergyAbsorption += moderator.getHeatEfficiency() * radiationAbsorbed * EnergyConversion.ENERGY_PER_RADIATION_UNIT;
+        radiation.hardness /= moderation;
+        data.environmentEnergyAbsorption += heatEfficiency * radiationAbsorbed * EnergyConversion.ENERGY_PER_RADIATION_UNIT;
     }
 
     /**
@@ -449,10 +533,73 @@ public class MultiblockReactor
         return this._wasteEjectionSetting;
     }
 
+    @Override
+    public ReactorOutputController getOutputController() {
+        return this._outputController;
+    }
+
     public Optional<FuelRodsLayout> getFuelRodsLayout() {
         return Optional.ofNullable(this._fuelRodsLayout);
     }
 
+    public MachineMetrics getMetrics() {
+        return this._metrics;
+    }
+
+    /**
+     * Get the recent history of the main values of this Reactor.
+     * On the client side, only the second and minute resolutions are available and only while the controller screen is open
+     *
+     * @return the telemetry history
+     */
+    public TelemetryHistory<ReactorTelemetryChannel> getTelemetry() {
+        return this._telemetry;
+    }
+
+    //region client side extrapolation
+
+    /**
+     * Client side only: estimate the current fuel temperature from the last update received from the server
+     *
+     * @param partialTicks the fraction of the current tick that already elapsed
+     * @return the estimated fuel temperature
+     */
+    public double extrapolateFuelHeat(final float partialTicks) {
+        return Math.max(0, this._extrapolatedFuelHeat.get(this.getWorld().getGameTime(), partialTicks));
+    }
+
+    /**
+     * Client side only: estimate the current casing temperature from the last update received from the server
+     *
+     * @param partialTicks the fraction of the current tick that already elapsed
+     * @return the estimated casing temperature
+     */
+    public double extrapolateReactorHeat(final float partialTicks) {
+        return Math.max(0, this._extrapolatedReactorHeat.get(this.getWorld().getGameTime(), partialTicks));
+    }
+
+    /**
+     * Client side only: estimate the current amount of fuel from the last update received from the server
+     *
+     * @param partialTicks the fraction of the current tick that already elapsed
+     * @return the estimated amount of fuel
+     */
+    public double extrapolateFuelAmount(final float partialTicks) {
+        return MathHelper.clamp(this._extrapolatedFuelAmount.get(this.getWorld().getGameTime(), partialTicks), 0, this.getCapacity());
+    }
+
+    /**
+     * Client side only: estimate the current amount of waste from the last update received from the server
+     *
+     * @param partialTicks the fraction of the current tick that already elapsed
+     * @return the estimated amount of waste
+     */
+    public double extrapolateWasteAmount(final float partialTicks) {
+        return MathHelper.clamp(this._extrapolatedWasteAmount.get(this.getWorld().getGameTime(), partialTicks), 0, this.getCapacity());
+    }
+
+    //endregion
+
     @Override
     public int getFuelRodsCount() {
         return this._attachedFuelRods.size();
@@ -508,6 +655,48 @@ public class MultiblockReactor
         }
     }
 
+    /**
+     * Ask the Reactor to use the fuel in the given Access Port on the next refueling cycle.
+     * Access Ports call this when the content of their fuel inventory change
+     *
+     * @param port the Access Port
+     */
+    public void requestRefueling(final ReactorSolidAccessPortEntity port) {
+
+        if (port.getIoDirection().isInput() && !port.getFuelStack().isEmpty() && this._attachedSolidAccessPorts.contains(port)) {
+            this._refuelingQueue.add(port);
+        }
+    }
+
+    @Override
+    public boolean setControlRodsInsertionRatios(final int[] newRatios) {
+        return this.isAssembled() && ReactorControlRodEntity.setInsertionRatios(this._attachedControlRods, newRatios);
+    }
+
+    @Override
+    public boolean setOutputControl(final OutputControlTarget target, final double setpoint) {
+
+        if (this.isAssembled() && this._outputController.configure(target, setpoint, this.getOperationalMode())) {
+
+            this.markReferenceCoordDirty();
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean setOutputControlGains(final double proportional, final double integral, final double derivative) {
+
+        if (this._outputController.setGains(proportional, integral, derivative)) {
+
+            this.markReferenceCoordDirty();
+            return true;
+        }
+
+        return false;
+    }
+
     /**
      * Attempt to eject fuel contained in the Reactor
      */
@@ -548,6 +737,35 @@ public class MultiblockReactor
         }
     }
 
+    /**
+     * Check if there is enough waste in the Reactor to fill a batch of items for the automatic ejection
+     *
+     * @return true if the waste should be ejected now
+     */
+    private boolean isWasteEjectionBatchReady() {
+
+        final Reactant waste = this._fuelContainer.getWaste().orElse(null);
+
+        if (null == waste) {
+            return false;
+        }
+
+        final int minimumAmount = SolidReactantProducts.get(waste).getMinimumSourceAmount();
+        final int wasteAmount = this._fuelContainer.getWasteAmount();
+
+        if (minimumAmount <= 0 || wasteAmount < minimumAmount) {
+            return false;
+        }
+
+        // a batch could not be bigger than the fuel container, or a small Reactor would never eject its waste
+
+        final int batchSize = MathHelper.clamp(this._fuelContainer.getCapacity() / minimumAmount, 1,
+                Config.COMMON.reactor.wasteEjectionBatchSize.get());
+
+        // eject what we have if no more waste could fit in the fuel container
+        return wasteAmount >= minimumAmount * batchSize || this._fuelContainer.getFreeSpace(ReactantType.Waste) <= 0;
+    }
+
     /**
      * Attempt to eject waste contained in the Reactor
      */
@@ -605,25 +823,42 @@ public class MultiblockReactor
 
         super.syncDataFrom(data, syncReason);
 
-        if (data.contains("active")) {
-            this._active = data.getBoolean("active");
+        if (data.contains(SYNC_KEY_ACTIVE)) {
+            this._active = data.getBoolean(SYNC_KEY_ACTIVE);
         }
 
-        if (data.contains("wasteeject")) {
-            this._wasteEjectionSetting = WasteEjectionSetting.read(data, "wasteeject", WasteEjectionSetting.Automatic);
+        if (data.contains(SYNC_KEY_WASTE_EJECTION)) {
+            this._wasteEjectionSetting = WasteEjectionSetting.read(data, SYNC_KEY_WASTE_EJECTION, WasteEjectionSetting.Automatic);
         }
 
         this._logic.syncDataFrom(data, syncReason);
 
-        this.syncChildDataEntityFrom(this._fuelContainer, "fuelcontainer", data, syncReason);
-        this.syncChildDataEntityFrom(this._fluidContainer, "fluidcontainer", data, syncReason);
-        this.syncChildDataEntityFrom(this._fuelHeat, "fuelheat", data, syncReason);
-        this.syncChildDataEntityFrom(this._reactorHeat, "reactorheat", data, syncReason);
+        this.syncChildDataEntityFrom(this._outputController, SYNC_KEY_OUTPUT_CONTROL, data, syncReason);
+        this.syncChildDataEntityFrom(this._fuelContainer, SYNC_KEY_FUEL_CONTAINER, data, syncReason);
+        this.syncChildDataEntityFrom(this._fluidContainer, SYNC_KEY_FLUID_CONTAINER, data, syncReason);
+        this.syncChildDataEntityFrom(this._fuelHeat, SYNC_KEY_FUEL_HEAT, data, syncReason);
+        this.syncChildDataEntityFrom(this._reactorHeat, SYNC_KEY_REACTOR_HEAT, data, syncReason);
+
+        if (!syncReason.isNetworkUpdate()) {
+            this._assemblyCache.syncDataFrom(data, SYNC_KEY_ASSEMBLY_CACHE);
+        }
 
         if (syncReason.isNetworkUpdate()) {
 
-            this.syncChildDataEntityFrom(this._uiStats, "stats", data, syncReason);
+            this.syncChildDataEntityFrom(this._uiStats, SYNC_KEY_STATS, data, syncReason);
+            this.syncChildDataEntityFrom(this._telemetry, SYNC_KEY_TELEMETRY, data, syncReason);
             this.onClientFuelStatusChanged();
+
+            if (data.contains(SYNC_KEY_RATES)) {
+
+                final CompoundNBT rates = data.getCompound(SYNC_KEY_RATES);
+                final long gameTime = this.getWorld().getGameTime();
+
+                this._extrapolatedFuelHeat.sync(this.getFuelHeat().get(), rates.getDouble("fuelheat"), gameTime);
+                this._extrapolatedReactorHeat.sync(this.getReactorHeat().get(), rates.getDouble("reactorheat"), gameTime);
+                this._extrapolatedFuelAmount.sync(this.getFuelAmount(), rates.getDouble("fuel"), gameTime);
+                this._extrapolatedWasteAmount.sync(this.getWasteAmount(), rates.getDouble("waste"), gameTime);
+            }
         }
     }
 
@@ -638,18 +873,47 @@ public class MultiblockReactor
 
         super.syncDataTo(data, syncReason);
 
-        data.putBoolean("active", this.isMachineActive());
-        WasteEjectionSetting.write(data, "wasteeject", this.getWasteEjectionMode());
+        data.putBoolean(SYNC_KEY_ACTIVE, this.isMachineActive());
+        WasteEjectionSetting.write(data, SYNC_KEY_WASTE_EJECTION, this.getWasteEjectionMode());
 
         this._logic.syncDataTo(data, syncReason);
+        this.syncChildDataEntityTo(this._outputController, SYNC_KEY_OUTPUT_CONTROL, data, syncReason);
+
+        // on save, only write the data of the child entities that changed since the last one
+        this._savedDataCache.syncChildDataEntityTo(this._fuelContainer, SYNC_KEY_FUEL_CONTAINER, data, syncReason);
+        this._savedDataCache.syncChildDataEntityTo(this._fluidContainer, SYNC_KEY_FLUID_CONTAINER, data, syncReason);
+        this._savedDataCache.syncChildDataEntityTo(this._fuelHeat, SYNC_KEY_FUEL_HEAT, data, syncReason);
+        this._savedDataCache.syncChildDataEntityTo(this._reactorHeat, SYNC_KEY_REACTOR_HEAT, data, syncReason);
 
-        this.syncChildDataEntityTo(this._fuelContainer, "fuelcontainer", data, syncReason);
-        this.syncChildDataEntityTo(this._fluidContainer, "fluidcontainer", data, syncReason);
-        this.syncChildDataEntityTo(this._fuelHeat, "fuelheat", data, syncReason);
-        this.syncChildDataEntityTo(this._reactorHeat, "reactorheat", data, syncReason);
+        if (!syncReason.isNetworkUpdate() && this.isAssembled()) {
+            this._assemblyCache.syncDataTo(data, SYNC_KEY_ASSEMBLY_CACHE);
+        }
 
         if (syncReason.isNetworkUpdate()) {
-            this.syncChildDataEntityTo(this._uiStats, "stats", data, syncReason);
+
+            this.syncChildDataEntityTo(this._uiStats, SYNC_KEY_STATS, data, syncReason);
+
+            // the telemetry history only change once per second: don't send it again if nothing new was recorded
+
+            if (this._telemetry.getVersion() != this._lastSyncedTelemetryVersion) {
+
+                this.syncChildDataEntityTo(this._telemetry, SYNC_KEY_TELEMETRY, data, syncReason);
+                this._lastSyncedTelemetryVersion = this._telemetry.getVersion();
+            }
+
+            final CompoundNBT rates = new CompoundNBT();
+            final long gameTime = this.getWorld().getGameTime();
+
+            this._extrapolatedFuelHeat.sample(this.getFuelHeat().get(), gameTime);
+            this._extrapolatedReactorHeat.sample(this.getReactorHeat().get(), gameTime);
+            this._extrapolatedFuelAmount.sample(this.getFuelAmount(), gameTime);
+            this._extrapolatedWasteAmount.sample(this.getWasteAmount(), gameTime);
+
+            rates.putDouble("fuelheat", this._extrapolatedFuelHeat.getRate());
+            rates.putDouble("reactorheat", this._extrapolatedReactorHeat.getRate());
+            rates.putDouble("fuel", this._extrapolatedFuelAmount.getRate());
+            rates.putDouble("waste", this._extrapolatedWasteAmount.getRate());
+            data.put(SYNC_KEY_RATES, rates);
         }
 
         return data;
@@ -672,6 +936,7 @@ public class MultiblockReactor
         this.updateFuelRodsLayout();
         profiler.endStartSection("sendTickUpdate");
         this.sendUpdates();
+        this._metrics.onPacketSent();
         profiler.endSection();
     }
 
@@ -729,6 +994,7 @@ public class MultiblockReactor
             this._attachedFuelRods.remove(oldPart);
         } else if (oldPart instanceof ReactorSolidAccessPortEntity) {
             this._attachedSolidAccessPorts.remove(oldPart);
+            this._refuelingQueue.remove(oldPart);
         } else if (oldPart instanceof ReactorPowerTapEntity || oldPart instanceof ReactorChargingPortEntity) {
             this._attachedPowerTaps.remove(oldPart);
         } else if (oldPart instanceof ReactorFluidPortEntity) {
@@ -742,6 +1008,8 @@ public class MultiblockReactor
     @Override
     protected void onMachineAssembled() {
 
+        this.clearExpectedExtent();
+
         // set the output EnergySystem
         if (this._attachedPowerTaps.isEmpty()) {
             this.setOutputEnergySystem(INTERNAL_ENERGY_SYSTEM);
@@ -757,6 +1025,8 @@ public class MultiblockReactor
         this._mode = this.isAnyPartConnected(part -> part instanceof ReactorFluidPortEntity) ?
                 OperationalMode.Active : OperationalMode.Passive;
 
+        this._outputController.onReactorAssembled(this._mode);
+
         // interior visible?
         this.setInteriorInvisible(!this.isAnyPartConnected(part -> part instanceof ReactorGlassEntity));
 
@@ -770,6 +1040,10 @@ public class MultiblockReactor
         // gather outgoing coolant ports
         this.rebuildOutgoingFluidPorts();
 
+        // check all the input Access Ports for fuel that was inserted while the machine was disassembled
+        this._refuelingQueue.clear();
+        this._attachedSolidAccessPorts.forEach(this::requestRefueling);
+
         // update internal data
 
 
@@ -782,10 +1056,22 @@ public class MultiblockReactor
 
         this.resizeFuelContainer();
         this.calculateReactorVolume();
-        this.updateFuelToReactorHeatTransferCoefficient();
+
+        if (Float.isNaN(this._restoredFuelToReactorHeatTransferCoefficient)) {
+            this.updateFuelToReactorHeatTransferCoefficient();
+        } else {
+            this._fuelToReactorHeatTransferCoefficient = this._restoredFuelToReactorHeatTransferCoefficient;
+            this._restoredFuelToReactorHeatTransferCoefficient = Float.NaN;
+        }
+
         this.updateReactorToCoolantSystemHeatTransferCoefficient();
         this.updateReactorHeatLossCoefficient();
         this.resizeFluidContainer();
+        this.callOnLogicalServer(() -> this._assemblyCache.onAssembled(this.createAssemblyCacheData()));
+
+        if (ReactorSimulationSystem.isEnabled()) {
+            this.callOnLogicalServer(() -> ReactorSimulationSystem.add(this));
+        }
 
         // re-render the whole reactor
 //        if (CodeHelper.calledByLogicalClient(this.getWorld())) {
@@ -821,6 +1107,11 @@ public class MultiblockReactor
         // do not call setMachineActive() here
         this._active = false;
 
+        this.stopReplayRecording();
+        ReactorSimulationSystem.remove(this);
+        this._assemblyCache.onDisassembled();
+        this._lastForecast = null;
+
         this.markMultiblockForRenderUpdate();
     }
 
@@ -841,9 +1132,9 @@ public class MultiblockReactor
             return false;
         }
 
-        // Validate Control Rods orientation and Fuel Assemblies
+        // Wait for the whole machine to be loaded before running the expensive checks
 
-        if (!this.validateFuelAssemblies(validatorCallback)) {
+        if (!this.validateChunksLoaded(validatorCallback)) {
             return false;
         }
 
@@ -853,9 +1144,21 @@ public class MultiblockReactor
             return false;
         }
 
+        // Skip the validation walks if the structure did not change since the Reactor was saved
+
+        if (this.isWithinMaximumSize() && this.restoreAssemblyCache()) {
+            return true;
+        }
+
         // Perform base checks...
 
-        return super.isMachineWhole(validatorCallback);
+        if (!super.isMachineWhole(validatorCallback)) {
+            return false;
+        }
+
+        // Validate Control Rods orientation and Fuel Assemblies
+
+        return this.validateFuelAssemblies(validatorCallback);
     }
 
     /**
@@ -877,6 +1180,8 @@ public class MultiblockReactor
 
         final MultiblockReactor otherReactor = (MultiblockReactor)assimilated;
 
+        this.assimilateExpectedExtent(otherReactor);
+
         if (otherReactor._reactorHeat.get() > this._reactorHeat.get()) {
             this._reactorHeat.set(otherReactor._reactorHeat.get());
         }
@@ -905,10 +1210,14 @@ public class MultiblockReactor
     @Override
     protected void onAssimilated(IMultiblockController<MultiblockReactor> assimilator) {
 
+        this.stopReplayRecording();
+        ReactorSimulationSystem.remove(this);
+
         this._attachedTickables.clear();
         this._attachedControlRods.clear();
         this._attachedFuelRods.clear();
         this._attachedSolidAccessPorts.clear();
+        this._refuelingQueue.clear();
         this._attachedPowerTaps.clear();
         this._attachedFluidPorts.clear();
         this._fuelRodsLayout = null;
@@ -930,15 +1239,33 @@ public class MultiblockReactor
         final IProfiler profiler = this.getWorld().getProfiler();
 
         profiler.startSection("Extreme Reactors|Reactor update"); // main section
+        this._metrics.beginTick();
 
         profiler.startSection("Generate");
-        final boolean updateResult = this._logic.update();
+
+        if (null != this._replayRecorder && !this._replayRecorder.beginTick(this.getWorld().getGameTime())) {
+            this.stopReplayRecording();
+        }
+
+        final boolean updateResult = this._logic.update(profiler);
+
+        if (null != this._replayRecorder) {
+            this._replayRecorder.endTick();
+        }
+
+        //////////////////////////////////////////////////////////////////////////////
+        // OUTPUT CONTROL
+        //////////////////////////////////////////////////////////////////////////////
+
+        profiler.endStartSection("OutputControl");
+        this._outputController.update(this);
 
         //////////////////////////////////////////////////////////////////////////////
         // TICKABLES
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("Tickables");
+        this._metrics.begin(MachineMetrics.Section.Tickables);
         this._attachedTickables.forEach(ITickableMultiblockPart::onMultiblockServerTick);
 
         //////////////////////////////////////////////////////////////////////////////
@@ -946,6 +1273,7 @@ public class MultiblockReactor
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("Updates");
+        this._metrics.begin(MachineMetrics.Section.Updates);
         this.checkAndSendClientUpdates();
 
         //////////////////////////////////////////////////////////////////////////////
@@ -953,11 +1281,18 @@ public class MultiblockReactor
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("Mark4Update");
+        this._metrics.end();
 
         if (!this.isInteriorInvisible() && this._fuelContainer.shouldUpdate()) {
+
             this.markReferenceCoordForUpdate();
+            this._metrics.onPacketSent();
         }
 
+        this._metrics.endTick(this.getOperationalMode().isPassive() ? this.getUiStats().getAmountGeneratedLastTick() : 0);
+        this.recordTelemetry();
+        this.logTelemetry();
+
         profiler.endSection(); // Mark4Update
         profiler.endSection(); // main section
         return updateResult;
@@ -1077,6 +1412,271 @@ public class MultiblockReactor
         }
     }
 
+    //endregion
+    //region batch simulation support
+
+    ReactorLogic getLogic() {
+        return this._logic;
+    }
+
+    @Nullable
+    ReactorSimulationSystem.Slot getSimulationSlot() {
+        return this._simulationSlot;
+    }
+
+    void onSimulationSlotAssigned(final ReactorSimulationSystem.Slot slot) {
+
+        this._simulationSlot = slot;
+        this._fuelHeat.bind(slot, ReactorSimulationSystem.FUEL_HEAT);
+        this._reactorHeat.bind(slot, ReactorSimulationSystem.REACTOR_HEAT);
+        this._logic.setBatchSimulated(true);
+    }
+
+    void onSimulationSlotReleased() {
+
+        this._simulationSlot = null;
+        this._fuelHeat.unbind();
+        this._reactorHeat.unbind();
+        this._logic.setBatchSimulated(false);
+        this.discardModeratorsSnapshot();
+    }
+
+    /**
+     * Get the moderators that could be reached by the radiation of the Fuel Rods, capturing them if needed.
+     * The moderators in the snapshot only read the state of the Reactor so they could be used off the server thread.
+     * Must be called on the server thread
+     *
+     * @return the moderators, by position, or null if some of them could not be captured
+     */
+    @Nullable
+    Long2ObjectMap<IRadiationModerator> getModeratorsSnapshot() {
+
+        if (!this._moderatorsCaptured) {
+
+            this._moderatorsSnapshot = this.captureModerators();
+            this._moderatorsCaptured = true;
+        }
+
+        return this._moderatorsSnapshot;
+    }
+
+    void discardModeratorsSnapshot() {
+
+        this._moderatorsSnapshot = null;
+        this._moderatorsCaptured = false;
+    }
+
+    /**
+     * Show the fx of the Fuel Rods hit by the radiation during the last batch irradiation. Must be called on the server thread
+     */
+    void onBatchIrradiationCompleted() {
+
+        if (!this._pendingSparkles.isEmpty()) {
+
+            this._pendingSparkles.forEach(ReactorFuelRodEntity::sparkle);
+            this._pendingSparkles.clear();
+        }
+    }
+
+    /**
+     * Capture the moderators that could be reached by the radiation of the Fuel Rods, like the replay recorder does.
+     * The Fuel Rods defer their fx to {@link #onBatchIrradiationCompleted()}, the Reactor parts and the moderator
+     * blocks only read their own properties. The moderators from other mods could do anything
+     *
+     * @return the moderators, by position, or null if some of them could not be captured
+     */
+    @Nullable
+    private Long2ObjectMap<IRadiationModerator> captureModerators() {
+
+        final Optional<Direction[]> directions = this.getFuelRodsLayout().map(FuelRodsLayout::getRadiateDirections);
+
+        if (!directions.isPresent()) {
+            return null;
+        }
+
+        final World world = this.getWorld();
+        final Long2ObjectMap<IRadiationModerator> moderators = new Long2ObjectOpenHashMap<>();
+        final LongSet visited = new LongOpenHashSet();
+
+        for (final ReactorFuelRodEntity source : this._attachedFuelRods) {
+            for (final Direction direction : directions.get()) {
+                for (int step = 1; step <= ReactorLogic.RADIATION_RANGE; ++step) {
+
+                    final BlockPos position = source.getWorldPosition().offset(direction, step);
+
+                    if (!visited.add(position.toLong())) {
+                        continue;
+                    }
+
+                    final IRadiationModerator moderator = this.getModerator(position).orElse(null);
+
+                    if (null == moderator) {
+                        continue;
+                    }
+
+                    if (moderator instanceof ReactorFuelRodEntity) {
+
+                        final ReactorFuelRodEntity fuelRod = (ReactorFuelRodEntity)moderator;
+
+                        moderators.put(position.toLong(), (data, radiation) -> {
+                            if (fuelRod.moderateRadiationWithoutFx(data, radiation)) {
+                                this._pendingSparkles.add(fuelRod);
+                            }
+                        });
+
+                    } else if (moderator instanceof AbstractReactorEntity || !world.getBlockState(position).hasTileEntity()) {
+
+                        moderators.put(position.toLong(), moderator);
+
+                    } else {
+
+                        // a moderator from another mod: its behavior cannot be captured
+                        return null;
+                    }
+                }
+            }
+        }
+
+        return moderators;
+    }
+
+    //endregion
+    //region replay support
+
+    /**
+     * Start recording the ticks of the Reactor. Nothing is done if the Reactor is not assembled or if it's already recording.
+     * The batch simulation is suspended for the Reactor while it's recording so that its ticks could be replayed one by one
+     *
+     * @return the file of the new recording, if one was started
+     */
+    @Override
+    public Optional<Path> startReplayRecording() {
+
+        final MinecraftServer server = this.getWorld().getServer();
+
+        if (null != this._replayRecorder || !this.isAssembled() || null == server) {
+            return Optional.empty();
+        }
+
+        final BlockPos position = this.getMinimumCoord().orElse(BlockPos.ZERO);
+
+        try {
+
+            final Path file = ReplayRecordings.newRecordingFile(server, "reactor", position, this.getWorld().getGameTime());
+
+            ReactorSimulationSystem.remove(this);
+            this._replayRecorder = ReactorReplayRecorder.create(file, this);
+
+            Log.LOGGER.info(Log.REACTOR, "Recording the ticks of the Reactor at {} to {}", position, file);
+            return Optional.of(file);
+
+        } catch (IOException ex) {
+
+            Log.LOGGER.warn(Log.REACTOR, "Unable to start recording the ticks of the Reactor at {}", position, ex);
+            this.resumeSimulationSystem();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stop recording the ticks of the Reactor
+     *
+     * @return the file of the recording, if one was stopped
+     */
+    @Override
+    public Optional<Path> stopReplayRecording() {
+
+        final ReactorReplayRecorder recorder = this._replayRecorder;
+
+        if (null == recorder) {
+            return Optional.empty();
+        }
+
+        this._replayRecorder = null;
+        recorder.close();
+        this.resumeSimulationSystem();
+
+        return Optional.of(recorder.getFile());
+    }
+
+    Collection<ReactorFuelRodEntity> getAttachedFuelRods() {
+        return this._attachedFuelRods;
+    }
+
+    List<ReactorControlRodEntity> getAttachedControlRods() {
+        return this._attachedControlRods;
+    }
+
+    private void resumeSimulationSystem() {
+
+        if (this.isAssembled() && ReactorSimulationSystem.isEnabled()) {
+            ReactorSimulationSystem.add(this);
+        }
+    }
+
+    //endregion
+    //region forecast
+
+    /**
+     * Forecast the steady state the Reactor would reach with the given Control Rods insertions, running its logic
+     * on a copy of its current state. Nothing is changed in the Reactor or in the world.
+     *
+     * A forecast simulate up to {@link #FORECAST_TICKS} ticks on the server thread so a new one is computed at most
+     * once every {@link #FORECAST_INTERVAL} ticks. In between, the last forecast is returned again if it was requested
+     * for the same insertions
+     *
+     * @param controlRodsInsertions the insertion ratio of each Control Rod
+     * @return the forecast or an empty Optional if the Reactor is not assembled, the insertions count do not match
+     * the Control Rods count or a new forecast was requested too early
+     */
+    public Optional<ReactorForecast> predict(final int[] controlRodsInsertions) {
+
+        if (!this.isAssembled() || controlRodsInsertions.length != this._attachedControlRods.size()) {
+            return Optional.empty();
+        }
+
+        final byte[] insertions = new byte[controlRodsInsertions.length];
+
+        for (int idx = 0; idx < insertions.length; ++idx) {
+            insertions[idx] = (byte)MathHelper.clamp(controlRodsInsertions[idx], 0, 100);
+        }
+
+        final long now = this.getWorld().getGameTime();
+
+        if (null != this._lastForecast && now - this._lastForecastTime < FORECAST_INTERVAL) {
+            return Arrays.equals(insertions, this._lastForecastInsertions) ? Optional.of(this._lastForecast) : Optional.empty();
+        }
+
+        try {
+
+            final ReactorReplay copy = new ReactorReplay(ReactorReplayRecorder.createHeader(this, Lists.newArrayList(this._attachedFuelRods)));
+
+            this._lastForecast = copy.forecast(insertions, FORECAST_TICKS);
+            this._lastForecastInsertions = insertions;
+            this._lastForecastTime = now;
+            return Optional.of(this._lastForecast);
+
+        } catch (IOException ex) {
+
+            Log.LOGGER.warn(Log.REACTOR, "Unable to forecast the Reactor at {}", this.getMinimumCoord().orElse(BlockPos.ZERO), ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Forecast the steady state the Reactor would reach with all the Control Rods at the given insertion ratio
+     *
+     * @param controlRodsInsertion the insertion ratio of the Control Rods
+     * @return the forecast or an empty Optional if the Reactor is not assembled or a new forecast was requested too early
+     */
+    public Optional<ReactorForecast> predict(final int controlRodsInsertion) {
+
+        final int[] insertions = new int[this._attachedControlRods.size()];
+
+        Arrays.fill(insertions, controlRodsInsertion);
+        return this.predict(insertions);
+    }
+
     //endregion
     //region internals
 
@@ -1168,14 +1768,35 @@ public class MultiblockReactor
      */
     private void refuelSolid() {
 
-        // is there any space for fuel?
-        if (this._fuelContainer.getFreeSpace(ReactantType.Fuel) < ReactantMappingsRegistry.STANDARD_SOLID_REACTANT_AMOUNT) {
+        // is there any Access Port waiting to refuel the reactor and any space for its fuel?
+        if (this._refuelingQueue.isEmpty() ||
+                this._fuelContainer.getFreeSpace(ReactantType.Fuel) < ReactantMappingsRegistry.STANDARD_SOLID_REACTANT_AMOUNT) {
             return;
         }
 
         final boolean wasEmpty = this._fuelContainer.getFuelAmount() <= 0;
+        final Iterator<ReactorSolidAccessPortEntity> iterator = this._refuelingQueue.iterator();
+        boolean refueled = false;
+
+        // consuming the fuel in a port will make it request refueling again: that's fine as it is already in the queue
+
+        while (iterator.hasNext() &&
+                this._fuelContainer.getFreeSpace(ReactantType.Fuel) >= ReactantMappingsRegistry.STANDARD_SOLID_REACTANT_AMOUNT) {
 
-        if (ReactantHelper.refuelSolid(this._fuelContainer, this.getInputSolidAccessPorts(), this.getVariant())) {
+            final ReactorSolidAccessPortEntity port = iterator.next();
+
+            if (port.isConnected() && port.getIoDirection().isInput()) {
+                refueled |= ReactantHelper.refuelSolid(this._fuelContainer, port, this.getVariant()) > 0;
+            }
+
+            // keep the port in the queue while it still have some fuel to give
+
+            if (!port.isConnected() || port.getIoDirection().isOutput() || port.getFuelStack().isEmpty()) {
+                iterator.remove();
+            }
+        }
+
+        if (refueled) {
 
             if (wasEmpty) {
                 this.updateFuelRodsLayout();
@@ -1201,6 +1822,48 @@ public class MultiblockReactor
         }
     }
 
+    /**
+     * Reactor UPDATE
+     * Record the current status of the Reactor in the telemetry history
+     */
+    private void recordTelemetry() {
+
+        this._telemetry.record(ReactorTelemetryChannel.FuelHeat, this.getFuelHeat().get());
+        this._telemetry.record(ReactorTelemetryChannel.CasingHeat, this.getReactorHeat().get());
+        this._telemetry.record(ReactorTelemetryChannel.Generated, this._uiStats.getAmountGeneratedLastTick());
+        this._telemetry.record(ReactorTelemetryChannel.FuelConsumed, this._uiStats.getFuelConsumedLastTick());
+        this._telemetry.commit();
+    }
+
+    /**
+     * Reactor UPDATE
+     * Add a record to the telemetry log of the world, if enabled and it's time to do so
+     */
+    private void logTelemetry() {
+
+        final int interval = TelemetryLog.getInterval();
+
+        if (interval <= 0 || ++this._ticksSinceLastTelemetryLog < interval) {
+            return;
+        }
+
+        final int seconds = interval / 20;
+        final TelemetryRecord record = new TelemetryRecord();
+
+        this._ticksSinceLastTelemetryLog = 0;
+
+        record.MachineType = TelemetryRecord.MACHINE_REACTOR;
+        record.Flags = this.isMachineActive() ? (byte)TelemetryRecord.FLAG_ACTIVE : 0;
+        record.Heat = (float)this.getFuelHeat().get();
+        record.Energy = (float)this.getEnergyBuffer().getEnergyStored();
+        record.Fuel = this.getFuelAmount();
+        record.Waste = this.getWasteAmount();
+        record.Output = (float)this._telemetry.getAverage(ReactorTelemetryChannel.Generated, TelemetryResolution.Second, seconds);
+        record.Consumption = (float)this._telemetry.getAverage(ReactorTelemetryChannel.FuelConsumed, TelemetryResolution.Second, seconds);
+
+        TelemetryLog.append(this.getWorld(), this.getReferenceCoord(), record);
+    }
+
     /**
      * Reactor UPDATE
      * Distribute the available gas equally between all the Active Coolant Ports
@@ -1311,6 +1974,83 @@ public class MultiblockReactor
                 this.mapBoundingBoxCoordinates(MultiblockReactor::externalSurfaceArea, 0);
     }
 
+    /**
+     * @return the values, derived from the structure of the Reactor, to remember for the next time the Reactor is loaded
+     */
+    private CompoundNBT createAssemblyCacheData() {
+
+        final CompoundNBT data = new CompoundNBT();
+
+        data.putFloat("fuel2reactor", this._fuelToReactorHeatTransferCoefficient);
+        return data;
+    }
+
+    /**
+     * Restore the values saved with the Reactor if its structure did not change since it was saved
+     *
+     * @return true if the values were restored, false otherwise
+     */
+    private boolean restoreAssemblyCache() {
+
+        final Optional<CompoundNBT> cached = this._assemblyCache.restore();
+
+        this._restoredFuelToReactorHeatTransferCoefficient = cached
+                .filter(data -> data.contains("fuel2reactor"))
+                .map(data -> data.getFloat("fuel2reactor"))
+                .orElse(Float.NaN);
+
+        return cached.isPresent();
+    }
+
+    /**
+     * Hash the structure of the Reactor: the attached parts and the blocks around the Fuel Rods, the only interior
+     * blocks the heat transfer coefficient stored in the assembly cache depends on.
+     * The rest of the interior is not checked: it can't change while the Reactor is not loaded
+     *
+     * @param data the values stored in the assembly cache
+     * @return the hash of the structure
+     */
+    private long computeAssemblyHash(final CompoundNBT data) {
+
+        final World world = this.getWorld();
+        final AssemblyCache.Hash hash = this.hashAttachedParts(new AssemblyCache.Hash());
+
+        for (final ReactorFuelRodEntity rod : this._attachedFuelRods) {
+
+            final BlockPos rodPosition = rod.getWorldPosition();
+
+            for (final Direction direction : CodeHelper.DIRECTIONS) {
+
+                final BlockPos position = rodPosition.offset(direction);
+                final BlockState state = world.getBlockState(position);
+
+                // the parts are already in the hash
+                if (!state.hasTileEntity()) {
+                    hash.addUnordered(position.toLong() * 31 + getAssemblyFingerprint(state));
+                }
+            }
+        }
+
+        return hash.get();
+    }
+
+    /**
+     * @param state the block state
+     * @return a fingerprint of the block state and of its moderator properties
+     */
+    private static long getAssemblyFingerprint(final BlockState state) {
+
+        final AssemblyCache.Hash hash = new AssemblyCache.Hash().add(Block.getStateId(state));
+
+        ModeratorsRegistry.getFrom(state).ifPresent(m -> hash
+                .add(m.getAbsorption())
+                .add(m.getHeatEfficiency())
+                .add(m.getModeration())
+                .add(m.getHeatConductivity()));
+
+        return hash.get();
+    }
+
     private static int internalSurfaceArea(final BlockPos min, final BlockPos max) {
 
         int xSize = max.getX() - min.getX() - 1;
@@ -1494,7 +2234,7 @@ public class MultiblockReactor
 
     //endregion
 
-    private static final IFluidContainerAccess FLUID_CONTAINER_ACCESS = new IFluidContainerAccess() {
+    static final IFluidContainerAccess FLUID_CONTAINER_ACCESS = new IFluidContainerAccess() {
 
         @Override
         public AllowedHandlerAction getAllowedActionFor(final FluidType fluidType) {
@@ -1528,6 +2268,10 @@ public class MultiblockReactor
     // circa 1FE per tick per external surface block
     private static final float REACTOR_HEAT_LOSS_CONDUCTIVITY = 0.001f;
 
+    // the maximum number of ticks simulated by a forecast and the minimum number of ticks between two forecasts, see predict()
+    private static final int FORECAST_TICKS = 1200;
+    private static final int FORECAST_INTERVAL = 20;
+
     private final ReactorLogic _logic;
     private final IMultiblockReactorVariant _variant;
     private final Heat _fuelHeat;
@@ -1536,20 +2280,41 @@ public class MultiblockReactor
     private final FluidContainer _fluidContainer;
     private final IteratorTracker<ReactorFuelRodEntity> _irradiationSourceTracker;
     private final Stats _uiStats;
+    private final MachineMetrics _metrics;
+    private final ExtrapolatedValue _extrapolatedFuelHeat;
+    private final ExtrapolatedValue _extrapolatedReactorHeat;
+    private final ExtrapolatedValue _extrapolatedFuelAmount;
+    private final ExtrapolatedValue _extrapolatedWasteAmount;
+    private final TelemetryHistory<ReactorTelemetryChannel> _telemetry;
+    private final SavedDataCache _savedDataCache;
+    private final AssemblyCache _assemblyCache;
+    private final ReactorOutputController _outputController;
 
     private FuelRodsLayout _fuelRodsLayout;
     private WasteEjectionSetting _wasteEjectionSetting;
     private OperationalMode _mode;
     private boolean _active;
+    private long _lastSyncedTelemetryVersion;
+    private int _ticksSinceLastTelemetryLog;
     private int _reactorVolume;
     private float _fuelToReactorHeatTransferCoefficient;
+    private float _restoredFuelToReactorHeatTransferCoefficient;
     private float _reactorToCoolantSystemHeatTransferCoefficient;
     private float _reactorHeatLossCoefficient;
+    private ReactorSimulationSystem.Slot _simulationSlot;
+    private Long2ObjectMap<IRadiationModerator> _moderatorsSnapshot;
+    private boolean _moderatorsCaptured;
+    private final List<ReactorFuelRodEntity> _pendingSparkles;
+    private ReactorReplayRecorder _replayRecorder;
+    private ReactorForecast _lastForecast;
+    private byte[] _lastForecastInsertions;
+    private long _lastForecastTime;
 
     private final Set<ITickableMultiblockPart> _attachedTickables;
     private final List<ReactorControlRodEntity> _attachedControlRods;
     private final Set<ReactorFuelRodEntity> _attachedFuelRods;
     private final Set<ReactorSolidAccessPortEntity> _attachedSolidAccessPorts;
+    private final Set<ReactorSolidAccessPortEntity> _refuelingQueue;
     private final Set<IPowerTap> _attachedPowerTaps;
     private final Set<ReactorFluidPortEntity> _attachedFluidPorts;
     private final Set<ReactorFluidPortEntity> _attachedOutgoingFluidPorts;
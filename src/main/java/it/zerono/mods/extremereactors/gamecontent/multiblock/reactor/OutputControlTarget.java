@@ -0,0 +1,124 @@
+/*
+ *
+ * OutputControlTarget.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import com.google.common.base.Strings;
+import net.minecraft.nbt.CompoundNBT;
+
+/**
+ * The value a {@link ReactorOutputController} keep at its setpoint by moving the Control Rods
+ */
+public enum OutputControlTarget {
+
+    // no automatic control, the Control Rods are only moved by players, computers and redstone
+    Disabled,
+
+    // the percentage of the internal energy buffer that is filled, passively-cooled Reactors only
+    EnergyBuffer,
+
+    // the casing (Reactor Environment) temperature, in C
+    CasingHeat,
+
+    // the amount of vapor generated every tick, in mB, actively-cooled Reactors only
+    VaporOutput
+    ;
+
+    public boolean isEnabled() {
+        return Disabled != this;
+    }
+
+    /**
+     * @param mode the operational mode of the Reactor
+     * @return true if this target could be used by a Reactor operating in the given mode
+     */
+    public boolean isValidFor(final OperationalMode mode) {
+
+        switch (this) {
+
+            case EnergyBuffer:
+                return mode.isPassive();
+
+            case VaporOutput:
+                return mode.isActive();
+
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Clamp a setpoint to the range of values that make sense for this target
+     *
+     * @param setpoint the setpoint
+     * @return the clamped setpoint
+     */
+    public double clampSetpoint(final double setpoint) {
+
+        if (Double.isNaN(setpoint) || setpoint < 0) {
+            return 0;
+        }
+
+        switch (this) {
+
+            case EnergyBuffer:
+                return Math.min(setpoint, 100);
+
+            case CasingHeat:
+                return Math.min(setpoint, MAX_CASING_HEAT);
+
+            default:
+                return Math.min(setpoint, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * @return the next target, wrapping around at the end
+     */
+    public OutputControlTarget next() {
+        return VALUES[(this.ordinal() + 1) % VALUES.length];
+    }
+
+    public static OutputControlTarget read(final CompoundNBT data, final String key, final OutputControlTarget defaultValue) {
+
+        if (data.contains(key)) {
+
+            final String value = data.getString(key);
+
+            if (!Strings.isNullOrEmpty(value)) {
+                return OutputControlTarget.valueOf(value);
+            }
+        }
+
+        return defaultValue;
+    }
+
+    public static CompoundNBT write(final CompoundNBT data, final String key, final OutputControlTarget value) {
+
+        data.putString(key, value.name());
+        return data;
+    }
+
+    //region internals
+
+    private static final double MAX_CASING_HEAT = 100000;
+    private static final OutputControlTarget[] VALUES = values();
+
+    //endregion
+}
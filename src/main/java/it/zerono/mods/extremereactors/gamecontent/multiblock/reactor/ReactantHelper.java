@@ -109,10 +109,10 @@ public class ReactantHelper {
     static boolean ejectSolidReactant(final Reactant reactant, final FuelContainer container,
                                       final Stream<IFuelSource<ItemStack>> fuelSources) {
 
-        //TODO For now, we can optimize by only running this when we have enough waste to product an ingot
-        final int minimumReactantAmount = reactant.getMinimumSolidSourceAmount();
+        // only run this when we have enough waste to product an ingot
+        final int minimumReactantAmount = SolidReactantProducts.get(reactant).getMinimumSourceAmount();
 
-        return container.getContentAmount(reactant.getType()) >= minimumReactantAmount &&
+        return minimumReactantAmount > 0 && container.getContentAmount(reactant.getType()) >= minimumReactantAmount &&
                 ejectSolidReactant(reactant, minimumReactantAmount, container, fuelSources) > 0;
     }
 
@@ -154,12 +154,6 @@ public class ReactantHelper {
         return 0;
     }
 
-    static boolean refuelSolid(final FuelContainer container, final Stream<IFuelSource<ItemStack>> sources, final IMultiblockReactorVariant variant) {
-        return sources.filter(source -> container.getFreeSpace(ReactantType.Fuel) >= ReactantMappingsRegistry.STANDARD_SOLID_REACTANT_AMOUNT)
-                .mapToInt(source -> refuelSolid(container, source, variant))
-                .sum() > 0;
-    }
-
 //DELETE
 //    static ReactantStack reactantFromSolidSourcex(final ItemStack fuelSourceStack, final IMultiblockReactorVariant variant) {
 //        return ReactantMappingsRegistry.getFromSolid(fuelSourceStack)
@@ -170,7 +164,7 @@ public class ReactantHelper {
     /**
      * Refuel from a single port, return how much was added
       */
-    private static int refuelSolid(final FuelContainer container, final IFuelSource<ItemStack> fuelSource,
+    static int refuelSolid(final FuelContainer container, final IFuelSource<ItemStack> fuelSource,
                                    final IMultiblockReactorVariant variant) {
 
         // any fuel source items available in the port?
@@ -0,0 +1,109 @@
+/*
+ *
+ * ReactorForecast.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+/**
+ * The projected steady state of a Reactor, computed by {@link MultiblockReactor#predict(int[], int)}
+ * running the {@link ReactorLogic} of a copy of the Reactor for a limited number of ticks.
+ *
+ * The heat values are the ones reached at the end of the forecast, the amounts are averaged over its last ticks
+ */
+public final class ReactorForecast {
+
+    ReactorForecast(final boolean passive, final double fuelHeat, final double reactorHeat, final double amountGenerated,
+                    final double fuelConsumed, final int ticks, final boolean converged) {
+
+        this._passive = passive;
+        this._fuelHeat = fuelHeat;
+        this._reactorHeat = reactorHeat;
+        this._amountGenerated = amountGenerated;
+        this._fuelConsumed = fuelConsumed;
+        this._ticks = ticks;
+        this._converged = converged;
+    }
+
+    /**
+     * @return true if the Reactor is passively cooled and generate energy, false if it generate vapor
+     */
+    public boolean isPassive() {
+        return this._passive;
+    }
+
+    /**
+     * @return the projected temperature of the fuel
+     */
+    public double getFuelHeat() {
+        return this._fuelHeat;
+    }
+
+    /**
+     * @return the projected temperature of the Reactor casing
+     */
+    public double getReactorHeat() {
+        return this._reactorHeat;
+    }
+
+    /**
+     * @return the projected amount of energy (FE/t) or vapor (mB/t) generated by the Reactor
+     */
+    public double getAmountGeneratedPerTick() {
+        return this._amountGenerated;
+    }
+
+    /**
+     * @return the projected amount of fuel (mB/t) consumed by the Reactor
+     */
+    public double getFuelConsumedPerTick() {
+        return this._fuelConsumed;
+    }
+
+    /**
+     * @return the number of ticks simulated
+     */
+    public int getTicks() {
+        return this._ticks;
+    }
+
+    /**
+     * @return true if the Reactor heat stopped changing before the end of the forecast
+     */
+    public boolean isConverged() {
+        return this._converged;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("fuel heat %.2f, reactor heat %.2f, generated %.2f/t, fuel %.4f mB/t, %d ticks%s",
+                this._fuelHeat, this._reactorHeat, this._amountGenerated, this._fuelConsumed, this._ticks,
+                this._converged ? "" : " (not converged)");
+    }
+
+    //region internals
+
+    private final boolean _passive;
+    private final double _fuelHeat;
+    private final double _reactorHeat;
+    private final double _amountGenerated;
+    private final double _fuelConsumed;
+    private final int _ticks;
+    private final boolean _converged;
+
+    //endregion
+}
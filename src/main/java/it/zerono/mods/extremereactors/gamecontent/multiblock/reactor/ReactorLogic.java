@@ -21,9 +21,12 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 import it.zerono.mods.extremereactors.api.radiation.RadiationPacket;
 import it.zerono.mods.extremereactors.api.reactor.IHeatEntity;
 import it.zerono.mods.extremereactors.api.reactor.radiation.EnergyConversion;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
 import it.zerono.mods.extremereactors.config.Config;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.CurveTable;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics.MachineMetrics;
 import it.zerono.mods.zerocore.lib.data.nbt.IMergeableEntity;
 import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
 import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
@@ -33,14 +36,16 @@ import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 public class ReactorLogic
         implements ISyncableEntity, IMergeableEntity {
 
-    ReactorLogic(final IReactorMachine reactor, final EnergyBuffer energyBuffer) {
+    ReactorLogic(final IReactorMachine reactor, final EnergyBuffer energyBuffer, final MachineMetrics metrics) {
 
         this._reactor = reactor;
         this._energyBuffer = energyBuffer;
+        this._metrics = metrics;
         this.setFertility(1f);
     }
 
@@ -50,10 +55,11 @@ public class ReactorLogic
     
     /**
      * Main update logic
+     *
+     * @param profiler the profiler to use
      */
-    public boolean update() {
+    public boolean update(final IProfiler profiler) {
 
-        final IProfiler profiler = this._reactor.getWorld().getProfiler();
         final IHeat reactorHeat = this.getReactorHeat();
 
         //TODO variants
@@ -65,18 +71,28 @@ public class ReactorLogic
         final double startingReactorHeat = reactorHeat.get();
         final double startingEnergy = this._energyBuffer.getEnergyStored();
 
-        this.getUiStats().setAmountGeneratedLastTick(0);
-        this.getUiStats().setFuelConsumedLastTick(0);
+        if (!this._batchSimulated) {
+
+            // when the Reactor is batch simulated, the amounts generated and consumed are updated by the simulation
+            this.getUiStats().setAmountGeneratedLastTick(0);
+            this.getUiStats().setFuelConsumedLastTick(0);
+        }
 
         //////////////////////////////////////////////////////////////////////////////
         // IRRADIATION
         //////////////////////////////////////////////////////////////////////////////
 
-        // - Irradiate from the next Fuel Rod
+        // - Irradiate from the next Fuel Rod, if the simulation didn't already
         profiler.startSection("Irradiate");
-        this.performIrradiation();
+        this._metrics.begin(MachineMetrics.Section.Irradiate);
+
+        if (!this._batchSimulated) {
+            this.performIrradiation(this._reactor.getEnvironment()::getModerator);
+        }
+
         // - Allow radiation to decay even when reactor is off.
         profiler.endStartSection("Decay");
+        this._metrics.begin(MachineMetrics.Section.Decay);
         this.performRadiationDecay(this._reactor.isMachineActive());
 
         //////////////////////////////////////////////////////////////////////////////
@@ -84,6 +100,7 @@ public class ReactorLogic
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("Refueling");
+        this._metrics.begin(MachineMetrics.Section.Refueling);
         this._reactor.performRefuelingCycle();
 
         //////////////////////////////////////////////////////////////////////////////
@@ -91,29 +108,40 @@ public class ReactorLogic
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("Heat");
-        // - Fuel Pool <> Reactor Environment
-        this.transferHeatBetweenFuelAndReactor();
-        // - If we have a temperature differential between environment and coolant system, move heat between them
-        this.transferHeatBetweenReactorAndCoolant();
-        // - Do passive heat loss - this is always versus external environment
-        this.performPassiveHeatLoss();
-        // - Prevent cryogenics
-        reactorHeat.resetIfNegative();
-        this.getFuelHeat().resetIfNegative();
+        this._metrics.begin(MachineMetrics.Section.Heat);
+
+        if (!this._batchSimulated) {
+
+            // - Fuel Pool <> Reactor Environment
+            this.transferHeatBetweenFuelAndReactor();
+            // - If we have a temperature differential between environment and coolant system, move heat between them
+            this.transferHeatBetweenReactorAndCoolant();
+            // - Do passive heat loss - this is always versus external environment
+            this.performPassiveHeatLoss();
+            // - Prevent cryogenics
+            reactorHeat.resetIfNegative();
+            this.getFuelHeat().resetIfNegative();
+        }
 
         //////////////////////////////////////////////////////////////////////////////
         // SEND POWER/GAS OUT
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("Distribute"); // close "Generate"
+        this._metrics.begin(MachineMetrics.Section.Distribute);
         this._reactor.performOutputCycle();
+        this._metrics.end();
         profiler.endSection();
 
         //////////////////////////////////////////////////////////////////////////////
         //TODO: Overload/overheat
         //////////////////////////////////////////////////////////////////////////////
 
-        return startingReactorHeat != reactorHeat.get() ||
+        final boolean batchChanged = this._batchChanged;
+
+        this._batchChanged = false;
+
+        return batchChanged || startingReactorHeat != reactorHeat.get() ||
                 startingEnergy != this._energyBuffer.getEnergyStored();
     }
 
@@ -121,6 +149,64 @@ public class ReactorLogic
         this.setFertility(1f);
     }
 
+    //region batch simulation support
+
+    /**
+     * Let the {@link ReactorSimulationSystem} perform the irradiation and the heat transfers of the Reactor instead
+     * of {@link #update(IProfiler)}
+     *
+     * @param batchSimulated true if the irradiation and the heat transfers are performed by the {@link ReactorSimulationSystem}
+     */
+    void setBatchSimulated(final boolean batchSimulated) {
+
+        this._batchSimulated = batchSimulated;
+        this._batchChanged = false;
+    }
+
+    /**
+     * Called by the {@link ReactorSimulationSystem} to irradiate from the next Fuel Rod, before the heat transfers.
+     * If the moderators are looked up in a snapshot, only the state of the Reactor is touched and this could be
+     * called off the server thread
+     *
+     * @param moderators look up the moderator at a position inside the Reactor
+     */
+    void performBatchIrradiation(final Function<BlockPos, Optional<IRadiationModerator>> moderators) {
+
+        this.getUiStats().setFuelConsumedLastTick(0);
+        this.performIrradiation(moderators);
+    }
+
+    /**
+     * Called by the {@link ReactorSimulationSystem} to transfer heat between the Reactor Environment and the active coolant system
+     */
+    void performActiveCoolingStep() {
+
+        this.getUiStats().setAmountGeneratedLastTick(0);
+        this.transferHeatBetweenReactorAndCoolant();
+    }
+
+    /**
+     * Called by the {@link ReactorSimulationSystem} after it performed the heat transfers of the Reactor
+     *
+     * @param passiveEnergyGenerated the energy generated by the passive coolant system, multipliers included
+     * @param heatChanged true if the fuel or the Reactor Environment heat changed
+     */
+    void onBatchStepCompleted(final double passiveEnergyGenerated, final boolean heatChanged) {
+
+        if (this._reactor.getOperationalMode().isPassive()) {
+
+            this.getUiStats().setAmountGeneratedLastTick(passiveEnergyGenerated);
+
+            if (passiveEnergyGenerated > 0) {
+                this._energyBuffer.modifyEnergyStored(passiveEnergyGenerated);
+            }
+        }
+
+        this._batchChanged |= heatChanged || passiveEnergyGenerated > 0;
+    }
+
+    //endregion
+
     //region ISyncableEntity
 
     /**
@@ -205,8 +291,10 @@ public class ReactorLogic
     /**
      * Reactor UPDATE
      * Select the next Fuel Dod to irradiate from and irradiate from it
+     *
+     * @param moderators look up the moderator at a position inside the Reactor
      */
-    private void performIrradiation() {
+    private void performIrradiation(final Function<BlockPos, Optional<IRadiationModerator>> moderators) {
 
         if (!this._reactor.isMachineActive()) {
             return;
@@ -214,16 +302,17 @@ public class ReactorLogic
 
         this._reactor.getEnvironment().getNextIrradiationSource()
                 .filter(IIrradiationSource::isLinked)
-                .ifPresent(this::performIrradiationFrom);
+                .ifPresent(source -> this.performIrradiationFrom(source, moderators));
     }
 
     /**
      * Reactor UPDATE
      * Irradiate from a Fuel Rod
      */
-    private void performIrradiationFrom(IIrradiationSource source) {
+    private void performIrradiationFrom(final IIrradiationSource source,
+                                        final Function<BlockPos, Optional<IRadiationModerator>> moderators) {
 
-        this.radiate(/*this._reactor.getWorld(),*/ this.getFuelContainer(), source,
+        this.radiate(/*this._reactor.getWorld(),*/ moderators, this.getFuelContainer(), source,
                 this.getFuelHeat().get(), this.getReactorHeat().get(),
                 this.getControlRodsCount()).ifPresent(data -> {
 
@@ -326,7 +415,8 @@ public class ReactorLogic
     //endregion
     //region irradiation
 
-    private Optional<IrradiationData> radiate(/*World world,*/ final IFuelContainer fuelContainer, final IIrradiationSource source,
+    private Optional<IrradiationData> radiate(/*World world,*/ final Function<BlockPos, Optional<IRadiationModerator>> moderators,
+                                                               final IFuelContainer fuelContainer, final IIrradiationSource source,
                                                                final double fuelHeat, final double environmentHeat,
                                                                final int numControlRods) {
         // No fuel? No radiation!
@@ -337,7 +427,7 @@ public class ReactorLogic
         // Determine radiation amount & intensity, heat amount, determine fuel usage
 
         // Base value for radiation production penalties. 0-1, caps at about 3000C;
-        double radiationPenaltyBase = Math.exp(-15 * Math.exp(-0.0025 * fuelHeat));
+        double radiationPenaltyBase = RADIATION_PENALTY_BASE.evaluate(fuelHeat);
 
         // Raw amount - what's actually in the tanks
         // Effective amount - how
@@ -360,7 +450,7 @@ public class ReactorLogic
         rawRadIntensity = rawRadIntensity * controlRodModifier;
 
         // Now nerf actual radiation production based on heat.
-        float effectiveRadIntensity = scaledRadIntensity * (1f + (float)(-0.95f * Math.exp(-10f * Math.exp(-0.0012f * fuelHeat))));
+        float effectiveRadIntensity = scaledRadIntensity * (1f + (float)(-0.95f * RADIATION_HEAT_PENALTY.evaluate(fuelHeat)));
 
         // Radiation hardness starts at 20% and asymptotically approaches 100% as heat rises.
         // This will make radiation harder and harder to capture.
@@ -389,7 +479,7 @@ public class ReactorLogic
             radPacket.hardness = radHardness;
             radPacket.intensity = effectiveRadIntensity;
 
-            int ttl = 4; //TODO variants? radPacket.intensity will be > 0 if ttl > 4? check effectiveRadIntensity too
+            int ttl = RADIATION_RANGE; //TODO variants? radPacket.intensity will be > 0 if ttl > 4? check effectiveRadIntensity too
 
             currentCoord = originCoord;
 
@@ -399,7 +489,7 @@ public class ReactorLogic
                 currentCoord = currentCoord.offset(dir);
 
                 //this.performIrradiation(world, data, radPacket, currentCoord);
-                this._reactor.getEnvironment().getModerator(currentCoord).ifPresent(m -> m.moderateRadiation(data, radPacket));
+                moderators.apply(currentCoord).ifPresent(m -> m.moderateRadiation(data, radPacket));
             }
         }
 
@@ -539,10 +629,13 @@ public class ReactorLogic
     }
 
     // 50% power penalty, so this comes out as about 1/3 a basic water-cooled reactor
-    private static final float PASSIVE_COOLING_POWER_EFFICIENCY = 0.5f;
+    static final float PASSIVE_COOLING_POWER_EFFICIENCY = 0.5f;
 
     // 20% of available heat transferred per tick when passively cooled
-    private static final float PASSIVE_COOLING_TRANSFER_EFFICIENCY = 0.2f;
+    static final float PASSIVE_COOLING_TRANSFER_EFFICIENCY = 0.2f;
+
+    // how many blocks the radiation travel from a Fuel Rod
+    static final int RADIATION_RANGE = 4;
 
     // fuel units used per fission event
     private static final float FUEL_PER_RADIATION_UNIT = 0.0007f;
@@ -550,10 +643,19 @@ public class ReactorLogic
     // 1 fission event per 100 mB
     private static final float FISSION_EVENTS_PER_FUEL_UNIT = 0.01f;
 
+    // The heat curves used by the irradiation. Both reach 1 well before the end of the tables
+    private static final CurveTable RADIATION_PENALTY_BASE = CurveTable.of("radiation penalty base", 0, 8192, 4096, 1e-6,
+            fuelHeat -> Math.exp(-15 * Math.exp(-0.0025 * fuelHeat)));
+    private static final CurveTable RADIATION_HEAT_PENALTY = CurveTable.of("radiation heat penalty", 0, 16384, 4096, 1e-6,
+            fuelHeat -> Math.exp(-10f * Math.exp(-0.0012f * fuelHeat)));
+
     private final IReactorMachine _reactor;
     private final EnergyBuffer _energyBuffer;
+    private final MachineMetrics _metrics;
 
     private float _fertility;
+    private boolean _batchSimulated;
+    private boolean _batchChanged;
 
     //endregion
 }
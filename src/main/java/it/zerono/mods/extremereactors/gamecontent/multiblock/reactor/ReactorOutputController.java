@@ -0,0 +1,309 @@
+/*
+ *
+ * ReactorOutputController.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorControlRodEntity;
+import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.List;
+
+/**
+ * A PID controller that move all the Control Rods of a Reactor to keep an {@link OutputControlTarget} at a setpoint.
+ *
+ * The controller run inside the Reactor tick but only act every {@link #UPDATE_INTERVAL} ticks, using the average
+ * of the measures taken in the meantime. The error is scaled to the setpoint (or to the full energy buffer) so that
+ * the same gains work for small and big Reactors: the gains are in Control Rods insertion percent per unit of scaled error.
+ *
+ * When the controller is turned on (or the Reactor is activated) the integral term start from the current average
+ * insertion of the Control Rods so the Reactor does not jump to a different insertion.
+ * The integral term is kept within the insertion range to avoid winding it up while the Control Rods are fully
+ * inserted or retracted
+ */
+public final class ReactorOutputController
+        implements ISyncableEntity {
+
+    public static final double DEFAULT_PROPORTIONAL_GAIN = 20;
+    public static final double DEFAULT_INTEGRAL_GAIN = 5;
+    public static final double DEFAULT_DERIVATIVE_GAIN = 0;
+
+    public ReactorOutputController() {
+
+        this._target = OutputControlTarget.Disabled;
+        this._setpoint = 0;
+        this._kp = DEFAULT_PROPORTIONAL_GAIN;
+        this._ki = DEFAULT_INTEGRAL_GAIN;
+        this._kd = DEFAULT_DERIVATIVE_GAIN;
+        this.reset();
+    }
+
+    public OutputControlTarget getTarget() {
+        return this._target;
+    }
+
+    public double getSetpoint() {
+        return this._setpoint;
+    }
+
+    public double getProportionalGain() {
+        return this._kp;
+    }
+
+    public double getIntegralGain() {
+        return this._ki;
+    }
+
+    public double getDerivativeGain() {
+        return this._kd;
+    }
+
+    /**
+     * Change the target and the setpoint of the controller
+     *
+     * @param target the new target
+     * @param setpoint the new setpoint. It will be clamped to the range of the target
+     * @param mode the operational mode of the Reactor
+     * @return true if the settings were changed, false if the target is not valid for the Reactor or nothing changed
+     */
+    boolean configure(final OutputControlTarget target, final double setpoint, final OperationalMode mode) {
+
+        if (!target.isValidFor(mode)) {
+            return false;
+        }
+
+        final double newSetpoint = target.clampSetpoint(setpoint);
+
+        if (this._target == target && this._setpoint == newSetpoint) {
+            return false;
+        }
+
+        this._target = target;
+        this._setpoint = newSetpoint;
+        this.reset();
+        return true;
+    }
+
+    /**
+     * Change the gains of the controller
+     *
+     * @param kp the proportional gain
+     * @param ki the integral gain
+     * @param kd the derivative gain
+     * @return true if the gains were changed, false if any of them is negative or not a number
+     */
+    boolean setGains(final double kp, final double ki, final double kd) {
+
+        if (!isValidGain(kp) || !isValidGain(ki) || !isValidGain(kd)) {
+            return false;
+        }
+
+        this._kp = kp;
+        this._ki = ki;
+        this._kd = kd;
+        this.reset();
+        return true;
+    }
+
+    /**
+     * Called when the Reactor is assembled: the operational mode of the Reactor could be different from the one
+     * the controller was configured for
+     *
+     * @param mode the operational mode of the Reactor
+     */
+    void onReactorAssembled(final OperationalMode mode) {
+
+        if (!this._target.isValidFor(mode)) {
+            this._target = OutputControlTarget.Disabled;
+        }
+
+        this.reset();
+    }
+
+    /**
+     * Forget the state of the controller. It will start again from the current insertion of the Control Rods
+     */
+    void reset() {
+
+        this._primed = false;
+        this._ticks = 0;
+        this._measureSum = 0;
+    }
+
+    /**
+     * Called by the Reactor on every server tick, after the Reactor logic was run
+     *
+     * @param reactor the Reactor to control
+     */
+    void update(final MultiblockReactor reactor) {
+
+        final List<ReactorControlRodEntity> controlRods = reactor.getAttachedControlRods();
+
+        if (!this._target.isEnabled() || !reactor.isMachineActive() || controlRods.isEmpty()) {
+
+            this._primed = false;
+            return;
+        }
+
+        this._measureSum += this.measure(reactor);
+
+        if (++this._ticks < UPDATE_INTERVAL) {
+            return;
+        }
+
+        final double measure = this._measureSum / this._ticks;
+        final double scale = this.getErrorScale();
+        final double error = (this._setpoint - measure) / scale;
+
+        this._ticks = 0;
+        this._measureSum = 0;
+
+        if (!this._primed) {
+
+            this._integral = getAverageInsertion(controlRods);
+            this._lastMeasure = measure;
+            this._lastInsertion = -1;
+            this._primed = true;
+        }
+
+        // a positive error ask for more output, so the Control Rods must be retracted. The derivative is computed
+        // on the measure, not on the error, so changing the setpoint does not kick the Control Rods
+
+        this._integral = MathHelper.clamp(this._integral - this._ki * error, 0, 100);
+
+        final double output = this._integral - this._kp * error + this._kd * (measure - this._lastMeasure) / scale;
+        final int insertion = (int)Math.round(MathHelper.clamp(output, 0, 100));
+
+        this._lastMeasure = measure;
+
+        if (insertion != this._lastInsertion) {
+
+            this._lastInsertion = insertion;
+            reactor.setControlRodsInsertionRatio(insertion);
+        }
+    }
+
+    //region ISyncableEntity
+
+    /**
+     * Sync the entity data from the given NBT compound
+     *
+     * @param data       the data
+     * @param syncReason the reason why the synchronization is necessary
+     */
+    @Override
+    public void syncDataFrom(final CompoundNBT data, final SyncReason syncReason) {
+
+        this._target = OutputControlTarget.read(data, "target", OutputControlTarget.Disabled);
+        this._setpoint = this._target.clampSetpoint(data.getDouble("setpoint"));
+
+        if (data.contains("kp")) {
+
+            this._kp = data.getDouble("kp");
+            this._ki = data.getDouble("ki");
+            this._kd = data.getDouble("kd");
+        }
+
+        this.reset();
+    }
+
+    /**
+     * Sync the entity data to the given NBT compound
+     *
+     * @param data       the data
+     * @param syncReason the reason why the synchronization is necessary
+     */
+    @Override
+    public CompoundNBT syncDataTo(final CompoundNBT data, final SyncReason syncReason) {
+
+        OutputControlTarget.write(data, "target", this._target);
+        data.putDouble("setpoint", this._setpoint);
+        data.putDouble("kp", this._kp);
+        data.putDouble("ki", this._ki);
+        data.putDouble("kd", this._kd);
+        return data;
+    }
+
+    //endregion
+    //region internals
+
+    private double measure(final MultiblockReactor reactor) {
+
+        switch (this._target) {
+
+            case EnergyBuffer: {
+
+                final double capacity = reactor.getCapacity(EnergySystem.ForgeEnergy, null);
+
+                return capacity > 0 ? 100.0 * reactor.getEnergyStored(EnergySystem.ForgeEnergy, null) / capacity : 0;
+            }
+
+            case CasingHeat:
+                return reactor.getReactorHeat().get();
+
+            case VaporOutput:
+                return reactor.getUiStats().getAmountGeneratedLastTick();
+
+            default:
+                return 0;
+        }
+    }
+
+    private double getErrorScale() {
+        return OutputControlTarget.EnergyBuffer == this._target ? 100 : Math.max(this._setpoint, MIN_ERROR_SCALE);
+    }
+
+    private static double getAverageInsertion(final List<ReactorControlRodEntity> controlRods) {
+
+        double sum = 0;
+
+        for (final ReactorControlRodEntity rod : controlRods) {
+            sum += rod.getInsertionRatio();
+        }
+
+        return sum / controlRods.size();
+    }
+
+    private static boolean isValidGain(final double gain) {
+        return !Double.isNaN(gain) && !Double.isInfinite(gain) && gain >= 0;
+    }
+
+    // how many ticks between two adjustments of the Control Rods
+    private static final int UPDATE_INTERVAL = 10;
+
+    // the smallest value used to scale the error, to keep the gains meaningful for setpoints near zero
+    private static final double MIN_ERROR_SCALE = 1;
+
+    private OutputControlTarget _target;
+    private double _setpoint;
+    private double _kp;
+    private double _ki;
+    private double _kd;
+
+    private boolean _primed;
+    private int _ticks;
+    private double _measureSum;
+    private double _integral;
+    private double _lastMeasure;
+    private int _lastInsertion;
+
+    //endregion
+}
@@ -0,0 +1,669 @@
+/*
+ *
+ * ReactorReplay.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import com.google.common.collect.Maps;
+import it.zerono.mods.extremereactors.api.reactor.Reactant;
+import it.zerono.mods.extremereactors.api.reactor.ReactantsRegistry;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.FluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics.MachineMetrics;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.AbstractReplay;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.AbstractReplayRecorder;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorFuelRodEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.variant.IMultiblockReactorVariant;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.variant.ReactorVariant;
+import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
+import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
+import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.ListNBT;
+import net.minecraft.profiler.EmptyProfiler;
+import net.minecraft.util.Direction;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Run the {@link ReactorLogic} of a Reactor recorded by a {@link ReactorReplayRecorder}, without a world.
+ *
+ * The Reactor is rebuilt from the header of the recording: its state, the irradiation sources and the moderators
+ * around them. The fuel, fluids and energy exchanged with the world are applied back from the recording.
+ *
+ * The same headless Reactor is used to forecast the steady state of a live Reactor: see {@link #forecast(byte[], int)}
+ */
+public final class ReactorReplay
+        extends AbstractReplay
+        implements IReactorMachine, IReactorEnvironment {
+
+    /**
+     * Rebuild a Reactor from the header of a recording
+     *
+     * @param header the header of the recording
+     * @throws IOException if the header is not valid
+     */
+    public ReactorReplay(final CompoundNBT header) throws IOException {
+
+        this._variant = getVariant(header.getInt("variant"));
+        this._mode = header.getBoolean("passive") ? OperationalMode.Passive : OperationalMode.Active;
+        this._reactorVolume = header.getInt("volume");
+        this._fuelRodsCount = header.getInt("fuelrods");
+        this._controlRodInsertions = new byte[header.getInt("controlrods")];
+        this._fuelToReactorHeatTransferCoefficient = header.getFloat("fuel2reactor");
+        this._reactorToCoolantSystemHeatTransferCoefficient = header.getFloat("reactor2coolant");
+        this._reactorHeatLossCoefficient = header.getFloat("heatloss");
+
+        final CompoundNBT state = header.getCompound("state");
+
+        this._fuelContainer = new FuelContainer();
+        this._fuelContainer.setCapacity(header.getInt("fuelcapacity"));
+        this._fluidContainer = new FluidContainer(MultiblockReactor.FLUID_CONTAINER_ACCESS);
+        this._fluidContainer.setCapacity(header.getInt("fluidcapacity"));
+        this._fuelHeat = new Heat();
+        this._reactorHeat = new Heat();
+        this._uiStats = new Stats(this._fuelContainer);
+        this._energyBuffer = new EnergyBuffer(EnergySystem.ForgeEnergy, 0);
+        this._energyBuffer.setCapacity((int)header.getDouble("energycapacity"));
+        this._logic = new ReactorLogic(this, this._energyBuffer, new MachineMetrics("replay", null));
+
+        this._active = state.getBoolean(MultiblockReactor.SYNC_KEY_ACTIVE);
+        this._logic.syncDataFrom(state, ISyncableEntity.SyncReason.FullSync);
+        syncChild(this._energyBuffer, AbstractGeneratorMultiblockController.SYNC_KEY_ENERGY_BUFFER, state);
+        syncChild(this._fuelContainer, MultiblockReactor.SYNC_KEY_FUEL_CONTAINER, state);
+        syncChild(this._fluidContainer, MultiblockReactor.SYNC_KEY_FLUID_CONTAINER, state);
+        syncChild(this._fuelHeat, MultiblockReactor.SYNC_KEY_FUEL_HEAT, state);
+        syncChild(this._reactorHeat, MultiblockReactor.SYNC_KEY_REACTOR_HEAT, state);
+
+        this._names = new String[ReactorReplayRecorder.NAMES_COUNT];
+        this._names[ReactorReplayRecorder.FUEL] = this._fuelContainer.getFuel().map(Reactant::getName).orElse("");
+        this._names[ReactorReplayRecorder.WASTE] = this._fuelContainer.getWaste().map(Reactant::getName).orElse("");
+        this._names[ReactorReplayRecorder.LIQUID] = this._fluidContainer.getLiquid().map(ReactorReplay::getFluidName).orElse("");
+        this._names[ReactorReplayRecorder.GAS] = this._fluidContainer.getGas().map(ReactorReplay::getFluidName).orElse("");
+
+        // irradiation sources and moderators
+
+        final int[] directionIndices = header.getIntArray("directions");
+        final Direction[] directions = new Direction[directionIndices.length];
+
+        for (int idx = 0; idx < directionIndices.length; ++idx) {
+            directions[idx] = Direction.byIndex(directionIndices[idx]);
+        }
+
+        final ListNBT sourcesList = header.getList("sources", Constants.NBT.TAG_COMPOUND);
+
+        this._sources = new Source[sourcesList.size()];
+
+        for (int idx = 0; idx < sourcesList.size(); ++idx) {
+
+            final CompoundNBT entry = sourcesList.getCompound(idx);
+
+            this._sources[idx] = new Source(BlockPos.fromLong(entry.getLong("pos")), this.checkControlRod(entry.getInt("rod")), directions);
+        }
+
+        final ListNBT moderatorsList = header.getList("moderators", Constants.NBT.TAG_COMPOUND);
+
+        this._moderators = Maps.newHashMapWithExpectedSize(moderatorsList.size());
+
+        for (int idx = 0; idx < moderatorsList.size(); ++idx) {
+
+            final CompoundNBT entry = moderatorsList.getCompound(idx);
+
+            this._moderators.put(entry.getLong("pos"), this.createModerator(entry));
+        }
+
+        this._nextSource = -1;
+    }
+
+    /**
+     * Run the Reactor, as if it was active, with the given Control Rods insertions until its heat stop changing
+     * or the given number of ticks are simulated, whichever come first.
+     *
+     * No recording is replayed: the fuel is consumed but never refilled, the energy and the vapor generated are all
+     * sent out and the coolant is kept at its initial level, as if it was supplied as fast as it is used
+     *
+     * @param controlRodInsertions the insertion ratio of each Control Rod
+     * @param maxTicks the maximum number of ticks to simulate
+     * @return the forecast
+     */
+    ReactorForecast forecast(final byte[] controlRodInsertions, final int maxTicks) {
+
+        System.arraycopy(controlRodInsertions, 0, this._controlRodInsertions, 0,
+                Math.min(controlRodInsertions.length, this._controlRodInsertions.length));
+
+        this._forecasting = true;
+        this._forecastLiquid = this._fluidContainer.getLiquid().orElse(null);
+        this._forecastLiquidAmount = this._fluidContainer.getLiquidAmount();
+        this._active = true;
+
+        // the heat is compared between windows long enough to irradiate from every Fuel Rod at least once
+
+        final int window = Math.max(FORECAST_MIN_WINDOW, this._sources.length);
+        double lastFuelHeat = this._fuelHeat.get();
+        double lastReactorHeat = this._reactorHeat.get();
+        double generated = 0, fuelConsumed = 0;
+        boolean converged = false;
+        int ticks = 0;
+
+        while (ticks < maxTicks && !converged) {
+
+            final int windowTicks = Math.min(window, maxTicks - ticks);
+
+            generated = fuelConsumed = 0;
+
+            for (int idx = 0; idx < windowTicks; ++idx, ++ticks) {
+
+                this._nextSource = this._sources.length > 0 ? ticks % this._sources.length : -1;
+                this._logic.update(EmptyProfiler.INSTANCE);
+
+                generated += this._uiStats.getAmountGeneratedLastTick();
+                fuelConsumed += this._uiStats.getFuelConsumedLastTick();
+            }
+
+            generated /= windowTicks;
+            fuelConsumed /= windowTicks;
+
+            converged = isSteady(lastFuelHeat, this._fuelHeat.get()) && isSteady(lastReactorHeat, this._reactorHeat.get());
+            lastFuelHeat = this._fuelHeat.get();
+            lastReactorHeat = this._reactorHeat.get();
+        }
+
+        this._nextSource = -1;
+
+        return new ReactorForecast(this._mode.isPassive(), this._fuelHeat.get(), this._reactorHeat.get(),
+                generated, fuelConsumed, ticks, converged);
+    }
+
+    //region AbstractReplay
+
+    @Override
+    protected String[] getOutputNames() {
+        return ReactorReplayRecorder.OUTPUTS;
+    }
+
+    @Override
+    protected void tick() {
+
+        this._logic.update(EmptyProfiler.INSTANCE);
+        this._nextSource = -1;
+    }
+
+    @Override
+    protected double getOutput(final int index) {
+
+        switch (index) {
+
+            case 0:
+                return this._fuelHeat.get();
+
+            case 1:
+                return this._reactorHeat.get();
+
+            case 2:
+                return this._fuelContainer.getFuelAmount();
+
+            case 3:
+                return this._fuelContainer.getWasteAmount();
+
+            case 4:
+                return this._fluidContainer.getLiquidAmount();
+
+            case 5:
+                return this._fluidContainer.getGasAmount();
+
+            case 6:
+                return this._energyBuffer.getEnergyStored();
+
+            case 7:
+                return this._uiStats.getAmountGeneratedLastTick();
+
+            case 8:
+                return this._uiStats.getFuelConsumedLastTick();
+
+            case 9:
+                return this._logic.getFertility();
+
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    protected void onSetting(final int index, final double value) {
+
+        if (ReactorReplayRecorder.SETTING_ACTIVE == index) {
+
+            this._active = 0 != value;
+
+        } else {
+
+            final int rod = index - ReactorReplayRecorder.SETTING_FIRST_CONTROL_ROD;
+
+            if (rod >= 0 && rod < this._controlRodInsertions.length) {
+                this._controlRodInsertions[rod] = (byte)value;
+            }
+        }
+    }
+
+    @Override
+    protected void onEvent(final int index, final double value) {
+
+        if (ReactorReplayRecorder.EVENT_IRRADIATION_SOURCE == index) {
+            this._nextSource = (int)value;
+        }
+    }
+
+    @Override
+    protected void onNameChanged(final int index, final String name) {
+
+        switch (index) {
+
+            case ReactorReplayRecorder.FUEL:
+                this._fuelContainer.voidFuel();
+                break;
+
+            case ReactorReplayRecorder.WASTE:
+                this._fuelContainer.voidWaste();
+                break;
+
+            case ReactorReplayRecorder.LIQUID:
+                this._fluidContainer.voidLiquid();
+                break;
+
+            case ReactorReplayRecorder.GAS:
+                this._fluidContainer.voidGas();
+                break;
+
+            default:
+                return;
+        }
+
+        this._names[index] = name;
+    }
+
+    @Override
+    protected void onQuantityChanged(final int index, final double delta) {
+
+        final int amount = (int)Math.abs(delta);
+
+        switch (index) {
+
+            case ReactorReplayRecorder.FUEL:
+
+                if (delta > 0) {
+                    getReactant(this._names[index]).ifPresent(reactant -> this._fuelContainer.insertFuel(reactant, amount, OperationMode.Execute));
+                } else {
+                    this._fuelContainer.voidFuel(amount);
+                }
+
+                break;
+
+            case ReactorReplayRecorder.WASTE:
+
+                if (delta > 0) {
+                    getReactant(this._names[index]).ifPresent(reactant -> this._fuelContainer.insertWaste(reactant, amount, OperationMode.Execute));
+                } else {
+                    this._fuelContainer.voidWaste(amount);
+                }
+
+                break;
+
+            case ReactorReplayRecorder.LIQUID:
+
+                if (delta > 0) {
+                    getFluid(this._names[index]).ifPresent(fluid -> this._fluidContainer.insertLiquid(fluid, amount, OperationMode.Execute));
+                } else {
+                    this._fluidContainer.voidLiquid(amount);
+                }
+
+                break;
+
+            case ReactorReplayRecorder.GAS:
+
+                if (delta > 0) {
+                    getFluid(this._names[index]).ifPresent(fluid -> this._fluidContainer.insertGas(fluid, amount, OperationMode.Execute));
+                } else {
+                    this._fluidContainer.voidGas(amount);
+                }
+
+                break;
+
+            case ReactorReplayRecorder.ENERGY:
+                this._energyBuffer.modifyEnergyStored(delta);
+                break;
+        }
+    }
+
+    //endregion
+    //region IActivableMachine
+
+    @Override
+    public boolean isMachineActive() {
+        return this._active;
+    }
+
+    @Override
+    public void setMachineActive(final boolean active) {
+        this._active = active;
+    }
+
+    //endregion
+    //region IReactorMachine
+
+    @Override
+    public IMultiblockReactorVariant getVariant() {
+        return this._variant;
+    }
+
+    @Override
+    public OperationalMode getOperationalMode() {
+        return this._mode;
+    }
+
+    @Override
+    public IReactorEnvironment getEnvironment() {
+        return this;
+    }
+
+    @Override
+    public IHeat getFuelHeat() {
+        return this._fuelHeat;
+    }
+
+    @Override
+    public IFuelContainer getFuelContainer() {
+        return this._fuelContainer;
+    }
+
+    @Override
+    public IFluidContainer getFluidContainer() {
+        return this._fluidContainer;
+    }
+
+    @Override
+    public Stats getUiStats() {
+        return this._uiStats;
+    }
+
+    @Override
+    public void performRefuelingCycle() {
+
+        if (!this._forecasting) {
+            this.applyPhase(AbstractReplayRecorder.PHASE_REFUELING);
+        }
+    }
+
+    @Override
+    public void performOutputCycle() {
+
+        if (!this._forecasting) {
+
+            this.applyPhase(AbstractReplayRecorder.PHASE_OUTPUT);
+
+        } else {
+
+            this._energyBuffer.modifyEnergyStored(-this._energyBuffer.getEnergyStored());
+            this._fluidContainer.voidGas();
+
+            if (null != this._forecastLiquid && this._fluidContainer.getLiquidAmount() < this._forecastLiquidAmount) {
+                this._fluidContainer.insertLiquid(this._forecastLiquid,
+                        this._forecastLiquidAmount - this._fluidContainer.getLiquidAmount(), OperationMode.Execute);
+            }
+        }
+    }
+
+    //endregion
+    //region IReactorEnvironment
+
+    @Override
+    public boolean isSimulator() {
+        return true;
+    }
+
+    @Override
+    public IHeat getReactorHeat() {
+        return this._reactorHeat;
+    }
+
+    @Override
+    public int getReactorVolume() {
+        return this._reactorVolume;
+    }
+
+    @Override
+    public float getFuelToReactorHeatTransferCoefficient() {
+        return this._fuelToReactorHeatTransferCoefficient;
+    }
+
+    @Override
+    public float getReactorToCoolantSystemHeatTransferCoefficient() {
+        return this._reactorToCoolantSystemHeatTransferCoefficient;
+    }
+
+    @Override
+    public float getReactorHeatLossCoefficient() {
+        return this._reactorHeatLossCoefficient;
+    }
+
+    @Override
+    public Optional<IIrradiationSource> getNextIrradiationSource() {
+
+        final int index = this._nextSource;
+
+        this._nextSource = -1;
+        return index >= 0 && index < this._sources.length ? Optional.of(this._sources[index]) : Optional.empty();
+    }
+
+    @Override
+    public Optional<IRadiationModerator> getModerator(final BlockPos position) {
+        return Optional.ofNullable(this._moderators.get(position.toLong()));
+    }
+
+    @Override
+    public int getPartsCount(final ReactorPartType type) {
+
+        switch (type) {
+
+            case ControlRod:
+                return this._controlRodInsertions.length;
+
+            case FuelRod:
+                return this._fuelRodsCount;
+
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public void refuel() {
+        // the fuel inserted is applied back from the recording
+    }
+
+    @Override
+    public void ejectWaste(final boolean voidLeftover) {
+        // the waste ejected is applied back from the recording
+    }
+
+    //endregion
+    //region internals
+
+    private static IMultiblockReactorVariant getVariant(final int id) throws IOException {
+
+        for (final ReactorVariant variant : ReactorVariant.values()) {
+            if (variant.getId() == id) {
+                return variant;
+            }
+        }
+
+        throw new IOException("Unknown Reactor variant in replay recording: " + id);
+    }
+
+    private int checkControlRod(final int index) throws IOException {
+
+        if (index >= this._controlRodInsertions.length) {
+            throw new IOException("Invalid Control Rod index in replay recording: " + index);
+        }
+
+        return index;
+    }
+
+    private IRadiationModerator createModerator(final CompoundNBT entry) throws IOException {
+
+        switch (entry.getByte("type")) {
+
+            case ReactorReplayRecorder.MODERATOR_BLOCK: {
+
+                final float absorption = entry.getFloat("absorption");
+                final float heatEfficiency = entry.getFloat("efficiency");
+                final float moderation = entry.getFloat("moderation");
+
+                return (data, radiation) -> MultiblockReactor.applyModerator(data, radiation, absorption, heatEfficiency, moderation);
+            }
+
+            case ReactorReplayRecorder.MODERATOR_FUEL_ROD: {
+
+                final int rod = this.checkControlRod(entry.getInt("rod"));
+
+                return (data, radiation) -> {
+                    if (rod >= 0) {
+                        ReactorFuelRodEntity.moderateRadiationByFuel(data, radiation, this._fuelHeat.get(),
+                                this.getControlRodInsertionPercentage(rod));
+                    }
+                };
+            }
+
+            case ReactorReplayRecorder.MODERATOR_ABSORBER:
+                return (data, radiation) -> radiation.intensity = 0f;
+
+            case ReactorReplayRecorder.MODERATOR_UNKNOWN:
+                return (data, radiation) -> {};
+
+            default:
+                throw new IOException("Unknown moderator type in replay recording: " + entry.getByte("type"));
+        }
+    }
+
+    private float getControlRodInsertionPercentage(final int rod) {
+        // see ReactorControlRodEntity#getInsertionPercentage()
+        return Math.min(1f, Math.max(0f, ((float)(this._controlRodInsertions[rod]) / 100f)));
+    }
+
+    private static boolean isSteady(final double previous, final double current) {
+        return Math.abs(current - previous) <= Math.max(FORECAST_MIN_HEAT_CHANGE, Math.abs(previous) * FORECAST_MAX_RELATIVE_HEAT_CHANGE);
+    }
+
+    private static void syncChild(final ISyncableEntity entity, final String key, final CompoundNBT state) {
+
+        if (state.contains(key)) {
+            entity.syncDataFrom(state.getCompound(key), ISyncableEntity.SyncReason.FullSync);
+        }
+    }
+
+    private static Optional<Reactant> getReactant(final String name) {
+        return name.isEmpty() ? Optional.empty() : ReactantsRegistry.get(name);
+    }
+
+    private static Optional<Fluid> getFluid(final String name) {
+
+        final ResourceLocation id = ResourceLocation.tryCreate(name);
+
+        return null != id && ForgeRegistries.FLUIDS.containsKey(id) ? Optional.ofNullable(ForgeRegistries.FLUIDS.getValue(id)) : Optional.empty();
+    }
+
+    private static String getFluidName(final Fluid fluid) {
+        return Objects.requireNonNull(fluid.getRegistryName()).toString();
+    }
+
+    private final class Source
+            implements IIrradiationSource {
+
+        Source(final BlockPos position, final int controlRod, final Direction[] directions) {
+
+            this._position = position;
+            this._controlRod = controlRod;
+            this._directions = directions;
+        }
+
+        @Override
+        public byte getControlRodInsertionRatio() {
+            return this._controlRod >= 0 ? ReactorReplay.this._controlRodInsertions[this._controlRod] : 0;
+        }
+
+        @Override
+        public Direction[] getIrradiationDirections() {
+            return this._directions;
+        }
+
+        @Override
+        public boolean isLinked() {
+            return this._controlRod >= 0;
+        }
+
+        @Override
+        public BlockPos getWorldPosition() {
+            return this._position;
+        }
+
+        private final BlockPos _position;
+        private final int _controlRod;
+        private final Direction[] _directions;
+    }
+
+    // the minimum number of ticks simulated before checking if the heat is still changing
+    private static final int FORECAST_MIN_WINDOW = 20;
+    private static final double FORECAST_MIN_HEAT_CHANGE = 0.01;
+    private static final double FORECAST_MAX_RELATIVE_HEAT_CHANGE = 1e-4;
+
+    private final IMultiblockReactorVariant _variant;
+    private final OperationalMode _mode;
+    private final int _reactorVolume;
+    private final int _fuelRodsCount;
+    private final float _fuelToReactorHeatTransferCoefficient;
+    private final float _reactorToCoolantSystemHeatTransferCoefficient;
+    private final float _reactorHeatLossCoefficient;
+    private final FuelContainer _fuelContainer;
+    private final FluidContainer _fluidContainer;
+    private final Heat _fuelHeat;
+    private final Heat _reactorHeat;
+    private final Stats _uiStats;
+    private final EnergyBuffer _energyBuffer;
+    private final ReactorLogic _logic;
+    private final byte[] _controlRodInsertions;
+    private final Source[] _sources;
+    private final Map<Long, IRadiationModerator> _moderators;
+    private final String[] _names;
+
+    private boolean _active;
+    private int _nextSource;
+    private boolean _forecasting;
+    private Fluid _forecastLiquid;
+    private int _forecastLiquidAmount;
+
+    //endregion
+}
@@ -0,0 +1,306 @@
+/*
+ *
+ * ReactorReplayRecorder.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import it.zerono.mods.extremereactors.api.internal.AbstractNamedValue;
+import it.zerono.mods.extremereactors.api.reactor.Moderator;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.AbstractReplayRecorder;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.ReplayWriter;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryRecord;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.AbstractReactorEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorControlRodEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorFuelRodEntity;
+import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.ListNBT;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Record the ticks of a {@link MultiblockReactor} to be replayed by a {@link ReactorReplay}.
+ *
+ * Besides the initial state of the Reactor, the header of the recording contains a snapshot of the moderators found
+ * along the paths of the radiation. The interior of an assembled Reactor cannot be changed without disassembling it
+ * and the recording is stopped when that happen, so the snapshot stay valid for the whole recording
+ */
+final class ReactorReplayRecorder
+        extends AbstractReplayRecorder {
+
+    // quantities and names
+    static final int FUEL = 0;
+    static final int WASTE = 1;
+    static final int LIQUID = 2;
+    static final int GAS = 3;
+    static final int ENERGY = 4;
+
+    static final int NAMES_COUNT = 4;
+    static final int QUANTITIES_COUNT = 5;
+
+    // settings
+    static final int SETTING_ACTIVE = 0;
+    static final int SETTING_FIRST_CONTROL_ROD = 1;
+
+    // events
+    static final int EVENT_IRRADIATION_SOURCE = 0;
+
+    // moderators types
+    static final byte MODERATOR_BLOCK = 0;
+    static final byte MODERATOR_FUEL_ROD = 1;
+    static final byte MODERATOR_ABSORBER = 2;
+    static final byte MODERATOR_UNKNOWN = 3;
+
+    static final String[] OUTPUTS = {"fuel heat", "reactor heat", "fuel", "waste", "liquid", "gas", "energy",
+            "amount generated", "fuel consumed", "fertility"};
+
+    /**
+     * Start recording the ticks of a Reactor
+     *
+     * @param file the file to write to
+     * @param reactor the Reactor to record
+     * @return the recorder
+     * @throws IOException if the recording cannot be created
+     */
+    static ReactorReplayRecorder create(final Path file, final MultiblockReactor reactor) throws IOException {
+        return new ReactorReplayRecorder(file, reactor, Lists.newArrayList(reactor.getAttachedFuelRods()));
+    }
+
+    /**
+     * Record the Fuel Rod chosen as the next irradiation source
+     *
+     * @param source the Fuel Rod or null if none was available
+     */
+    void onIrradiationSource(@Nullable final ReactorFuelRodEntity source) {
+        this.event(EVENT_IRRADIATION_SOURCE, null == source ? -1 : this._sourcesIndices.getOrDefault(source, -1));
+    }
+
+    //region AbstractReplayRecorder
+
+    @Override
+    protected void readQuantities(final double[] quantities) {
+
+        final IFuelContainer fuel = this._reactor.getFuelContainer();
+        final IFluidContainer fluids = this._reactor.getFluidContainer();
+
+        quantities[FUEL] = fuel.getFuelAmount();
+        quantities[WASTE] = fuel.getWasteAmount();
+        quantities[LIQUID] = fluids.getLiquidAmount();
+        quantities[GAS] = fluids.getGasAmount();
+        quantities[ENERGY] = this._reactor.getEnergyStored(EnergySystem.ForgeEnergy, null);
+    }
+
+    @Override
+    protected void readNames(final String[] names) {
+
+        final IFuelContainer fuel = this._reactor.getFuelContainer();
+        final IFluidContainer fluids = this._reactor.getFluidContainer();
+
+        names[FUEL] = fuel.getFuel().map(AbstractNamedValue::getName).orElse("");
+        names[WASTE] = fuel.getWaste().map(AbstractNamedValue::getName).orElse("");
+        names[LIQUID] = fluids.getLiquid().map(ReactorReplayRecorder::getFluidName).orElse("");
+        names[GAS] = fluids.getGas().map(ReactorReplayRecorder::getFluidName).orElse("");
+    }
+
+    @Override
+    protected void readSettings(final double[] settings) {
+
+        final List<ReactorControlRodEntity> controlRods = this._reactor.getAttachedControlRods();
+
+        settings[SETTING_ACTIVE] = this._reactor.isMachineActive() ? 1 : 0;
+
+        for (int idx = 0; idx < controlRods.size() && SETTING_FIRST_CONTROL_ROD + idx < settings.length; ++idx) {
+            settings[SETTING_FIRST_CONTROL_ROD + idx] = controlRods.get(idx).getInsertionRatio();
+        }
+    }
+
+    @Override
+    protected void writeOutputs(final ReplayWriter writer) throws IOException {
+
+        final IFuelContainer fuel = this._reactor.getFuelContainer();
+        final IFluidContainer fluids = this._reactor.getFluidContainer();
+        final Stats stats = this._reactor.getUiStats();
+
+        writer.output(0, this._reactor.getFuelHeat().get());
+        writer.output(1, this._reactor.getReactorHeat().get());
+        writer.output(2, fuel.getFuelAmount());
+        writer.output(3, fuel.getWasteAmount());
+        writer.output(4, fluids.getLiquidAmount());
+        writer.output(5, fluids.getGasAmount());
+        writer.output(6, this._reactor.getEnergyStored(EnergySystem.ForgeEnergy, null));
+        writer.output(7, stats.getAmountGeneratedLastTick());
+        writer.output(8, stats.getFuelConsumedLastTick());
+        writer.output(9, this._reactor.getFuelFertility());
+    }
+
+    //endregion
+    //region internals
+
+    private ReactorReplayRecorder(final Path file, final MultiblockReactor reactor,
+                                  final List<ReactorFuelRodEntity> sources) throws IOException {
+
+        super(file, TelemetryRecord.MACHINE_REACTOR, createHeader(reactor, sources), QUANTITIES_COUNT, NAMES_COUNT,
+                SETTING_FIRST_CONTROL_ROD + reactor.getControlRodsCount());
+
+        this._reactor = reactor;
+        this._sourcesIndices = Maps.newIdentityHashMap();
+
+        for (int idx = 0; idx < sources.size(); ++idx) {
+            this._sourcesIndices.put(sources.get(idx), idx);
+        }
+
+        this.start();
+    }
+
+    /**
+     * Capture the state of a Reactor and the moderators that could be reached by the radiation of its Fuel Rods
+     *
+     * @param reactor the Reactor
+     * @param sources the Fuel Rods of the Reactor, in the order they will be referenced as irradiation sources
+     * @return the header of a recording
+     */
+    static CompoundNBT createHeader(final MultiblockReactor reactor, final List<ReactorFuelRodEntity> sources) {
+
+        final CompoundNBT header = new CompoundNBT();
+        final List<ReactorControlRodEntity> controlRods = reactor.getAttachedControlRods();
+        final Direction[] directions = reactor.getFuelRodsLayout()
+                .map(FuelRodsLayout::getRadiateDirections)
+                .orElseGet(() -> new Direction[0]);
+
+        header.putInt("variant", reactor.getVariant().getId());
+        header.putBoolean("passive", reactor.getOperationalMode().isPassive());
+        header.putInt("volume", reactor.getReactorVolume());
+        header.putInt("fuelrods", reactor.getFuelRodsCount());
+        header.putInt("controlrods", reactor.getControlRodsCount());
+        header.putFloat("fuel2reactor", reactor.getFuelToReactorHeatTransferCoefficient());
+        header.putFloat("reactor2coolant", reactor.getReactorToCoolantSystemHeatTransferCoefficient());
+        header.putFloat("heatloss", reactor.getReactorHeatLossCoefficient());
+        header.putInt("fuelcapacity", reactor.getCapacity());
+        header.putInt("fluidcapacity", reactor.getFluidContainer().getCapacity());
+        header.putDouble("energycapacity", reactor.getCapacity(EnergySystem.ForgeEnergy, null));
+        header.put("state", reactor.syncDataTo(new CompoundNBT(), ISyncableEntity.SyncReason.FullSync));
+        header.putIntArray("directions", Arrays.stream(directions).mapToInt(Direction::getIndex).toArray());
+
+        // the irradiation sources, in the order used by the recorded events
+
+        final ListNBT sourcesList = new ListNBT();
+
+        for (final ReactorFuelRodEntity source : sources) {
+
+            final CompoundNBT entry = new CompoundNBT();
+
+            entry.putLong("pos", source.getWorldPosition().toLong());
+            entry.putInt("rod", getControlRodIndex(controlRods, source));
+            sourcesList.add(entry);
+        }
+
+        header.put("sources", sourcesList);
+
+        // the moderators that could be reached by the radiation
+
+        final World world = reactor.getWorld();
+        final Set<BlockPos> visited = Sets.newHashSet();
+        final ListNBT moderatorsList = new ListNBT();
+
+        for (final ReactorFuelRodEntity source : sources) {
+            for (final Direction direction : directions) {
+                for (int step = 1; step <= ReactorLogic.RADIATION_RANGE; ++step) {
+
+                    final BlockPos position = source.getWorldPosition().offset(direction, step);
+
+                    if (visited.add(position)) {
+                        reactor.getModerator(position).ifPresent(moderator ->
+                                moderatorsList.add(createModeratorEntry(world, controlRods, position, moderator)));
+                    }
+                }
+            }
+        }
+
+        header.put("moderators", moderatorsList);
+        return header;
+    }
+
+    private static CompoundNBT createModeratorEntry(final World world, final List<ReactorControlRodEntity> controlRods,
+                                                    final BlockPos position, final IRadiationModerator moderator) {
+
+        final CompoundNBT entry = new CompoundNBT();
+
+        entry.putLong("pos", position.toLong());
+
+        if (moderator instanceof ReactorFuelRodEntity) {
+
+            final ReactorFuelRodEntity fuelRod = (ReactorFuelRodEntity)moderator;
+
+            entry.putByte("type", MODERATOR_FUEL_ROD);
+            entry.putInt("rod", fuelRod.isConnected() ? getControlRodIndex(controlRods, fuelRod) : -1);
+
+        } else if (moderator instanceof AbstractReactorEntity) {
+
+            entry.putByte("type", MODERATOR_ABSORBER);
+
+        } else if (world.getBlockState(position).hasTileEntity()) {
+
+            // a moderator from another mod: its behavior cannot be captured
+            entry.putByte("type", MODERATOR_UNKNOWN);
+
+        } else {
+
+            final Moderator block = MultiblockReactor.getBlockModerator(world.getBlockState(position));
+
+            entry.putByte("type", MODERATOR_BLOCK);
+            entry.putFloat("absorption", block.getAbsorption());
+            entry.putFloat("efficiency", block.getHeatEfficiency());
+            entry.putFloat("moderation", block.getModeration());
+        }
+
+        return entry;
+    }
+
+    private static int getControlRodIndex(final List<ReactorControlRodEntity> controlRods, final ReactorFuelRodEntity fuelRod) {
+
+        final Optional<ReactorControlRodEntity> controlRod = fuelRod.getControlRod();
+
+        return controlRod.isPresent() ? controlRods.indexOf(controlRod.get()) : -1;
+    }
+
+    private static String getFluidName(final Fluid fluid) {
+        return Objects.requireNonNull(fluid.getRegistryName()).toString();
+    }
+
+    private final MultiblockReactor _reactor;
+    private final Map<ReactorFuelRodEntity, Integer> _sourcesIndices;
+
+    //endregion
+}
@@ -0,0 +1,498 @@
+/*
+ *
+ * ReactorSimulationSystem.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.zerono.mods.extremereactors.api.reactor.IHeatEntity;
+import it.zerono.mods.extremereactors.api.reactor.radiation.EnergyConversion;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
+import it.zerono.mods.extremereactors.config.Config;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.ParallelCompute;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Advance the irradiation and the heat simulation of all the assembled Reactors of a world in a tight loop, once per tick.
+ *
+ * The state used by the heat transfers (fuel and casing heat, volumes, heat transfer coefficients) of every Reactor
+ * is kept in a {@link Slot} of primitive arrays, one array per value, and the {@link Heat} of the Reactors become
+ * views onto their slot. Everything else (radiation decay, refueling, output) is still done by each Reactor on its own tick.
+ *
+ * The system runs at the start of the world tick, before the Reactors tick, so the energy or vapor produced is sent
+ * out by the Reactors in the same tick. None of the simulation steps left to the Reactors read or write the heat, so the results
+ * are the same as those of a Reactor simulating itself.
+ *
+ * The irradiation and the heat transfers of each Reactor are run in a single compute phase through {@link ParallelCompute},
+ * so the results are the same for any number of threads. The irradiation looks up the moderators in a snapshot captured,
+ * on the server thread, the first time the Reactor is simulated: a chunk access from another thread would be handed
+ * to the server thread, which is waiting for the compute phase to complete. The Reactors with a moderator that could
+ * not be captured (a moderator from another mod) irradiate on the server thread before the compute phase.
+ *
+ * Enabled with the reactor.batchSimulation config option
+ */
+public final class ReactorSimulationSystem {
+
+    static final int FUEL_HEAT = 0;
+    static final int REACTOR_HEAT = 1;
+
+    public static void initialize() {
+
+        // run before the multiblock controllers are ticked
+        MinecraftForge.EVENT_BUS.addListener(EventPriority.HIGH, ReactorSimulationSystem::onWorldTick);
+        MinecraftForge.EVENT_BUS.addListener(ReactorSimulationSystem::onWorldUnload);
+    }
+
+    static boolean isEnabled() {
+        return Config.COMMON.reactor.batchSimulation.get();
+    }
+
+    /**
+     * Add a Reactor to the system of its world or, if it's already there, update the data in its slot
+     *
+     * @param reactor the Reactor. Must be assembled and on the logical server
+     */
+    static void add(final MultiblockReactor reactor) {
+
+        final Slot slot = reactor.getSimulationSlot();
+
+        if (null != slot) {
+
+            slot.System.update(slot.Index, reactor);
+
+        } else {
+
+            s_systems.computeIfAbsent(reactor.getWorld(), world -> new ReactorSimulationSystem())
+                    .allocate(reactor);
+        }
+    }
+
+    /**
+     * Remove a Reactor from the system of its world, if it was added to it.
+     * The Reactor keep the last values computed by the system
+     *
+     * @param reactor the Reactor
+     */
+    static void remove(final MultiblockReactor reactor) {
+
+        final Slot slot = reactor.getSimulationSlot();
+
+        if (null != slot) {
+            slot.System.release(slot.Index);
+        }
+    }
+
+    /**
+     * The position of a Reactor in the arrays of the system. The index of a slot may change when other Reactors are removed
+     */
+    static final class Slot {
+
+        final ReactorSimulationSystem System;
+        int Index;
+
+        double getHeat(final int channel) {
+            return this.System._heat[channel][this.Index];
+        }
+
+        void setHeat(final int channel, final double value) {
+            this.System._heat[channel][this.Index] = value;
+        }
+
+        /**
+         * @return a counter incremented every time the system change the heat values of the slot
+         */
+        long getVersion() {
+            return this.System._version[this.Index];
+        }
+
+        private Slot(final ReactorSimulationSystem system, final int index) {
+
+            this.System = system;
+            this.Index = index;
+        }
+    }
+
+    //region internals
+
+    private ReactorSimulationSystem() {
+
+        this._size = 0;
+        this.resize(INITIAL_CAPACITY);
+    }
+
+    private static void onWorldTick(final TickEvent.WorldTickEvent event) {
+
+        if (TickEvent.Phase.START == event.phase && event.side.isServer()) {
+
+            final ReactorSimulationSystem system = s_systems.get(event.world);
+
+            if (null != system) {
+
+                event.world.getProfiler().startSection("Extreme Reactors|Reactors batch simulation");
+                system.tick();
+                event.world.getProfiler().endSection();
+            }
+        }
+    }
+
+    private static void onWorldUnload(final WorldEvent.Unload event) {
+
+        final IWorld world = event.getWorld();
+        final ReactorSimulationSystem system = world instanceof World ? s_systems.remove(world) : null;
+
+        if (null != system) {
+            while (system._size > 0) {
+                system.release(system._size - 1);
+            }
+        }
+    }
+
+    private void allocate(final MultiblockReactor reactor) {
+
+        if (this._size == this._reactors.length) {
+            this.resize(this._size * 2);
+        }
+
+        final int index = this._size++;
+        final Slot slot = new Slot(this, index);
+
+        this._slots[index] = slot;
+        this._reactors[index] = reactor;
+        this._version[index] = 0;
+        this._changed[index] = false;
+        this._generated[index] = 0;
+        this.update(index, reactor);
+
+        reactor.onSimulationSlotAssigned(slot);
+    }
+
+    private void update(final int index, final MultiblockReactor reactor) {
+
+        this._fuelRods[index] = reactor.getPartsCount(ReactorPartType.FuelRod);
+        this._reactorVolume[index] = reactor.getReactorVolume();
+        this._fuelToReactorCoefficient[index] = reactor.getFuelToReactorHeatTransferCoefficient();
+        this._reactorToCoolantCoefficient[index] = reactor.getReactorToCoolantSystemHeatTransferCoefficient();
+        this._heatLossCoefficient[index] = reactor.getReactorHeatLossCoefficient();
+        this._energyEfficiency[index] = reactor.getVariant().getEnergyGenerationEfficiency();
+        this._passive[index] = reactor.getOperationalMode().isPassive();
+
+        // the structure of the Reactor may have changed
+        reactor.discardModeratorsSnapshot();
+    }
+
+    private void release(final int index) {
+
+        // let the Reactor copy back the values from the slot before it's reused
+        this._reactors[index].onSimulationSlotReleased();
+
+        // keep the arrays packed by moving the last slot in the released one
+
+        final int last = --this._size;
+
+        if (index != last) {
+
+            this._slots[index] = this._slots[last];
+            this._slots[index].Index = index;
+            this._reactors[index] = this._reactors[last];
+            this._heat[FUEL_HEAT][index] = this._heat[FUEL_HEAT][last];
+            this._heat[REACTOR_HEAT][index] = this._heat[REACTOR_HEAT][last];
+            this._fuelRods[index] = this._fuelRods[last];
+            this._reactorVolume[index] = this._reactorVolume[last];
+            this._fuelToReactorCoefficient[index] = this._fuelToReactorCoefficient[last];
+            this._reactorToCoolantCoefficient[index] = this._reactorToCoolantCoefficient[last];
+            this._heatLossCoefficient[index] = this._heatLossCoefficient[last];
+            this._energyEfficiency[index] = this._energyEfficiency[last];
+            this._passive[index] = this._passive[last];
+            this._generated[index] = this._generated[last];
+            this._changed[index] = this._changed[last];
+            this._version[index] = this._version[last];
+        }
+
+        this._slots[last] = null;
+        this._reactors[last] = null;
+        this._moderators[last] = null;
+    }
+
+    private void resize(final int capacity) {
+
+        if (null == this._reactors) {
+
+            this._slots = new Slot[capacity];
+            this._reactors = new MultiblockReactor[capacity];
+            //noinspection unchecked
+            this._moderators = new Long2ObjectMap[capacity];
+            this._heat = new double[][] {new double[capacity], new double[capacity]};
+            this._fuelRods = new int[capacity];
+            this._reactorVolume = new int[capacity];
+            this._fuelToReactorCoefficient = new float[capacity];
+            this._reactorToCoolantCoefficient = new float[capacity];
+            this._heatLossCoefficient = new float[capacity];
+            this._energyEfficiency = new float[capacity];
+            this._passive = new boolean[capacity];
+            this._generated = new double[capacity];
+            this._changed = new boolean[capacity];
+            this._version = new long[capacity];
+
+        } else {
+
+            this._slots = Arrays.copyOf(this._slots, capacity);
+            this._reactors = Arrays.copyOf(this._reactors, capacity);
+            this._moderators = Arrays.copyOf(this._moderators, capacity);
+            this._heat[FUEL_HEAT] = Arrays.copyOf(this._heat[FUEL_HEAT], capacity);
+            this._heat[REACTOR_HEAT] = Arrays.copyOf(this._heat[REACTOR_HEAT], capacity);
+            this._fuelRods = Arrays.copyOf(this._fuelRods, capacity);
+            this._reactorVolume = Arrays.copyOf(this._reactorVolume, capacity);
+            this._fuelToReactorCoefficient = Arrays.copyOf(this._fuelToReactorCoefficient, capacity);
+            this._reactorToCoolantCoefficient = Arrays.copyOf(this._reactorToCoolantCoefficient, capacity);
+            this._heatLossCoefficient = Arrays.copyOf(this._heatLossCoefficient, capacity);
+            this._energyEfficiency = Arrays.copyOf(this._energyEfficiency, capacity);
+            this._passive = Arrays.copyOf(this._passive, capacity);
+            this._generated = Arrays.copyOf(this._generated, capacity);
+            this._changed = Arrays.copyOf(this._changed, capacity);
+            this._version = Arrays.copyOf(this._version, capacity);
+        }
+    }
+
+    private void tick() {
+
+        // drop the Reactors that are no longer assembled (disassembled, paused, unloaded...)
+
+        for (int idx = this._size - 1; idx >= 0; --idx) {
+            if (!this._reactors[idx].isAssembled()) {
+                this.release(idx);
+            }
+        }
+
+        final int size = this._size;
+
+        if (0 == size) {
+            return;
+        }
+
+        this._powerMultiplier = Config.COMMON.general.powerProductionMultiplier.get() *
+                Config.COMMON.reactor.reactorPowerProductionMultiplier.get();
+
+        // capture the moderators of the Reactors added since the last tick. The Reactors with a moderator that
+        // could not be captured irradiate here, on the server thread, looking up the moderators in the world
+
+        for (int idx = 0; idx < size; ++idx) {
+
+            final MultiblockReactor reactor = this._reactors[idx];
+
+            this._moderators[idx] = reactor.getModeratorsSnapshot();
+            this._changed[idx] = false;
+            this._generated[idx] = 0;
+
+            if (null == this._moderators[idx]) {
+                this.irradiate(idx, reactor::getModerator);
+            }
+        }
+
+        // the compute phase only touch the arrays of the system and the state of each Reactor so it can be run in parallel
+
+        ParallelCompute.forRange(size, MIN_CHUNK_SIZE, this::computeStep);
+
+        // the active coolant system is still handled by each Reactor, on the server thread, followed by the heat loss
+
+        final double[] reactorHeat = this._heat[REACTOR_HEAT];
+
+        for (int idx = 0; idx < size; ++idx) {
+
+            if (!this._passive[idx]) {
+
+                final double startingReactorHeat = reactorHeat[idx];
+
+                this._reactors[idx].getLogic().performActiveCoolingStep();
+                this._changed[idx] |= startingReactorHeat != reactorHeat[idx];
+                this.performPassiveHeatLoss(idx);
+            }
+        }
+
+        // hand the results back to the Reactors
+
+        for (int idx = 0; idx < size; ++idx) {
+
+            final MultiblockReactor reactor = this._reactors[idx];
+
+            reactor.onBatchIrradiationCompleted();
+            reactor.getLogic().onBatchStepCompleted(this._generated[idx], this._changed[idx]);
+        }
+    }
+
+    /**
+     * Irradiate, with the moderators snapshot, and transfer heat for a range of Reactors.
+     * The heat loss of the Reactors with an active coolant system is performed after their active cooling step
+     */
+    private void computeStep(final int from, final int to) {
+
+        for (int idx = from; idx < to; ++idx) {
+
+            final Long2ObjectMap<IRadiationModerator> moderators = this._moderators[idx];
+
+            if (null != moderators) {
+                this.irradiate(idx, position -> Optional.ofNullable(moderators.get(position.toLong())));
+            }
+
+            this.transferHeatBetweenFuelAndReactor(idx);
+
+            if (this._passive[idx]) {
+
+                this.transferHeatBetweenReactorAndPassiveCoolant(idx);
+                this.performPassiveHeatLoss(idx);
+            }
+        }
+    }
+
+    /**
+     * Irradiate from the next Fuel Rod of a Reactor
+     */
+    private void irradiate(final int idx, final Function<BlockPos, Optional<IRadiationModerator>> moderators) {
+
+        final double startingFuelHeat = this._heat[FUEL_HEAT][idx];
+        final double startingReactorHeat = this._heat[REACTOR_HEAT][idx];
+
+        this._reactors[idx].getLogic().performBatchIrradiation(moderators);
+        this._changed[idx] |= startingFuelHeat != this._heat[FUEL_HEAT][idx] ||
+                startingReactorHeat != this._heat[REACTOR_HEAT][idx];
+    }
+
+    /**
+     * Fuel Pool <> Reactor Environment
+     */
+    private void transferHeatBetweenFuelAndReactor(final int idx) {
+
+        final double[] fuelHeat = this._heat[FUEL_HEAT];
+        final double[] reactorHeat = this._heat[REACTOR_HEAT];
+        final double startingFuelHeat = fuelHeat[idx];
+        final double startingReactorHeat = reactorHeat[idx];
+        final double temperatureDifferential = startingFuelHeat - startingReactorHeat;
+
+        if (temperatureDifferential > 0.01) {
+
+            final int fuelRods = this._fuelRods[idx];
+            final int reactorVolume = this._reactorVolume[idx];
+            final double energyTransferred = temperatureDifferential * this._fuelToReactorCoefficient[idx];
+            final double fuelVolEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(fuelRods, startingFuelHeat) - energyTransferred;
+            final double reactorEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(reactorVolume, startingReactorHeat) + energyTransferred;
+
+            fuelHeat[idx] = notNaN(EnergyConversion.getTemperatureFromVolumeAndEnergy(fuelRods, fuelVolEnergy));
+            reactorHeat[idx] = notNaN(EnergyConversion.getTemperatureFromVolumeAndEnergy(reactorVolume, reactorEnergy));
+            this._changed[idx] = true;
+        }
+    }
+
+    /**
+     * Reactor Environment <> passive coolant system
+     */
+    private void transferHeatBetweenReactorAndPassiveCoolant(final int idx) {
+
+        final double[] reactorHeat = this._heat[REACTOR_HEAT];
+        final double temperatureDifferential = reactorHeat[idx] - IHeatEntity.AMBIENT_HEAT;
+
+        if (temperatureDifferential > 0.01f) {
+
+            final int reactorVolume = this._reactorVolume[idx];
+            final double energyTransferred = temperatureDifferential * this._reactorToCoolantCoefficient[idx] *
+                    ReactorLogic.PASSIVE_COOLING_TRANSFER_EFFICIENCY;
+            final double reactorEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(reactorVolume,
+                    reactorHeat[idx]) - energyTransferred;
+
+            this._generated[idx] = energyTransferred * ReactorLogic.PASSIVE_COOLING_POWER_EFFICIENCY *
+                    this._powerMultiplier * this._energyEfficiency[idx];
+            reactorHeat[idx] = notNaN(EnergyConversion.getTemperatureFromVolumeAndEnergy(reactorVolume, reactorEnergy));
+            this._changed[idx] = true;
+        }
+    }
+
+    /**
+     * Passive heat loss to the external environment
+     */
+    private void performPassiveHeatLoss(final int idx) {
+
+        final double[] fuelHeat = this._heat[FUEL_HEAT];
+        final double[] reactorHeat = this._heat[REACTOR_HEAT];
+        final double temperatureDifferential = reactorHeat[idx] - IHeatEntity.AMBIENT_HEAT;
+
+        if (temperatureDifferential > 0.000001f) {
+
+            final int reactorVolume = this._reactorVolume[idx];
+
+            // Lose at least 1FE/t
+            final double energyLost = Math.max(1d, temperatureDifferential * this._heatLossCoefficient[idx]);
+            final double reactorNewEnergy = Math.max(0d,
+                    EnergyConversion.getEnergyFromVolumeAndTemperature(reactorVolume, reactorHeat[idx]) - energyLost);
+
+            reactorHeat[idx] = notNaN(EnergyConversion.getTemperatureFromVolumeAndEnergy(reactorVolume, reactorNewEnergy));
+            this._changed[idx] = true;
+        }
+
+        // Prevent cryogenics
+
+        if (reactorHeat[idx] < 0) {
+            reactorHeat[idx] = 0;
+        }
+
+        if (fuelHeat[idx] < 0) {
+            fuelHeat[idx] = 0;
+        }
+
+        if (this._changed[idx]) {
+            ++this._version[idx];
+        }
+    }
+
+    private static double notNaN(final double value) {
+        return Double.isNaN(value) ? 0 : value;
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+    // every Reactor costs an irradiation and a few heat transfers: a chunk must be big enough to be worth a fork
+    private static final int MIN_CHUNK_SIZE = 32;
+
+    private static final Map<World, ReactorSimulationSystem> s_systems = Maps.newIdentityHashMap();
+
+    private int _size;
+    private Slot[] _slots;
+    private MultiblockReactor[] _reactors;
+    private Long2ObjectMap<IRadiationModerator>[] _moderators;
+    private double[][] _heat;
+    private int[] _fuelRods;
+    private int[] _reactorVolume;
+    private float[] _fuelToReactorCoefficient;
+    private float[] _reactorToCoolantCoefficient;
+    private float[] _heatLossCoefficient;
+    private float[] _energyEfficiency;
+    private boolean[] _passive;
+    private double[] _generated;
+    private boolean[] _changed;
+    private long[] _version;
+    private double _powerMultiplier;
+
+    //endregion
+}
@@ -0,0 +1,38 @@
+/*
+ *
+ * ReactorTelemetryChannel.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+/**
+ * The values of a Reactor recorded in its telemetry history
+ */
+public enum ReactorTelemetryChannel {
+
+    // Fuel temperature, in C
+    FuelHeat,
+
+    // Casing temperature, in C
+    CasingHeat,
+
+    // Energy (passive mode) or hot fluid (active mode) generated per tick
+    Generated,
+
+    // Fuel consumed per tick, in mB
+    FuelConsumed
+    ;
+}
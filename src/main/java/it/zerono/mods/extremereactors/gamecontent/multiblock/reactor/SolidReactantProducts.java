@@ -0,0 +1,162 @@
+/*
+ *
+ * SolidReactantProducts.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import com.google.common.collect.ImmutableList;
+import it.zerono.mods.extremereactors.api.IMapping;
+import it.zerono.mods.extremereactors.api.reactor.Reactant;
+import it.zerono.mods.extremereactors.api.reactor.ReactantMappingsRegistry;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The solid items a {@link Reactant} could be ejected as, resolved from the {@link ReactantMappingsRegistry} once
+ * and then reused until the tags are reloaded.
+ *
+ * Resolving a mapping to an item requires a search in the tags of the registry so it's too expensive to be done
+ * by every Solid Access Port on every ejection
+ */
+public final class SolidReactantProducts {
+
+    public static final SolidReactantProducts NONE = new SolidReactantProducts(Collections.emptyList());
+
+    public static void initialize() {
+        // run after the registry has updated its own tags
+        MinecraftForge.EVENT_BUS.addListener(EventPriority.LOWEST, SolidReactantProducts::onVanillaTagsUpdated);
+    }
+
+    /**
+     * Get the solid products of the given {@link Reactant}
+     *
+     * @param reactant the {@link Reactant}
+     * @return the products of the {@link Reactant} or {@link #NONE} if it cannot be ejected as an item
+     */
+    public static SolidReactantProducts get(final Reactant reactant) {
+        return s_cache.computeIfAbsent(reactant, SolidReactantProducts::resolve);
+    }
+
+    public boolean isEmpty() {
+        return this._products.isEmpty();
+    }
+
+    public List<Product> getProducts() {
+        return this._products;
+    }
+
+    /**
+     * @return the smallest amount of {@link Reactant} needed to produce a single item, or 0 if there are no products
+     */
+    public int getMinimumSourceAmount() {
+        return this._minimumSourceAmount;
+    }
+
+    /**
+     * Find the product for the given item
+     *
+     * @param item the item
+     * @return the product that resolved to the given item, if any
+     */
+    public Optional<Product> find(final Item item) {
+
+        for (final Product product : this._products) {
+            if (product.Item == item) {
+                return Optional.of(product);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    public static final class Product {
+
+        /**
+         * The reactant >> item tag mapping. Source == reactant, product == item
+         */
+        public final IMapping<Reactant, ResourceLocation> ToSolid;
+
+        /**
+         * The item tag >> reactant mapping. Source == item, product == reactant
+         */
+        public final IMapping<ResourceLocation, Reactant> FromSolid;
+
+        /**
+         * The item produced, the first one in the tag of the mapping
+         */
+        public final Item Item;
+
+        Product(final IMapping<Reactant, ResourceLocation> toSolid, final Item item) {
+
+            this.ToSolid = toSolid;
+            this.FromSolid = toSolid.getReverse();
+            this.Item = item;
+        }
+    }
+
+    //region internals
+
+    private SolidReactantProducts(final List<Product> products) {
+
+        this._products = products;
+        this._minimumSourceAmount = products.stream()
+                .mapToInt(product -> product.ToSolid.getSourceAmount())
+                .min()
+                .orElse(0);
+    }
+
+    private static SolidReactantProducts resolve(final Reactant reactant) {
+
+        final List<IMapping<Reactant, ResourceLocation>> mappings = ReactantMappingsRegistry.getToSolid(reactant)
+                .orElseGet(Collections::emptyList);
+        final ImmutableList.Builder<Product> products = ImmutableList.builder();
+
+        for (final IMapping<Reactant, ResourceLocation> mapping : mappings) {
+
+            final ItemStack stack = ReactantMappingsRegistry.getSolidStackFrom(mapping, 1);
+
+            if (!stack.isEmpty()) {
+                products.add(new Product(mapping, stack.getItem()));
+            }
+        }
+
+        final List<Product> list = products.build();
+
+        return list.isEmpty() ? NONE : new SolidReactantProducts(list);
+    }
+
+    private static void onVanillaTagsUpdated(final TagsUpdatedEvent.VanillaTagTypes event) {
+        s_cache.clear();
+    }
+
+    private static final Map<Reactant, SolidReactantProducts> s_cache = new ConcurrentHashMap<>();
+
+    private final List<Product> _products;
+    private final int _minimumSourceAmount;
+
+    //endregion
+}
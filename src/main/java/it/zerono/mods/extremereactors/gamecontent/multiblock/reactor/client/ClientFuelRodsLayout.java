@@ -80,6 +80,15 @@ public class ClientFuelRodsLayout
         return this.getFuelData(fuelRodIndex).isChanged() || this.isReactantsChanged();
     }
 
+    /**
+     * The version of the fuel data is incremented every time the fuel data of any fuel rod, or the reactants, changes
+     *
+     * @return the current version of the fuel data
+     */
+    public int getFuelDataVersion() {
+        return this._fuelDataVersion;
+    }
+
     @OnlyIn(Dist.CLIENT)
     public Colour getFuelColor() {
         return this._fuelColor;
@@ -147,6 +156,10 @@ public class ClientFuelRodsLayout
             // horizontal column, fluids distribute equally
             this.updateFuelDataHorizontally();
         }
+
+        if (this.isReactantsChanged() || Arrays.stream(this._rodsFuelData).anyMatch(FuelData::isChanged)) {
+            ++this._fuelDataVersion;
+        }
     }
 
     private void updateFuelDataVertically() {
@@ -440,6 +453,7 @@ public class ClientFuelRodsLayout
     private float _assemblyFuelQuota;
     private float _assemblyWasteQuota;
     private boolean _reactantsChanged;
+    private int _fuelDataVersion;
 
     private Colour _fuelColor;
     private Colour _wasteColor;
@@ -0,0 +1,196 @@
+/*
+ *
+ * ControlRodEntityRenderer.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.client.render;
+
+import com.mojang.blaze3d.matrix.MatrixStack;
+import com.mojang.blaze3d.vertex.IVertexBuilder;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.render.CachedMesh;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.render.MeshCache;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.MultiblockReactor;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.client.ClientFuelRodsLayout;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.client.ClientFuelRodsLayout.FuelData;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorControlRodEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorFuelRodEntity;
+import it.zerono.mods.zerocore.lib.client.render.ModRenderHelper;
+import it.zerono.mods.zerocore.lib.multiblock.AbstractMultiblockController;
+import net.minecraft.client.renderer.Atlases;
+import net.minecraft.client.renderer.IRenderTypeBuffer;
+import net.minecraft.client.renderer.WorldRenderer;
+import net.minecraft.client.renderer.tileentity.TileEntityRenderer;
+import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.client.model.data.EmptyModelData;
+
+import java.util.List;
+
+/**
+ * Render the fuel rods linked to a control rod as a single mesh.
+ * The mesh is baked again only when the fuel data of the reactor change
+ */
+public class ControlRodEntityRenderer
+        extends TileEntityRenderer<ReactorControlRodEntity> {
+
+    public ControlRodEntityRenderer(final TileEntityRendererDispatcher rendererDispatcher) {
+        super(rendererDispatcher);
+    }
+
+    /**
+     * Release all the cached fuel rods columns meshes
+     */
+    public static void clearCache() {
+        s_cache.clear();
+    }
+
+    //region TileEntityRenderer
+
+    @Override
+    public boolean isGlobalRenderer(ReactorControlRodEntity te) {
+        // the column reaches deep inside the reactor, well outside the chunk section of the control rod
+        return true;
+    }
+
+    @Override
+    public void render(final ReactorControlRodEntity controlRod, float partialTicks, final MatrixStack stack,
+                       final IRenderTypeBuffer buffer, final int combinedLight, final int combinedOverlay) {
+
+        final List<ReactorFuelRodEntity> fuelRods = controlRod.getLinkedFuelRods();
+
+        if (fuelRods.isEmpty()) {
+            return;
+        }
+
+        controlRod.getMultiblockController()
+                .filter(AbstractMultiblockController::isAssembled)
+                .filter(it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractMultiblockController::isInteriorVisible)
+                .ifPresent(reactor -> reactor.getFuelRodsLayout()
+                        .filter(layout -> layout instanceof ClientFuelRodsLayout)
+                        .map(layout -> (ClientFuelRodsLayout)layout)
+                        .ifPresent(layout -> s_cache.get(controlRod, rod -> new ColumnMesh())
+                                .draw(reactor, layout, controlRod, fuelRods, stack, combinedOverlay))
+                );
+    }
+
+    //endregion
+    //region internals
+
+    private static class ColumnMesh
+            extends MeshCache.Entry {
+
+        ColumnMesh() {
+
+            this._mesh = new CachedMesh(Atlases.getSolidBlockType());
+            this._layout = null;
+        }
+
+        void draw(final MultiblockReactor reactor, final ClientFuelRodsLayout layout,
+                  final ReactorControlRodEntity controlRod, final List<ReactorFuelRodEntity> fuelRods,
+                  final MatrixStack stack, final int combinedOverlay) {
+
+            // the light of the first rod is used to detect lighting changes for the whole column
+            final int referenceLight = WorldRenderer.getCombinedLight(controlRod.getPartWorldOrFail(), fuelRods.get(0).getWorldPosition());
+
+            if (this.isRebuildNeeded(layout, referenceLight, combinedOverlay)) {
+
+                this._mesh.build(builder -> bake(reactor, layout, controlRod, fuelRods, builder, combinedOverlay));
+                this._layout = layout;
+                this._fuelDataVersion = layout.getFuelDataVersion();
+                this._referenceLight = referenceLight;
+                this._combinedOverlay = combinedOverlay;
+            }
+
+            this._mesh.draw(stack.getLast().getMatrix());
+        }
+
+        @Override
+        protected void close() {
+            this._mesh.close();
+        }
+
+        private boolean isRebuildNeeded(final ClientFuelRodsLayout layout, final int referenceLight,
+                                        final int combinedOverlay) {
+
+            // the fuel data of every column is split along the same rod indices, so any change to it affects this column too
+            return !this._mesh.isBuilt() || layout != this._layout || layout.getFuelDataVersion() != this._fuelDataVersion ||
+                    referenceLight != this._referenceLight || combinedOverlay != this._combinedOverlay;
+        }
+
+        private final CachedMesh _mesh;
+        private ClientFuelRodsLayout _layout;
+        private int _fuelDataVersion;
+        private int _referenceLight;
+        private int _combinedOverlay;
+    }
+
+    private static void bake(final MultiblockReactor reactor, final ClientFuelRodsLayout layout,
+                             final ReactorControlRodEntity controlRod, final List<ReactorFuelRodEntity> fuelRods,
+                             final IVertexBuilder builder, final int combinedOverlay) {
+
+        final BlockPos controlRodPosition = controlRod.getWorldPosition();
+        final MatrixStack stack = new MatrixStack();
+
+        for (final ReactorFuelRodEntity rod : fuelRods) {
+
+            if (rod.isOccluded()) {
+                continue;
+            }
+
+            final FuelData rodData = layout.getFuelData(getFuelDataIndex(reactor, layout, rod));
+
+            switch (rodData.getFluidStatus()) {
+
+                case FullFuelOnly:
+                case FullWasteOnly:
+                case FuelOnly:
+                case WasteOnly:
+                case Mixed:
+
+                    final BlockPos rodPosition = rod.getWorldPosition();
+
+                    stack.push();
+                    stack.translate(rodPosition.getX() - controlRodPosition.getX(), rodPosition.getY() - controlRodPosition.getY(),
+                            rodPosition.getZ() - controlRodPosition.getZ());
+
+                    ModRenderHelper.renderModel(layout.getModelFor(rodData), EmptyModelData.INSTANCE, stack, builder,
+                            WorldRenderer.getCombinedLight(rod.getPartWorldOrFail(), rodPosition), combinedOverlay,
+                            layout::getModelTint);
+
+                    stack.pop();
+                    break;
+            }
+        }
+    }
+
+    private static int getFuelDataIndex(final MultiblockReactor reactor, final ClientFuelRodsLayout layout,
+                                        final ReactorFuelRodEntity rod) {
+
+        if (Direction.Plane.VERTICAL == layout.getOrientation()) {
+            return reactor.getMinimumCoord()
+                    .map(minPos -> rod.getWorldPosition().getY() - minPos.getY() - 1)
+                    .orElse(0);
+        } else {
+            return 0;
+        }
+    }
+
+    // release a mesh if its column was not rendered for this long (in milliseconds)
+    private static final MeshCache<ReactorControlRodEntity, ColumnMesh> s_cache = new MeshCache<>(10_000);
+
+    //endregion
+}
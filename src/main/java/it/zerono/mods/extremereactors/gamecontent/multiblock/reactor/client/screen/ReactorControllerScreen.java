@@ -26,8 +26,11 @@ import it.zerono.mods.extremereactors.gamecontent.compat.patchouli.PatchouliComp
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.AbstractMultiblockScreen;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.CommonIcons;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.SyncedBindingGroup;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.TelemetryGraph;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.MultiblockReactor;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.OperationalMode;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.OutputControlTarget;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.client.ClientFuelRodsLayout;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorControllerEntity;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.variant.ReactorVariant;
@@ -36,7 +39,6 @@ import it.zerono.mods.zerocore.lib.client.gui.ButtonState;
 import it.zerono.mods.zerocore.lib.client.gui.DesiredDimension;
 import it.zerono.mods.zerocore.lib.client.gui.IControl;
 import it.zerono.mods.zerocore.lib.client.gui.control.*;
-import it.zerono.mods.zerocore.lib.client.gui.databind.BindingGroup;
 import it.zerono.mods.zerocore.lib.client.gui.databind.MonoConsumerBinding;
 import it.zerono.mods.zerocore.lib.client.gui.databind.MultiConsumerBinding;
 import it.zerono.mods.zerocore.lib.client.gui.layout.*;
@@ -50,6 +52,7 @@ import it.zerono.mods.zerocore.lib.item.inventory.PlayerInventoryUsage;
 import it.zerono.mods.zerocore.lib.item.inventory.container.ModTileContainer;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.fluid.Fluid;
+import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.StringTextComponent;
 import net.minecraft.util.text.Style;
@@ -58,6 +61,7 @@ import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.common.util.NonNullSupplier;
 
+import java.util.Locale;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -78,8 +82,9 @@ public class ReactorControllerScreen
         this._reactorMode = this._reactor.getOperationalMode();
         this._outputEnergySystem = this._reactor.getOutputEnergySystem();
         this._reactorCapacity = this._reactor.getCapacity(this._outputEnergySystem, null);
+        this._outputControlTarget = this._reactor.getOutputController().getTarget();
 
-        this._bindings = new BindingGroup();
+        this._bindings = new SyncedBindingGroup(this._reactor.getClientSyncTracker());
 
         this._fuelBar = new FuelGaugeBar(this, "fuelBar", this._reactor);
         this._coreHeatBar = this.heatBar("coreHeatBar", 2000.0);
@@ -112,6 +117,31 @@ public class ReactorControllerScreen
         return true;
     }
 
+    @Override
+    public void tick() {
+
+        super.tick();
+
+        // estimate the status of the Reactor between two updates from the server
+
+        final double fuelHeat = this._reactor.extrapolateFuelHeat(0);
+
+        this._coreHeatBar.setValue(fuelHeat);
+
+        if ((int)fuelHeat != this._displayedTemperature) {
+
+            this._displayedTemperature = (int)fuelHeat;
+            this._lblTemperature.setText("%d C", this._displayedTemperature);
+        }
+        this._casingHeatBar.setValue(this._reactor.extrapolateReactorHeat(0));
+        this._fuelBar.setValue(ReactantType.Fuel, this._reactor.extrapolateFuelAmount(0));
+        this._fuelBar.setValue(ReactantType.Waste, this._reactor.extrapolateWasteAmount(0));
+
+        if (null != this._energyBar) {
+            this._energyBar.setValue(this._reactor.extrapolateEnergyStored(0));
+        }
+    }
+
     //endregion
     //region AbstractMultiblockScreen
 
@@ -184,15 +214,15 @@ public class ReactorControllerScreen
         this._fuelBar.setDesiredDimension(18, 66);
         this._fuelBar.setBackground(CommonIcons.BarBackground.get());
         this._fuelBar.setPadding(1);
-        this.addBinding(MultiblockReactor::getFuelAmount, value -> this._fuelBar.setValue(ReactantType.Fuel, value));
-        this.addBinding(MultiblockReactor::getWasteAmount, value -> this._fuelBar.setValue(ReactantType.Waste, value));
-        this.addBinding((MultiblockReactor reactor) -> reactor.getFuelRodsLayout()
+        this.addBinding(MultiblockReactor.SYNC_KEY_FUEL_CONTAINER, MultiblockReactor::getFuelAmount, value -> this._fuelBar.setValue(ReactantType.Fuel, value));
+        this.addBinding(MultiblockReactor.SYNC_KEY_FUEL_CONTAINER, MultiblockReactor::getWasteAmount, value -> this._fuelBar.setValue(ReactantType.Waste, value));
+        this.addBinding(MultiblockReactor.SYNC_KEY_FUEL_CONTAINER, (MultiblockReactor reactor) -> reactor.getFuelRodsLayout()
                         .filter(layout -> layout instanceof ClientFuelRodsLayout)
                         .map(layout -> (ClientFuelRodsLayout)layout)
                         .map(ClientFuelRodsLayout::getFuelColor)
                         .orElse(Colour.fromRGB(ReactantType.Fuel.getDefaultColour())),
                 value -> this._fuelBar.setBarSpriteTint(ReactantType.Fuel, value));
-        this.addBinding((MultiblockReactor reactor) -> reactor.getFuelRodsLayout()
+        this.addBinding(MultiblockReactor.SYNC_KEY_FUEL_CONTAINER, (MultiblockReactor reactor) -> reactor.getFuelRodsLayout()
                         .filter(layout -> layout instanceof ClientFuelRodsLayout)
                         .map(layout -> (ClientFuelRodsLayout)layout)
                         .map(ClientFuelRodsLayout::getWasteColor)
@@ -228,7 +258,7 @@ public class ReactorControllerScreen
                         coreHeatText
                 )
         );
-        this.addBinding((MultiblockReactor reactor) -> reactor.getFuelHeat().get(),
+        this.addBinding(MultiblockReactor.SYNC_KEY_FUEL_HEAT, (MultiblockReactor reactor) -> reactor.getFuelHeat().get(),
                 (value) -> {
                     this._coreHeatBar.setValue(value);
                     this._lblTemperature.setText("%d C", value.intValue());
@@ -260,7 +290,7 @@ public class ReactorControllerScreen
                         reactorHeatText
                 )
         );
-        this.addBinding((MultiblockReactor reactor) -> reactor.getReactorHeat().get(), this._casingHeatBar::setValue, reactorHeatText);
+        this.addBinding(MultiblockReactor.SYNC_KEY_REACTOR_HEAT, (MultiblockReactor reactor) -> reactor.getReactorHeat().get(), this._casingHeatBar::setValue, reactorHeatText);
         p.addControl(this._casingHeatBar);
         barsPanel.addControl(p);
 
@@ -318,9 +348,9 @@ public class ReactorControllerScreen
                             energyStoredPercentageText
                     )
             );
-            this.addBinding((MultiblockReactor reactor) -> reactor.getEnergyStored(EnergySystem.REFERENCE, null),
+            this.addBinding(AbstractGeneratorMultiblockController.SYNC_KEY_ENERGY_BUFFER, (MultiblockReactor reactor) -> reactor.getEnergyStored(EnergySystem.REFERENCE, null),
                     this._energyBar::setValue, energyStoredText);
-            this.addBinding(AbstractGeneratorMultiblockController::getEnergyStoredPercentage, energyStoredPercentageText);
+            this.addBinding(AbstractGeneratorMultiblockController.SYNC_KEY_ENERGY_BUFFER, AbstractGeneratorMultiblockController::getEnergyStoredPercentage, energyStoredPercentageText);
             p.addControl(this._energyBar);
             barsPanel.addControl(p);
 
@@ -350,7 +380,7 @@ public class ReactorControllerScreen
                             energyGeneratedText
                     )
             );
-            this.addBinding((MultiblockReactor reactor) -> reactor.getUiStats().getAmountGeneratedLastTick(),
+            this.addBinding(MultiblockReactor.SYNC_KEY_STATS, (MultiblockReactor reactor) -> reactor.getUiStats().getAmountGeneratedLastTick(),
                     value -> this._lblEnergyRatio.setText(CodeHelper.formatAsHumanReadableNumber(value, this._outputEnergySystem.getUnit() + "/t")),
                     energyGeneratedText);
             p.addControl(this._lblEnergyRatio);
@@ -367,7 +397,7 @@ public class ReactorControllerScreen
             final BindableTextComponent<Integer> tankCapacity = new BindableTextComponent<>(
                     capacity -> new StringTextComponent(CodeHelper.formatAsHumanReadableNumber(capacity / 1000, "B")).setStyle(STYLE_TOOLTIP_VALUE));
 
-            this.addBinding((MultiblockReactor reactor) -> this._reactor.getFluidContainer().getCapacity(),
+            this.addBinding(MultiblockReactor.SYNC_KEY_FLUID_CONTAINER, (MultiblockReactor reactor) -> this._reactor.getFluidContainer().getCapacity(),
                     v -> {
 
                         this._coolantBar.setMaxValue(v);
@@ -408,7 +438,7 @@ public class ReactorControllerScreen
                             coolantStoredPercentage
                     )
             );
-            this.addBinding((MultiblockReactor reactor) -> getFluidName(reactor.getFluidContainer().getLiquid()),
+            this.addBinding(MultiblockReactor.SYNC_KEY_FLUID_CONTAINER, (MultiblockReactor reactor) -> getFluidName(reactor.getFluidContainer().getLiquid()),
                     v -> {
                         this._coolantBar.setBarSprite(Sprite.EMPTY);
                         this._coolantBar.setBarSpriteTint(Colour.WHITE);
@@ -419,8 +449,8 @@ public class ReactorControllerScreen
                                     this._coolantBar.setBarSpriteTint(Colour.fromARGB(fluid.getAttributes().getColor()));
                                 });
                     }, coolantFluidName);
-            this.addBinding((MultiblockReactor reactor) -> reactor.getFluidContainer().getLiquidAmount(), (Consumer<Integer>)this._coolantBar::setValue, coolantAmount);
-            this.addBinding((MultiblockReactor reactor) -> reactor.getFluidContainer().getLiquidStoredPercentage(), v -> {}, coolantStoredPercentage);
+            this.addBinding(MultiblockReactor.SYNC_KEY_FLUID_CONTAINER, (MultiblockReactor reactor) -> reactor.getFluidContainer().getLiquidAmount(), (Consumer<Integer>)this._coolantBar::setValue, coolantAmount);
+            this.addBinding(MultiblockReactor.SYNC_KEY_FLUID_CONTAINER, (MultiblockReactor reactor) -> reactor.getFluidContainer().getLiquidStoredPercentage(), v -> {}, coolantStoredPercentage);
 
             p.addControl(this._coolantBar);
             barsPanel.addControl(p);
@@ -462,7 +492,7 @@ public class ReactorControllerScreen
                             vaporStoredPercentage
                     )
             );
-            this.addBinding((MultiblockReactor reactor) -> getFluidName(reactor.getFluidContainer().getGas()),
+            this.addBinding(MultiblockReactor.SYNC_KEY_FLUID_CONTAINER, (MultiblockReactor reactor) -> getFluidName(reactor.getFluidContainer().getGas()),
                     v -> {
                         this._vaporBar.setBarSprite(Sprite.EMPTY);
                         this._vaporBar.setBarSpriteTint(Colour.WHITE);
@@ -473,8 +503,8 @@ public class ReactorControllerScreen
                                     this._vaporBar.setBarSpriteTint(Colour.fromARGB(fluid.getAttributes().getColor()));
                                 });
                     }, vaporFluidName);
-            this.addBinding((MultiblockReactor reactor) -> reactor.getFluidContainer().getGasAmount(), (Consumer<Integer>)this._vaporBar::setValue, vaporAmount);
-            this.addBinding((MultiblockReactor reactor) -> reactor.getFluidContainer().getGasStoredPercentage(), v -> {}, vaporStoredPercentage);
+            this.addBinding(MultiblockReactor.SYNC_KEY_FLUID_CONTAINER, (MultiblockReactor reactor) -> reactor.getFluidContainer().getGasAmount(), (Consumer<Integer>)this._vaporBar::setValue, vaporAmount);
+            this.addBinding(MultiblockReactor.SYNC_KEY_FLUID_CONTAINER, (MultiblockReactor reactor) -> reactor.getFluidContainer().getGasStoredPercentage(), v -> {}, vaporStoredPercentage);
 
             p.addControl(this._vaporBar);
             barsPanel.addControl(p);
@@ -500,13 +530,17 @@ public class ReactorControllerScreen
                             vaporGeneratedText
                     )
             );
-            this.addBinding((MultiblockReactor reactor) -> reactor.getUiStats().getAmountGeneratedLastTick(),
+            this.addBinding(MultiblockReactor.SYNC_KEY_STATS, (MultiblockReactor reactor) -> reactor.getUiStats().getAmountGeneratedLastTick(),
                     generated -> this._lblVaporRatio.setText(CodeHelper.formatAsHumanReadableNumber(generated / 1000.0, "B" + "/t")),
                     vaporGeneratedText);
             p.addControl(this._lblVaporRatio);
             infoPanelRight.addControl(p);
         }
 
+        // - telemetry graph
+
+        infoPanelRight.addControl(new TelemetryGraph<>(this, "telemetryGraph", this._reactor.getTelemetry(), INFOPANEL_WIDTH, 33));
+
         // - separator
         barsPanel.addControl(this.vSeparatorPanel());
 
@@ -535,7 +569,7 @@ public class ReactorControllerScreen
                 TEXT_EMPTY_LINE,
                 new TranslationTextComponent("gui.bigreactors.reactor.controller.fuelusage.line2"),
                 new TranslationTextComponent("gui.bigreactors.reactor.controller.fuelusage.line3"));
-        this.addBinding((MultiblockReactor reactor) -> reactor.getUiStats().getFuelConsumedLastTick(),
+        this.addBinding(MultiblockReactor.SYNC_KEY_STATS, (MultiblockReactor reactor) -> reactor.getUiStats().getFuelConsumedLastTick(),
                 value -> this._lblFuelUsage.setText(CodeHelper.formatAsMillibuckets(value) + "/t"));
         p.addControl(this._lblFuelUsage);
         infoPanelLeft.addControl(p);
@@ -551,7 +585,7 @@ public class ReactorControllerScreen
                 new TranslationTextComponent("gui.bigreactors.reactor.controller.fuelrichness.line2"),
                 new TranslationTextComponent("gui.bigreactors.reactor.controller.fuelrichness.line3"),
                 new TranslationTextComponent("gui.bigreactors.reactor.controller.fuelrichness.line4"));
-        this.addBinding((MultiblockReactor reactor) -> reactor.getUiStats().getFuelRichness(),
+        this.addBinding(MultiblockReactor.SYNC_KEY_STATS, (MultiblockReactor reactor) -> reactor.getUiStats().getFuelRichness(),
                 value -> this._lblFuelRichness.setText("%2.0f%%", value * 100f));
         p.addControl(this._lblFuelRichness);
         infoPanelLeft.addControl(p);
@@ -576,14 +610,14 @@ public class ReactorControllerScreen
         on.setTooltips(new TranslationTextComponent("gui.bigreactors.reactor.controller.on.line1"));
         on.Activated.subscribe(this::onActiveStateChanged);
         on.Deactivated.subscribe(this::onActiveStateChanged);
-        this.addBinding(MultiblockReactor::isMachineActive, on::setActive);
+        this.addBinding(MultiblockReactor.SYNC_KEY_ACTIVE, MultiblockReactor::isMachineActive, on::setActive);
 
         off.setLayoutEngineHint(FixedLayoutEngine.hint(x + w, y, w, 16));
         off.setTooltips(new TranslationTextComponent("gui.bigreactors.reactor.controller.off.line1"));
-        this.addBinding(MultiblockReactor::isMachineActive, active -> off.setActive(!active));
+        this.addBinding(MultiblockReactor.SYNC_KEY_ACTIVE, MultiblockReactor::isMachineActive, active -> off.setActive(!active));
 
         commandPanel.addControl(on, off);
-        y += 28;
+        y += 19;
 
         // - waste ejection settings
 
@@ -595,7 +629,7 @@ public class ReactorControllerScreen
         swp.Deactivated.subscribe(this::onWasteEjectionChanged);
         this.setButtonSpritesAndOverlayForState(swp, ButtonState.Default, CommonIcons.ButtonDumpWaste);
         this.setButtonSpritesAndOverlayForState(swp, ButtonState.Active, CommonIcons.ButtonDumpWasteActive);
-        swp.setLayoutEngineHint(FixedLayoutEngine.hint(x + 17, y, 18, 18));
+        swp.setLayoutEngineHint(FixedLayoutEngine.hint(x, y, 18, 18));
         swp.setBackground(CommonIcons.ImageButtonBackground.get());
         swp.enablePaintBlending(true);
         swp.setPadding(1);
@@ -615,15 +649,74 @@ public class ReactorControllerScreen
                 )
         );
 
-        this.addBinding(r -> r.getWasteEjectionMode().isAutomatic(), swp::setActive, wasteEjectionText);
+        this.addBinding(MultiblockReactor.SYNC_KEY_WASTE_EJECTION, r -> r.getWasteEjectionMode().isAutomatic(), swp::setActive, wasteEjectionText);
         commandPanel.addControl(swp);
-        y += 29;
+
+        // - output control
+
+        final BindableTextComponent<OutputControlTarget> outputControlTargetText = new BindableTextComponent<>(
+                target -> new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.target." +
+                        target.name().toLowerCase(Locale.ROOT)).setStyle(STYLE_TOOLTIP_VALUE));
+        final BindableTextComponent<Double> outputControlSetpointText = new BindableTextComponent<>(
+                setpoint -> new StringTextComponent(String.format("%.0f", setpoint)).setStyle(STYLE_TOOLTIP_VALUE));
+        final Button outputControl = new Button(this, "outputcontrol", "AUTO");
+        final NumberInput.IntNumberInput outputControlSetpoint = new NumberInput.IntNumberInput(this, "outputcontrolsetpoint", 0, Integer.MAX_VALUE, 0);
+        final Button outputControlSet = new Button(this, "outputcontrolset", new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.set"));
+
+        outputControl.setLayoutEngineHint(FixedLayoutEngine.hint(x + 20, y, 30, 18));
+        outputControl.setTooltips(ImmutableList.of(
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.line1").setStyle(STYLE_TOOLTIP_TITLE),
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.line2"),
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.line3"),
+                TEXT_EMPTY_LINE,
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.line4"),
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.line5"),
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.line6"),
+                TEXT_EMPTY_LINE,
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.line7"),
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.line8")),
+                ImmutableList.of(
+                        // @0
+                        outputControlTargetText,
+                        // @1
+                        outputControlSetpointText
+                )
+        );
+        outputControl.Clicked.subscribe((button, mouseButton) ->
+                this.sendOutputControl(this.nextOutputControlTarget(1 == mouseButton), outputControlSetpoint.getAsInt()));
+        this.addBinding(MultiblockReactor.SYNC_KEY_OUTPUT_CONTROL, r -> r.getOutputController().getTarget(),
+                target -> {
+
+                    this._outputControlTarget = target;
+                    outputControlSetpoint.setDisplaySuffix(getOutputControlSuffix(target));
+                }, outputControlTargetText);
+        this.addBinding(MultiblockReactor.SYNC_KEY_OUTPUT_CONTROL, r -> r.getOutputController().getSetpoint(),
+                setpoint -> outputControlSetpoint.setValue((int)Math.round(setpoint)), outputControlSetpointText);
+        commandPanel.addControl(outputControl);
+        y += 21;
+
+        outputControlSetpoint.setStep(1, 10);
+        outputControlSetpoint.setHorizontalAlignment(HorizontalAlignment.Right);
+        outputControlSetpoint.setLayoutEngineHint(FixedLayoutEngine.hint(x, y + 1, 34, 14));
+        outputControlSetpoint.setTooltips(
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.setpoint.line1").setStyle(STYLE_TOOLTIP_TITLE),
+                TEXT_EMPTY_LINE,
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.setpoint.line2"),
+                new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.setpoint.line3"));
+        commandPanel.addControl(outputControlSetpoint);
+
+        outputControlSet.setLayoutEngineHint(FixedLayoutEngine.hint(x + 35, y, 15, 16));
+        outputControlSet.setTooltips(new TranslationTextComponent("gui.bigreactors.reactor.controller.outputcontrol.set.tooltip.line1"));
+        outputControlSet.Clicked.subscribe((button, mouseButton) ->
+                this.sendOutputControl(this._outputControlTarget, outputControlSetpoint.getAsInt()));
+        commandPanel.addControl(outputControlSet);
+        y += 19;
 
         // - scram
 
         final Button scram = new Button(this, "scram", "SCRAM");
 
-        scram.setLayoutEngineHint(FixedLayoutEngine.hint(x, y, 50, 25));
+        scram.setLayoutEngineHint(FixedLayoutEngine.hint(x, y, 50, 23));
         scram.setTooltips(new TranslationTextComponent("gui.bigreactors.reactor.controller.scram.line1").setStyle(STYLE_TOOLTIP_TITLE),
                 TEXT_EMPTY_LINE,
                 new TranslationTextComponent("gui.bigreactors.reactor.controller.scram.line2"),
@@ -797,13 +890,62 @@ public class ReactorControllerScreen
         this.sendCommandToServer(ReactorControllerEntity.COMMAND_SCRAM);
     }
 
-    private final <Value> void addBinding(final Function<MultiblockReactor, Value> supplier, final Consumer<Value> consumer) {
-        this._bindings.addBinding(new MonoConsumerBinding<>(this._reactor, supplier, consumer));
+    private void sendOutputControl(final OutputControlTarget target, final int setpoint) {
+
+        final CompoundNBT data = new CompoundNBT();
+
+        OutputControlTarget.write(data, "target", target);
+        data.putDouble("setpoint", setpoint);
+
+        this.sendCommandToServer(ReactorControllerEntity.COMMAND_SET_OUTPUT_CONTROL, data);
+    }
+
+    /**
+     * Get the next (or the previous) output control target that could be used by the Reactor
+     */
+    private OutputControlTarget nextOutputControlTarget(final boolean backward) {
+
+        final int steps = backward ? OutputControlTarget.values().length - 1 : 1;
+        OutputControlTarget target = this._outputControlTarget;
+
+        do {
+
+            for (int idx = 0; idx < steps; ++idx) {
+                target = target.next();
+            }
+
+        } while (!target.isValidFor(this._reactorMode));
+
+        return target;
+    }
+
+    private static String getOutputControlSuffix(final OutputControlTarget target) {
+
+        switch (target) {
+
+            case EnergyBuffer:
+                return "%";
+
+            case CasingHeat:
+                return "C";
+
+            case VaporOutput:
+                return "mB";
+
+            default:
+                return "";
+        }
+    }
+
+    private final <Value> void addBinding(final String syncKey, final Function<MultiblockReactor, Value> supplier,
+                                          final Consumer<Value> consumer) {
+        this._bindings.of(syncKey).addBinding(new MonoConsumerBinding<>(this._reactor, supplier, consumer));
     }
 
     @SafeVarargs
-    private final <Value> void addBinding(final Function<MultiblockReactor, Value> supplier, final Consumer<Value>... consumers) {
-        this._bindings.addBinding(new MultiConsumerBinding<>(this._reactor, supplier, consumers));
+    private final <Value> void addBinding(final String syncKey, final Function<MultiblockReactor, Value> supplier,
+                                          final Consumer<Value>... consumers) {
+        this._bindings.of(syncKey).addBinding(new MultiConsumerBinding<>(this._reactor, supplier, consumers));
     }
 
     private static final ITextComponent TEXT_AUTOMATIC_WASTE_EJECT = new TranslationTextComponent("gui.bigreactors.reactor.controller.wasteeject.mode.automatic").setStyle(STYLE_TOOLTIP_VALUE);
@@ -815,7 +957,7 @@ public class ReactorControllerScreen
     private final EnergySystem _outputEnergySystem;
     private final double _reactorCapacity;
 
-    private final BindingGroup _bindings;
+    private final SyncedBindingGroup _bindings;
 
     private final FuelGaugeBar _fuelBar;
     private final GaugeBar _coreHeatBar;
@@ -829,5 +971,8 @@ public class ReactorControllerScreen
     private final Label _lblEnergyRatio;
     private final Label _lblVaporRatio;
 
+    private int _displayedTemperature;
+    private OutputControlTarget _outputControlTarget;
+
     //endregion
 }
@@ -23,6 +23,9 @@ import it.zerono.mods.extremereactors.gamecontent.multiblock.IMachineReader;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.IReactorReader;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.MultiblockReactor;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.OutputControlTarget;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.ReactorForecast;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.ReactorOutputController;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorComputerPortEntity;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorControlRodEntity;
 import it.zerono.mods.zerocore.lib.CodeHelper;
@@ -33,6 +36,7 @@ import it.zerono.mods.zerocore.lib.energy.EnergySystem;
 import net.minecraftforge.common.util.NonNullConsumer;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -151,43 +155,23 @@ public class ReactorComputerPeripheral
                 return;
             }
 
-            @SuppressWarnings("rawtypes")
-            final Map levels = (Map)arguments[0];
-            final int controlRodsCount = c.getControlRodsCount();
-
-            if (controlRodsCount != levels.size()) {
-                throw new IllegalArgumentException("Invalid levels count in a call to setControlRodsLevels()");
-            }
-
-            final int[] newLevels = new int[controlRodsCount];
-
-            for (int idx = 0; idx < newLevels.length; ++idx) {
-
-                double value;
-
-                if (levels.containsKey((double)idx)) {
-                    value = (double)levels.get((double)idx);
-                } else if (levels.containsKey(idx)) {
-                    value = (double)levels.get(idx);
-                } else {
-                    throw new IllegalArgumentException("Invalid table key in a call to setControlRodsLevels()");
-                }
+            // apply all the new levels at once to send a single round of updates to the clients
+            c.setControlRodsInsertionRatios(getControlRodsLevels(c, (Map<?, ?>)arguments[0], "setControlRodsLevels"));
 
-                newLevels[idx] = (int)Math.round(value);
+        }), 1, true));
 
-                if (newLevels[idx] < 0 || newLevels[idx] > 100) {
-                    LuaHelper.raiseIllegalArgumentRange(idx, 0, 100);
-                }
-            }
+        methodConsumer.accept(new ComputerMethod<>("predict", wrapControllerValue((c, arguments) -> {
 
-            for (int idx = 0; idx < newLevels.length; ++idx) {
+            // the argument could be a single level for all the Control Rods or a table with a level for each one of them.
+            // A new forecast is computed at most once a second for each Reactor: nil is returned if it's requested too early
 
-                final int newLevel = newLevels[idx];
+            final Optional<ReactorForecast> forecast = arguments[0] instanceof Map ?
+                    c.predict(getControlRodsLevels(c, (Map<?, ?>)arguments[0], "predict")) :
+                    c.predict(LuaHelper.getIntFromArgs(arguments, 0, 0, 100));
 
-                c.getControlRodByIndex(idx).ifPresent(rod -> ReactorControlRodEntity.setInsertionRatio(rod, newLevel));
-            }
+            return forecast.map(ReactorComputerPeripheral::getForecastStats).orElse(null);
 
-        }), 1, true));
+        }), 1, true)); //NEW
 
         methodConsumer.accept(new ComputerMethod<>("getEnergyStats", wrapControllerValue(c -> {
 
@@ -253,6 +237,12 @@ public class ReactorComputerPeripheral
 
         })));
 
+        methodConsumer.accept(new ComputerMethod<>("getTelemetryChannels", wrapControllerValue(c -> c.getTelemetry().getChannelNames()))); //NEW
+
+        methodConsumer.accept(new ComputerMethod<>("getTelemetry", wrapControllerValue((c, arguments) ->
+                c.getTelemetry().getSamples(LuaHelper.getStringFromArgs(arguments, 0), LuaHelper.getStringFromArgs(arguments, 1),
+                        LuaHelper.getIntFromArgs(arguments, 2))), 3)); //NEW
+
         methodConsumer.accept(new ComputerMethod<>("setActive", wrapControllerAction((c, arguments) ->
                 c.setMachineActive(LuaHelper.getBooleanFromArgs(arguments, 0))), 1, true));
 
@@ -267,6 +257,41 @@ public class ReactorComputerPeripheral
                 c.getControlRodByIndex(LuaHelper.getIntFromArgs(arguments, 0))
                         .ifPresent(rod -> ReactorControlRodEntity.setName(rod, LuaHelper.getStringFromArgs(arguments, 1)))), 2, true));
 
+        methodConsumer.accept(new ComputerMethod<>("getOutputControl", wrapControllerValue(c -> { //NEW
+
+            final Map<String, Object> settings = Maps.newHashMap();
+            final ReactorOutputController controller = c.getOutputController();
+
+            settings.put("target", controller.getTarget().name());
+            settings.put("setpoint", controller.getSetpoint());
+            settings.put("proportionalGain", controller.getProportionalGain());
+            settings.put("integralGain", controller.getIntegralGain());
+            settings.put("derivativeGain", controller.getDerivativeGain());
+
+            return settings;
+
+        })));
+
+        methodConsumer.accept(new ComputerMethod<>("setOutputControl", wrapControllerAction((c, arguments) -> { //NEW
+
+            final OutputControlTarget target = getOutputControlTarget(LuaHelper.getStringFromArgs(arguments, 0));
+
+            if (!target.isValidFor(c.getOperationalMode())) {
+                throw new IllegalArgumentException("The output control target " + target.name() + " is not available for this Reactor");
+            }
+
+            c.setOutputControl(target, getDoubleFromArgs(arguments, 1));
+
+        }), 2, true));
+
+        methodConsumer.accept(new ComputerMethod<>("setOutputControlGains", wrapControllerAction((c, arguments) -> { //NEW
+
+            if (!c.setOutputControlGains(getDoubleFromArgs(arguments, 0), getDoubleFromArgs(arguments, 1), getDoubleFromArgs(arguments, 2))) {
+                throw new IllegalArgumentException("Invalid gains in a call to setOutputControlGains()");
+            }
+
+        }), 3, true));
+
         methodConsumer.accept(new ComputerMethod<>("doEjectWaste", wrapControllerAction((c, arguments) -> c.ejectWaste()), 0, true));
 
         methodConsumer.accept(new ComputerMethod<>("doEjectFuel", wrapControllerAction((c, arguments) -> c.ejectFuel()), 0, true));
@@ -275,6 +300,72 @@ public class ReactorComputerPeripheral
     //endregion
     //region method wrappers and helpers
 
+    private static int[] getControlRodsLevels(final MultiblockReactor reactor, final Map<?, ?> levels, final String methodName) {
+
+        final int controlRodsCount = reactor.getControlRodsCount();
+
+        if (controlRodsCount != levels.size()) {
+            throw new IllegalArgumentException("Invalid levels count in a call to " + methodName + "()");
+        }
+
+        final int[] newLevels = new int[controlRodsCount];
+
+        for (int idx = 0; idx < newLevels.length; ++idx) {
+
+            double value;
+
+            if (levels.containsKey((double)idx)) {
+                value = (double)levels.get((double)idx);
+            } else if (levels.containsKey(idx)) {
+                value = (double)levels.get(idx);
+            } else {
+                throw new IllegalArgumentException("Invalid table key in a call to " + methodName + "()");
+            }
+
+            newLevels[idx] = (int)Math.round(value);
+
+            if (newLevels[idx] < 0 || newLevels[idx] > 100) {
+                LuaHelper.raiseIllegalArgumentRange(idx, 0, 100);
+            }
+        }
+
+        return newLevels;
+    }
+
+    private static OutputControlTarget getOutputControlTarget(final String name) {
+
+        for (final OutputControlTarget target : OutputControlTarget.values()) {
+            if (target.name().equalsIgnoreCase(name)) {
+                return target;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown output control target: " + name);
+    }
+
+    private static double getDoubleFromArgs(final Object[] arguments, final int index) {
+
+        if (index >= arguments.length || !(arguments[index] instanceof Number)) {
+            throw new IllegalArgumentException("Argument #" + index + " must be a number");
+        }
+
+        return ((Number)arguments[index]).doubleValue();
+    }
+
+    private static Map<String, Object> getForecastStats(final ReactorForecast forecast) {
+
+        final Map<String, Object> stats = Maps.newHashMap();
+
+        stats.put("fuelTemperature", forecast.getFuelHeat());
+        stats.put("casingTemperature", forecast.getReactorHeat());
+        stats.put(forecast.isPassive() ? "energyProducedPerTick" : "fluidProducedPerTick", forecast.getAmountGeneratedPerTick());
+        stats.put("fuelConsumedPerTick", forecast.getFuelConsumedPerTick());
+        stats.put("ticks", forecast.getTicks());
+        stats.put("converged", forecast.isConverged());
+
+        return stats;
+    }
+
     private static BiFunction<MultiblockReactor, Object[], Object> controlRodByIndex(final Function<ReactorControlRodEntity, Object> code) {
         return (reactor, arguments) -> reactor.getControlRodByIndex(LuaHelper.getIntFromArgs(arguments, 0)).map(code).orElse(null);
     }
@@ -19,6 +19,8 @@
 package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import it.zerono.mods.extremereactors.gamecontent.Content;
 import it.zerono.mods.zerocore.lib.CodeHelper;
 import it.zerono.mods.zerocore.lib.block.AbstractModBlockEntity;
@@ -36,12 +38,16 @@ import net.minecraft.inventory.container.Container;
 import net.minecraft.inventory.container.INamedContainerProvider;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.Direction;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.world.World;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -57,6 +63,8 @@ public class ReactorControlRodEntity
         super(Content.TileEntityTypes.REACTOR_CONTROLROD.get());
         this._insertionRatio = 0;
         this._name = "";
+        this._linkedFuelRods = Collections.emptyList();
+        this._renderBoundingBox = null;
 
         this.setCommandDispatcher(TileCommandDispatcher.<ReactorControlRodEntity>builder()
                 .addServerHandler(COMMAND_SET_NAME, ReactorControlRodEntity::setNameFromGUI)
@@ -72,6 +80,7 @@ public class ReactorControlRodEntity
     private void linkToFuelRods(final World world, final Direction direction,
                                 final int fuelRodsCount) {
 
+        final List<ReactorFuelRodEntity> linkedFuelRods = Lists.newArrayListWithCapacity(fuelRodsCount);
         BlockPos lookupPosition = this.getWorldPosition();
 
         for (int i = 0; i < fuelRodsCount; ++i) {
@@ -83,8 +92,24 @@ public class ReactorControlRodEntity
             CodeHelper.optionalIfPresentOrThrow(WorldHelper.getTile(world, lookupPosition)
                             .filter(te -> te instanceof ReactorFuelRodEntity)
                     .map(te -> (ReactorFuelRodEntity)te),
-                    (rod) -> rod.linkToControlRod(this, rodIndex));
+                    (rod) -> {
+
+                        rod.linkToControlRod(this, rodIndex);
+                        linkedFuelRods.add(rod);
+                    });
         }
+
+        this._linkedFuelRods = Collections.unmodifiableList(linkedFuelRods);
+        this._renderBoundingBox = new AxisAlignedBB(this.getWorldPosition()).union(new AxisAlignedBB(lookupPosition));
+    }
+
+    /**
+     * Get the fuel rods linked to this control rod, starting from the one next to the control rod
+     *
+     * @return the linked fuel rods
+     */
+    public List<ReactorFuelRodEntity> getLinkedFuelRods() {
+        return this._linkedFuelRods;
     }
 
     //region getters and setters
@@ -123,27 +148,52 @@ public class ReactorControlRodEntity
     }
 
     public static void setInsertionRatio(final Collection<ReactorControlRodEntity> controlRods, final int newRatio) {
+        onInsertionRatiosChanged(controlRods.stream()
+                .filter(IMultiblockPart::isConnected)
+                .filter(rod -> rod.updateInsertionRatio(newRatio))
+                .collect(Collectors.toSet()));
+    }
 
-        final Set<ReactorControlRodEntity> updated = controlRods.stream()
+    public static void changeInsertionRatio(final Collection<ReactorControlRodEntity> controlRods, final int delta) {
+        onInsertionRatiosChanged(controlRods.stream()
                 .filter(IMultiblockPart::isConnected)
-                .filter(rod -> rod.setInsertionRatio(newRatio))
-                .collect(Collectors.toSet());
+                .filter(rod -> rod.updateInsertionRatio(rod.getInsertionRatio() + delta))
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Set the insertion ratio of each of the given control rods in one go.
+     * All the new ratios must be valid or none of them is applied
+     *
+     * @param controlRods the control rods to update
+     * @param newRatios the new insertion ratios, one for each control rod in the same order
+     * @return true if the new ratios were applied, false otherwise
+     */
+    public static boolean setInsertionRatios(final List<ReactorControlRodEntity> controlRods, final int[] newRatios) {
 
-        if (!updated.isEmpty()) {
-            AbstractModBlockEntity.notifyBlockUpdate(updated);
+        if (controlRods.size() != newRatios.length) {
+            return false;
         }
-    }
 
-    public static void changeInsertionRatio(final Collection<ReactorControlRodEntity> controlRods, final int delta) {
+        for (final int ratio : newRatios) {
+            if (ratio < 0 || ratio > 100) {
+                return false;
+            }
+        }
 
-        final Set<ReactorControlRodEntity> updated = controlRods.stream()
-                .filter(IMultiblockPart::isConnected)
-                .filter(rod -> rod.setInsertionRatio(rod.getInsertionRatio() + delta))
-                .collect(Collectors.toSet());
+        final Set<ReactorControlRodEntity> updated = Sets.newHashSetWithExpectedSize(newRatios.length);
+
+        for (int idx = 0; idx < newRatios.length; ++idx) {
 
-        if (!updated.isEmpty()) {
-            AbstractModBlockEntity.notifyBlockUpdate(updated);
+            final ReactorControlRodEntity rod = controlRods.get(idx);
+
+            if (rod.isConnected() && rod.updateInsertionRatio(newRatios[idx])) {
+                updated.add(rod);
+            }
         }
+
+        onInsertionRatiosChanged(updated);
+        return true;
     }
 
     //endregion
@@ -233,6 +283,14 @@ public class ReactorControlRodEntity
         return this.isMachineAssembled();
     }
 
+    //endregion
+    //region TileEntity
+
+    @Override
+    public AxisAlignedBB getRenderBoundingBox() {
+        return null != this._renderBoundingBox ? this._renderBoundingBox : super.getRenderBoundingBox();
+    }
+
     //endregion
     //region internals
 
@@ -260,16 +318,58 @@ public class ReactorControlRodEntity
 
     private boolean setInsertionRatio(final int newRatio) {
 
-        if (this.getInsertionRatio() == newRatio || newRatio < 0 || newRatio > 100) {
+        if (!this.updateInsertionRatio(newRatio)) {
             return false;
         }
 
-        this._insertionRatio = (byte) newRatio;
         this.markDirty();
         this.notifyBlockUpdate();
         return true;
     }
 
+    /**
+     * Change the insertion ratio without marking the control rod dirty or sending an update to the clients
+     *
+     * @param newRatio the new insertion ratio
+     * @return true if the insertion ratio was changed, false otherwise
+     */
+    private boolean updateInsertionRatio(final int newRatio) {
+
+        if (this.getInsertionRatio() == newRatio || newRatio < 0 || newRatio > 100) {
+            return false;
+        }
+
+        this._insertionRatio = (byte) newRatio;
+        return true;
+    }
+
+    /**
+     * Save and send to the clients the new insertion ratios of a group of control rods.
+     * Each chunk is marked dirty only once and, unlike markDirty(), no comparators updates are triggered.
+     * All the block updates are sent in the same tick, so the server will group them by chunk section
+     *
+     * @param updated the control rods that were changed
+     */
+    private static void onInsertionRatiosChanged(final Set<ReactorControlRodEntity> updated) {
+
+        if (updated.isEmpty()) {
+            return;
+        }
+
+        final Set<Long> dirtyChunks = Sets.newHashSet();
+
+        for (final ReactorControlRodEntity rod : updated) {
+
+            final BlockPos position = rod.getWorldPosition();
+
+            if (dirtyChunks.add(ChunkPos.asLong(position.getX() >> 4, position.getZ() >> 4))) {
+                rod.getPartWorld().ifPresent(world -> world.markChunkDirty(position, rod));
+            }
+        }
+
+        AbstractModBlockEntity.notifyBlockUpdate(updated);
+    }
+
     private boolean setName(final String newName) {
 
         if (Strings.isNullOrEmpty(newName) || this.getName().equals(newName)) {
@@ -290,6 +390,8 @@ public class ReactorControlRodEntity
 
     private String _name;
     private byte _insertionRatio;
+    private List<ReactorFuelRodEntity> _linkedFuelRods;
+    private AxisAlignedBB _renderBoundingBox;
 
     //endregion
 }
@@ -22,6 +22,7 @@ import it.zerono.mods.extremereactors.gamecontent.CommonConstants;
 import it.zerono.mods.extremereactors.gamecontent.Content;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.model.data.ModelTransformers;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.MultiblockReactor;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.OutputControlTarget;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.WasteEjectionSetting;
 import it.zerono.mods.zerocore.lib.IDebugMessages;
 import it.zerono.mods.zerocore.lib.block.TileCommandDispatcher;
@@ -33,6 +34,7 @@ import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.inventory.container.Container;
 import net.minecraft.inventory.container.INamedContainerProvider;
+import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.world.World;
@@ -47,6 +49,7 @@ public class ReactorControllerEntity
     public static String COMMAND_WASTE_AUTOMATIC = "autowaste";
     public static String COMMAND_WASTE_MANUAL = "manualwaste";
     public static String COMMAND_SCRAM = "scram";
+    public static String COMMAND_SET_OUTPUT_CONTROL = "outputcontrol";
 
     @SuppressWarnings("ConstantConditions")
     public ReactorControllerEntity() {
@@ -58,6 +61,7 @@ public class ReactorControllerEntity
                 .addServerHandler(CommonConstants.COMMAND_DEACTIVATE, rce -> rce.setReactorActive(false))
                 .addServerHandler(COMMAND_WASTE_AUTOMATIC, rce -> rce.setWasteEjectionMode(WasteEjectionSetting.Automatic))
                 .addServerHandler(COMMAND_WASTE_MANUAL, rce -> rce.setWasteEjectionMode(WasteEjectionSetting.Manual))
+                .addServerHandler(COMMAND_SET_OUTPUT_CONTROL, ReactorControllerEntity::setOutputControlFromGUI)
 
                 .addServerHandler(COMMAND_SCRAM, ReactorControllerEntity::scram)
                 .build(this)
@@ -193,6 +197,14 @@ public class ReactorControllerEntity
         this.getMultiblockController().ifPresent(c -> c.setWasteEjectionMode(mode));
     }
 
+    private void setOutputControlFromGUI(final CompoundNBT data) {
+
+        if (data.contains("target")) {
+            this.getMultiblockController().ifPresent(c -> c.setOutputControl(
+                    OutputControlTarget.read(data, "target", OutputControlTarget.Disabled), data.getDouble("setpoint")));
+        }
+    }
+
     private void scram() {
 
         this.getMultiblockController().ifPresent(c -> c.setControlRodsInsertionRatio(100));
@@ -27,6 +27,7 @@ import it.zerono.mods.extremereactors.api.reactor.radiation.EnergyConversion;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
 import it.zerono.mods.extremereactors.gamecontent.Content;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.CurveTable;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.FuelRodsLayout;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.IIrradiationSource;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.MultiblockReactor;
@@ -188,7 +189,10 @@ public class ReactorFuelRodEntity
         return super.receiveClientEvent(id, type);
     }
 
-    private void sparkle() {
+    /**
+     * Show the fx of the Fuel Rod being hit by radiation. Must be called on the server thread
+     */
+    public void sparkle() {
         this.forPartWorld(w -> w.addBlockEvent(this.getWorldPosition(), this.getBlockType(), 1, 0));
     }
 
@@ -198,8 +202,23 @@ public class ReactorFuelRodEntity
     @Override
     public void moderateRadiation(IrradiationData irradiationData, RadiationPacket radiation) {
 
+        if (this.moderateRadiationWithoutFx(irradiationData, radiation)) {
+            this.sparkle();
+        }
+    }
+
+    /**
+     * Moderate the radiation passing through the Fuel Rod without showing the fx.
+     * Only the state of the Fuel Rod and of its Reactor is read so it could be called off the server thread
+     *
+     * @param irradiationData the irradiation data to update
+     * @param radiation the radiation passing through the Fuel Rod
+     * @return true if the radiation was moderated and the fx should be shown with {@link #sparkle()}
+     */
+    public boolean moderateRadiationWithoutFx(final IrradiationData irradiationData, final RadiationPacket radiation) {
+
         if (!this.isConnected() || !this.isLinked()) {
-            return;
+            return false;
         }
 
         final double fuelHeat = this.getMultiblockController()
@@ -210,14 +229,29 @@ public class ReactorFuelRodEntity
                 .map(ReactorControlRodEntity::getInsertionPercentage)
                 .orElseThrow(IllegalStateException::new);
 
+        moderateRadiationByFuel(irradiationData, radiation, fuelHeat, controlRodInsertion);
+        return true;
+    }
+
+    /**
+     * Moderate the radiation passing through a linked Fuel Rod
+     *
+     * @param irradiationData the irradiation data to update
+     * @param radiation the radiation passing through the Fuel Rod
+     * @param fuelHeat the current fuel heat of the Reactor
+     * @param controlRodInsertion the insertion of the Control Rod linked to the Fuel Rod, from 0 to 1
+     */
+    public static void moderateRadiationByFuel(final IrradiationData irradiationData, final RadiationPacket radiation,
+                                               final double fuelHeat, final float controlRodInsertion) {
+
         // Fuel absorptiveness is determined by control rod + a heat modifier.
         // Starts at 1 and decays towards 0.05, reaching 0.6 at 1000 and just under 0.2 at 2000. Inflection point at about 500-600.
         // Harder radiation makes absorption more difficult.
-        final float baseAbsorption = (float)(1.0 - (0.95 * Math.exp(-10 * Math.exp(-0.0022 * fuelHeat)))) *
-                (1f - (radiation.hardness / this.getFuelHardnessDivisor()));
+        final float baseAbsorption = (float)(1.0 - (0.95 * FUEL_ABSORPTION_HEAT_PENALTY.evaluate(fuelHeat))) *
+                (1f - (radiation.hardness / getFuelHardnessDivisor()));
 
         // Some fuels are better at absorbing radiation than others
-        final float scaledAbsorption = Math.min(1f, baseAbsorption * this.getFuelAbsorptionCoefficient());
+        final float scaledAbsorption = Math.min(1f, baseAbsorption * getFuelAbsorptionCoefficient());
 
         // Control rods increase total neutron absorption, but decrease the total neutrons which fertilize the fuel
         // Absorb up to 50% better with control rods inserted.
@@ -227,7 +261,7 @@ public class ReactorFuelRodEntity
         final float radiationAbsorbed = (scaledAbsorption + controlRodBonus) * radiation.intensity;
         final float fertilityAbsorbed = (scaledAbsorption - controlRodPenalty) * radiation.intensity;
 
-        float fuelModerationFactor = this.getFuelModerationFactor();
+        float fuelModerationFactor = getFuelModerationFactor();
 
         // Full insertion doubles the moderation factor of the fuel as well as adding its own level
         fuelModerationFactor += fuelModerationFactor * controlRodInsertion + controlRodInsertion;
@@ -238,9 +272,6 @@ public class ReactorFuelRodEntity
         // Being irradiated both heats up the fuel and also enhances its fertility
         irradiationData.fuelEnergyAbsorption += radiationAbsorbed * EnergyConversion.ENERGY_PER_RADIATION_UNIT;
         irradiationData.fuelAbsorbedRadiation += fertilityAbsorbed;
-
-        // fx
-        this.sparkle();
     }
 
     //endregion
@@ -287,20 +318,20 @@ public class ReactorFuelRodEntity
 
     //TODO Fuel Registry
     // 1, upwards. How well does this fuel moderate, but not stop, radiation? Anything under 1.5 is "poor", 2-2.5 is "good", above 4 is "excellent".
-    private float getFuelModerationFactor() {
+    private static float getFuelModerationFactor() {
         return 1.5f;
     }
 
     //TODO Fuel Registry
     // 0..1. How well does this fuel absorb radiation?
-    private float getFuelAbsorptionCoefficient() {
+    private static float getFuelAbsorptionCoefficient() {
         // TODO: Lookup type of fuel and getValue data from there
         return 0.5f;
     }
 
     //TODO Fuel Registry
     // Goes up from 1. How tolerant is this fuel of hard radiation?
-    private float getFuelHardnessDivisor() {
+    private static float getFuelHardnessDivisor() {
         return 1.0f;
     }
 
@@ -308,6 +339,9 @@ public class ReactorFuelRodEntity
         return ModeratorsRegistry.getFrom(blockState).orElse(Moderator.AIR).getHeatConductivity();
     }
 
+    private static final CurveTable FUEL_ABSORPTION_HEAT_PENALTY = CurveTable.of("fuel absorption heat penalty", 0, 8192, 4096, 1e-6,
+            fuelHeat -> Math.exp(-10 * Math.exp(-0.0022 * fuelHeat)));
+
     @Nullable
     private ReactorControlRodEntity _controlRod;
 
@@ -28,6 +28,7 @@ import it.zerono.mods.extremereactors.gamecontent.Content;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.IFuelSource;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.MultiblockReactor;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.ReactantHelper;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.SolidReactantProducts;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.container.ReactorSolidAccessPortContainer;
 import it.zerono.mods.zerocore.lib.CodeHelper;
 import it.zerono.mods.zerocore.lib.DebuggableHelper;
@@ -47,6 +48,7 @@ import net.minecraft.inventory.container.Container;
 import net.minecraft.inventory.container.INamedContainerProvider;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
@@ -58,11 +60,10 @@ import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
-import net.minecraftforge.items.ItemHandlerHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.List;
+import java.util.Optional;
 
 public class ReactorSolidAccessPortEntity
         extends AbstractReactorEntity
@@ -75,10 +76,19 @@ public class ReactorSolidAccessPortEntity
 
         super(Content.TileEntityTypes.REACTOR_SOLID_ACCESSPORT.get());
         this.setIoDirection(IoDirection.Input);
-        this._fuelInventory = new TileEntityItemStackHandler(this, 1);
+        this._fuelInventory = new TileEntityItemStackHandler(this, 1) {
+
+            @Override
+            protected void onContentsChanged(final int slot) {
+
+                super.onContentsChanged(slot);
+                ReactorSolidAccessPortEntity.this.requestRefueling();
+            }
+        };
         this._wasteInventory = new TileEntityItemStackHandler(this, 1);
         this._fuelCapability = LazyOptional.of(this::createFuelCapability);
         this._wasteCapability = LazyOptional.of(this::createWasteCapability);
+        this._itemPipeline = new SolidAccessPortItemPipeline(this::getNeighborCapability);
 
         this.setCommandDispatcher(TileCommandDispatcher.<ReactorSolidAccessPortEntity>builder()
                 .addServerHandler(CommonConstants.COMMAND_SET_INPUT, tile -> tile.setIoDirection(IoDirection.Input))
@@ -144,6 +154,24 @@ public class ReactorSolidAccessPortEntity
     }
 */
 
+    /**
+     * Move the waste in this port to the inventory next to it, if any.
+     * While that inventory stay full, the attempts to do so are delayed
+     */
+    public void distributeItems() {
+
+        if (this.getIoDirection().isInput()) {
+            return;
+        }
+
+        this.callOnLogicalServer(() -> this.getPartWorld().ifPresent(world -> {
+
+            if (this._itemPipeline.push(world, this._wasteInventory, 0)) {
+                this.markChunkDirty();
+            }
+        }));
+    }
+
     /**
      * Called when stuff has been placed in the access port
      */
@@ -225,8 +253,11 @@ public class ReactorSolidAccessPortEntity
         // If we have an output item, try to produce more of it, given its mapping
         if (!outputStack.isEmpty()) {
 
-            // Find matching mapping
-            final IMapping<ResourceLocation, Reactant> mapping = ReactantMappingsRegistry.getFromSolid(outputStack).orElse(null);
+            // Find matching mapping, looking up the tags only if the item is not one of the known products of the reactant
+            final IMapping<ResourceLocation, Reactant> mapping = SolidReactantProducts.get(reactant)
+                    .find(outputStack.getItem())
+                    .<IMapping<ResourceLocation, Reactant>>map(product -> product.FromSolid)
+                    .orElseGet(() -> ReactantMappingsRegistry.getFromSolid(outputStack).orElse(null));
 
             if (null == mapping || !reactant.equals(mapping.getProduct())) {
                 // The items in the output slot are not compatible with the Reactant
@@ -260,35 +291,31 @@ public class ReactorSolidAccessPortEntity
         We have no items in the output slot. We need to figure out candidate mappings.
         Below here, we're using the reactant >> source mappings. This means that source == reactant, and product == item.
         */
-        IMapping<Reactant, ResourceLocation> bestMapping = null;
-        final List<IMapping<Reactant, ResourceLocation>> mappings = ReactantMappingsRegistry.getToSolid(reactant).orElse(null);
+        SolidReactantProducts.Product bestProduct = null;
+        int bestReactantAmount = 0;
 
-        if (null != mappings) {
+        for (final SolidReactantProducts.Product product : SolidReactantProducts.get(reactant).getProducts()) {
 
-            int bestReactantAmount = 0;
+            // How much product can we produce?
+            final int potentialProducts = product.ToSolid.getProductAmount(amount);
 
-            for (final IMapping<Reactant, ResourceLocation> mapping: mappings) {
+            // And how much reactant will that consume?
+            final int potentialReactant = product.ToSolid.getSourceAmount(potentialProducts);
 
-                // How much product can we produce?
-                final int potentialProducts = mapping.getProductAmount(amount);
+            if (null == bestProduct || bestReactantAmount < potentialReactant) {
 
-                // And how much reactant will that consume?
-                final int potentialReactant = mapping.getSourceAmount(potentialProducts);
-
-                if (null == bestMapping || bestReactantAmount < potentialReactant) {
-
-                    bestMapping = mapping;
-                    bestReactantAmount = potentialReactant;
-                }
+                bestProduct = product;
+                bestReactantAmount = potentialReactant;
             }
         }
 
-        if (null == bestMapping) {
+        if (null == bestProduct) {
 
             Log.LOGGER.warn(Log.REACTOR, "There are no mapped item types for reactant {}. Nothing to emit here.", reactant);
             return 0;
         }
 
+        final IMapping<Reactant, ResourceLocation> bestMapping = bestProduct.ToSolid;
         int itemsToProduce = Math.min(bestMapping.getProductAmount(amount), outputStackMaxSize);
 
         if (itemsToProduce <= 0) {
@@ -301,16 +328,7 @@ public class ReactorSolidAccessPortEntity
 
         itemsToProduce = bestMapping.getProductAmount(reactantConsumed);
 
-        final ItemStack newItem = ReactantMappingsRegistry.getSolidStackFrom(bestMapping, 1);
-
-        if (newItem.isEmpty()) {
-
-            Log.LOGGER.warn(Log.REACTOR, "Can't create a stack from tag {}. Nothing to emit here.", bestMapping.getProduct());
-            return 0;
-        }
-
-        ItemHelper.stackSetSize(newItem, itemsToProduce);
-        this._wasteInventory.setStackInSlot(0, newItem);
+        this._wasteInventory.setStackInSlot(0, ItemHelper.stackFrom(bestProduct.Item, itemsToProduce));
         this.onItemsReceived();
 
         return reactantConsumed;
@@ -359,6 +377,7 @@ public class ReactorSolidAccessPortEntity
                 () -> {
                     this.notifyOutwardNeighborsOfStateChange();
                     this.distributeItems();
+                    this.requestRefueling();
                     this.markDirty();
                 },
                 this::markForRenderUpdate
@@ -387,6 +406,8 @@ public class ReactorSolidAccessPortEntity
      */
     @Override
     public void onNeighborBlockChanged(BlockState state, BlockPos neighborPosition, boolean isMoving) {
+
+        this.onOutwardNeighborChanged(neighborPosition);
         this.requestClientRenderUpdate();
     }
 
@@ -398,6 +419,8 @@ public class ReactorSolidAccessPortEntity
      */
     @Override
     public void onNeighborTileChanged(BlockState state, BlockPos neighborPosition) {
+
+        this.onOutwardNeighborChanged(neighborPosition);
         this.requestClientRenderUpdate();
     }
 
@@ -472,6 +495,7 @@ public class ReactorSolidAccessPortEntity
     public void onPostMachineAssembled(MultiblockReactor controller) {
 
         super.onPostMachineAssembled(controller);
+        this._itemPipeline.invalidate();
         this.listenForControllerDataUpdates();
     }
 
@@ -502,6 +526,7 @@ public class ReactorSolidAccessPortEntity
         super.remove();
         this._fuelCapability.invalidate();
         this._wasteCapability.invalidate();
+        this._itemPipeline.invalidate();
     }
 
     //endregion
@@ -526,39 +551,42 @@ public class ReactorSolidAccessPortEntity
         return Optional.empty();
     }*/
 
-    private void distributeItems() {
-/*
-        final World world = this.getWorld();
-        final Direction myDirection = this.getOutwardDirection().orElse(null);
-
-        if (null == world || this.calledByLogicalClient() || null == myDirection || this.getIoDirection().isInput()) {
-            return;
-        }
-
-        WorldHelper.getTile(world, this.getWorldPosition().offset(myDirection))
-                .map(te -> te.getCapability(ITEM_HANDLER_CAPABILITY, myDirection.getOpposite()))
-                .ifPresent(cap -> cap.ifPresent(itemHandler -> {
+    /**
+     * Ask the Reactor to use the fuel in this port on its next refueling cycle
+     */
+    private void requestRefueling() {
+        this.callOnLogicalServer(() -> this.getMultiblockController().ifPresent(c -> c.requestRefueling(this)));
+    }
 
-                    this.setStack(ReactantType.Waste, ItemHandlerHelper.insertItem(itemHandler, this.getStack(ReactantType.Waste), false));
-                    this.markChunkDirty();
-                }));
-*/
-        if (this.getIoDirection().isInput()) {
-            return;
-        }
+    private LazyOptional<IItemHandler> getNeighborCapability() {
 
-        this.callOnLogicalServer(() -> this.getNeighborCapability().ifPresent(itemHandler -> {
+        this._outwardNeighbor = this.getOutwardNeighbor().orElse(null);
 
-                this.setStack(ReactantType.Waste, ItemHandlerHelper.insertItem(itemHandler, this.getStack(ReactantType.Waste), false));
-                this.markChunkDirty();
-        }));
+        return CodeHelper.optionalFlatMap(this.getOutwardDirection(), Optional.ofNullable(this._outwardNeighbor),
+                (direction, te) -> te.getCapability(ITEM_HANDLER_CAPABILITY, direction.getOpposite()))
+                .orElse(LazyOptional.empty());
     }
 
-    private LazyOptional<IItemHandler> getNeighborCapability() {
+    private Optional<TileEntity> getOutwardNeighbor() {
         return CodeHelper.optionalFlatMap(this.getPartWorld(), this.getOutwardDirection(),
-                (world, direction) -> WorldHelper.getTile(world, this.getWorldPosition().offset(direction))
-                        .map(te -> te.getCapability(ITEM_HANDLER_CAPABILITY, direction.getOpposite())))
-                .orElse(LazyOptional.empty());
+                (world, direction) -> WorldHelper.getTile(world, this.getWorldPosition().offset(direction)));
+    }
+
+    /**
+     * Forget the neighbor inventory only if the tile entity in front of the port was replaced. Any other change
+     * (comparators updates included) is either irrelevant or reported by the capability invalidation listener
+     *
+     * @param neighborPosition position of the neighbor that changed
+     */
+    private void onOutwardNeighborChanged(final BlockPos neighborPosition) {
+
+        final boolean outward = this.getOutwardDirection()
+                .map(direction -> this.getWorldPosition().offset(direction).equals(neighborPosition))
+                .orElse(false);
+
+        if (outward && this.getOutwardNeighbor().orElse(null) != this._outwardNeighbor) {
+            this._itemPipeline.invalidate();
+        }
     }
 
     @Nonnull
@@ -609,6 +637,8 @@ public class ReactorSolidAccessPortEntity
     private final TileEntityItemStackHandler _wasteInventory;
     private final LazyOptional<IItemHandlerModifiable> _fuelCapability;
     private final LazyOptional<IItemHandlerModifiable> _wasteCapability;
+    private final SolidAccessPortItemPipeline _itemPipeline;
+    private TileEntity _outwardNeighbor;
     private IoDirection _direction;
 
     //endregion
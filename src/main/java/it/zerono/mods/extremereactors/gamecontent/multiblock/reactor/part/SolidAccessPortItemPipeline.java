@@ -0,0 +1,172 @@
+/*
+ *
+ * SolidAccessPortItemPipeline.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.common.util.NonNullSupplier;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.IItemHandlerModifiable;
+
+import javax.annotation.Nullable;
+
+/**
+ * Move the items of a Solid Access Port to the inventory next to it.
+ *
+ * The neighbor {@link IItemHandler} is looked up once and then cached until the capability is invalidated or
+ * the port is told that its neighbors changed. While the neighbor inventory stay full, the transfer attempts
+ * are spaced out more and more, up to {@link #MAX_BACKOFF} ticks
+ */
+final class SolidAccessPortItemPipeline {
+
+    SolidAccessPortItemPipeline(final NonNullSupplier<LazyOptional<IItemHandler>> neighborLookup) {
+
+        this._neighborLookup = neighborLookup;
+        this.invalidate();
+    }
+
+    /**
+     * Forget the cached neighbor inventory and retry the next transfer immediately
+     */
+    void invalidate() {
+
+        this._neighbor = null;
+        this._lastSlot = 0;
+        this.resetBackoff();
+    }
+
+    /**
+     * Try to move the content of a slot to the neighbor inventory
+     *
+     * @param world the world of the port
+     * @param source the inventory holding the items to move
+     * @param sourceSlot the slot holding the items to move
+     * @return true if any item was moved
+     */
+    boolean push(final World world, final IItemHandlerModifiable source, final int sourceSlot) {
+
+        final ItemStack stack = source.getStackInSlot(sourceSlot);
+
+        if (stack.isEmpty() || world.getGameTime() < this._nextAttempt) {
+            return false;
+        }
+
+        final IItemHandler destination = this.getNeighbor();
+
+        if (null == destination) {
+            return false;
+        }
+
+        final ItemStack remainder = this.insert(destination, stack);
+
+        if (remainder.getCount() == stack.getCount()) {
+
+            // the destination is full: wait a bit longer before trying again
+            this._nextAttempt = world.getGameTime() + this._backoff;
+            this._backoff = Math.min(this._backoff * 2, MAX_BACKOFF);
+            return false;
+        }
+
+        source.setStackInSlot(sourceSlot, remainder);
+        this.resetBackoff();
+        return true;
+    }
+
+    //region internals
+
+    @Nullable
+    private IItemHandler getNeighbor() {
+
+        if (null == this._neighbor) {
+
+            final LazyOptional<IItemHandler> neighbor = this._neighborLookup.get();
+
+            // LazyOptional listeners cannot be removed: listen only once to each capability instance we get
+
+            if (neighbor != this._listenedNeighbor) {
+
+                this._listenedNeighbor = neighbor;
+                neighbor.addListener(invalidated -> {
+
+                    // ignore stale listeners from a previous neighbor. An empty capability call the listener
+                    // right away, before it is cached, so it is ignored too
+                    if (this._neighbor == invalidated) {
+                        this.invalidate();
+                    }
+                });
+            }
+
+            this._neighbor = neighbor;
+        }
+
+        return this._neighbor.orElse(null);
+    }
+
+    private ItemStack insert(final IItemHandler destination, final ItemStack stack) {
+
+        final int slots = destination.getSlots();
+
+        if (slots <= 0) {
+            return stack;
+        }
+
+        // most of the time the slot that accepted items the last time will take the whole stack in one call
+
+        final int firstSlot = this._lastSlot < slots ? this._lastSlot : 0;
+        ItemStack remainder = this.insert(destination, firstSlot, stack);
+
+        for (int slot = 0; slot < slots && !remainder.isEmpty(); ++slot) {
+            if (slot != firstSlot) {
+                remainder = this.insert(destination, slot, remainder);
+            }
+        }
+
+        return remainder;
+    }
+
+    private ItemStack insert(final IItemHandler destination, final int slot, final ItemStack stack) {
+
+        final ItemStack remainder = destination.insertItem(slot, stack, false);
+
+        if (remainder.getCount() != stack.getCount()) {
+            this._lastSlot = slot;
+        }
+
+        return remainder;
+    }
+
+    private void resetBackoff() {
+
+        this._nextAttempt = 0;
+        this._backoff = MIN_BACKOFF;
+    }
+
+    private static final int MIN_BACKOFF = 10;
+    private static final int MAX_BACKOFF = 400;
+
+    private final NonNullSupplier<LazyOptional<IItemHandler>> _neighborLookup;
+    private LazyOptional<IItemHandler> _neighbor;
+    private LazyOptional<IItemHandler> _listenedNeighbor;
+    private int _lastSlot;
+    private long _nextAttempt;
+    private int _backoff;
+
+    //endregion
+}
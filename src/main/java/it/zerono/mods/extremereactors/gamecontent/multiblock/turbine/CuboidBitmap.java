@@ -0,0 +1,174 @@
+/*
+ *
+ * CuboidBitmap.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Arrays;
+
+/**
+ * A set of positions inside a cuboid region backed by a bitmap with one bit per block
+ * Positions outside the region are never part of the set
+ */
+final class CuboidBitmap {
+
+    public CuboidBitmap() {
+
+        this._bits = new long[0];
+        this._size = 0;
+        this._minX = this._minY = this._minZ = 0;
+        this._sizeX = this._sizeY = this._sizeZ = 0;
+    }
+
+    /**
+     * Empty the set and change the region it cover. The backing storage is reused if it's big enough
+     *
+     * @param min the minimum coordinates of the region
+     * @param max the maximum coordinates of the region
+     */
+    public void resize(final BlockPos min, final BlockPos max) {
+
+        this._minX = Math.min(min.getX(), max.getX());
+        this._minY = Math.min(min.getY(), max.getY());
+        this._minZ = Math.min(min.getZ(), max.getZ());
+        this._sizeX = Math.abs(max.getX() - min.getX()) + 1;
+        this._sizeY = Math.abs(max.getY() - min.getY()) + 1;
+        this._sizeZ = Math.abs(max.getZ() - min.getZ()) + 1;
+
+        final int words = (this._sizeX * this._sizeY * this._sizeZ + 63) >>> 6;
+
+        if (this._bits.length < words) {
+            this._bits = new long[words];
+        } else {
+            Arrays.fill(this._bits, 0, words, 0L);
+        }
+
+        this._size = 0;
+    }
+
+    public void clear() {
+
+        if (this._size > 0) {
+
+            Arrays.fill(this._bits, 0L);
+            this._size = 0;
+        }
+    }
+
+    public int size() {
+        return this._size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this._size;
+    }
+
+    public boolean contains(final BlockPos position) {
+        return this.contains(position.getX(), position.getY(), position.getZ());
+    }
+
+    public boolean contains(final int x, final int y, final int z) {
+
+        final int index = this.indexOf(x, y, z);
+
+        return index >= 0 && 0 != (this._bits[index >>> 6] & (1L << index));
+    }
+
+    /**
+     * Add a position to the set
+     *
+     * @param position the position to add
+     * @return true if the position was added, false if it was already in the set or if it's outside the region
+     */
+    public boolean add(final BlockPos position) {
+        return this.add(position.getX(), position.getY(), position.getZ());
+    }
+
+    public boolean add(final int x, final int y, final int z) {
+
+        final int index = this.indexOf(x, y, z);
+
+        if (index < 0) {
+            return false;
+        }
+
+        final long mask = 1L << index;
+        final long word = this._bits[index >>> 6];
+
+        if (0 != (word & mask)) {
+            return false;
+        }
+
+        this._bits[index >>> 6] = word | mask;
+        ++this._size;
+        return true;
+    }
+
+    /**
+     * Remove a position from the set
+     *
+     * @param position the position to remove
+     * @return true if the position was in the set, false otherwise
+     */
+    public boolean remove(final BlockPos position) {
+        return this.remove(position.getX(), position.getY(), position.getZ());
+    }
+
+    public boolean remove(final int x, final int y, final int z) {
+
+        final int index = this.indexOf(x, y, z);
+
+        if (index < 0) {
+            return false;
+        }
+
+        final long mask = 1L << index;
+        final long word = this._bits[index >>> 6];
+
+        if (0 == (word & mask)) {
+            return false;
+        }
+
+        this._bits[index >>> 6] = word & ~mask;
+        --this._size;
+        return true;
+    }
+
+    //region internals
+
+    private int indexOf(int x, int y, int z) {
+
+        x -= this._minX;
+        y -= this._minY;
+        z -= this._minZ;
+
+        if (x < 0 || y < 0 || z < 0 || x >= this._sizeX || y >= this._sizeY || z >= this._sizeZ) {
+            return -1;
+        }
+
+        return (x * this._sizeY + y) * this._sizeZ + z;
+    }
+
+    private long[] _bits;
+    private int _size;
+    private int _minX, _minY, _minZ;
+    private int _sizeX, _sizeY, _sizeZ;
+
+    //endregion
+}
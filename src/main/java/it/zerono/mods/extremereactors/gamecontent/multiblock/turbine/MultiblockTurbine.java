@@ -20,12 +20,21 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.zerono.mods.extremereactors.Log;
 import it.zerono.mods.extremereactors.api.turbine.CoilMaterial;
 import it.zerono.mods.extremereactors.api.turbine.CoilMaterialRegistry;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.*;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.metrics.MachineMetrics;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryHistory;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryLog;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryRecord;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryResolution;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTap;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTapHandler;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.AbstractReplayRecorder;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.IReplayRecordable;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.ReplayRecordings;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.part.*;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.rotor.RotorComponentType;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.variant.IMultiblockTurbineVariant;
@@ -37,7 +46,6 @@ import it.zerono.mods.zerocore.lib.data.IoDirection;
 import it.zerono.mods.zerocore.lib.data.stack.AllowedHandlerAction;
 import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
 import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
-import it.zerono.mods.zerocore.lib.multiblock.AbstractMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.IMultiblockController;
 import it.zerono.mods.zerocore.lib.multiblock.IMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.ITickableMultiblockPart;
@@ -46,6 +54,7 @@ import it.zerono.mods.zerocore.lib.world.WorldHelper;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.profiler.IProfiler;
 import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
@@ -54,6 +63,8 @@ import net.minecraft.world.World;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.fml.LogicalSide;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -61,7 +72,14 @@ import java.util.stream.Collectors;
 
 public class MultiblockTurbine
         extends AbstractGeneratorMultiblockController<MultiblockTurbine, IMultiblockTurbineVariant>
-        implements ITurbineMachine, ITurbineEnvironment, ITurbineWriter, IDebuggable {
+        implements ITurbineMachine, ITurbineEnvironment, ITurbineWriter, IReplayRecordable, IDebuggable {
+
+    public static final String SYNC_KEY_ACTIVE = "active";
+    public static final String SYNC_KEY_FLUID_CONTAINER = "fluidcontainer";
+    public static final String SYNC_KEY_DATA = "internaldata";
+    public static final String SYNC_KEY_RPM_RATE = "rpmrate";
+    public static final String SYNC_KEY_TELEMETRY = "telemetry";
+    public static final String SYNC_KEY_ASSEMBLY_CACHE = "assemblycache";
 
     public MultiblockTurbine(final World world, final IMultiblockTurbineVariant variant) {
 
@@ -72,6 +90,12 @@ public class MultiblockTurbine
 
         // Minimum 10 RPM difference for slow updates, if change > 100 RPM, update every 5 ticks
         this._rpmUpdateTracker = new RpmUpdateTracker(100, 5, 10.0f, 100.0f);
+        this._extrapolatedRotorSpeed = new ExtrapolatedValue();
+        this._telemetry = new TelemetryHistory<>(TurbineTelemetryChannel.class);
+        this._savedDataCache = new SavedDataCache();
+        this._assemblyCache = new AssemblyCache(this::computeAssemblyHash);
+        this._lastSyncedTelemetryVersion = -1;
+        this._ticksSinceLastTelemetryLog = 0;
         this._active = false;
 
         this._attachedTickables = Sets.newHashSet();
@@ -81,9 +105,15 @@ public class MultiblockTurbine
         this._rotorBladesCount = 0;
         this._attachedVaporPorts = Sets.newHashSet();
         this._attachedOutgoingVaporPorts = Sets.newHashSet();
-        this._validationFoundCoils = Sets.newHashSet();
+        this._validationFoundCoils = new CuboidBitmap();
+        this._validationShafts = new CuboidBitmap();
+        this._validationBlades = new CuboidBitmap();
+        this._validationCoilStats = new TurbineData.CoilStats();
+        this._validationCoilPositions = new LongArrayList();
 
         this._logic = new TurbineLogic(this, this._data, this.getEnergyBuffer());
+        this._metrics = new MachineMetrics("turbine", this);
+        this._replayRecorder = null;
     }
 
     /**
@@ -95,6 +125,7 @@ public class MultiblockTurbine
         this.setMachineActive(false);
         this._fluidContainer.reset();
         this._data.reset();
+        this._logic.leaveEquilibrium();
         this.getEnergyBuffer().setEnergyStored(0);
 
         this.resizeFluidContainer();
@@ -176,6 +207,10 @@ public class MultiblockTurbine
 
         final IProfiler profiler = this.getWorld().getProfiler();
 
+        if (null != this._replayRecorder) {
+            this._replayRecorder.beginPhase();
+        }
+
         // Distribute available power equally to all the Power Taps
         profiler.startSection("Power");
         this.distributeEnergyEqually();
@@ -185,6 +220,10 @@ public class MultiblockTurbine
         this.distributeCoolantEqually();
 
         profiler.endSection();
+
+        if (null != this._replayRecorder) {
+            this._replayRecorder.endPhase(AbstractReplayRecorder.PHASE_OUTPUT);
+        }
     }
 
     //endregion
@@ -304,6 +343,26 @@ public class MultiblockTurbine
         }
     }
 
+    /**
+     * Client side only: estimate the current rotor speed from the last update received from the server
+     *
+     * @param partialTicks the fraction of the current tick that already elapsed
+     * @return the estimated rotor speed, in RPM
+     */
+    public float extrapolateRotorSpeed(final float partialTicks) {
+        return (float)Math.max(0, this._extrapolatedRotorSpeed.get(this.getWorld().getGameTime(), partialTicks));
+    }
+
+    /**
+     * Get the recent history of the main values of this Turbine.
+     * On the client side, only the second and minute resolutions are available and only while the controller screen is open
+     *
+     * @return the telemetry history
+     */
+    public TelemetryHistory<TurbineTelemetryChannel> getTelemetry() {
+        return this._telemetry;
+    }
+
     public int getRotorBladesCount() {
         return this._rotorBladesCount;
     }
@@ -366,16 +425,26 @@ public class MultiblockTurbine
 
         super.syncDataFrom(data, syncReason);
 
-        if (data.contains("active")) {
-            this._active = data.getBoolean("active");
+        if (data.contains(SYNC_KEY_ACTIVE)) {
+            this._active = data.getBoolean(SYNC_KEY_ACTIVE);
         }
 
-        this.syncChildDataEntityFrom(this._fluidContainer, "fluidcontainer", data, syncReason);
-        this.syncChildDataEntityFrom(this._data, "internaldata", data, syncReason);
+        this.syncChildDataEntityFrom(this._fluidContainer, SYNC_KEY_FLUID_CONTAINER, data, syncReason);
+        this.syncChildDataEntityFrom(this._data, SYNC_KEY_DATA, data, syncReason);
+
+        if (!syncReason.isNetworkUpdate()) {
+            this._assemblyCache.syncDataFrom(data, SYNC_KEY_ASSEMBLY_CACHE);
+        }
 
         if (syncReason.isFullSync()) {
             this._rpmUpdateTracker.setValue(this.getRotorSpeed());
         }
+
+        if (syncReason.isNetworkUpdate()) {
+
+            this._extrapolatedRotorSpeed.sync(this.getRotorSpeed(), data.getDouble(SYNC_KEY_RPM_RATE), this.getWorld().getGameTime());
+            this.syncChildDataEntityFrom(this._telemetry, SYNC_KEY_TELEMETRY, data, syncReason);
+        }
     }
 
     /**
@@ -389,9 +458,27 @@ public class MultiblockTurbine
 
         super.syncDataTo(data, syncReason);
 
-        data.putBoolean("active", this.isMachineActive());
-        this.syncChildDataEntityTo(this._fluidContainer, "fluidcontainer", data, syncReason);
-        this.syncChildDataEntityTo(this._data, "internaldata", data, syncReason);
+        data.putBoolean(SYNC_KEY_ACTIVE, this.isMachineActive());
+        this._savedDataCache.syncChildDataEntityTo(this._fluidContainer, SYNC_KEY_FLUID_CONTAINER, data, syncReason);
+        this.syncChildDataEntityTo(this._data, SYNC_KEY_DATA, data, syncReason);
+
+        if (!syncReason.isNetworkUpdate() && this.isAssembled()) {
+            this._assemblyCache.syncDataTo(data, SYNC_KEY_ASSEMBLY_CACHE);
+        }
+
+        if (syncReason.isNetworkUpdate()) {
+
+            this._extrapolatedRotorSpeed.sample(this.getRotorSpeed(), this.getWorld().getGameTime());
+            data.putDouble(SYNC_KEY_RPM_RATE, this._extrapolatedRotorSpeed.getRate());
+
+            // the telemetry history only change once per second: don't send it again if nothing new was recorded
+
+            if (this._telemetry.getVersion() != this._lastSyncedTelemetryVersion) {
+
+                this.syncChildDataEntityTo(this._telemetry, SYNC_KEY_TELEMETRY, data, syncReason);
+                this._lastSyncedTelemetryVersion = this._telemetry.getVersion();
+            }
+        }
 
         return data;
     }
@@ -445,7 +532,9 @@ public class MultiblockTurbine
 
     @Override
     protected void sendClientUpdates() {
+
         this.sendUpdates();
+        this._metrics.onPacketSent();
     }
 
     //endregion
@@ -465,26 +554,44 @@ public class MultiblockTurbine
         final IProfiler profiler = this.getWorld().getProfiler();
 
         profiler.startSection("Extreme Reactors|Turbine update"); // main section
+        this._metrics.beginTick();
 
         //////////////////////////////////////////////////////////////////////////////
         // GENERATE ENERGY / COOLANT
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.startSection("Generate");
-        this._logic.update();
+        this._metrics.begin(MachineMetrics.Section.Generate);
+
+        if (null != this._replayRecorder && !this._replayRecorder.beginTick(this.getWorld().getGameTime())) {
+            this.stopReplayRecording();
+        }
+
+        if (TurbineSimulationSystem.isEnabled() && null == this._replayRecorder) {
+            // the rotor simulation will run at the start of the next world tick, before the energy it generates is sent out
+            TurbineSimulationSystem.schedule(this);
+        } else {
+            this._logic.update(profiler);
+        }
 
         //////////////////////////////////////////////////////////////////////////////
         // SEND POWER/GAS OUT
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("Distribute"); // close "Generate"
+        this._metrics.begin(MachineMetrics.Section.Distribute);
         this.performOutputCycle();
 
+        if (null != this._replayRecorder) {
+            this._replayRecorder.endTick();
+        }
+
         //////////////////////////////////////////////////////////////////////////////
         // TICKABLES
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("Tickables");
+        this._metrics.begin(MachineMetrics.Section.Tickables);
         this._attachedTickables.forEach(ITickableMultiblockPart::onMultiblockServerTick);
 
         //////////////////////////////////////////////////////////////////////////////
@@ -492,6 +599,7 @@ public class MultiblockTurbine
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("Updates");
+        this._metrics.begin(MachineMetrics.Section.Updates);
         this.checkAndSendClientUpdates();
 
         //////////////////////////////////////////////////////////////////////////////
@@ -499,11 +607,16 @@ public class MultiblockTurbine
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.endStartSection("RpmTracker");
+        this._metrics.end();
 
         if (this._rpmUpdateTracker.shouldUpdate(this.getRotorSpeed())) {
             this.markReferenceCoordDirty();
         }
 
+        this._metrics.endTick(this._data.getEnergyGeneratedLastTick());
+        this.recordTelemetry();
+        this.logTelemetry();
+
         profiler.endSection(); // RpmTracker
         profiler.endSection(); // main section
 
@@ -570,6 +683,8 @@ public class MultiblockTurbine
     @Override
     protected void onMachineAssembled() {
 
+        this.clearExpectedExtent();
+
         // set the output EnergySystem
         if (this._attachedPowerTaps.isEmpty()) {
             this.setOutputEnergySystem(INTERNAL_ENERGY_SYSTEM);
@@ -582,7 +697,7 @@ public class MultiblockTurbine
         }
 
         // how many blades?
-        this._rotorBladesCount = (int)(this._attachedRotorComponents.stream().filter(c -> c.isTypeOfPart(TurbinePartType.RotorBlade)).count());
+        this._rotorBladesCount = this._validationBladesCount;
 
         // interior visible?
         this.setInteriorInvisible(!this.isAnyPartConnected(part -> part instanceof TurbineGlassEntity));
@@ -597,6 +712,7 @@ public class MultiblockTurbine
 
         this.resizeFluidContainer();
         this.updateRotorAndCoilsParameters();
+        this.callOnLogicalServer(() -> this._assemblyCache.onAssembled(this.createAssemblyCacheData()));
 
         this.callOnLogicalSide(
                 this::markReferenceCoordForUpdate,
@@ -615,12 +731,14 @@ public class MultiblockTurbine
     @Override
     protected void onMachineDisassembled() {
 
+        this.stopReplayRecording();
         this.setMachineActive(false);
 
         // do not call setMachineActive() here
         this._active = false;
 
         this._data.onTurbineDisassembled();
+        this._assemblyCache.onDisassembled();
         this._rpmUpdateTracker.setValue(0f);
 
         this.markMultiblockForRenderUpdate();
@@ -641,25 +759,45 @@ public class MultiblockTurbine
             return false;
         }
 
-        if (!super.isMachineWhole(validatorCallback)) {
+        // Wait for the whole machine to be loaded before running the expensive checks
+
+        if (!this.validateChunksLoaded(validatorCallback)) {
             return false;
         }
 
-        // Check if the the rotor is valid and cache coils positions
+        // Check if the machine has a single power system
 
-        if (!this.validateRotor(this._attachedRotorBearings.get(0), validatorCallback)) {
+        if (!this.validateEnergySystems(validatorCallback)) {
             return false;
         }
 
-        // Check if the machine has a single power system
+        // Skip the validation walks if the structure did not change since the Turbine was saved
 
-        if (!this.validateEnergySystems(validatorCallback)) {
+        if (this.isWithinMaximumSize() && this.restoreAssemblyCache()) {
+            return true;
+        }
+
+        // Reset the rotor and coils figures, they will be collected while validating the machine
+
+        this._validationCoilStats.reset();
+        this._validationCoilPositions.clear();
+        this._validationShaftsCount = this._validationBladesCount = 0;
+
+        // Don't size the coils bitmap for a machine too big to be valid, the base checks will report the error
+
+        if (this.isWithinMaximumSize()) {
+            this.forBoundingBoxCoordinates(this._validationFoundCoils::resize, min -> min, max -> max);
+        } else {
+            this._validationFoundCoils.clear();
+        }
+
+        if (!super.isMachineWhole(validatorCallback)) {
             return false;
         }
 
-        // machine is valid
+        // Check if the the rotor is valid and cache coils positions
 
-        return true;
+        return this.validateRotor(this._attachedRotorBearings.get(0), validatorCallback);
     }
 
     /**
@@ -741,11 +879,15 @@ public class MultiblockTurbine
 
         // is it a valid coil block ?
 
-        if (CoilMaterialRegistry.get(world.getBlockState(position)).isPresent()) {
+        final Optional<CoilMaterial> coil = CoilMaterialRegistry.get(world.getBlockState(position));
 
-            // yes, cache it's position
+        if (coil.isPresent()) {
 
-            _validationFoundCoils.add(position);
+            // yes, cache it's position and account for it in the coils stats
+
+            this._validationFoundCoils.add(x, y, z);
+            this._validationCoilPositions.add(position.toLong());
+            this._validationCoilStats.accept(coil.get());
             return true;
         }
 
@@ -773,6 +915,7 @@ public class MultiblockTurbine
         }
 
         this._data.onAssimilate((((MultiblockTurbine)assimilated)._data));
+        this.assimilateExpectedExtent((MultiblockTurbine)assimilated);
     }
 
     /**
@@ -786,6 +929,7 @@ public class MultiblockTurbine
     @Override
     protected void onAssimilated(IMultiblockController<MultiblockTurbine> assimilator) {
 
+        this.stopReplayRecording();
         this._attachedTickables.clear();
         this._attachedRotorBearings.clear();
         this._rotorBladesCount = 0;
@@ -795,6 +939,87 @@ public class MultiblockTurbine
         this._attachedOutgoingVaporPorts.clear();
     }
 
+    //endregion
+    //region parallel simulation support
+
+    TurbineLogic getLogic() {
+        return this._logic;
+    }
+
+    //endregion
+    //region replay support
+
+    /**
+     * Start recording the ticks of the Turbine. Nothing is done if the Turbine is not assembled or if it's already recording.
+     * The rotor simulation is run inline, instead of at the start of the next world tick, while the Turbine is recording
+     *
+     * @return the file of the new recording, if one was started
+     */
+    @Override
+    public Optional<Path> startReplayRecording() {
+
+        final MinecraftServer server = this.getWorld().getServer();
+
+        if (null != this._replayRecorder || !this.isAssembled() || null == server) {
+            return Optional.empty();
+        }
+
+        final BlockPos position = this.getMinimumCoord().orElse(BlockPos.ZERO);
+
+        try {
+
+            final Path file = ReplayRecordings.newRecordingFile(server, "turbine", position, this.getWorld().getGameTime());
+
+            // the replay always start with the full rotor simulation
+            this._logic.leaveEquilibrium();
+            this._replayRecorder = TurbineReplayRecorder.create(file, this);
+
+            Log.LOGGER.info(Log.TURBINE, "Recording the ticks of the Turbine at {} to {}", position, file);
+            return Optional.of(file);
+
+        } catch (IOException ex) {
+
+            Log.LOGGER.warn(Log.TURBINE, "Unable to start recording the ticks of the Turbine at {}", position, ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stop recording the ticks of the Turbine
+     *
+     * @return the file of the recording, if one was stopped
+     */
+    @Override
+    public Optional<Path> stopReplayRecording() {
+
+        final TurbineReplayRecorder recorder = this._replayRecorder;
+
+        if (null == recorder) {
+            return Optional.empty();
+        }
+
+        this._replayRecorder = null;
+        recorder.close();
+
+        return Optional.of(recorder.getFile());
+    }
+
+    boolean isReplayRecording() {
+        return null != this._replayRecorder;
+    }
+
+    float getRotorEnergy() {
+        return this._data.getRotorEnergy();
+    }
+
+    int getRotorShaftsCount() {
+        return this._validationShaftsCount;
+    }
+
+    TurbineData.CoilStats getCoilStats() {
+        return this._validationCoilStats;
+    }
+
     //endregion
     //region internals
     //region isMachineWhole helpers
@@ -851,17 +1076,20 @@ public class MultiblockTurbine
                 break;
         }
 
-        final Set<BlockPos> shaftsPositions = this._attachedRotorComponents.stream()
-//                .filter(c -> c.isTypeOfPart(TurbinePartType.RotorShaft)) // use isShaft
-                .filter(TurbineRotorComponentEntity::isShaft)
-                .map(AbstractMultiblockPart::getWorldPosition)
-                .collect(Collectors.toSet());
+        final CuboidBitmap shaftsPositions = this._validationShafts;
+        final CuboidBitmap bladesPositions = this._validationBlades;
+
+        shaftsPositions.resize(turbineMin, turbineMax);
+        bladesPositions.resize(turbineMin, turbineMax);
+
+        for (final TurbineRotorComponentEntity component : this._attachedRotorComponents) {
 
-        final Set<BlockPos> bladesPositions = this._attachedRotorComponents.stream()
-//                .filter(c -> c.isTypeOfPart(TurbinePartType.RotorBlade)) // use isBlade
-                .filter(TurbineRotorComponentEntity::isBlade)
-                .map(AbstractMultiblockPart::getWorldPosition)
-                .collect(Collectors.toSet());
+            if (component.isShaft()) {
+                shaftsPositions.add(component.getWorldPosition());
+            } else if (component.isBlade()) {
+                bladesPositions.add(component.getWorldPosition());
+            }
+        }
 
         // Move along the length of the rotor, 1 block at a time
 
@@ -880,6 +1108,8 @@ public class MultiblockTurbine
                 return false;
             }
 
+            ++this._validationShaftsCount;
+
             // Now move out in the 4 rotor normals, looking for blades and coils
 
             BlockPos checkCoord;
@@ -904,6 +1134,7 @@ public class MultiblockTurbine
 
                     bladeFound = encounteredBlades = true;
                     checkCoord = checkCoord.offset(bladeDirection);
+                    ++this._validationBladesCount;
                 }
 
                 // If this block wasn't a blade, check to see if it was a coil
@@ -1024,6 +1255,45 @@ public class MultiblockTurbine
         }
     }
 
+    /**
+     * Turbine UPDATE
+     * Record the current status of the Turbine in the telemetry history
+     */
+    private void recordTelemetry() {
+
+        this._telemetry.record(TurbineTelemetryChannel.RotorSpeed, this.getRotorSpeed());
+        this._telemetry.record(TurbineTelemetryChannel.EnergyGenerated, this._data.getEnergyGeneratedLastTick());
+        this._telemetry.record(TurbineTelemetryChannel.FluidConsumed, this._data.getFluidConsumedLastTick());
+        this._telemetry.commit();
+    }
+
+    /**
+     * Turbine UPDATE
+     * Add a record to the telemetry log of the world, if enabled and it's time to do so
+     */
+    private void logTelemetry() {
+
+        final int interval = TelemetryLog.getInterval();
+
+        if (interval <= 0 || ++this._ticksSinceLastTelemetryLog < interval) {
+            return;
+        }
+
+        final int seconds = interval / 20;
+        final TelemetryRecord record = new TelemetryRecord();
+
+        this._ticksSinceLastTelemetryLog = 0;
+
+        record.MachineType = TelemetryRecord.MACHINE_TURBINE;
+        record.Flags = this.isMachineActive() ? (byte)TelemetryRecord.FLAG_ACTIVE : 0;
+        record.Energy = (float)this.getEnergyBuffer().getEnergyStored();
+        record.RotorSpeed = this.getRotorSpeed();
+        record.Output = (float)this._telemetry.getAverage(TurbineTelemetryChannel.EnergyGenerated, TelemetryResolution.Second, seconds);
+        record.Consumption = (float)this._telemetry.getAverage(TurbineTelemetryChannel.FluidConsumed, TelemetryResolution.Second, seconds);
+
+        TelemetryLog.append(this.getWorld(), this.getReferenceCoord(), record);
+    }
+
     /**
      * Turbine UPDATE
      * Distribute the available gas equally between all the Active Coolant Ports
@@ -1049,11 +1319,89 @@ public class MultiblockTurbine
     }
 
     /**
-     * Recalculate rotor and coil parameters
+     * Recalculate rotor and coil parameters from the figures collected during the last validation
      */
     private void updateRotorAndCoilsParameters() {
-        this.forBoundingBoxCoordinates((min, max) -> this._data.update(this.getEnvironment(), min, max, this.getVariant()),
-                min -> min.add(1, 1, 1), max -> max.add(-1, -1, -1));
+
+        this._data.update(this._validationShaftsCount, this._validationBladesCount, this._validationCoilStats, this.getVariant());
+        this._logic.leaveEquilibrium();
+    }
+
+    /**
+     * @return the figures, collected while validating the Turbine, to remember for the next time the Turbine is loaded
+     */
+    private CompoundNBT createAssemblyCacheData() {
+
+        final CompoundNBT data = new CompoundNBT();
+
+        data.putInt("shafts", this._validationShaftsCount);
+        data.putInt("blades", this._validationBladesCount);
+        data.putFloat("coilsEfficiency", this._validationCoilStats.Efficiency);
+        data.putFloat("coilsBonus", this._validationCoilStats.Bonus);
+        data.putFloat("coilsDrag", this._validationCoilStats.DragCoefficient);
+        data.putInt("coilsSize", this._validationCoilStats.Size);
+        data.putLongArray("coils", this._validationCoilPositions.toLongArray());
+        return data;
+    }
+
+    /**
+     * Restore the figures saved with the Turbine if its structure did not change since it was saved
+     *
+     * @return true if the figures were restored, false otherwise
+     */
+    private boolean restoreAssemblyCache() {
+
+        final Optional<CompoundNBT> cached = this._assemblyCache.restore();
+
+        cached.ifPresent(data -> {
+
+            this._validationShaftsCount = data.getInt("shafts");
+            this._validationBladesCount = data.getInt("blades");
+            this._validationCoilStats.Efficiency = data.getFloat("coilsEfficiency");
+            this._validationCoilStats.Bonus = data.getFloat("coilsBonus");
+            this._validationCoilStats.DragCoefficient = data.getFloat("coilsDrag");
+            this._validationCoilStats.Size = data.getInt("coilsSize");
+            this._validationCoilPositions.clear();
+            this._validationCoilPositions.addElements(0, data.getLongArray("coils"));
+        });
+
+        return cached.isPresent();
+    }
+
+    /**
+     * Hash the structure of the Turbine: the attached parts, rotor included, and the coils found by the last validation.
+     * The rest of the interior is not checked: it can't change while the Turbine is not loaded, unlike the registered
+     * coils the restored coils stats are computed from
+     *
+     * @param data the figures stored in the assembly cache
+     * @return the hash of the structure
+     */
+    private long computeAssemblyHash(final CompoundNBT data) {
+
+        final World world = this.getWorld();
+        final AssemblyCache.Hash hash = this.hashAttachedParts(new AssemblyCache.Hash());
+
+        for (final long position : data.getLongArray("coils")) {
+            hash.addUnordered(position * 31 + getAssemblyFingerprint(world.getBlockState(BlockPos.fromLong(position))));
+        }
+
+        return hash.get();
+    }
+
+    /**
+     * @param state the block state
+     * @return a fingerprint of the block state and of its coil properties
+     */
+    private static long getAssemblyFingerprint(final BlockState state) {
+
+        final AssemblyCache.Hash hash = new AssemblyCache.Hash().add(Block.getStateId(state));
+
+        CoilMaterialRegistry.get(state).ifPresent(c -> hash
+                .add(c.getEfficiency())
+                .add(c.getBonus())
+                .add(c.getEnergyExtractionRate()));
+
+        return hash.get();
     }
 
     private int calculateTurbineVolume() {
@@ -1076,7 +1424,7 @@ public class MultiblockTurbine
                 .collect(Collectors.toCollection(() -> this._attachedOutgoingVaporPorts));
     }
 
-    private static final IFluidContainerAccess FLUID_CONTAINER_ACCESS = new IFluidContainerAccess() {
+    static final IFluidContainerAccess FLUID_CONTAINER_ACCESS = new IFluidContainerAccess() {
 
         @Override
         public AllowedHandlerAction getAllowedActionFor(final FluidType fluidType) {
@@ -1109,9 +1457,14 @@ public class MultiblockTurbine
 
     private final TurbineData _data;
     private final TurbineLogic _logic;
+    private final MachineMetrics _metrics;
     private final IMultiblockTurbineVariant _variant;
     private final FluidContainer _fluidContainer;
     private final RpmUpdateTracker _rpmUpdateTracker;
+    private final ExtrapolatedValue _extrapolatedRotorSpeed;
+    private final TelemetryHistory<TurbineTelemetryChannel> _telemetry;
+    private final SavedDataCache _savedDataCache;
+    private final AssemblyCache _assemblyCache;
     private final Set<ITickableMultiblockPart> _attachedTickables;
     private final List<TurbineRotorBearingEntity> _attachedRotorBearings;
     private final Set<TurbineRotorComponentEntity> _attachedRotorComponents;
@@ -1119,11 +1472,22 @@ public class MultiblockTurbine
     private final Set<TurbineFluidPortEntity> _attachedVaporPorts;
     private final Set<TurbineFluidPortEntity> _attachedOutgoingVaporPorts;
 
+    private TurbineReplayRecorder _replayRecorder;
     private boolean _active;
     private int _rotorBladesCount;
-
-    // Coils positions cached during validation
-    private final Set<BlockPos> _validationFoundCoils;
+    private long _lastSyncedTelemetryVersion;
+    private int _ticksSinceLastTelemetryLog;
+
+    // Coils, rotor shafts and rotor blades positions cached during validation
+    private final CuboidBitmap _validationFoundCoils;
+    private final CuboidBitmap _validationShafts;
+    private final CuboidBitmap _validationBlades;
+
+    // Rotor and coils figures collected during validation
+    private final TurbineData.CoilStats _validationCoilStats;
+    private final LongArrayList _validationCoilPositions;
+    private int _validationShaftsCount;
+    private int _validationBladesCount;
 
     //endregion
 }
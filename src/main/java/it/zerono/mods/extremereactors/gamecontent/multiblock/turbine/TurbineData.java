@@ -26,7 +26,6 @@ import it.zerono.mods.zerocore.lib.IDebuggable;
 import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
 import it.zerono.mods.zerocore.lib.data.nbt.NBTHelper;
 import net.minecraft.nbt.CompoundNBT;
-import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.LogicalSide;
 
 import java.util.function.Consumer;
@@ -102,49 +101,19 @@ public class TurbineData
         this.setRotorEnergy(Math.max(this.getRotorEnergy(), other.getRotorEnergy()));
     }
 
-    public void update(final ITurbineEnvironment environment, final BlockPos minInterior, final BlockPos maxInterior,
+    /**
+     * Update the rotor and coils parameters from the figures collected while validating the Turbine
+     *
+     * @param shaftsCount the number of rotor shafts found
+     * @param bladesCount the number of rotor blades found
+     * @param coilStats the stats of the coil blocks found inside the Turbine
+     * @param variant the Turbine variant
+     */
+    public void update(final int shaftsCount, final int bladesCount, final CoilStats coilStats,
                        final IMultiblockTurbineVariant variant) {
 
-        int rotorMass = 0;
-        int bladeSurfaceArea = 0;
-
-        // Loop over interior space. Calculate mass and blade area of rotor and size of coils
-
-        int maxX = maxInterior.getX();
-        int maxY = maxInterior.getY();
-        int maxZ = maxInterior.getZ();
-
-        final CoilStats coilStats = new CoilStats();
-
-        for (int x = minInterior.getX(); x <= maxX; ++x) {
-
-            for (int y = minInterior.getY(); y <= maxY; ++y) {
-
-                for (int z = minInterior.getZ(); z <= maxZ; ++z) {
-
-                    final BlockPos position = new BlockPos(x, y, z);
-
-                    switch (environment.getRotorComponentTypeAt(position)) {
-
-                        case Blade:
-
-                            rotorMass += variant.getRotorBladeMass();
-                            bladeSurfaceArea += 1;
-                            break;
-
-                        case Shaft:
-
-                            rotorMass += variant.getRotorShaftMass();
-                            break;
-
-                        case CandidateCoil:
-
-                            environment.getCoilBlock(position).ifPresent(coilStats);
-                            break;
-                    }
-                } // end z
-            } // end y
-        } // end x loop - looping over interior
+        final int rotorMass = shaftsCount * variant.getRotorShaftMass() + bladesCount * variant.getRotorBladeMass();
+        final int bladeSurfaceArea = bladesCount;
 
         // Precalculate some stuff now that we know how big the rotor and blades are
 
@@ -410,7 +379,7 @@ public class TurbineData
     private int _fluidConsumedLastTick;
     private float _rotorEfficiencyLastTick;
 
-    private static class CoilStats
+    public static class CoilStats
             implements Consumer<CoilMaterial> {
 
         public float Efficiency = 0f;
@@ -419,6 +388,10 @@ public class TurbineData
         public int Size;
 
         public CoilStats() {
+            this.reset();
+        }
+
+        public void reset() {
 
             this.Efficiency = 0.0f;
             this.Bonus = 0.0f;
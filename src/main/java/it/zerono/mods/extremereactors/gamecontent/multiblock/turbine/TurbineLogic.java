@@ -20,6 +20,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
 
 import it.zerono.mods.extremereactors.api.coolant.Vapor;
 import it.zerono.mods.extremereactors.config.Config;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.CurveTable;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
 import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
 import net.minecraft.profiler.IProfiler;
@@ -31,14 +32,26 @@ public class TurbineLogic {
         this._turbine = turbine;
         this._data = data;
         this._energyBuffer = energyBuffer;
+        this.leaveEquilibrium();
+    }
+
+    /**
+     * Go back to running the full rotor simulation on the next update.
+     * Call this when something that is not checked by the equilibrium detection (like the rotor or the coils) changed
+     */
+    public void leaveEquilibrium() {
+
+        this._steadyTicks = 0;
+        this._inEquilibrium = false;
     }
 
     /**
      * Main update logic
+     *
+     * @param profiler the profiler to use
      */
-    public void update() {
+    public void update(final IProfiler profiler) {
 
-        final IProfiler profiler = this._turbine.getWorld().getProfiler();
         final IFluidContainer fc = this._turbine.getFluidContainer();
         final VentSetting ventSetting = this._data.getVentSetting();
 
@@ -66,6 +79,14 @@ public class TurbineLogic {
 
         if (vaporAmount > 0 || this._data.getRotorEnergy() > 0) {
 
+            final float fluidEnergyDensity = vaporAmount > 0 ? fc.mapVapor(Vapor::getFluidEnergyDensity, 0f) : 0f;
+
+            if (this.isEquilibriumValid(vaporAmount, fluidEnergyDensity, ventSetting)) {
+
+                this.updateEquilibrium(profiler, fc, vaporAmount, ventSetting);
+                return;
+            }
+
             final float rotorSpeed = this._turbine.getRotorSpeed();
 
             // FEs lost to aerodynamic drag.
@@ -76,8 +97,6 @@ public class TurbineLogic {
 
             if (vaporAmount > 0) {
 
-                float fluidEnergyDensity = fc.mapVapor(Vapor::getFluidEnergyDensity, 0f);
-
                 // Cap amount of steam we can fully extract energy from based on blade size
                 int steamToProcess = this._data.getBladeSurfaceArea() * this._data.getInputFluidPerBlade();
 
@@ -115,7 +134,7 @@ public class TurbineLogic {
 
                 // Efficiency curve. Rotors are 50% less efficient when not near 900/1800 RPMs.
 
-                float efficiency = (float)(0.25 * Math.cos(rotorSpeed / (45.5 * Math.PI))) + 0.75f;
+                float efficiency = (float)(0.25 * ROTOR_EFFICIENCY_CURVE.evaluate(rotorSpeed)) + 0.75f;
 
                 if (rotorSpeed < 500) {
                     efficiency = Math.min(0.5f, efficiency);
@@ -124,8 +143,11 @@ public class TurbineLogic {
                 this.generateEnergy(energyToGenerate * efficiency);
             }
 
-            this._data.changeRotorEnergy(liftTorque + -1.0f * inductionTorque + -1.0f * aerodynamicDragTorque +
-                    -1.0f * this._data.getFrictionalDrag());
+            final float rotorEnergyDelta = liftTorque + -1.0f * inductionTorque + -1.0f * aerodynamicDragTorque +
+                    -1.0f * this._data.getFrictionalDrag();
+
+            this._data.changeRotorEnergy(rotorEnergyDelta);
+            this.checkEquilibrium(vaporAmount, fluidEnergyDensity, ventSetting);
 
             // And create some coolant
 
@@ -138,6 +160,10 @@ public class TurbineLogic {
             }
 
             profiler.endSection();
+
+        } else {
+
+            this.leaveEquilibrium();
         }
     }
 
@@ -152,13 +178,104 @@ public class TurbineLogic {
      */
     private void generateEnergy(double rawEnergy) {
 
-        rawEnergy = rawEnergy * Config.COMMON.general.powerProductionMultiplier.get() *
-                Config.COMMON.turbine.turbinePowerProductionMultiplier.get();
+        rawEnergy = rawEnergy * getPowerMultiplier();
 
         this._energyBuffer.modifyEnergyStored(rawEnergy);
         this._data.changeEnergyGeneratedLastTick(rawEnergy);
     }
 
+    private static double getPowerMultiplier() {
+        return Config.COMMON.general.powerProductionMultiplier.get() * Config.COMMON.turbine.turbinePowerProductionMultiplier.get();
+    }
+
+    //endregion
+    //region equilibrium
+
+    /**
+     * Check if the rotor reached a steady speed with the same inputs for long enough to switch to the equilibrium mode
+     * In equilibrium mode the energy generated, the rotor efficiency and the rotor energy are all constant so there
+     * is no need to run the rotor simulation again until one of the inputs change
+     */
+    private void checkEquilibrium(final int vaporAmount, final float fluidEnergyDensity, final VentSetting ventSetting) {
+
+        final float rotorEnergy = this._data.getRotorEnergy();
+
+        // the rotor energy is steady only when the delta of this tick is too small to change it at all: a slowly
+        // accelerating or decelerating rotor must keep accumulating its deltas to eventually reach its real speed
+        if (rotorEnergy > 0 && rotorEnergy == this._equilibriumRotorEnergy &&
+                vaporAmount == this._equilibriumVaporAmount &&
+                fluidEnergyDensity == this._equilibriumFluidEnergyDensity &&
+                ventSetting == this._equilibriumVentSetting &&
+                this._data.isInductorEngaged() == this._equilibriumInductorEngaged) {
+
+            if (++this._steadyTicks >= EQUILIBRIUM_STEADY_TICKS) {
+
+                this._inEquilibrium = true;
+                this._equilibriumEnergyGenerated = this._data.getEnergyGeneratedLastTick();
+                // the energy generated already include the config multipliers, which could be changed by a config reload
+                this._equilibriumPowerMultiplier = getPowerMultiplier();
+                this._equilibriumRotorEfficiency = this._data.getRotorEfficiencyLastTick();
+            }
+
+        } else {
+
+            this._steadyTicks = 0;
+            this._inEquilibrium = false;
+        }
+
+        this._equilibriumRotorEnergy = rotorEnergy;
+        this._equilibriumVaporAmount = vaporAmount;
+        this._equilibriumFluidEnergyDensity = fluidEnergyDensity;
+        this._equilibriumVentSetting = ventSetting;
+        this._equilibriumInductorEngaged = this._data.isInductorEngaged();
+    }
+
+    private boolean isEquilibriumValid(final int vaporAmount, final float fluidEnergyDensity, final VentSetting ventSetting) {
+
+        if (!this._inEquilibrium) {
+            return false;
+        }
+
+        if (vaporAmount == this._equilibriumVaporAmount &&
+                fluidEnergyDensity == this._equilibriumFluidEnergyDensity &&
+                ventSetting == this._equilibriumVentSetting &&
+                this._data.isInductorEngaged() == this._equilibriumInductorEngaged &&
+                this._data.getRotorEnergy() == this._equilibriumRotorEnergy &&
+                getPowerMultiplier() == this._equilibriumPowerMultiplier) {
+
+            return true;
+        }
+
+        this.leaveEquilibrium();
+        return false;
+    }
+
+    /**
+     * Turbine UPDATE in equilibrium mode
+     * Produce the same energy and condense the same amount of vapor as the last fully simulated tick
+     */
+    private void updateEquilibrium(final IProfiler profiler, final IFluidContainer fc, final int vaporAmount,
+                                   final VentSetting ventSetting) {
+
+        profiler.startSection("Equilibrium");
+
+        if (this._equilibriumEnergyGenerated > 0) {
+
+            this._energyBuffer.modifyEnergyStored(this._equilibriumEnergyGenerated);
+            this._data.changeEnergyGeneratedLastTick(this._equilibriumEnergyGenerated);
+        }
+
+        this._data.setRotorEfficiencyLastTick(this._equilibriumRotorEfficiency);
+
+        if (vaporAmount > 0) {
+
+            fc.onCondensation(vaporAmount, ventSetting.isVentAll(), this._turbine.getVariant());
+            this._data.setFluidConsumedLastTick(vaporAmount);
+        }
+
+        profiler.endSection();
+    }
+
     //endregion
 
     private void resetStats() {
@@ -172,5 +289,23 @@ public class TurbineLogic {
     private final TurbineData _data;
     private final EnergyBuffer _energyBuffer;
 
+    // How many consecutive steady ticks are needed to enter the equilibrium mode
+    private static final int EQUILIBRIUM_STEADY_TICKS = 20;
+
+    // The rotor efficiency curve, with a period of about 898 RPM
+    private static final CurveTable ROTOR_EFFICIENCY_CURVE = CurveTable.periodic("rotor efficiency", 2 * Math.PI * 45.5 * Math.PI,
+            4096, 1e-6, rotorSpeed -> Math.cos(rotorSpeed / (45.5 * Math.PI)));
+
+    private boolean _inEquilibrium;
+    private int _steadyTicks;
+    private float _equilibriumRotorEnergy;
+    private int _equilibriumVaporAmount;
+    private float _equilibriumFluidEnergyDensity;
+    private VentSetting _equilibriumVentSetting;
+    private boolean _equilibriumInductorEngaged;
+    private double _equilibriumEnergyGenerated;
+    private double _equilibriumPowerMultiplier;
+    private float _equilibriumRotorEfficiency;
+
     //endregion
 }
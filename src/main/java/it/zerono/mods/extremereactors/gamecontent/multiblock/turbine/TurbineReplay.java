@@ -0,0 +1,387 @@
+/*
+ *
+ * TurbineReplay.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.FluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.AbstractReplay;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.AbstractReplayRecorder;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.variant.IMultiblockTurbineVariant;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.variant.TurbineVariant;
+import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
+import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
+import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.profiler.EmptyProfiler;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Run the {@link TurbineLogic} of a Turbine recorded by a {@link TurbineReplayRecorder}, without a world.
+ *
+ * The rotor and the coils are rebuilt from the figures stored in the header of the recording. The vapor, coolant and
+ * energy exchanged with the world are applied back from the recording
+ */
+public final class TurbineReplay
+        extends AbstractReplay
+        implements ITurbineReader {
+
+    /**
+     * Rebuild a Turbine from the header of a recording
+     *
+     * @param header the header of the recording
+     * @throws IOException if the header is not valid
+     */
+    public TurbineReplay(final CompoundNBT header) throws IOException {
+
+        final TurbineData.CoilStats coils = new TurbineData.CoilStats();
+        final CompoundNBT state = header.getCompound("state");
+
+        coils.Efficiency = header.getFloat("coilefficiency");
+        coils.Bonus = header.getFloat("coilbonus");
+        coils.DragCoefficient = header.getFloat("coildrag");
+        coils.Size = header.getInt("coilsize");
+
+        this._variant = getVariant(header.getInt("variant"));
+        this._rotorBladesCount = header.getInt("blades");
+
+        this._data = new TurbineData(this._variant);
+        this._data.update(header.getInt("shafts"), this._rotorBladesCount, coils, this._variant);
+        this._fluidContainer = new FluidContainer(MultiblockTurbine.FLUID_CONTAINER_ACCESS);
+        this._fluidContainer.setCapacity(header.getInt("fluidcapacity"));
+        this._energyBuffer = new EnergyBuffer(EnergySystem.ForgeEnergy, 0);
+        this._energyBuffer.setCapacity((int)header.getDouble("energycapacity"));
+        this._logic = new TurbineLogic(this, this._data, this._energyBuffer);
+
+        this._active = state.getBoolean(MultiblockTurbine.SYNC_KEY_ACTIVE);
+        syncChild(this._energyBuffer, AbstractGeneratorMultiblockController.SYNC_KEY_ENERGY_BUFFER, state);
+        syncChild(this._fluidContainer, MultiblockTurbine.SYNC_KEY_FLUID_CONTAINER, state);
+        syncChild(this._data, MultiblockTurbine.SYNC_KEY_DATA, state);
+
+        this._names = new String[TurbineReplayRecorder.NAMES_COUNT];
+        this._names[TurbineReplayRecorder.LIQUID] = this._fluidContainer.getLiquid().map(TurbineReplay::getFluidName).orElse("");
+        this._names[TurbineReplayRecorder.GAS] = this._fluidContainer.getGas().map(TurbineReplay::getFluidName).orElse("");
+    }
+
+    //region AbstractReplay
+
+    @Override
+    protected String[] getOutputNames() {
+        return TurbineReplayRecorder.OUTPUTS;
+    }
+
+    @Override
+    protected void tick() {
+
+        this._logic.update(EmptyProfiler.INSTANCE);
+        this.applyPhase(AbstractReplayRecorder.PHASE_OUTPUT);
+    }
+
+    @Override
+    protected double getOutput(final int index) {
+
+        switch (index) {
+
+            case 0:
+                return this._data.getRotorEnergy();
+
+            case 1:
+                return this._fluidContainer.getLiquidAmount();
+
+            case 2:
+                return this._fluidContainer.getGasAmount();
+
+            case 3:
+                return this._energyBuffer.getEnergyStored();
+
+            case 4:
+                return this._data.getEnergyGeneratedLastTick();
+
+            case 5:
+                return this._data.getFluidConsumedLastTick();
+
+            case 6:
+                return this._data.getRotorEfficiencyLastTick();
+
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    protected void onSetting(final int index, final double value) {
+
+        switch (index) {
+
+            case TurbineReplayRecorder.SETTING_ACTIVE:
+                this._active = 0 != value;
+                break;
+
+            case TurbineReplayRecorder.SETTING_VENT: {
+
+                final VentSetting[] settings = VentSetting.values();
+                final int ordinal = (int)value;
+
+                if (ordinal >= 0 && ordinal < settings.length) {
+                    this._data.setVentSetting(settings[ordinal]);
+                }
+
+                break;
+            }
+
+            case TurbineReplayRecorder.SETTING_INDUCTOR:
+                this._data.setInductorEngaged(0 != value);
+                break;
+
+            case TurbineReplayRecorder.SETTING_MAX_INTAKE:
+                this._data.setMaxIntakeRate((int)value);
+                break;
+        }
+    }
+
+    @Override
+    protected void onEvent(final int index, final double value) {
+        // no events are recorded for a Turbine
+    }
+
+    @Override
+    protected void onNameChanged(final int index, final String name) {
+
+        switch (index) {
+
+            case TurbineReplayRecorder.LIQUID:
+                this._fluidContainer.voidLiquid();
+                break;
+
+            case TurbineReplayRecorder.GAS:
+                this._fluidContainer.voidGas();
+                break;
+
+            default:
+                return;
+        }
+
+        this._names[index] = name;
+    }
+
+    @Override
+    protected void onQuantityChanged(final int index, final double delta) {
+
+        final int amount = (int)Math.abs(delta);
+
+        switch (index) {
+
+            case TurbineReplayRecorder.LIQUID:
+
+                if (delta > 0) {
+                    getFluid(this._names[index]).ifPresent(fluid -> this._fluidContainer.insertLiquid(fluid, amount, OperationMode.Execute));
+                } else {
+                    this._fluidContainer.voidLiquid(amount);
+                }
+
+                break;
+
+            case TurbineReplayRecorder.GAS:
+
+                if (delta > 0) {
+                    getFluid(this._names[index]).ifPresent(fluid -> this._fluidContainer.insertGas(fluid, amount, OperationMode.Execute));
+                } else {
+                    this._fluidContainer.voidGas(amount);
+                }
+
+                break;
+
+            case TurbineReplayRecorder.ENERGY:
+                this._energyBuffer.modifyEnergyStored(delta);
+                break;
+        }
+    }
+
+    //endregion
+    //region IMachineReader
+
+    @Override
+    public World getWorld() {
+        throw new UnsupportedOperationException("A replayed Turbine is not part of a world");
+    }
+
+    @Override
+    public Optional<BlockPos> getMinimumCoord() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<BlockPos> getMaximumCoord() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean isMachineActive() {
+        return this._active;
+    }
+
+    //endregion
+    //region ITurbineReader
+
+    @Override
+    public IMultiblockTurbineVariant getVariant() {
+        return this._variant;
+    }
+
+    @Override
+    public IFluidContainer getFluidContainer() {
+        return this._fluidContainer;
+    }
+
+    @Override
+    public boolean isAssembledAndActive() {
+        return this.isMachineActive();
+    }
+
+    @Override
+    public int getCoolantAmount() {
+        return this._fluidContainer.getLiquidAmount();
+    }
+
+    @Override
+    public int getVaporAmount() {
+        return this._fluidContainer.getGasAmount();
+    }
+
+    @Override
+    public int getCapacity() {
+        return this._fluidContainer.getCapacity();
+    }
+
+    @Override
+    public float getRotorSpeed() {
+
+        final int blades = this.getRotorBladesCount();
+        final int rotorMass = this.getRotorMass();
+
+        if (blades <= 0 || rotorMass <= 0) {
+            return 0f;
+        } else {
+            return this._data.getRotorEnergy() / (blades * rotorMass);
+        }
+    }
+
+    @Override
+    public float getMaxRotorSpeed() {
+        return this._variant.getMaxRotorSpeed();
+    }
+
+    @Override
+    public int getRotorBladesCount() {
+        return this._rotorBladesCount;
+    }
+
+    @Override
+    public int getMaxIntakeRate() {
+        return this._data.getMaxIntakeRate();
+    }
+
+    @Override
+    public int getMaxIntakeRateHardLimit() {
+        return this._variant.getMaxPermittedFlow();
+    }
+
+    @Override
+    public double getEnergyGeneratedLastTick() {
+        return this._data.getEnergyGeneratedLastTick();
+    }
+
+    @Override
+    public int getFluidConsumedLastTick() {
+        return this._data.getFluidConsumedLastTick();
+    }
+
+    @Override
+    public float getRotorEfficiencyLastTick() {
+        return this._data.getRotorEfficiencyLastTick();
+    }
+
+    @Override
+    public int getRotorMass() {
+        return this._data.getRotorMass();
+    }
+
+    @Override
+    public VentSetting getVentSetting() {
+        return this._data.getVentSetting();
+    }
+
+    @Override
+    public boolean isInductorEngaged() {
+        return this._data.isInductorEngaged();
+    }
+
+    //endregion
+    //region internals
+
+    private static IMultiblockTurbineVariant getVariant(final int id) throws IOException {
+
+        for (final TurbineVariant variant : TurbineVariant.values()) {
+            if (variant.getId() == id) {
+                return variant;
+            }
+        }
+
+        throw new IOException("Unknown Turbine variant in replay recording: " + id);
+    }
+
+    private static void syncChild(final ISyncableEntity entity, final String key, final CompoundNBT state) {
+
+        if (state.contains(key)) {
+            entity.syncDataFrom(state.getCompound(key), ISyncableEntity.SyncReason.FullSync);
+        }
+    }
+
+    private static Optional<Fluid> getFluid(final String name) {
+
+        final ResourceLocation id = ResourceLocation.tryCreate(name);
+
+        return null != id && ForgeRegistries.FLUIDS.containsKey(id) ? Optional.ofNullable(ForgeRegistries.FLUIDS.getValue(id)) : Optional.empty();
+    }
+
+    private static String getFluidName(final Fluid fluid) {
+        return Objects.requireNonNull(fluid.getRegistryName()).toString();
+    }
+
+    private final IMultiblockTurbineVariant _variant;
+    private final int _rotorBladesCount;
+    private final TurbineData _data;
+    private final FluidContainer _fluidContainer;
+    private final EnergyBuffer _energyBuffer;
+    private final TurbineLogic _logic;
+    private final String[] _names;
+
+    private boolean _active;
+
+    //endregion
+}
@@ -0,0 +1,154 @@
+/*
+ *
+ * TurbineReplayRecorder.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.AbstractReplayRecorder;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.replay.ReplayWriter;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.telemetry.TelemetryRecord;
+import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.nbt.CompoundNBT;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Record the ticks of a {@link MultiblockTurbine} to be replayed by a {@link TurbineReplay}.
+ *
+ * The rotor and the coils of an assembled Turbine cannot be changed without disassembling it and the recording is
+ * stopped when that happen, so the header of the recording only need the figures collected during the last validation
+ */
+final class TurbineReplayRecorder
+        extends AbstractReplayRecorder {
+
+    // quantities and names
+    static final int LIQUID = 0;
+    static final int GAS = 1;
+    static final int ENERGY = 2;
+
+    static final int NAMES_COUNT = 2;
+    static final int QUANTITIES_COUNT = 3;
+
+    // settings
+    static final int SETTING_ACTIVE = 0;
+    static final int SETTING_VENT = 1;
+    static final int SETTING_INDUCTOR = 2;
+    static final int SETTING_MAX_INTAKE = 3;
+
+    static final int SETTINGS_COUNT = 4;
+
+    static final String[] OUTPUTS = {"rotor energy", "liquid", "gas", "energy", "energy generated", "fluid consumed",
+            "rotor efficiency"};
+
+    /**
+     * Start recording the ticks of a Turbine
+     *
+     * @param file the file to write to
+     * @param turbine the Turbine to record
+     * @return the recorder
+     * @throws IOException if the recording cannot be created
+     */
+    static TurbineReplayRecorder create(final Path file, final MultiblockTurbine turbine) throws IOException {
+        return new TurbineReplayRecorder(file, turbine);
+    }
+
+    //region AbstractReplayRecorder
+
+    @Override
+    protected void readQuantities(final double[] quantities) {
+
+        final IFluidContainer fluids = this._turbine.getFluidContainer();
+
+        quantities[LIQUID] = fluids.getLiquidAmount();
+        quantities[GAS] = fluids.getGasAmount();
+        quantities[ENERGY] = this._turbine.getEnergyStored(EnergySystem.ForgeEnergy, null);
+    }
+
+    @Override
+    protected void readNames(final String[] names) {
+
+        final IFluidContainer fluids = this._turbine.getFluidContainer();
+
+        names[LIQUID] = fluids.getLiquid().map(TurbineReplayRecorder::getFluidName).orElse("");
+        names[GAS] = fluids.getGas().map(TurbineReplayRecorder::getFluidName).orElse("");
+    }
+
+    @Override
+    protected void readSettings(final double[] settings) {
+
+        settings[SETTING_ACTIVE] = this._turbine.isMachineActive() ? 1 : 0;
+        settings[SETTING_VENT] = this._turbine.getVentSetting().ordinal();
+        settings[SETTING_INDUCTOR] = this._turbine.isInductorEngaged() ? 1 : 0;
+        settings[SETTING_MAX_INTAKE] = this._turbine.getMaxIntakeRate();
+    }
+
+    @Override
+    protected void writeOutputs(final ReplayWriter writer) throws IOException {
+
+        final IFluidContainer fluids = this._turbine.getFluidContainer();
+
+        writer.output(0, this._turbine.getRotorEnergy());
+        writer.output(1, fluids.getLiquidAmount());
+        writer.output(2, fluids.getGasAmount());
+        writer.output(3, this._turbine.getEnergyStored(EnergySystem.ForgeEnergy, null));
+        writer.output(4, this._turbine.getEnergyGeneratedLastTick());
+        writer.output(5, this._turbine.getFluidConsumedLastTick());
+        writer.output(6, this._turbine.getRotorEfficiencyLastTick());
+    }
+
+    //endregion
+    //region internals
+
+    private TurbineReplayRecorder(final Path file, final MultiblockTurbine turbine) throws IOException {
+
+        super(file, TelemetryRecord.MACHINE_TURBINE, createHeader(turbine), QUANTITIES_COUNT, NAMES_COUNT, SETTINGS_COUNT);
+        this._turbine = turbine;
+        this.start();
+    }
+
+    private static CompoundNBT createHeader(final MultiblockTurbine turbine) {
+
+        final CompoundNBT header = new CompoundNBT();
+        final TurbineData.CoilStats coils = turbine.getCoilStats();
+
+        header.putInt("variant", turbine.getVariant().getId());
+        header.putInt("shafts", turbine.getRotorShaftsCount());
+        header.putInt("blades", turbine.getRotorBladesCount());
+        header.putFloat("coilefficiency", coils.Efficiency);
+        header.putFloat("coilbonus", coils.Bonus);
+        header.putFloat("coildrag", coils.DragCoefficient);
+        header.putInt("coilsize", coils.Size);
+        header.putInt("fluidcapacity", turbine.getCapacity());
+        header.putDouble("energycapacity", turbine.getCapacity(EnergySystem.ForgeEnergy, null));
+        header.put("state", turbine.syncDataTo(new CompoundNBT(), ISyncableEntity.SyncReason.FullSync));
+
+        return header;
+    }
+
+    private static String getFluidName(final Fluid fluid) {
+        return Objects.requireNonNull(fluid.getRegistryName()).toString();
+    }
+
+    private final MultiblockTurbine _turbine;
+
+    //endregion
+}
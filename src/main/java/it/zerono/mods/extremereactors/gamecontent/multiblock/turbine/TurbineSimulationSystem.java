@@ -0,0 +1,116 @@
+/*
+ *
+ * TurbineSimulationSystem.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import it.zerono.mods.extremereactors.config.Config;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.ParallelCompute;
+import net.minecraft.profiler.EmptyProfiler;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Run the rotor simulation of all the Turbines of a world that ticked together, at the start of the next world tick.
+ *
+ * The rotor simulation of a Turbine only use the state of the Turbine itself (rotor energy, fluid tanks, energy buffer)
+ * so the Turbines could be simulated on any thread and in any order. The simulation runs before the Turbines tick again
+ * and the energy generated is distributed by each Turbine in that same tick: the Turbine goes through the same
+ * sequence of simulation and distribution steps as when it simulates itself.
+ *
+ * The Turbines are simulated through {@link ParallelCompute} so the results are the same for any number of threads.
+ *
+ * Enabled with the turbine.batchSimulation config option
+ */
+public final class TurbineSimulationSystem {
+
+    public static void initialize() {
+
+        // run before the multiblock controllers are ticked
+        MinecraftForge.EVENT_BUS.addListener(EventPriority.HIGH, TurbineSimulationSystem::onWorldTick);
+        MinecraftForge.EVENT_BUS.addListener(TurbineSimulationSystem::onWorldUnload);
+    }
+
+    static boolean isEnabled() {
+        return Config.COMMON.turbine.batchSimulation.get();
+    }
+
+    /**
+     * Run the rotor simulation of a Turbine at the start of the next world tick
+     *
+     * @param turbine the Turbine. Must be assembled and on the logical server
+     */
+    static void schedule(final MultiblockTurbine turbine) {
+        s_scheduled.computeIfAbsent(turbine.getWorld(), world -> Lists.newArrayList()).add(turbine);
+    }
+
+    //region internals
+
+    private TurbineSimulationSystem() {
+    }
+
+    private static void onWorldTick(final TickEvent.WorldTickEvent event) {
+
+        if (TickEvent.Phase.START == event.phase && event.side.isServer()) {
+
+            final List<MultiblockTurbine> turbines = s_scheduled.get(event.world);
+
+            if (null != turbines && !turbines.isEmpty()) {
+
+                event.world.getProfiler().startSection("Extreme Reactors|Turbines parallel simulation");
+
+                // a Turbine could have been disassembled, or unloaded, after it was scheduled. A Turbine that started
+                // recording its ticks will run the rotor simulation by itself
+                turbines.removeIf(turbine -> !turbine.isAssembled() || turbine.isReplayRecording());
+
+                ParallelCompute.forRange(turbines.size(), MIN_CHUNK_SIZE, (from, to) -> {
+                    for (int idx = from; idx < to; ++idx) {
+                        // the world profiler is not thread safe
+                        turbines.get(idx).getLogic().update(EmptyProfiler.INSTANCE);
+                    }
+                });
+
+                turbines.clear();
+                event.world.getProfiler().endSection();
+            }
+        }
+    }
+
+    private static void onWorldUnload(final WorldEvent.Unload event) {
+
+        final IWorld world = event.getWorld();
+
+        if (world instanceof World) {
+            s_scheduled.remove(world);
+        }
+    }
+
+    private static final int MIN_CHUNK_SIZE = 4;
+
+    private static final Map<World, List<MultiblockTurbine>> s_scheduled = Maps.newIdentityHashMap();
+
+    //endregion
+}
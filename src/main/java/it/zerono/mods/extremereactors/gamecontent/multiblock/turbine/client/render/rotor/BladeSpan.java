@@ -51,6 +51,34 @@ public class BladeSpan
         return (stateValue << 24) | (directionValue << 16) | length;
     }
 
+    /**
+     * Transform the given stack so that a single blade model will cover the whole span
+     *
+     * @param stack the stack to transform
+     */
+    public void stretch(final MatrixStack stack) {
+
+        final int offset = this.Direction.getAxisDirection().getOffset() > 0 ? 1 : this.Length;
+
+        stack.translate(this.Direction.getXOffset() * offset, this.Direction.getYOffset() * offset,
+                this.Direction.getZOffset() * offset);
+
+        switch (this.Direction.getAxis()) {
+
+            case X:
+                stack.scale(this.Length, 1, 1);
+                break;
+
+            case Y:
+                stack.scale(1, this.Length, 1);
+                break;
+
+            case Z:
+                stack.scale(1, 1, this.Length);
+                break;
+        }
+    }
+
     //region NonNullConsumer<MatrixStack>
 
     @Override
@@ -19,12 +19,10 @@
 package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.client.render.rotor;
 
 import com.mojang.blaze3d.matrix.MatrixStack;
-import com.mojang.blaze3d.vertex.IVertexBuilder;
+import it.zerono.mods.extremereactors.config.Config;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.part.TurbineRotorBearingEntity;
 import it.zerono.mods.zerocore.lib.client.render.ModRenderHelper;
-import net.minecraft.client.renderer.Atlases;
 import net.minecraft.client.renderer.IRenderTypeBuffer;
-import net.minecraft.client.renderer.model.IBakedModel;
 import net.minecraft.client.renderer.tileentity.TileEntityRenderer;
 import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
 
@@ -56,40 +54,25 @@ public class RotorBearingEntityRenderer
             return;
         }
 
-        final IBakedModel shaft = descriptor.ShaftModel.get();
-        final IBakedModel blade = descriptor.BladeModel.get();
-        final IVertexBuilder builder = buffer.getBuffer(Atlases.getSolidBlockType());
+        // pick a level of detail based on the distance of the turbine from the camera
 
-        stack.push();
-
-        // translate the matrix stack to the center of the rotated shaft
-        descriptor.InitMatrix.accept(stack, getRotorAngle(bearing));
-
-        // render the rotor sections
-
-        for (final ShaftSection section : descriptor.Sections) {
-
-            // translate to the section position
-            descriptor.accept(stack);
-
-            // render the shaft
-            ModRenderHelper.renderModel(shaft, section.ShaftModelData, stack, builder, combinedLight, combinedOverlay);
-
-            // render the blades
+        final double distanceSq = this.renderDispatcher.renderInfo.getProjectedView()
+                .squareDistanceTo(bearing.getRenderBoundingBox().getCenter());
 
-            for (final BladeSpan bladeSpan : section.Blades) {
+        if (distanceSq > square(Config.CLIENT.getTurbineRotorMaxRenderDistance())) {
+            return;
+        }
 
-                stack.push();
+        final boolean simplified = distanceSq > square(Config.CLIENT.getTurbineRotorFullDetailDistance());
+        final boolean animated = distanceSq <= square(Config.CLIENT.getTurbineRotorAnimationDistance());
 
-                for (int i = 0; i < bladeSpan.Length; ++i) {
+        stack.push();
 
-                    bladeSpan.accept(stack);
-                    ModRenderHelper.renderModel(blade, bladeSpan.BladeModelData, stack, builder, combinedLight, combinedOverlay);
-                }
+        // translate the matrix stack to the center of the rotated shaft
+        descriptor.InitMatrix.accept(stack, animated ? getRotorAngle(bearing, partialTicks) : bearing.getRotorAngle());
 
-                stack.pop();
-            }
-        }
+        // render the whole rotor from the cached geometry
+        RotorMeshCache.draw(descriptor, simplified, stack.getLast().getMatrix(), combinedLight, combinedOverlay);
 
         stack.pop();
     }
@@ -97,10 +80,15 @@ public class RotorBearingEntityRenderer
     //endregion
     //region internals
 
-    private static float getRotorAngle(final TurbineRotorBearingEntity bearing) {
+    private static double square(final int value) {
+        return (double)value * (double)value;
+    }
+
+    private static float getRotorAngle(final TurbineRotorBearingEntity bearing, final float partialTicks) {
 
         final long elapsedTime = System.currentTimeMillis() - ModRenderHelper.getLastRenderTime();
-        final float speed = bearing.evalOnController(turbine -> turbine.getRotorSpeed() / 10.0f, 0.0f);
+        // estimate the current speed as the rotor could be accelerating or slowing down between two updates from the server
+        final float speed = bearing.evalOnController(turbine -> turbine.extrapolateRotorSpeed(partialTicks) / 10.0f, 0.0f);
         float angle = bearing.getRotorAngle();
 
         if (speed > 0.001f) {
@@ -0,0 +1,161 @@
+/*
+ *
+ * RotorMeshCache.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.client.render.rotor;
+
+import com.mojang.blaze3d.matrix.MatrixStack;
+import com.mojang.blaze3d.vertex.IVertexBuilder;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.render.CachedMesh;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.render.MeshCache;
+import it.zerono.mods.zerocore.lib.client.render.ModRenderHelper;
+import net.minecraft.client.renderer.Atlases;
+import net.minecraft.client.renderer.model.IBakedModel;
+import net.minecraft.client.renderer.vertex.VertexBuffer;
+import net.minecraft.util.math.vector.Matrix4f;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+/**
+ * Keep the geometry of the whole rotor described by a {@link RotorDescriptor} baked in a {@link VertexBuffer}
+ * so that it could be drawn in one go, with only the rotation changing between frames
+ */
+@OnlyIn(Dist.CLIENT)
+public final class RotorMeshCache {
+
+    /**
+     * Draw the rotor described by the given {@link RotorDescriptor}, baking it first if needed
+     *
+     * @param descriptor the rotor to draw
+     * @param simplified if true, each blade span is drawn as a single stretched blade instead of one blade per block
+     * @param matrix the transformation to apply to the rotor, rotation included
+     * @param combinedLight the packed light to bake into the rotor vertices
+     * @param combinedOverlay the packed overlay to bake into the rotor vertices
+     */
+    public static void draw(final RotorDescriptor descriptor, final boolean simplified, final Matrix4f matrix,
+                            final int combinedLight, final int combinedOverlay) {
+        s_cache.get(descriptor, d -> new Mesh()).draw(descriptor, simplified, matrix, combinedLight, combinedOverlay);
+    }
+
+    /**
+     * Release all the cached meshes
+     */
+    public static void clear() {
+        s_cache.clear();
+    }
+
+    //region internals
+
+    private RotorMeshCache() {
+    }
+
+    private static class Mesh
+            extends MeshCache.Entry {
+
+        Mesh() {
+
+            this._full = new BakedGeometry(false);
+            this._simplified = new BakedGeometry(true);
+        }
+
+        void draw(final RotorDescriptor descriptor, final boolean simplified, final Matrix4f matrix,
+                  final int combinedLight, final int combinedOverlay) {
+            (simplified ? this._simplified : this._full).draw(descriptor, matrix, combinedLight, combinedOverlay);
+        }
+
+        @Override
+        protected void close() {
+
+            this._full.close();
+            this._simplified.close();
+        }
+
+        private final BakedGeometry _full;
+        private final BakedGeometry _simplified;
+    }
+
+    private static class BakedGeometry
+            extends CachedMesh {
+
+        BakedGeometry(final boolean simplified) {
+
+            super(Atlases.getSolidBlockType());
+            this._simplified = simplified;
+        }
+
+        void draw(final RotorDescriptor descriptor, final Matrix4f matrix, final int combinedLight, final int combinedOverlay) {
+
+            if (!this.isBuilt() || combinedLight != this._combinedLight || combinedOverlay != this._combinedOverlay) {
+
+                this.build(builder -> this.bake(descriptor, builder, combinedLight, combinedOverlay));
+                this._combinedLight = combinedLight;
+                this._combinedOverlay = combinedOverlay;
+            }
+
+            this.draw(matrix);
+        }
+
+        private void bake(final RotorDescriptor descriptor, final IVertexBuilder builder,
+                          final int combinedLight, final int combinedOverlay) {
+
+            final IBakedModel shaft = descriptor.ShaftModel.get();
+            final IBakedModel blade = descriptor.BladeModel.get();
+            final MatrixStack stack = new MatrixStack();
+
+            for (final ShaftSection section : descriptor.Sections) {
+
+                // translate to the section position
+                descriptor.accept(stack);
+
+                // the shaft
+                ModRenderHelper.renderModel(shaft, section.ShaftModelData, stack, builder, combinedLight, combinedOverlay);
+
+                // the blades
+
+                for (final BladeSpan bladeSpan : section.Blades) {
+
+                    stack.push();
+
+                    if (this._simplified) {
+
+                        bladeSpan.stretch(stack);
+                        ModRenderHelper.renderModel(blade, bladeSpan.BladeModelData, stack, builder, combinedLight, combinedOverlay);
+
+                    } else {
+
+                        for (int i = 0; i < bladeSpan.Length; ++i) {
+
+                            bladeSpan.accept(stack);
+                            ModRenderHelper.renderModel(blade, bladeSpan.BladeModelData, stack, builder, combinedLight, combinedOverlay);
+                        }
+                    }
+
+                    stack.pop();
+                }
+            }
+        }
+
+        private final boolean _simplified;
+        private int _combinedLight;
+        private int _combinedOverlay;
+    }
+
+    // release a mesh if its rotor was not rendered for this long (in milliseconds)
+    private static final MeshCache<RotorDescriptor, Mesh> s_cache = new MeshCache<>(10_000);
+
+    //endregion
+}
@@ -25,6 +25,8 @@ import it.zerono.mods.extremereactors.gamecontent.compat.patchouli.PatchouliComp
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.AbstractMultiblockScreen;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.CommonIcons;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.SyncedBindingGroup;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.TelemetryGraph;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorControllerEntity;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.MultiblockTurbine;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.VentSetting;
@@ -35,7 +37,6 @@ import it.zerono.mods.zerocore.lib.client.gui.ButtonState;
 import it.zerono.mods.zerocore.lib.client.gui.DesiredDimension;
 import it.zerono.mods.zerocore.lib.client.gui.IControl;
 import it.zerono.mods.zerocore.lib.client.gui.control.*;
-import it.zerono.mods.zerocore.lib.client.gui.databind.BindingGroup;
 import it.zerono.mods.zerocore.lib.client.gui.databind.MonoConsumerBinding;
 import it.zerono.mods.zerocore.lib.client.gui.databind.MultiConsumerBinding;
 import it.zerono.mods.zerocore.lib.client.gui.layout.*;
@@ -77,7 +78,7 @@ public class TurbineControllerScreen
         this._outputEnergySystem = this._turbine.getOutputEnergySystem();
         this._turbineEnergyCapacity = this._turbine.getCapacity(this._outputEnergySystem, null);
 
-        this._bindings = new BindingGroup();
+        this._bindings = new SyncedBindingGroup(this._turbine.getClientSyncTracker());
 
         this._coolantBar = this.liquidBar("coolantBar", this._turbine.getFluidContainer().getCapacity());
         this._vaporBar = this.liquidBar("vaporBar", this._turbine.getFluidContainer().getCapacity());
@@ -101,6 +102,25 @@ public class TurbineControllerScreen
         return true;
     }
 
+    @Override
+    public void tick() {
+
+        super.tick();
+
+        // estimate the status of the Turbine between two updates from the server
+
+        final float rpm = this._turbine.extrapolateRotorSpeed(0);
+
+        if (rpm != this._displayedRpm) {
+
+            this._displayedRpm = rpm;
+            this._lblRpm.setText(String.format("%.2f RPM", rpm));
+            this._rpmBar.setValue(rpm);
+        }
+
+        this._energyBar.setValue(this._turbine.extrapolateEnergyStored(0));
+    }
+
     //endregion
     //region AbstractMultiblockScreen
 
@@ -171,7 +191,7 @@ public class TurbineControllerScreen
         final BindableTextComponent<Integer> tankCapacity = new BindableTextComponent<>(
                 capacity -> new StringTextComponent(CodeHelper.formatAsHumanReadableNumber(capacity / 1000, "B")).setStyle(STYLE_TOOLTIP_VALUE));
 
-        this.addBinding((MultiblockTurbine turbine) -> turbine.getFluidContainer().getCapacity(),
+        this.addBinding(MultiblockTurbine.SYNC_KEY_FLUID_CONTAINER, (MultiblockTurbine turbine) -> turbine.getFluidContainer().getCapacity(),
                 v -> {
 
                     this._coolantBar.setMaxValue(v);
@@ -213,7 +233,7 @@ public class TurbineControllerScreen
                         vaporStoredPercentage
                 )
         );
-        this.addBinding((MultiblockTurbine turbine) -> getFluidName(turbine.getFluidContainer().getGas()),
+        this.addBinding(MultiblockTurbine.SYNC_KEY_FLUID_CONTAINER, (MultiblockTurbine turbine) -> getFluidName(turbine.getFluidContainer().getGas()),
                 v -> {
                     this._vaporBar.setBarSprite(Sprite.EMPTY);
                     this._vaporBar.setBarSpriteTint(Colour.WHITE);
@@ -224,8 +244,8 @@ public class TurbineControllerScreen
                                 this._vaporBar.setBarSpriteTint(Colour.fromARGB(fluid.getAttributes().getColor()));
                             });
                 }, vaporFluidName);
-        this.addBinding((MultiblockTurbine turbine) -> turbine.getFluidContainer().getGasAmount(), (Consumer<Integer>)this._vaporBar::setValue, vaporAmount);
-        this.addBinding((MultiblockTurbine turbine) -> turbine.getFluidContainer().getGasStoredPercentage(), v -> {}, vaporStoredPercentage);
+        this.addBinding(MultiblockTurbine.SYNC_KEY_FLUID_CONTAINER, (MultiblockTurbine turbine) -> turbine.getFluidContainer().getGasAmount(), (Consumer<Integer>)this._vaporBar::setValue, vaporAmount);
+        this.addBinding(MultiblockTurbine.SYNC_KEY_FLUID_CONTAINER, (MultiblockTurbine turbine) -> turbine.getFluidContainer().getGasStoredPercentage(), v -> {}, vaporStoredPercentage);
 
         p.addControl(this._vaporBar);
         barsPanel.addControl(p);
@@ -268,7 +288,7 @@ public class TurbineControllerScreen
                         coolantStoredPercentage
                 )
         );
-        this.addBinding((MultiblockTurbine turbine) -> getFluidName(turbine.getFluidContainer().getLiquid()),
+        this.addBinding(MultiblockTurbine.SYNC_KEY_FLUID_CONTAINER, (MultiblockTurbine turbine) -> getFluidName(turbine.getFluidContainer().getLiquid()),
                 v -> {
                     this._coolantBar.setBarSprite(Sprite.EMPTY);
                     this._coolantBar.setBarSpriteTint(Colour.WHITE);
@@ -279,8 +299,8 @@ public class TurbineControllerScreen
                                 this._coolantBar.setBarSpriteTint(Colour.fromARGB(fluid.getAttributes().getColor()));
                             });
                 }, coolantFluidName);
-        this.addBinding((MultiblockTurbine turbine) -> turbine.getFluidContainer().getLiquidAmount(), (Consumer<Integer>)this._coolantBar::setValue, coolantAmount);
-        this.addBinding((MultiblockTurbine turbine) -> turbine.getFluidContainer().getLiquidStoredPercentage(), v -> {}, coolantStoredPercentage);
+        this.addBinding(MultiblockTurbine.SYNC_KEY_FLUID_CONTAINER, (MultiblockTurbine turbine) -> turbine.getFluidContainer().getLiquidAmount(), (Consumer<Integer>)this._coolantBar::setValue, coolantAmount);
+        this.addBinding(MultiblockTurbine.SYNC_KEY_FLUID_CONTAINER, (MultiblockTurbine turbine) -> turbine.getFluidContainer().getLiquidStoredPercentage(), v -> {}, coolantStoredPercentage);
 
         p.addControl(this._coolantBar);
         barsPanel.addControl(p);
@@ -322,6 +342,10 @@ public class TurbineControllerScreen
         p.addControl(this._maxIntakeRate);
         infoPanelLeft.addControl(p);
 
+        // telemetry graph
+
+        infoPanelLeft.addControl(new TelemetryGraph<>(this, "telemetryGraph", this._turbine.getTelemetry(), INFOPANEL_WIDTH, 16));
+
         // - separator
         barsPanel.addControl(this.vSeparatorPanel());
 
@@ -355,7 +379,7 @@ public class TurbineControllerScreen
                         rpmText
                 )
         );
-        this.addBinding(MultiblockTurbine::getMaxIntakeRate, this._maxIntakeRate::setValue);
+        this.addBinding(MultiblockTurbine.SYNC_KEY_DATA, MultiblockTurbine::getMaxIntakeRate, this._maxIntakeRate::setValue);
 
         p.addControl(this._rpmBar);
         barsPanel.addControl(p);
@@ -367,7 +391,7 @@ public class TurbineControllerScreen
 
         this._lblRpm.setTooltips(this._rpmBar.getTooltips(), this._rpmBar.getTooltipsObjects());
 
-        this.addBinding(MultiblockTurbine::getRotorSpeed,
+        this.addBinding(MultiblockTurbine.SYNC_KEY_DATA, MultiblockTurbine::getRotorSpeed,
                 rpm -> {
 
                     this._lblRpm.setText(String.format("%.2f RPM", rpm));
@@ -420,9 +444,9 @@ public class TurbineControllerScreen
                         energyStoredPercentageText
                 )
         );
-        this.addBinding((MultiblockTurbine turbine) -> turbine.getEnergyStored(EnergySystem.REFERENCE, null),
+        this.addBinding(AbstractGeneratorMultiblockController.SYNC_KEY_ENERGY_BUFFER, (MultiblockTurbine turbine) -> turbine.getEnergyStored(EnergySystem.REFERENCE, null),
                 this._energyBar::setValue, energyStoredText);
-        this.addBinding(AbstractGeneratorMultiblockController::getEnergyStoredPercentage, energyStoredPercentageText);
+        this.addBinding(AbstractGeneratorMultiblockController.SYNC_KEY_ENERGY_BUFFER, AbstractGeneratorMultiblockController::getEnergyStoredPercentage, energyStoredPercentageText);
         p.addControl(this._energyBar);
         barsPanel.addControl(p);
 
@@ -451,7 +475,7 @@ public class TurbineControllerScreen
                         energyGeneratedText
                 )
         );
-        this.addBinding(MultiblockTurbine::getEnergyGeneratedLastTick,
+        this.addBinding(MultiblockTurbine.SYNC_KEY_DATA, MultiblockTurbine::getEnergyGeneratedLastTick,
                 value -> this._lblEnergyRatio.setText(CodeHelper.formatAsHumanReadableNumber(value, this._outputEnergySystem.getUnit() + "/t")),
                 energyGeneratedText);
         p.addControl(this._lblEnergyRatio);
@@ -485,8 +509,8 @@ public class TurbineControllerScreen
                         rotorBlades
                 )
         );
-        this.addBinding(TurbineControllerScreen::getRotorEfficiencyText, this._lblRotorStatus::setText, rotorEfficiencyText);
-        this.addBinding(TurbineControllerScreen::getRotorBladesText, rotorBlades);
+        this.addBinding(MultiblockTurbine.SYNC_KEY_DATA, TurbineControllerScreen::getRotorEfficiencyText, this._lblRotorStatus::setText, rotorEfficiencyText);
+        this.addBinding(MultiblockTurbine.SYNC_KEY_DATA, TurbineControllerScreen::getRotorBladesText, rotorBlades);
 
         p.addControl(this._lblRotorStatus);
         infoPanelRight.addControl(p);
@@ -513,11 +537,11 @@ public class TurbineControllerScreen
         on.setTooltips(new TranslationTextComponent("gui.bigreactors.turbine.controller.on.line1"));
         on.Activated.subscribe(this::onActiveStateChanged);
         on.Deactivated.subscribe(this::onActiveStateChanged);
-        this.addBinding(MultiblockTurbine::isMachineActive, on::setActive);
+        this.addBinding(MultiblockTurbine.SYNC_KEY_ACTIVE, MultiblockTurbine::isMachineActive, on::setActive);
 
         off.setLayoutEngineHint(FixedLayoutEngine.hint(x + w, y, w, 16));
         off.setTooltips(new TranslationTextComponent("gui.bigreactors.turbine.controller.off.line1"));
-        this.addBinding(MultiblockTurbine::isMachineActive, active -> off.setActive(!active));
+        this.addBinding(MultiblockTurbine.SYNC_KEY_ACTIVE, MultiblockTurbine::isMachineActive, active -> off.setActive(!active));
 
         commandPanel.addControl(on, off);
         y += 28;
@@ -558,7 +582,7 @@ public class TurbineControllerScreen
                         inductorEngagedText
                 )
         );
-        this.addBinding(MultiblockTurbine::isInductorEngaged, this._inductorEngaged::setActive, inductorEngagedText);
+        this.addBinding(MultiblockTurbine.SYNC_KEY_DATA, MultiblockTurbine::isInductorEngaged, this._inductorEngaged::setActive, inductorEngagedText);
 
         commandPanel.addControl(this._inductorEngaged);
         xButton += 22+1-3;
@@ -595,7 +619,7 @@ public class TurbineControllerScreen
                 new TranslationTextComponent("gui.bigreactors.turbine.controller.vent.donotvent.line5")));
         commandPanel.addControl(this._ventDoNotVent);
 
-        this.addBinding(MultiblockTurbine::getVentSetting, setting -> {
+        this.addBinding(MultiblockTurbine.SYNC_KEY_DATA, MultiblockTurbine::getVentSetting, setting -> {
 
             this._ventAll.setActive(VentSetting.VentAll.test(setting));
             this._ventOverflow.setActive(VentSetting.VentOverflow.test(setting));
@@ -828,13 +852,15 @@ public class TurbineControllerScreen
         this.sendCommandToServer(ReactorControllerEntity.COMMAND_SCRAM);
     }
 
-    private final <Value> void addBinding(final Function<MultiblockTurbine, Value> supplier, final Consumer<Value> consumer) {
-        this._bindings.addBinding(new MonoConsumerBinding<>(this._turbine, supplier, consumer));
+    private final <Value> void addBinding(final String syncKey, final Function<MultiblockTurbine, Value> supplier,
+                                          final Consumer<Value> consumer) {
+        this._bindings.of(syncKey).addBinding(new MonoConsumerBinding<>(this._turbine, supplier, consumer));
     }
 
     @SafeVarargs
-    private final <Value> void addBinding(final Function<MultiblockTurbine, Value> supplier, final Consumer<Value>... consumers) {
-        this._bindings.addBinding(new MultiConsumerBinding<>(this._turbine, supplier, consumers));
+    private final <Value> void addBinding(final String syncKey, final Function<MultiblockTurbine, Value> supplier,
+                                          final Consumer<Value>... consumers) {
+        this._bindings.of(syncKey).addBinding(new MultiConsumerBinding<>(this._turbine, supplier, consumers));
     }
 
     private static final ITextComponent TEXT_EMPTY = new TranslationTextComponent("gui.bigreactors.generic.empty").setStyle(STYLE_TOOLTIP_VALUE);
@@ -849,7 +875,7 @@ public class TurbineControllerScreen
     private final EnergySystem _outputEnergySystem;
     private final double _turbineEnergyCapacity;
 
-    private final BindingGroup _bindings;
+    private final SyncedBindingGroup _bindings;
 
     private final GaugeBar _coolantBar;
     private final GaugeBar _vaporBar;
@@ -866,5 +892,7 @@ public class TurbineControllerScreen
     private final Label _lblRpm;
     private final Label _lblRotorStatus;
 
+    private float _displayedRpm;
+
     //endregion
 }
@@ -121,6 +121,12 @@ public class TurbineComputerPeripheral
 
         })));
 
+        methodConsumer.accept(new ComputerMethod<>("getTelemetryChannels", wrapControllerValue(c -> c.getTelemetry().getChannelNames()))); //NEW
+
+        methodConsumer.accept(new ComputerMethod<>("getTelemetry", wrapControllerValue((c, arguments) ->
+                c.getTelemetry().getSamples(LuaHelper.getStringFromArgs(arguments, 0), LuaHelper.getStringFromArgs(arguments, 1),
+                        LuaHelper.getIntFromArgs(arguments, 2))), 3)); //NEW
+
         methodConsumer.accept(new ComputerMethod<>("setActive", wrapControllerAction((c, arguments) ->
                 c.setMachineActive(LuaHelper.getBooleanFromArgs(arguments, 0))), 1, true));
 
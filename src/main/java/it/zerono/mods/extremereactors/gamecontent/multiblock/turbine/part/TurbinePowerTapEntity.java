@@ -81,7 +81,11 @@ public class TurbinePowerTapEntity
     public void onAttached(MultiblockTurbine newController) {
 
         super.onAttached(newController);
-        this.getPowerTapHandler().checkConnections(this.getWorld(), this.getWorldPosition());
+
+        // while the machine is loading, the connections will be checked once when it's assembled
+        if (newController.isAssembled()) {
+            this.getPowerTapHandler().checkConnections(this.getWorld(), this.getWorldPosition());
+        }
     }
 
     @Override